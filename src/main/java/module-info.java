@@ -3,6 +3,7 @@ module catmeme {
     requires javafx.fxml;
     requires java.net.http;
     requires java.desktop;
+    requires static jdk.incubator.vector; // noyau SIMD des projectiles, facultatif à l'exécution
 
     exports net.arkaine;
     opens net.arkaine to javafx.fxml;
@@ -14,4 +15,5 @@ module catmeme {
     opens net.arkaine.combat to javafx.fxml;
     exports net.arkaine.world;
     opens net.arkaine.world to javafx.fxml;
+    exports net.arkaine.pathfinding;
 }
\ No newline at end of file
@@ -0,0 +1,118 @@
+package net.arkaine;
+
+import net.arkaine.combat.CombatSystem;
+import net.arkaine.combat.EntityStore;
+import net.arkaine.combat.ProjectilePool;
+import net.arkaine.model.GameModel;
+import net.arkaine.model.Point;
+import net.arkaine.model.WalkabilityGrid;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Mesure le coût d'un tick du système de combat avec beaucoup d'ennemis
+ *
+ * Usage : CombatBenchmark [ticks [nombre d'ennemis...]]
+ * Sans argument, 200 ticks à 10 000 puis 50 000 ennemis solitaires répartis au hasard
+ * sur les cases praticables de la carte du jeu. Chaque taille est mesurée en série puis
+ * en parallèle, avec la même graine, et les états finaux sont comparés. Le budget de temps
+ * de la file de pathfinding dépend de la machine : -Dpathfind.budgetMs=0 pour comparer.
+ */
+public class CombatBenchmark {
+
+    private static final int DEFAULT_TICKS = 200;
+    private static final int[] DEFAULT_COUNTS = {10_000, 50_000};
+    private static final int WARMUP_TICKS = 50;
+    private static final double TICK_SECONDS = 0.016;
+    private static final long SEED = 42;
+
+    public static void main(String[] args) {
+        System.out.println("=== Banc d'essai du Système de Combat ===");
+
+        int ticks = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_TICKS;
+        int[] counts = DEFAULT_COUNTS;
+        if (args.length > 1) {
+            counts = new int[args.length - 1];
+            for (int i = 1; i < args.length; i++) counts[i - 1] = Integer.parseInt(args[i]);
+        }
+
+        for (int count : counts) {
+            long serial = run(count, ticks, false);
+            long parallel = run(count, ticks, true);
+            System.out.println("  état final " + (serial == parallel ? "identique" : "⚠️ différent")
+                    + " en série et en parallèle (" + ForkJoinPool.getCommonPoolParallelism() + " fils)");
+        }
+    }
+
+    /**
+     * Mesure un mode de mise à jour et renvoie l'empreinte de l'état final
+     */
+    private static long run(int enemyCount, int ticks, boolean parallel) {
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream())); // le jeu est bavard
+
+        GameModel model = new GameModel();
+        model.loadMap();
+        model.debugClearAllEnemies();
+        CombatSystem combat = model.getCombatSystem();
+        combat.update(model, TICK_SECONDS); // retire les ennemis de départ (leur nombre est tiré au hasard)
+        combat.setParallelUpdate(parallel);
+        combat.reseed(SEED);
+        CombatSystem.Player player = combat.getPlayer();
+        if (player != null) {
+            player.stats.setMaxHealth(Integer.MAX_VALUE);
+            player.stats.setHealth(Integer.MAX_VALUE);
+        }
+
+        WalkabilityGrid grid = model.getWalkability();
+        CombatSystem.EnemyClass[] classes = CombatSystem.EnemyClass.values();
+        Random random = new Random(SEED);
+        int spawned = 0;
+        while (spawned < enemyCount) {
+            int x = random.nextInt(grid.getWidth());
+            int y = random.nextInt(grid.getHeight());
+            if (!grid.isWalkable(x, y)) continue;
+            combat.spawnSolitaryEnemy(new Point(x, y), classes[random.nextInt(classes.length)]);
+            spawned++;
+        }
+
+        for (int t = 0; t < WARMUP_TICKS; t++) {
+            combat.update(model, TICK_SECONDS);
+        }
+        long worst = 0;
+        long begin = System.nanoTime();
+        for (int t = 0; t < ticks; t++) {
+            long tickBegin = System.nanoTime();
+            combat.update(model, TICK_SECONDS);
+            worst = Math.max(worst, System.nanoTime() - tickBegin);
+        }
+        long elapsed = System.nanoTime() - begin;
+
+        System.setOut(out);
+        System.out.println(enemyCount + " ennemis, " + ticks + " ticks, " + (parallel ? "parallèle" : "série")
+                + " : " + String.format("%.3f", elapsed / 1_000_000.0 / ticks) + " ms/tick (pire: "
+                + String.format("%.3f", worst / 1_000_000.0) + " ms), "
+                + combat.getAliveEnemyCount() + " encore vivants");
+        return fingerprint(combat);
+    }
+
+    private static long fingerprint(CombatSystem combat) {
+        long hash = 17;
+        EntityStore store = combat.getStore();
+        for (int row = 0; row < store.size(); row++) {
+            CombatSystem.Entity entity = store.viewAt(row);
+            hash = hash * 31 + Double.doubleToLongBits(entity.getX());
+            hash = hash * 31 + Double.doubleToLongBits(entity.getY());
+            hash = hash * 31 + entity.stats.getHealth();
+        }
+        ProjectilePool projectiles = combat.getProjectilePool();
+        for (int i = 0; i < projectiles.size(); i++) {
+            hash = hash * 31 + Double.doubleToLongBits(projectiles.getX(i));
+            hash = hash * 31 + Double.doubleToLongBits(projectiles.getY(i));
+        }
+        return hash;
+    }
+}
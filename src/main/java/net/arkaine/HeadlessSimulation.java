@@ -0,0 +1,106 @@
+package net.arkaine;
+
+import net.arkaine.combat.CombatSystem;
+import net.arkaine.config.SimulationConfig;
+import net.arkaine.model.GameModel;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Arrays;
+
+/**
+ * Simulation sans interface : la carte du jeu, ses ennemis et le combat, à vitesse maximale
+ *
+ * Usage : HeadlessSimulation [minutes simulées] [--invulnerable] [--verbose]
+ * N'a besoin que des classes du jeu (pas de JavaFX sur le classpath). Les pas sont ceux
+ * du jeu (SimulationConfig.TICK_RATE) et les ennemis réapparaissent comme dans le jeu.
+ * La simulation s'arrête à la mort du joueur, sauf avec --invulnerable.
+ */
+public class HeadlessSimulation {
+
+    private static final double DEFAULT_MINUTES = 5.0;
+    private static final double RESPAWN_INTERVAL_SECONDS = 45.0; // comme le Timeline du contrôleur
+
+    public static void main(String[] args) {
+        System.out.println("=== Simulation sans Interface ===");
+
+        double minutes = DEFAULT_MINUTES;
+        boolean verbose = false;
+        boolean invulnerable = false;
+        for (String arg : args) {
+            if (arg.equals("--verbose")) verbose = true;
+            else if (arg.equals("--invulnerable")) invulnerable = true;
+            else minutes = Double.parseDouble(arg);
+        }
+
+        PrintStream out = System.out;
+        if (!verbose) {
+            System.setOut(new PrintStream(OutputStream.nullOutputStream())); // le jeu est bavard
+        }
+
+        GameModel model = new GameModel();
+        model.loadMap();
+        CombatSystem combat = model.getCombatSystem();
+        if (invulnerable && combat.getPlayer() != null) {
+            combat.getPlayer().stats.setMaxHealth(Integer.MAX_VALUE);
+            combat.getPlayer().stats.setHealth(Integer.MAX_VALUE);
+        }
+
+        double step = 1.0 / SimulationConfig.TICK_RATE;
+        int ticksPerMinute = SimulationConfig.TICK_RATE * 60;
+        int totalTicks = (int) Math.round(minutes * ticksPerMinute);
+        long[] tickNanos = new long[totalTicks];
+        int ticks = 0;
+        double nextRespawn = RESPAWN_INTERVAL_SECONDS;
+        boolean playerAlive = true;
+
+        long begin = System.nanoTime();
+        while (ticks < totalTicks && playerAlive) {
+            long tickBegin = System.nanoTime();
+            playerAlive = model.tick(step);
+            tickNanos[ticks++] = System.nanoTime() - tickBegin;
+
+            double simulatedSeconds = ticks * step;
+            if (simulatedSeconds >= nextRespawn) {
+                model.respawnEnemiesIfNeeded();
+                nextRespawn += RESPAWN_INTERVAL_SECONDS;
+            }
+            if (ticks % ticksPerMinute == 0) {
+                out.println("Minute " + ticks / ticksPerMinute + ": " + combat.getAliveEnemyCount()
+                        + " ennemis vivants, " + combat.getProjectileCount() + " projectiles");
+            }
+        }
+        long elapsed = System.nanoTime() - begin;
+        System.setOut(out);
+
+        if (!playerAlive) {
+            System.out.println("💀 Joueur mort après " + String.format("%.1f", ticks * step) + " s simulées");
+        }
+        printTickStats(Arrays.copyOf(tickNanos, ticks), step, elapsed);
+        model.getCombatEventsManager().printEventStats();
+    }
+
+    private static void printTickStats(long[] tickNanos, double step, long elapsedNanos) {
+        if (tickNanos.length == 0) return;
+        long total = 0;
+        for (long nanos : tickNanos) total += nanos;
+        Arrays.sort(tickNanos);
+
+        double simulatedSeconds = tickNanos.length * step;
+        System.out.println("Ticks: " + tickNanos.length + " (" + String.format("%.1f", simulatedSeconds)
+                + " s simulées en " + String.format("%.2f", elapsedNanos / 1e9) + " s, x"
+                + String.format("%.0f", simulatedSeconds / (elapsedNanos / 1e9)) + ")");
+        System.out.println("Durée d'un tick: moyenne " + millis(total / tickNanos.length)
+                + ", médiane " + millis(percentile(tickNanos, 0.50))
+                + ", p99 " + millis(percentile(tickNanos, 0.99))
+                + ", max " + millis(tickNanos[tickNanos.length - 1]));
+    }
+
+    private static long percentile(long[] sorted, double fraction) {
+        return sorted[Math.min(sorted.length - 1, (int) (fraction * sorted.length))];
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.3f ms", nanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,63 @@
+package net.arkaine;
+
+import net.arkaine.model.MapBinaryFormat;
+import net.arkaine.model.MapJsonReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Convertit les cartes JSON au format binaire compact (MapBinaryFormat)
+ *
+ * Usage : MapConverter [entree.json [sortie.bin]]
+ * Sans argument, convertit la carte du jeu dans src/main/resources.
+ */
+public class MapConverter {
+
+    private static final String DEFAULT_INPUT = "src/main/resources/village_map.json";
+
+    public static void main(String[] args) {
+        System.out.println("=== Convertisseur de Cartes JSON -> Binaire ===");
+
+        Path input = Paths.get(args.length > 0 ? args[0] : DEFAULT_INPUT);
+        Path output = args.length > 1 ? Paths.get(args[1]) : defaultOutput(input);
+
+        try {
+            convert(input, output);
+        } catch (IOException e) {
+            System.err.println("❌ Conversion impossible: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    public static void convert(Path input, Path output) throws IOException {
+        if (!Files.exists(input)) {
+            throw new IOException("Fichier non trouvé: " + input);
+        }
+
+        MapJsonReader.Result json;
+        try (InputStream stream = Files.newInputStream(input)) {
+            json = MapJsonReader.read(stream);
+        }
+        System.out.printf("📖 %s : %dx%d, %d octets, lu en %.1f ms%n", input,
+                json.tileMap.getWidth(), json.tileMap.getHeight(), json.bytesRead, json.getElapsedMillis());
+
+        long written = MapBinaryFormat.write(json.tileMap, json.hasWallProperties, output);
+
+        // Relecture de contrôle
+        MapBinaryFormat.Result binary = MapBinaryFormat.read(output);
+        System.out.printf("💾 %s : %d octets (%.1f%% du JSON), relu en %.2f ms%n", output,
+                written, written * 100.0 / json.bytesRead, binary.getElapsedMillis());
+        System.out.println("✅ Conversion terminée");
+    }
+
+    private static Path defaultOutput(Path input) {
+        String name = input.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String base = dot > 0 ? name.substring(0, dot) : name;
+        return input.resolveSibling(base + ".bin");
+    }
+}
@@ -0,0 +1,94 @@
+package net.arkaine;
+
+import net.arkaine.combat.CombatSystem;
+import net.arkaine.combat.ProjectileKernel;
+import net.arkaine.combat.ProjectilePool;
+import net.arkaine.combat.ScalarProjectileKernel;
+
+import java.util.Random;
+
+/**
+ * Compare le noyau vectoriel d'intégration des projectiles à la boucle scalaire
+ *
+ * Usage : ProjectileBenchmark [itérations [nombre de projectiles...]]
+ * Sans argument, 1 000, 10 000 et 100 000 projectiles. Le noyau vectoriel demande
+ * --add-modules jdk.incubator.vector ; sans ce module, seul le scalaire est mesuré.
+ */
+public class ProjectileBenchmark {
+
+    private static final int DEFAULT_ITERATIONS = 2_000;
+    private static final int[] DEFAULT_COUNTS = {1_000, 10_000, 100_000};
+    private static final double TICK_SECONDS = 0.016;
+
+    public static void main(String[] args) {
+        System.out.println("=== Banc d'essai des Noyaux de Projectiles ===");
+
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ITERATIONS;
+        int[] counts = DEFAULT_COUNTS;
+        if (args.length > 1) {
+            counts = new int[args.length - 1];
+            for (int i = 1; i < args.length; i++) counts[i - 1] = Integer.parseInt(args[i]);
+        }
+
+        ProjectileKernel scalar = new ScalarProjectileKernel();
+        ProjectileKernel selected = ProjectileKernel.select();
+        System.out.println("Noyau choisi au démarrage: " + selected.getName());
+
+        for (int count : counts) {
+            double scalarMicros = measure(scalar, count, iterations);
+            System.out.println(count + " projectiles, " + scalar.getName() + ": "
+                    + String.format("%.2f", scalarMicros) + " µs/tick");
+            if (!(selected instanceof ScalarProjectileKernel)) {
+                double vectorMicros = measure(selected, count, iterations);
+                System.out.println(count + " projectiles, " + selected.getName() + ": "
+                        + String.format("%.2f", vectorMicros) + " µs/tick (x"
+                        + String.format("%.2f", scalarMicros / vectorMicros) + ")"
+                        + (sameResults(scalar, selected, count) ? "" : " ⚠️ résultats différents"));
+            }
+        }
+    }
+
+    private static ProjectilePool fill(int count) {
+        ProjectilePool pool = new ProjectilePool(count);
+        CombatSystem.DamageType[] types = CombatSystem.DamageType.values();
+        Random random = new Random(42);
+        for (int i = 0; i < count; i++) {
+            pool.spawn(random.nextDouble() * 200, random.nextDouble() * 200,
+                    random.nextDouble() * 200, random.nextDouble() * 200,
+                    types[random.nextInt(types.length)], 10, 8.0, null);
+        }
+        return pool;
+    }
+
+    /**
+     * Temps moyen d'une intégration (µs), après une chauffe du même nombre d'itérations
+     */
+    private static double measure(ProjectileKernel kernel, int count, int iterations) {
+        ProjectilePool pool = fill(count);
+        for (int i = 0; i < iterations; i++) {
+            kernel.integrate(pool, TICK_SECONDS);
+        }
+        pool = fill(count);
+        long begin = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            kernel.integrate(pool, TICK_SECONDS);
+        }
+        return (System.nanoTime() - begin) / 1_000.0 / iterations;
+    }
+
+    private static boolean sameResults(ProjectileKernel a, ProjectileKernel b, int count) {
+        ProjectilePool first = fill(count);
+        ProjectilePool second = fill(count);
+        for (int i = 0; i < 100; i++) {
+            a.integrate(first, TICK_SECONDS);
+            b.integrate(second, TICK_SECONDS);
+        }
+        for (int i = 0; i < count; i++) {
+            if (first.getX(i) != second.getX(i) || first.getY(i) != second.getY(i)
+                    || first.isFinished(i) != second.isFinished(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
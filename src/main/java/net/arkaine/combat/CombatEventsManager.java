@@ -2,12 +2,14 @@ package net.arkaine.combat;
 
 import net.arkaine.config.EnemyConfig;
 import net.arkaine.model.GameModel;
-import javafx.geometry.Point2D;
+import net.arkaine.model.Point;
 
 import java.util.*;
 
 /**
- * Gestionnaire d'événements spéciaux et d'améliorations du système de combat
+ * Gestionnaire d'événements spéciaux et d'améliorations du système de combat.
+ * Les instants sont en temps simulé (CombatSystem.getGameTime) : événements, fin
+ * d'invasion et difficulté suivent les pas de simulation, même en accéléré.
  */
 public class CombatEventsManager {
 
@@ -18,16 +20,18 @@ public class CombatEventsManager {
     // État des événements
     private boolean invasionActive = false;
     private double invasionEndTime = 0;
-    private double gameStartTime = System.currentTimeMillis() / 1000.0;
-    private double lastEventCheck = 0;
+    private final double gameStartTime;
+    private double lastEventCheck;
 
     public CombatEventsManager(GameModel gameModel, CombatSystem combatSystem) {
         this.gameModel = gameModel;
         this.combatSystem = combatSystem;
+        this.gameStartTime = combatSystem.getGameTime();
+        this.lastEventCheck = gameStartTime;
     }
 
     /**
-     * Met à jour les événements de combat (appelé depuis GameModel)
+     * Met à jour les événements de combat (appelé à chaque pas depuis GameModel, en temps simulé)
      */
     public void update(double currentTime) {
         // Vérifier les événements toutes les 30 secondes
@@ -78,10 +82,10 @@ public class CombatEventsManager {
         gameModel.setMessageAbovePlayer("INVASION!");
 
         // Spawner des ennemis autour du joueur
-        Point2D playerPos = gameModel.getPlayerPosition();
+        Point playerPos = gameModel.getPlayerPosition();
 
         for (int i = 0; i < EnemyConfig.SpecialEvents.INVASION_ENEMY_COUNT; i++) {
-            Point2D spawnPos = findInvasionSpawnPosition(playerPos);
+            Point spawnPos = findInvasionSpawnPosition(playerPos);
             if (spawnPos != null) {
                 CombatSystem.EnemyClass enemyClass = getRandomInvasionEnemyClass();
                 combatSystem.spawnSolitaryEnemy(spawnPos, enemyClass);
@@ -107,12 +111,12 @@ public class CombatEventsManager {
     private void spawnElitePatrol() {
         System.out.println("⚔️ Une patrouille d'élites apparaît!");
 
-        Point2D patrolCenter = findSafeSpawnPosition();
+        Point patrolCenter = findSafeSpawnPosition();
         if (patrolCenter != null) {
             for (int i = 0; i < EnemyConfig.SpecialEvents.ELITE_PATROL_SIZE; i++) {
                 double angle = (2 * Math.PI * i) / EnemyConfig.SpecialEvents.ELITE_PATROL_SIZE;
                 double radius = 2.0;
-                Point2D spawnPos = new Point2D(
+                Point spawnPos = new Point(
                         patrolCenter.getX() + Math.cos(angle) * radius,
                         patrolCenter.getY() + Math.sin(angle) * radius
                 );
@@ -134,9 +138,9 @@ public class CombatEventsManager {
             for (int i = 0; i < EnemyConfig.SpecialEvents.BOSS_REINFORCEMENT_COUNT; i++) {
                 double angle = (2 * Math.PI * i) / EnemyConfig.SpecialEvents.BOSS_REINFORCEMENT_COUNT;
                 double radius = 4.0;
-                Point2D spawnPos = new Point2D(
-                        boss.position.getX() + Math.cos(angle) * radius,
-                        boss.position.getY() + Math.sin(angle) * radius
+                Point spawnPos = new Point(
+                        boss.getX() + Math.cos(angle) * radius,
+                        boss.getY() + Math.sin(angle) * radius
                 );
 
                 if (gameModel.isValidTile((int)spawnPos.getX(), (int)spawnPos.getY()) &&
@@ -153,8 +157,7 @@ public class CombatEventsManager {
      * Applique l'escalade de difficulté aux nouveaux ennemis
      */
     public void applyDifficultyScaling(CombatSystem.Entity enemy) {
-        double gameTimeMinutes = (System.currentTimeMillis() / 1000.0 - gameStartTime) / 60.0;
-        double difficultyMultiplier = EnemyConfig.getDifficultyMultiplier(gameTimeMinutes);
+        double difficultyMultiplier = getDifficultyMultiplier();
 
         if (difficultyMultiplier > 1.0) {
             EnemyConfig.applyDifficultyScaling(enemy.stats, difficultyMultiplier);
@@ -165,7 +168,7 @@ public class CombatEventsManager {
     /**
      * Gère les récompenses quand un ennemi meurt
      */
-    public void handleEnemyDeath(CombatSystem.Entity enemy, Point2D deathPosition) {
+    public void handleEnemyDeath(CombatSystem.Entity enemy, Point deathPosition) {
         // Chances de loot selon la classe
         double lootChance = getLootChance(enemy.entityClass);
 
@@ -181,7 +184,7 @@ public class CombatEventsManager {
     /**
      * Génère du loot à la position de mort
      */
-    private void spawnLoot(Point2D position, CombatSystem.EnemyClass enemyClass) {
+    private void spawnLoot(Point position, CombatSystem.EnemyClass enemyClass) {
         String[] lootTable = getLootTable(enemyClass);
         String lootType = lootTable[random.nextInt(lootTable.length)];
         int count = 1 + random.nextInt(3);
@@ -199,7 +202,7 @@ public class CombatEventsManager {
      * Récompense pour avoir survécu à une invasion
      */
     private void rewardInvasionSurvival() {
-        Point2D playerPos = gameModel.getPlayerPosition();
+        Point playerPos = gameModel.getPlayerPosition();
         int x = (int)playerPos.getX();
         int y = (int)playerPos.getY();
 
@@ -213,7 +216,7 @@ public class CombatEventsManager {
 
     // Méthodes utilitaires
 
-    private Point2D findInvasionSpawnPosition(Point2D playerPos) {
+    private Point findInvasionSpawnPosition(Point playerPos) {
         for (int attempts = 0; attempts < 20; attempts++) {
             double angle = random.nextDouble() * 2 * Math.PI;
             double distance = 6 + random.nextDouble() * 4; // 6-10 cases du joueur
@@ -222,43 +225,35 @@ public class CombatEventsManager {
             int y = (int)(playerPos.getY() + Math.sin(angle) * distance);
 
             if (gameModel.isValidTile(x, y) && gameModel.canWalkThrough(x, y)) {
-                return new Point2D(x, y);
+                return new Point(x, y);
             }
         }
         return null;
     }
 
-    private Point2D findSafeSpawnPosition() {
+    private Point findSafeSpawnPosition() {
         for (int attempts = 0; attempts < 50; attempts++) {
-            int x = 5 + random.nextInt(GameModel.MAP_SIZE - 10);
-            int y = 5 + random.nextInt(GameModel.MAP_SIZE - 10);
+            int x = 5 + random.nextInt(gameModel.getMapWidth() - 10);
+            int y = 5 + random.nextInt(gameModel.getMapHeight() - 10);
 
-            Point2D playerPos = gameModel.getPlayerPosition();
+            Point playerPos = gameModel.getPlayerPosition();
             double distance = Math.abs(x - playerPos.getX()) + Math.abs(y - playerPos.getY());
 
             if (distance >= EnemyConfig.MIN_SPAWN_DISTANCE_FROM_PLAYER &&
                     gameModel.isValidTile(x, y) &&
                     gameModel.canWalkThrough(x, y)) {
-                return new Point2D(x, y);
+                return new Point(x, y);
             }
         }
         return null;
     }
 
     private boolean isBossAlive() {
-        return combatSystem.getEntities().stream()
-                .anyMatch(e -> !e.isPlayer &&
-                        e.entityClass == CombatSystem.EnemyClass.BOSS &&
-                        e.stats.isAlive());
+        return combatSystem.hasBoss();
     }
 
     private CombatSystem.Entity findBoss() {
-        return combatSystem.getEntities().stream()
-                .filter(e -> !e.isPlayer &&
-                        e.entityClass == CombatSystem.EnemyClass.BOSS &&
-                        e.stats.isAlive())
-                .findFirst()
-                .orElse(null);
+        return combatSystem.findAliveEnemy(CombatSystem.EnemyClass.BOSS);
     }
 
     private CombatSystem.EnemyClass getRandomInvasionEnemyClass() {
@@ -333,7 +328,7 @@ public class CombatEventsManager {
     /**
      * Spawne un boss à une position spécifique
      */
-    public void spawnBossAt(Point2D position) {
+    public void spawnBossAt(Point position) {
         System.out.println("👹 Un boss apparaît!");
         gameModel.setMessageAbovePlayer("BOSS APPEARED!");
 
@@ -348,7 +343,7 @@ public class CombatEventsManager {
      */
     public void forceTriggerInvasion() {
         if (!invasionActive) {
-            startInvasion(System.currentTimeMillis() / 1000.0);
+            startInvasion(combatSystem.getGameTime());
         }
     }
 
@@ -356,12 +351,8 @@ public class CombatEventsManager {
      * Nettoie tous les ennemis (pour debug/reset)
      */
     public void clearAllEnemies() {
-        List<CombatSystem.Entity> enemies = new ArrayList<>(combatSystem.getEntities());
-        for (CombatSystem.Entity entity : enemies) {
-            if (!entity.isPlayer) {
-                entity.stats.health = 0;
-            }
-        }
+        // Retirés au prochain nettoyage du système de combat
+        combatSystem.forEachAliveEnemy(enemy -> enemy.stats.setHealth(0));
         System.out.println("🧹 Tous les ennemis ont été éliminés");
     }
 
@@ -369,12 +360,10 @@ public class CombatEventsManager {
      * Statistiques des événements
      */
     public void printEventStats() {
-        double gameTimeMinutes = (System.currentTimeMillis() / 1000.0 - gameStartTime) / 60.0;
+        double gameTimeMinutes = getGameTimeMinutes();
         double difficultyMultiplier = EnemyConfig.getDifficultyMultiplier(gameTimeMinutes);
 
-        long aliveEnemies = combatSystem.getEntities().stream()
-                .filter(e -> !e.isPlayer && e.stats.isAlive())
-                .count();
+        int aliveEnemies = combatSystem.getAliveEnemyCount();
 
         System.out.println("📊 Statistiques des événements:");
         System.out.println("  - Temps de jeu: " + String.format("%.1f", gameTimeMinutes) + " minutes");
@@ -387,7 +376,7 @@ public class CombatEventsManager {
     // Getters pour l'état des événements
     public boolean isInvasionActive() { return invasionActive; }
     public double getGameTimeMinutes() {
-        return (System.currentTimeMillis() / 1000.0 - gameStartTime) / 60.0;
+        return (combatSystem.getGameTime() - gameStartTime) / 60.0;
     }
     public double getDifficultyMultiplier() {
         return EnemyConfig.getDifficultyMultiplier(getGameTimeMinutes());
@@ -0,0 +1,184 @@
+package net.arkaine.combat;
+
+import net.arkaine.model.GameModel;
+
+import java.util.Arrays;
+
+/**
+ * Effets d'un groupe de mises à jour d'ennemis sur l'état partagé, différés jusqu'à la
+ * phase d'application.
+ *
+ * Pendant la phase de décision, un ennemi ne modifie que sa propre ligne (position,
+ * recharges, chemin) ; les tirs, coups de mêlée, alertes de meute et demandes de chemin
+ * sont notés ici dans l'ordre où il les décide. Le système applique ensuite les tampons
+ * dans l'ordre des lignes : le résultat est le même que la décision soit faite en série
+ * ou en parallèle.
+ */
+public class CombatIntents {
+
+    private static final int PATH_REQUEST = 0;
+    private static final int PATH_CANCEL = 1;
+    private static final int PACK_CHASE = 2;
+    private static final CombatSystem.DamageType[] DAMAGE_TYPES = CombatSystem.DamageType.values();
+
+    // Tirs
+    private double[] shotFromX = new double[16];
+    private double[] shotFromY = new double[16];
+    private double[] shotToX = new double[16];
+    private double[] shotToY = new double[16];
+    private double[] shotSpeed = new double[16];
+    private int[] shotDamage = new int[16];
+    private int[] shotType = new int[16];
+    private CombatSystem.Entity[] shotSource = new CombatSystem.Entity[16];
+    private int shotCount = 0;
+
+    // Coups de mêlée
+    private CombatSystem.Entity[] meleeTarget = new CombatSystem.Entity[16];
+    private int[] meleeDamage = new int[16];
+    private int[] meleeType = new int[16];
+    private int meleeCount = 0;
+
+    // Alertes de meute
+    private CombatSystem.Enemy[] alertFrom = new CombatSystem.Enemy[16];
+    private CombatSystem.Entity[] alertThreat = new CombatSystem.Entity[16];
+    private int alertCount = 0;
+
+    // Demandes de chemin (file budgétée, trajets de meute), dans l'ordre de décision
+    private CombatSystem.Enemy[] pathEnemy = new CombatSystem.Enemy[16];
+    private int[] pathOp = new int[16];
+    private int[] pathGoalX = new int[16];
+    private int[] pathGoalY = new int[16];
+    private int pathCount = 0;
+
+    // ================================
+    // DÉCISION (une seule tâche écrit dans un tampon)
+    // ================================
+
+    public void shoot(double fromX, double fromY, double toX, double toY,
+                      CombatSystem.DamageType type, int damage, double speed, CombatSystem.Entity source) {
+        if (shotCount == shotSource.length) {
+            int capacity = shotCount * 2;
+            shotFromX = Arrays.copyOf(shotFromX, capacity);
+            shotFromY = Arrays.copyOf(shotFromY, capacity);
+            shotToX = Arrays.copyOf(shotToX, capacity);
+            shotToY = Arrays.copyOf(shotToY, capacity);
+            shotSpeed = Arrays.copyOf(shotSpeed, capacity);
+            shotDamage = Arrays.copyOf(shotDamage, capacity);
+            shotType = Arrays.copyOf(shotType, capacity);
+            shotSource = Arrays.copyOf(shotSource, capacity);
+        }
+        int i = shotCount++;
+        shotFromX[i] = fromX;
+        shotFromY[i] = fromY;
+        shotToX[i] = toX;
+        shotToY[i] = toY;
+        shotSpeed[i] = speed;
+        shotDamage[i] = damage;
+        shotType[i] = type.ordinal();
+        shotSource[i] = source;
+    }
+
+    public void melee(CombatSystem.Entity target, int damage, CombatSystem.DamageType type) {
+        if (meleeCount == meleeTarget.length) {
+            int capacity = meleeCount * 2;
+            meleeTarget = Arrays.copyOf(meleeTarget, capacity);
+            meleeDamage = Arrays.copyOf(meleeDamage, capacity);
+            meleeType = Arrays.copyOf(meleeType, capacity);
+        }
+        int i = meleeCount++;
+        meleeTarget[i] = target;
+        meleeDamage[i] = damage;
+        meleeType[i] = type.ordinal();
+    }
+
+    public void alertPack(CombatSystem.Enemy from, CombatSystem.Entity threat) {
+        if (alertCount == alertFrom.length) {
+            alertFrom = Arrays.copyOf(alertFrom, alertCount * 2);
+            alertThreat = Arrays.copyOf(alertThreat, alertCount * 2);
+        }
+        alertFrom[alertCount] = from;
+        alertThreat[alertCount++] = threat;
+    }
+
+    public void requestPath(CombatSystem.Enemy enemy, int goalX, int goalY) {
+        addPathOp(enemy, PATH_REQUEST, goalX, goalY);
+    }
+
+    public void cancelPath(CombatSystem.Enemy enemy) {
+        addPathOp(enemy, PATH_CANCEL, 0, 0);
+    }
+
+    public void requestPackChase(CombatSystem.Enemy enemy) {
+        addPathOp(enemy, PACK_CHASE, 0, 0);
+    }
+
+    private void addPathOp(CombatSystem.Enemy enemy, int op, int goalX, int goalY) {
+        if (pathCount == pathEnemy.length) {
+            int capacity = pathCount * 2;
+            pathEnemy = Arrays.copyOf(pathEnemy, capacity);
+            pathOp = Arrays.copyOf(pathOp, capacity);
+            pathGoalX = Arrays.copyOf(pathGoalX, capacity);
+            pathGoalY = Arrays.copyOf(pathGoalY, capacity);
+        }
+        int i = pathCount++;
+        pathEnemy[i] = enemy;
+        pathOp[i] = op;
+        pathGoalX[i] = goalX;
+        pathGoalY[i] = goalY;
+    }
+
+    // ================================
+    // APPLICATION (fil du jeu)
+    // ================================
+
+    /**
+     * Applique les effets notés, dans leur ordre, puis vide le tampon
+     */
+    void apply(CombatSystem combat, GameModel model, double currentTime) {
+        ProjectilePool projectiles = combat.getProjectilePool();
+        for (int i = 0; i < shotCount; i++) {
+            // Tir perdu si la réserve est pleine
+            projectiles.spawn(shotFromX[i], shotFromY[i], shotToX[i], shotToY[i],
+                    DAMAGE_TYPES[shotType[i]], shotDamage[i], shotSpeed[i], shotSource[i]);
+        }
+
+        for (int i = 0; i < meleeCount; i++) {
+            meleeTarget[i].takeDamage(meleeDamage[i], DAMAGE_TYPES[meleeType[i]]);
+        }
+
+        for (int i = 0; i < alertCount; i++) {
+            combat.alertPackMembers(alertFrom[i], alertThreat[i], currentTime);
+        }
+
+        EnemyPathQueue pathQueue = combat.getPathQueue();
+        for (int i = 0; i < pathCount; i++) {
+            CombatSystem.Enemy enemy = pathEnemy[i];
+            switch (pathOp[i]) {
+                case PATH_REQUEST:
+                    pathQueue.request(enemy, model.getWalkability(), pathGoalX[i], pathGoalY[i]);
+                    break;
+                case PATH_CANCEL:
+                    pathQueue.cancel(enemy);
+                    break;
+                case PACK_CHASE:
+                    combat.getPackPaths().requestChase(enemy, combat.getFlowFields(),
+                            model.getWalkability().getHeight());
+                    break;
+            }
+        }
+
+        clear();
+    }
+
+    void clear() {
+        Arrays.fill(shotSource, 0, shotCount, null);
+        Arrays.fill(meleeTarget, 0, meleeCount, null);
+        Arrays.fill(alertFrom, 0, alertCount, null);
+        Arrays.fill(alertThreat, 0, alertCount, null);
+        Arrays.fill(pathEnemy, 0, pathCount, null);
+        shotCount = 0;
+        meleeCount = 0;
+        alertCount = 0;
+        pathCount = 0;
+    }
+}
@@ -1,10 +1,14 @@
 package net.arkaine.combat;
 
+import net.arkaine.config.EnemyConfig;
 import net.arkaine.model.GameModel;
-import javafx.geometry.Point2D;
-import javafx.scene.paint.Color;
+import net.arkaine.model.Point;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 /**
  * Système de combat avec ennemis IA, caractéristiques RPG et projectiles
@@ -25,14 +29,22 @@ public class CombatSystem {
         GUARDIAN   // Garde une zone spécifique
     }
 
+    /**
+     * Caractéristiques d'une entité. Santé, dégâts et vitesse sont lus à chaque tick : tant
+     * que l'entité est dans le système, ils vivent dans sa ligne de l'EntityStore.
+     * Les résistances sont rangées par ordinal de DamageType ; celles d'un ennemi sont
+     * partagées avec son archétype jusqu'à la première modification.
+     */
     public static class Stats {
-        public int health;
-        public int maxHealth;
-        public int damage;
-        public double moveSpeed;
+        private Entity owner;
+        private int health;
+        private int maxHealth;
+        private int damage;
+        private double moveSpeed;
         public double attackSpeed;
         public double range;
-        public Map<DamageType, Double> resistances;
+        private double[] resistances;
+        private boolean sharedResistances;
 
         public Stats(int health, int damage, double moveSpeed, double attackSpeed, double range) {
             this.health = this.maxHealth = health;
@@ -40,128 +52,239 @@ public class CombatSystem {
             this.moveSpeed = moveSpeed;
             this.attackSpeed = attackSpeed;
             this.range = range;
-            this.resistances = new HashMap<>();
+            this.resistances = new double[DamageType.values().length]; // aucune résistance par défaut
+        }
 
-            // Résistances par défaut
-            for (DamageType type : DamageType.values()) {
-                resistances.put(type, 0.0);
-            }
+        /**
+         * Stats de base d'un archétype (la difficulté les ajuste ensuite par instance)
+         */
+        public Stats(EnemyArchetype archetype) {
+            this.health = this.maxHealth = archetype.getHealth();
+            this.damage = archetype.getDamage();
+            this.moveSpeed = archetype.getMoveSpeed();
+            this.attackSpeed = archetype.getAttackSpeed();
+            this.range = archetype.getRange();
+            this.resistances = archetype.sharedResistances();
+            this.sharedResistances = true;
+        }
+
+        static double clampResistance(double resistance) {
+            return Math.max(0.0, Math.min(0.95, resistance)); // Max 95% résistance
         }
 
         public void setResistance(DamageType type, double resistance) {
-            resistances.put(type, Math.max(0.0, Math.min(0.95, resistance))); // Max 95% résistance
+            if (sharedResistances) {
+                resistances = resistances.clone();
+                sharedResistances = false;
+            }
+            resistances[type.ordinal()] = clampResistance(resistance);
         }
 
-        public boolean isAlive() {
-            return health > 0;
+        public double getResistance(DamageType type) {
+            return resistances[type.ordinal()];
         }
 
-        public double getHealthPercent() {
-            return (double) health / maxHealth;
-        }
-    }
-
-    public static class Projectile {
-        public Point2D position;
-        public Point2D target;
-        public Point2D velocity;
-        public DamageType damageType;
-        public int damage;
-        public double speed;
-        public boolean active;
-        public Color color;
-        public Entity source;
-        public double timeAlive;
-        public static final double MAX_LIFETIME = 10.0; // 10 secondes max
-
-        public Projectile(Point2D start, Point2D target, DamageType damageType, int damage, double speed, Entity source) {
-            this.position = start;
-            this.target = target;
-            this.damageType = damageType;
-            this.damage = damage;
-            this.speed = speed;
-            this.active = true;
-            this.source = source;
-            this.timeAlive = 0;
-
-            // Calculer la vélocité
-            double dx = target.getX() - start.getX();
-            double dy = target.getY() - start.getY();
-            double distance = Math.sqrt(dx * dx + dy * dy);
+        public int getHealth() {
+            return owner != null ? owner.store.health[owner.row] : health;
+        }
 
-            if (distance > 0) {
-                this.velocity = new Point2D((dx / distance) * speed, (dy / distance) * speed);
-            } else {
-                this.velocity = new Point2D(0, 0);
-            }
+        public void setHealth(int health) {
+            if (owner != null) owner.store.health[owner.row] = health;
+            else this.health = health;
+        }
 
-            // Couleur selon le type de dégât
-            switch (damageType) {
-                case FIRE: this.color = Color.ORANGE; break;
-                case ICE: this.color = Color.LIGHTBLUE; break;
-                case POISON: this.color = Color.GREEN; break;
-                case LIGHTNING: this.color = Color.YELLOW; break;
-                default: this.color = Color.DARKRED; break;
-            }
+        public int getMaxHealth() {
+            return owner != null ? owner.store.maxHealth[owner.row] : maxHealth;
         }
 
-        public void update(double deltaTime) {
-            if (!active) return;
+        public void setMaxHealth(int maxHealth) {
+            if (owner != null) owner.store.maxHealth[owner.row] = maxHealth;
+            else this.maxHealth = maxHealth;
+        }
 
-            timeAlive += deltaTime;
+        public int getDamage() {
+            return owner != null ? owner.store.damage[owner.row] : damage;
+        }
 
-            // Détruire le projectile s'il est trop vieux
-            if (timeAlive > MAX_LIFETIME) {
-                active = false;
-                return;
-            }
+        public void setDamage(int damage) {
+            if (owner != null) owner.store.damage[owner.row] = damage;
+            else this.damage = damage;
+        }
 
-            position = position.add(velocity.multiply(deltaTime));
+        public double getMoveSpeed() {
+            return owner != null ? owner.store.moveSpeed[owner.row] : moveSpeed;
+        }
 
-            // Vérifier si le projectile a atteint sa cible (distance approximative)
-            double distanceToTarget = position.distance(target);
-            if (distanceToTarget < 0.5) {
-                active = false;
-            }
+        public void setMoveSpeed(double moveSpeed) {
+            if (owner != null) owner.store.moveSpeed[owner.row] = moveSpeed;
+            else this.moveSpeed = moveSpeed;
+        }
+
+        public boolean isAlive() {
+            return getHealth() > 0;
+        }
+
+        public double getHealthPercent() {
+            return (double) getHealth() / getMaxHealth();
         }
     }
 
+    /**
+     * Vue sur la ligne de l'entité dans un EntityStore (position, santé, recharges...) ;
+     * hors du système, l'entité garde ces valeurs dans ses propres champs
+     */
     public abstract static class Entity {
-        public Point2D position;
         public Stats stats;
         public EnemyClass entityClass;
-        public double lastAttackTime;
-        public double lastMoveTime;
         public boolean isPlayer;
-
-        public Entity(Point2D position, Stats stats, EnemyClass entityClass, boolean isPlayer) {
-            this.position = position;
+        int spatialSlot = -1; // emplacement dans l'index spatial
+        EntityStore store;    // réserve qui contient la ligne de l'entité (null hors du système)
+        int row;
+        long randomState;     // générateur propre à l'entité (tirages indépendants de l'ordre des fils)
+
+        // Valeurs de la ligne tant que l'entité n'est dans aucune réserve
+        private double detachedX;
+        private double detachedY;
+        private double detachedPreviousX;
+        private double detachedPreviousY;
+        private double detachedLastAttackTime;
+        private double detachedLastMoveTime;
+        int detachedBehavior = EntityStore.NO_BEHAVIOR;
+
+        public Entity(Point position, Stats stats, EnemyClass entityClass, boolean isPlayer) {
             this.stats = stats;
             this.entityClass = entityClass;
             this.isPlayer = isPlayer;
-            this.lastAttackTime = 0;
-            this.lastMoveTime = 0;
+            this.detachedX = this.detachedPreviousX = position.getX();
+            this.detachedY = this.detachedPreviousY = position.getY();
+        }
+
+        /**
+         * Recopie les valeurs propres de l'entité dans la ligne qu'elle vient de recevoir
+         */
+        void writeDetachedValues() {
+            store.x[row] = detachedX;
+            store.y[row] = detachedY;
+            store.previousX[row] = detachedPreviousX;
+            store.previousY[row] = detachedPreviousY;
+            store.health[row] = stats.health;
+            store.maxHealth[row] = stats.maxHealth;
+            store.damage[row] = stats.damage;
+            store.moveSpeed[row] = stats.moveSpeed;
+            store.lastAttackTime[row] = detachedLastAttackTime;
+            store.lastMoveTime[row] = detachedLastMoveTime;
+            store.classOrdinal[row] = entityClass.ordinal();
+            store.behaviorOrdinal[row] = detachedBehavior;
+            stats.owner = this;
+        }
+
+        /**
+         * Recopie la ligne dans les valeurs propres de l'entité, avant sa sortie de la réserve
+         */
+        void readDetachedValues() {
+            stats.owner = null;
+            detachedX = store.x[row];
+            detachedY = store.y[row];
+            detachedPreviousX = store.previousX[row];
+            detachedPreviousY = store.previousY[row];
+            stats.health = store.health[row];
+            stats.maxHealth = store.maxHealth[row];
+            stats.damage = store.damage[row];
+            stats.moveSpeed = store.moveSpeed[row];
+            detachedLastAttackTime = store.lastAttackTime[row];
+            detachedLastMoveTime = store.lastMoveTime[row];
+            detachedBehavior = store.behaviorOrdinal[row];
+        }
+
+        /**
+         * Décide l'action du tick : ne modifie que la ligne de l'entité, les effets sur
+         * l'état partagé passent par intents
+         */
+        public abstract void update(GameModel model, CombatIntents intents, double currentTime, double deltaTime);
+
+        /** Tirage uniforme dans [0, 1) (SplitMix64 sur l'état de l'entité) */
+        double nextRandom() {
+            return (mix(randomState += 0x9E3779B97F4A7C15L) >>> 11) * 0x1.0p-53;
+        }
+
+        public double getX() { return store != null ? store.x[row] : detachedX; }
+        public double getY() { return store != null ? store.y[row] : detachedY; }
+
+        public Point getPosition() {
+            return new Point(getX(), getY());
+        }
+
+        /** Position affichée entre le début (alpha = 0) et la fin (alpha = 1) du dernier tick */
+        public double getRenderX(double alpha) {
+            double previous = store != null ? store.previousX[row] : detachedPreviousX;
+            return previous + (getX() - previous) * alpha;
         }
 
-        public abstract void update(GameModel model, List<Entity> allEntities, List<Projectile> projectiles, double currentTime);
+        public double getRenderY(double alpha) {
+            double previous = store != null ? store.previousY[row] : detachedPreviousY;
+            return previous + (getY() - previous) * alpha;
+        }
+
+        public void setPosition(double x, double y) {
+            if (store != null) {
+                store.x[row] = x;
+                store.y[row] = y;
+            } else {
+                detachedX = x;
+                detachedY = y;
+            }
+        }
+
+        public void setPosition(Point position) {
+            setPosition(position.getX(), position.getY());
+        }
+
+        public double getLastAttackTime() {
+            return store != null ? store.lastAttackTime[row] : detachedLastAttackTime;
+        }
+
+        public void setLastAttackTime(double time) {
+            if (store != null) store.lastAttackTime[row] = time;
+            else detachedLastAttackTime = time;
+        }
+
+        public double getLastMoveTime() {
+            return store != null ? store.lastMoveTime[row] : detachedLastMoveTime;
+        }
+
+        public void setLastMoveTime(double time) {
+            if (store != null) store.lastMoveTime[row] = time;
+            else detachedLastMoveTime = time;
+        }
 
         public boolean canAttack(double currentTime) {
-            return currentTime - lastAttackTime >= (1.0 / stats.attackSpeed);
+            return currentTime - getLastAttackTime() >= (1.0 / stats.attackSpeed);
         }
 
         public boolean canMove(double currentTime) {
-            return currentTime - lastMoveTime >= (1.0 / stats.moveSpeed);
+            return currentTime - getLastMoveTime() >= (1.0 / stats.getMoveSpeed());
         }
 
         public int takeDamage(int damage, DamageType damageType) {
-            double resistance = stats.resistances.get(damageType);
+            double resistance = stats.getResistance(damageType);
             int finalDamage = (int) (damage * (1.0 - resistance));
-            stats.health = Math.max(0, stats.health - finalDamage);
+            if (store != null) store.health[row] = Math.max(0, store.health[row] - finalDamage);
+            else stats.health = Math.max(0, stats.health - finalDamage);
             return finalDamage;
         }
 
+        public double distanceTo(double x, double y) {
+            double dx = getX() - x;
+            double dy = getY() - y;
+            return Math.sqrt(dx * dx + dy * dy);
+        }
+
+        public double distanceTo(Point point) {
+            return distanceTo(point.getX(), point.getY());
+        }
+
         public double distanceTo(Entity other) {
-            return position.distance(other.position);
+            return distanceTo(other.getX(), other.getY());
         }
 
         public boolean isInRange(Entity target) {
@@ -170,7 +293,7 @@ public class CombatSystem {
     }
 
     public static class Player extends Entity {
-        public Player(Point2D position) {
+        public Player(Point position) {
             super(position, createPlayerStats(), EnemyClass.WARRIOR, true);
         }
 
@@ -182,106 +305,43 @@ public class CombatSystem {
         }
 
         @Override
-        public void update(GameModel model, List<Entity> allEntities, List<Projectile> projectiles, double currentTime) {
+        public void update(GameModel model, CombatIntents intents, double currentTime, double deltaTime) {
             // Le joueur est contrôlé par l'utilisateur
-            this.position = model.getCurrentInterpolatedPosition();
+            setPosition(model.getCurrentInterpolatedPosition());
         }
     }
 
     public static class Enemy extends Entity {
+        public final EnemyArchetype archetype;
         public BehaviorType behavior;
-        public Point2D homePosition;
+        public Point homePosition;
         public Entity target;
-        public List<Point2D> path;
+        public List<Point> path;
         public int pathIndex;
-        public double aggroRange;
+        public int pathGoalTile = -1; // case visée par le chemin courant (file de pathfinding)
+        public double[] pathSchedule;  // instant de départ vers chaque point (trajet de meute réservé), sinon null
         public double lastPathfindTime;
-        public String packId; // Pour identifier les meutes
+        public PackRegistry.Pack pack; // meute de l'ennemi (null hors meute)
         public double lastDamageTime; // Pour éviter le spam de dégâts
         public double stateChangeTime; // Pour variations de comportement
 
-        public Enemy(Point2D position, EnemyClass enemyClass, BehaviorType behavior) {
-            super(position, createEnemyStats(enemyClass), enemyClass, false);
+        public Enemy(Point position, EnemyClass enemyClass, BehaviorType behavior) {
+            super(position, new Stats(EnemyArchetype.of(enemyClass)), enemyClass, false);
+            this.archetype = EnemyArchetype.of(enemyClass);
             this.behavior = behavior;
             this.homePosition = position;
-            this.aggroRange = calculateAggroRange(enemyClass);
+            this.detachedBehavior = behavior.ordinal();
             this.path = new ArrayList<>();
             this.pathIndex = 0;
             this.lastPathfindTime = 0;
             this.lastDamageTime = 0;
             this.stateChangeTime = 0;
-            this.packId = behavior == BehaviorType.PACK ? "pack_" + System.currentTimeMillis() : null;
-        }
-
-        private static Stats createEnemyStats(EnemyClass enemyClass) {
-            switch (enemyClass) {
-                case WARRIOR:
-                    Stats warrior = new Stats(60, 20, 0.8, 1.0, 1.2);
-                    warrior.setResistance(DamageType.PHYSICAL, 0.2);
-                    return warrior;
-
-                case MAGE:
-                    Stats mage = new Stats(40, 35, 0.6, 0.7, 4.0);
-                    mage.setResistance(DamageType.FIRE, 0.5);
-                    mage.setResistance(DamageType.ICE, 0.3);
-                    return mage;
-
-                case ARCHER:
-                    Stats archer = new Stats(50, 25, 1.0, 1.2, 5.0);
-                    archer.setResistance(DamageType.PHYSICAL, 0.1);
-                    return archer;
-
-                case ELITE_WARRIOR:
-                    Stats eliteWarrior = new Stats(120, 35, 1.0, 1.2, 1.5);
-                    eliteWarrior.setResistance(DamageType.PHYSICAL, 0.4);
-                    eliteWarrior.setResistance(DamageType.FIRE, 0.2);
-                    return eliteWarrior;
-
-                case ELITE_MAGE:
-                    Stats eliteMage = new Stats(80, 50, 0.8, 1.0, 6.0);
-                    eliteMage.setResistance(DamageType.FIRE, 0.7);
-                    eliteMage.setResistance(DamageType.ICE, 0.7);
-                    eliteMage.setResistance(DamageType.LIGHTNING, 0.5);
-                    return eliteMage;
-
-                case ELITE_ARCHER:
-                    Stats eliteArcher = new Stats(90, 40, 1.2, 1.5, 7.0);
-                    eliteArcher.setResistance(DamageType.PHYSICAL, 0.3);
-                    eliteArcher.setResistance(DamageType.POISON, 0.4);
-                    return eliteArcher;
-
-                case BOSS:
-                    Stats boss = new Stats(300, 60, 0.7, 0.8, 3.0);
-                    boss.setResistance(DamageType.PHYSICAL, 0.3);
-                    boss.setResistance(DamageType.FIRE, 0.4);
-                    boss.setResistance(DamageType.ICE, 0.4);
-                    boss.setResistance(DamageType.POISON, 0.6);
-                    return boss;
-
-                default:
-                    return new Stats(50, 20, 1.0, 1.0, 1.5);
-            }
-        }
-
-        private double calculateAggroRange(EnemyClass enemyClass) {
-            switch (enemyClass) {
-                case MAGE:
-                case ELITE_MAGE:
-                    return 6.0;
-                case ARCHER:
-                case ELITE_ARCHER:
-                    return 8.0;
-                case BOSS:
-                    return 10.0;
-                default:
-                    return 4.0;
-            }
         }
 
         @Override
-        public void update(GameModel model, List<Entity> allEntities, List<Projectile> projectiles, double currentTime) {
+        public void update(GameModel model, CombatIntents intents, double currentTime, double deltaTime) {
             // Trouver le joueur
-            Player player = findPlayer(allEntities);
+            Player player = model.getCombatSystem().getPlayer();
             if (player == null || !player.stats.isAlive()) {
                 target = null;
                 return;
@@ -290,69 +350,83 @@ public class CombatSystem {
             double distanceToPlayer = distanceTo(player);
 
             // Gestion de l'aggro
-            if (target == null && distanceToPlayer <= aggroRange) {
+            if (target == null && distanceToPlayer <= archetype.getAggroRange()) {
                 target = player;
                 stateChangeTime = currentTime;
                 if (behavior == BehaviorType.PACK) {
-                    alertPackMembers(allEntities, player);
+                    intents.alertPack(this, player);
                 }
             }
 
             // Perdre l'aggro si trop loin (pour les gardiens)
             if (target != null && behavior == BehaviorType.GUARDIAN) {
-                double distanceFromHome = position.distance(homePosition);
-                if (distanceFromHome > aggroRange * 2) {
+                double distanceFromHome = distanceTo(homePosition);
+                if (distanceFromHome > archetype.getAggroRange() * 2) {
                     target = null;
-                    startPathfinding(model, homePosition, currentTime);
+                    returnHome(model, intents, currentTime);
                 }
             }
 
             // Comportement selon l'état
             if (target != null) {
-                handleCombatBehavior(model, projectiles, currentTime);
+                handleCombatBehavior(model, intents, currentTime);
             } else {
-                handleIdleBehavior(model, currentTime);
+                handleIdleBehavior(model, intents, currentTime);
             }
 
             // Mise à jour du pathfinding
-            followPath(currentTime);
+            followPath(currentTime, deltaTime);
         }
 
-        private void handleCombatBehavior(GameModel model, List<Projectile> projectiles, double currentTime) {
+        /**
+         * Vitesse de followPath en cases par seconde (moveSpeed * 0.5 case toutes les
+         * 1 / moveSpeed secondes, comme avant le pas fixe)
+         */
+        public double getTilesPerSecond() {
+            double moveSpeed = stats.getMoveSpeed();
+            return moveSpeed * moveSpeed * 0.5;
+        }
+
+        /** Temps pour traverser une case avec followPath */
+        public double getSecondsPerTile() {
+            return 1.0 / getTilesPerSecond();
+        }
+
+        private void handleCombatBehavior(GameModel model, CombatIntents intents, double currentTime) {
             if (isInRange(target)) {
                 // Attaquer
                 if (canAttack(currentTime)) {
-                    attack(target, projectiles, currentTime);
+                    attack(target, intents, currentTime);
                 }
 
                 // Comportement spécial selon la classe
-                handleSpecialBehavior(model, currentTime);
+                handleSpecialBehavior(model, intents, currentTime);
             } else {
                 // Se rapprocher
-                if (canMove(currentTime) && (currentTime - lastPathfindTime > 0.5)) {
-                    startPathfinding(model, target.position, currentTime);
+                if (canMove(currentTime) && (currentTime - lastPathfindTime > EnemyConfig.PATHFIND_UPDATE_INTERVAL)) {
+                    chaseTarget(model, intents, currentTime);
                 }
             }
         }
 
-        private void handleIdleBehavior(GameModel model, double currentTime) {
+        private void handleIdleBehavior(GameModel model, CombatIntents intents, double currentTime) {
             switch (behavior) {
                 case GUARDIAN:
                     // Retourner à la position de garde si trop loin
-                    double distanceFromHome = position.distance(homePosition);
+                    double distanceFromHome = distanceTo(homePosition);
                     if (distanceFromHome > 2.0) {
                         if (currentTime - lastPathfindTime > 1.0) {
-                            startPathfinding(model, homePosition, currentTime);
+                            returnHome(model, intents, currentTime);
                         }
                     }
                     break;
 
                 case SOLITARY:
                     // Patrouille aléatoire
-                    if (currentTime - stateChangeTime > 5.0 && Math.random() < 0.3) {
-                        Point2D randomTarget = generateRandomPatrolPoint();
+                    if (currentTime - stateChangeTime > 5.0 && nextRandom() < 0.3) {
+                        Point randomTarget = generateRandomPatrolPoint();
                         if (randomTarget != null) {
-                            startPathfinding(model, randomTarget, currentTime);
+                            startPathfinding(model, intents, randomTarget, currentTime);
                             stateChangeTime = currentTime;
                         }
                     }
@@ -360,221 +434,189 @@ public class CombatSystem {
 
                 case PACK:
                     // Rester près des autres membres de la meute
-                    maintainPackCohesion(model, currentTime);
+                    maintainPackCohesion(model, intents, currentTime);
                     break;
             }
         }
 
-        private void handleSpecialBehavior(GameModel model, double currentTime) {
+        private void handleSpecialBehavior(GameModel model, CombatIntents intents, double currentTime) {
             switch (entityClass) {
                 case MAGE:
                 case ELITE_MAGE:
                     // Les mages essaient de garder leurs distances
                     if (distanceTo(target) < stats.range * 0.7) {
-                        retreatFromTarget(model, currentTime);
+                        retreatFromTarget(model, intents, currentTime);
                     }
                     break;
 
                 case BOSS:
                     // Le boss a des capacités spéciales
                     if (stats.getHealthPercent() < 0.5 && currentTime - lastDamageTime > 3.0) {
-                        performBossSpecialAttack(model, currentTime);
+                        performBossSpecialAttack(intents, currentTime);
                     }
                     break;
             }
         }
 
-        private void retreatFromTarget(GameModel model, double currentTime) {
+        private void retreatFromTarget(GameModel model, CombatIntents intents, double currentTime) {
             if (target == null) return;
 
             // Calculer une position de retraite
-            double dx = position.getX() - target.position.getX();
-            double dy = position.getY() - target.position.getY();
+            double dx = getX() - target.getX();
+            double dy = getY() - target.getY();
             double distance = Math.sqrt(dx * dx + dy * dy);
 
             if (distance > 0) {
                 double retreatDistance = 2.0;
-                Point2D retreatPos = new Point2D(
-                        position.getX() + (dx / distance) * retreatDistance,
-                        position.getY() + (dy / distance) * retreatDistance
+                Point retreatPos = new Point(
+                        getX() + (dx / distance) * retreatDistance,
+                        getY() + (dy / distance) * retreatDistance
                 );
 
                 if (model.isValidTile((int)retreatPos.getX(), (int)retreatPos.getY()) &&
                         model.canWalkThrough((int)retreatPos.getX(), (int)retreatPos.getY())) {
-                    startPathfinding(model, retreatPos, currentTime);
+                    startPathfinding(model, intents, retreatPos, currentTime);
                 }
             }
         }
 
-        private void performBossSpecialAttack(GameModel model, double currentTime) {
+        private void performBossSpecialAttack(CombatIntents intents, double currentTime) {
             // Attaque spéciale du boss : tempête de projectiles
             System.out.println("👹 Le boss utilise une attaque spéciale!");
 
             for (int i = 0; i < 8; i++) {
                 double angle = (Math.PI * 2 * i) / 8;
-                Point2D projectileTarget = new Point2D(
-                        position.getX() + Math.cos(angle) * 5,
-                        position.getY() + Math.sin(angle) * 5
-                );
 
-                // Créer un projectile de foudre
-                // Note: Cette méthode sera appelée avec la liste des projectiles dans le contexte approprié
+                // Projectile de foudre vers un point du cercle de rayon 5
+                intents.shoot(getX(), getY(), getX() + Math.cos(angle) * 5, getY() + Math.sin(angle) * 5,
+                        DamageType.LIGHTNING, stats.getDamage(), 8.0, this);
             }
 
             lastDamageTime = currentTime;
         }
 
-        private void alertPackMembers(List<Entity> allEntities, Entity threat) {
-            if (packId == null) return;
+        private void maintainPackCohesion(GameModel model, CombatIntents intents, double currentTime) {
+            if (pack == null || pack.size() == 0) return;
 
-            for (Entity entity : allEntities) {
-                if (entity instanceof Enemy) {
-                    Enemy enemy = (Enemy) entity;
-                    if (packId.equals(enemy.packId) && enemy.target == null) {
-                        enemy.target = threat;
-                        enemy.stateChangeTime = System.currentTimeMillis() / 1000.0;
-                    }
-                }
-            }
-        }
-
-        private void maintainPackCohesion(GameModel model, double currentTime) {
-            if (packId == null) return;
-
-            // Trouver le centre de la meute
-            Point2D packCenter = calculatePackCenter(model);
-            if (packCenter != null) {
-                double distanceToCenter = position.distance(packCenter);
-                if (distanceToCenter > 5.0 && currentTime - lastPathfindTime > 2.0) {
-                    startPathfinding(model, packCenter, currentTime);
-                }
-            }
-        }
-
-        private Point2D calculatePackCenter(GameModel model) {
-            List<Enemy> packMembers = new ArrayList<>();
-
-            // Trouver tous les membres de la meute
-            for (Entity entity : model.getCombatSystem().getEntities()) {
-                if (entity instanceof Enemy) {
-                    Enemy enemy = (Enemy) entity;
-                    if (packId.equals(enemy.packId) && enemy.stats.isAlive()) {
-                        packMembers.add(enemy);
-                    }
-                }
-            }
-
-            if (packMembers.isEmpty()) return null;
-
-            double totalX = 0, totalY = 0;
-            for (Enemy member : packMembers) {
-                totalX += member.position.getX();
-                totalY += member.position.getY();
+            // Centre tenu par le registre des meutes (positions du début du tick)
+            double centerX = pack.getCenterX();
+            double centerY = pack.getCenterY();
+            if (distanceTo(centerX, centerY) > 5.0 && currentTime - lastPathfindTime > 2.0) {
+                startPathfinding(model, intents, new Point(centerX, centerY), currentTime);
             }
-
-            return new Point2D(totalX / packMembers.size(), totalY / packMembers.size());
         }
 
-        private Point2D generateRandomPatrolPoint() {
-            Random rand = new Random();
-            double angle = rand.nextDouble() * Math.PI * 2;
-            double distance = 2 + rand.nextDouble() * 3; // 2-5 cases
+        private Point generateRandomPatrolPoint() {
+            double angle = nextRandom() * Math.PI * 2;
+            double distance = 2 + nextRandom() * 3; // 2-5 cases
 
-            return new Point2D(
+            return new Point(
                     homePosition.getX() + Math.cos(angle) * distance,
                     homePosition.getY() + Math.sin(angle) * distance
             );
         }
 
-        private Player findPlayer(List<Entity> entities) {
-            for (Entity entity : entities) {
-                if (entity instanceof Player) {
-                    return (Player) entity;
-                }
-            }
-            return null;
-        }
-
-        private void attack(Entity target, List<Projectile> projectiles, double currentTime) {
-            lastAttackTime = currentTime;
+        private void attack(Entity target, CombatIntents intents, double currentTime) {
+            setLastAttackTime(currentTime);
 
             DamageType damageType = getDamageType();
-            int damage = stats.damage + (int)(Math.random() * 10 - 5); // Variation ±5
+            int damage = stats.getDamage() + (int)(nextRandom() * 10 - 5); // Variation ±5
 
-            if (isRangedClass()) {
-                // Créer un projectile
-                Projectile projectile = new Projectile(position, target.position, damageType, damage, 8.0, this);
-                projectiles.add(projectile);
+            if (archetype.isRanged()) {
+                // Tirer un projectile (perdu si la réserve est pleine)
+                intents.shoot(getX(), getY(), target.getX(), target.getY(), damageType, damage, 8.0, this);
             } else {
                 // Attaque de mêlée directe
                 if (currentTime - lastDamageTime > 0.5) { // Éviter le spam de dégâts
-                    int finalDamage = target.takeDamage(damage, damageType);
+                    intents.melee(target, damage, damageType);
                     lastDamageTime = currentTime;
                 }
             }
         }
 
         private DamageType getDamageType() {
-            switch (entityClass) {
-                case MAGE:
-                case ELITE_MAGE:
-                    return Math.random() < 0.5 ? DamageType.FIRE : DamageType.ICE;
-                case ELITE_ARCHER:
-                    return Math.random() < 0.3 ? DamageType.POISON : DamageType.PHYSICAL;
-                case BOSS:
-                    DamageType[] types = {DamageType.FIRE, DamageType.LIGHTNING, DamageType.POISON};
-                    return types[(int)(Math.random() * types.length)];
-                default:
-                    return DamageType.PHYSICAL;
+            // Pas de tirage pour les classes à type fixe
+            return archetype.hasRandomDamageType() ? archetype.damageTypeFor(nextRandom()) : archetype.damageTypeFor(0);
+        }
+
+        private void startPathfinding(GameModel model, CombatIntents intents, Point destination, double currentTime) {
+            lastPathfindTime = currentTime;
+
+            // Vérifier que la destination est valide, puis passer par la file budgétée
+            int goalX = (int) Math.round(destination.getX());
+            int goalY = (int) Math.round(destination.getY());
+            if (model.isValidTile(goalX, goalY) && model.canWalkThrough(goalX, goalY)) {
+                intents.requestPath(this, goalX, goalY);
             }
         }
 
-        private boolean isRangedClass() {
-            return entityClass == EnemyClass.MAGE || entityClass == EnemyClass.ARCHER ||
-                    entityClass == EnemyClass.ELITE_MAGE || entityClass == EnemyClass.ELITE_ARCHER;
+        /**
+         * Poursuite par le champ de distances du joueur (trajet réservé pour les meutes),
+         * file de pathfinding hors du champ
+         */
+        private void chaseTarget(GameModel model, CombatIntents intents, double currentTime) {
+            if (target.isPlayer) {
+                lastPathfindTime = currentTime;
+                FlowFieldService flowFields = model.getCombatSystem().getFlowFields();
+                if (pack != null && flowFields.isInPlayerField(getPosition())) {
+                    intents.requestPackChase(this);
+                    intents.cancelPath(this);
+                    return;
+                }
+                // Hors du champ, le chemin (ou la route) en cours est gardé jusqu'à la réponse de la file
+                if (flowFields.isInPlayerField(getPosition())) {
+                    path.clear();
+                    pathIndex = 0;
+                    pathSchedule = null;
+                    if (flowFields.appendStepsTowardsPlayer(getPosition(), path, EnemyConfig.FLOW_FIELD_STEPS)) {
+                        pathGoalTile = -1;
+                        intents.cancelPath(this);
+                        return;
+                    }
+                }
+            }
+            startPathfinding(model, intents, target.getPosition(), currentTime);
         }
 
-        private void startPathfinding(GameModel model, Point2D destination, double currentTime) {
+        /**
+         * Retour au poste de garde par le champ des postes, file de pathfinding hors du champ
+         */
+        private void returnHome(GameModel model, CombatIntents intents, double currentTime) {
             lastPathfindTime = currentTime;
-
-            // Pathfinding simple - peut être amélioré avec A*
             path.clear();
-
-            // Vérifier que la destination est valide
-            if (model.isValidTile((int)destination.getX(), (int)destination.getY()) &&
-                    model.canWalkThrough((int)destination.getX(), (int)destination.getY())) {
-                path.add(destination);
-                pathIndex = 0;
+            pathIndex = 0;
+            pathSchedule = null;
+            if (model.getCombatSystem().getFlowFields()
+                    .appendStepsTowardsHome(getPosition(), homePosition, path, EnemyConfig.FLOW_FIELD_STEPS)) {
+                pathGoalTile = -1;
+                intents.cancelPath(this);
+            } else {
+                startPathfinding(model, intents, homePosition, currentTime);
             }
         }
 
-        private void followPath(double currentTime) {
+        private void followPath(double currentTime, double deltaTime) {
             if (path.isEmpty() || pathIndex >= path.size()) return;
 
-            Point2D nextPoint = path.get(pathIndex);
-            double distance = position.distance(nextPoint);
+            Point nextPoint = path.get(pathIndex);
+            double distance = distanceTo(nextPoint);
 
             if (distance < 0.5) {
                 pathIndex++;
-                lastMoveTime = currentTime;
+                setLastMoveTime(currentTime);
                 return;
             }
 
-            if (canMove(currentTime)) {
-                // Se déplacer vers le point suivant
-                double dx = nextPoint.getX() - position.getX();
-                double dy = nextPoint.getY() - position.getY();
-                double length = Math.sqrt(dx * dx + dy * dy);
-
-                if (length > 0) {
-                    double moveDistance = stats.moveSpeed * 0.5; // Ajusté pour le deltaTime
-                    double newX = position.getX() + (dx / length) * moveDistance;
-                    double newY = position.getY() + (dy / length) * moveDistance;
-                    position = new Point2D(newX, newY);
-                }
-
-                lastMoveTime = currentTime;
+            // Trajet réservé : attendre l'instant de départ prévu vers ce point
+            if (pathSchedule != null && pathIndex < pathSchedule.length && currentTime < pathSchedule[pathIndex]) {
+                return;
             }
+
+            // Avancer vers le point suivant à vitesse constante (cases/s × durée du tick), sans le dépasser
+            double moveDistance = Math.min(getTilesPerSecond() * deltaTime, distance);
+            double dx = nextPoint.getX() - getX();
+            double dy = nextPoint.getY() - getY();
+            setPosition(getX() + dx / distance * moveDistance, getY() + dy / distance * moveDistance);
         }
     }
 
@@ -582,34 +624,186 @@ public class CombatSystem {
     // GESTION PRINCIPALE DU SYSTÈME
     // ================================
 
-    private List<Entity> entities = new ArrayList<>();
-    private List<Projectile> projectiles = new ArrayList<>();
+    private static final double PROJECTILE_HIT_RADIUS = 0.5;
+
+    private final EntityStore store = new EntityStore(256);
+    private final List<Entity> entityView = Collections.unmodifiableList(store.asList());
+    private Player player; // référence gardée à l'ajout (les ennemis la lisent à chaque tick)
+    private final ProjectilePool projectiles = new ProjectilePool(EnemyConfig.PROJECTILE_CAPACITY);
+    private final ProjectileKernel projectileKernel = ProjectileKernel.select();
+    private Entity collisionSource; // source du projectile testé (filtre sans allocation)
+    private final Predicate<Entity> notCollisionSource = e -> e != collisionSource;
+    private final FlowFieldService flowFields = new FlowFieldService();
+    private final PackPathPlanner packPaths = new PackPathPlanner();
+    private final PackRegistry packs = new PackRegistry();
+    private final EnemyPathQueue pathQueue = new EnemyPathQueue(packPaths);
+    private final SpatialHashGrid spatialIndex =
+            new SpatialHashGrid(EnemyConfig.SPATIAL_CELL_SIZE, EnemyConfig.SPATIAL_BUCKETS);
     private double gameTime = 0;
-    private Random random = new Random();
+
+    // Mise à jour en deux phases : décision par blocs de lignes (en parallèle si activée),
+    // puis application des tampons dans l'ordre des blocs
+    private final ForkJoinPool updatePool = ForkJoinPool.commonPool();
+    private boolean parallelUpdate = EnemyConfig.PARALLEL_UPDATE;
+    private CombatIntents[] chunkIntents = new CombatIntents[0];
+    private long seed;
+    private long nextEntitySeed = 0;
+
+    public CombatSystem() {
+        this(System.nanoTime());
+    }
+
+    /**
+     * Système dont les tirages des entités (variation des dégâts, patrouilles...) découlent de seed
+     */
+    public CombatSystem(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Les entités ajoutées ensuite tirent leur générateur de seed, comme dans un système neuf
+     */
+    public void reseed(long seed) {
+        this.seed = seed;
+        nextEntitySeed = 0;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /** Temps simulé (somme des pas), horloge des recharges des entités */
+    public double getGameTime() {
+        return gameTime;
+    }
+
+    public void setParallelUpdate(boolean parallelUpdate) {
+        this.parallelUpdate = parallelUpdate;
+    }
+
+    public boolean isParallelUpdate() {
+        return parallelUpdate;
+    }
+
+    /** Finaliseur de SplitMix64 */
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
 
     public void addEntity(Entity entity) {
-        entities.add(entity);
+        entity.randomState = mix(seed + 0x632BE59BD9B4E019L * nextEntitySeed++);
+        store.attach(entity);
+        if (entity instanceof Player) player = (Player) entity;
+        if (entity instanceof Enemy) {
+            Enemy enemy = (Enemy) entity;
+            if (enemy.behavior == BehaviorType.PACK && enemy.pack == null) enemy.pack = packs.create();
+            if (enemy.pack != null) packs.join(enemy);
+        }
+        spatialIndex.insert(entity);
         System.out.println("🎮 Entité ajoutée: " + (entity.isPlayer ? "Joueur" : entity.entityClass));
     }
 
     public void removeEntity(Entity entity) {
-        entities.remove(entity);
+        if (entity instanceof Enemy) {
+            packPaths.release((Enemy) entity);
+            pathQueue.cancel((Enemy) entity);
+            packs.leave((Enemy) entity);
+        }
+        spatialIndex.remove(entity);
+        store.detach(entity);
+        if (entity == player) player = null;
     }
 
+    /**
+     * Vue en lecture seule et vivante (sans copie) des entités, dans l'ordre des lignes ;
+     * la copier avant d'ajouter ou de retirer des entités pendant le parcours
+     */
     public List<Entity> getEntities() {
-        return new ArrayList<>(entities);
+        return entityView;
     }
 
-    public List<Projectile> getProjectiles() {
-        return new ArrayList<>(projectiles);
+    public int getEntityCount() {
+        return store.size();
+    }
+
+    /**
+     * Applique action à chaque entité vivante (joueur compris), sans copie. L'action peut
+     * modifier les entités mais ne doit pas en ajouter ni en retirer.
+     */
+    public void forEachAlive(Consumer<? super Entity> action) {
+        for (int row = 0; row < store.size(); row++) {
+            if (store.health[row] > 0) action.accept(store.views[row]);
+        }
+    }
+
+    /** Idem, pour les seuls ennemis vivants */
+    public void forEachAliveEnemy(Consumer<? super Enemy> action) {
+        for (int row = 0; row < store.size(); row++) {
+            if (store.health[row] > 0 && store.views[row] instanceof Enemy) {
+                action.accept((Enemy) store.views[row]);
+            }
+        }
+    }
+
+    public EntityStore getStore() {
+        return store;
+    }
+
+    public Player getPlayer() {
+        return player;
+    }
+
+    /** Projectiles actifs, lus par indice (pas de copie) */
+    public ProjectilePool getProjectilePool() {
+        return projectiles;
+    }
+
+    public int getProjectileCount() {
+        return projectiles.size();
+    }
+
+    public ProjectileKernel getProjectileKernel() {
+        return projectileKernel;
+    }
+
+    public FlowFieldService getFlowFields() {
+        return flowFields;
+    }
+
+    public EnemyPathQueue getPathQueue() {
+        return pathQueue;
+    }
+
+    public PackPathPlanner getPackPaths() {
+        return packPaths;
+    }
+
+    public PackRegistry getPacks() {
+        return packs;
+    }
+
+    public SpatialHashGrid getSpatialIndex() {
+        return spatialIndex;
     }
 
     public void update(GameModel model, double deltaTime) {
         gameTime += deltaTime;
+        store.snapshotPositions();
+        packPaths.beginTick(gameTime);
+
+        // Champs de distances partagés (recalculés seulement si besoin)
+        flowFields.update(model, store.asList());
 
         // Mettre à jour toutes les entités
         updateEntities(model, deltaTime);
 
+        // Servir les demandes de chemin dans le budget du tick (appliquées au tick suivant)
+        pathQueue.process(model.getWalkability(), model.getPathCache(), model.getHierarchy(),
+                model.getConnectivity());
+        packPaths.process(model.getWalkability(), flowFields);
+
         // Mettre à jour les projectiles
         updateProjectiles(deltaTime);
 
@@ -618,66 +812,142 @@ public class CombatSystem {
     }
 
     private void updateEntities(GameModel model, double deltaTime) {
-        Iterator<Entity> entityIterator = entities.iterator();
-        while (entityIterator.hasNext()) {
-            Entity entity = entityIterator.next();
-
-            if (!entity.stats.isAlive()) {
-                if (!entity.isPlayer) {
-                    // L'entité sera supprimée dans cleanupDeadEntities()
-                    continue;
-                } else {
-                    // Le joueur est mort - le GameModel gère cela
-                    continue;
-                }
+        // Le joueur d'abord : les ennemis lisent sa position pendant la décision
+        if (player != null && player.store == store && player.stats.isAlive()) {
+            player.update(model, null, gameTime, deltaTime);
+        }
+
+        // Les entités ajoutées pendant le tick attendent le suivant
+        int count = store.size();
+        int chunkSize = EnemyConfig.UPDATE_CHUNK_SIZE;
+        int chunks = (count + chunkSize - 1) / chunkSize;
+        if (chunkIntents.length < chunks) {
+            CombatIntents[] grown = Arrays.copyOf(chunkIntents, chunks);
+            for (int i = chunkIntents.length; i < chunks; i++) grown[i] = new CombatIntents();
+            chunkIntents = grown;
+        }
+
+        // Phase 1 : décisions (chaque ennemi n'écrit que sa ligne et le tampon de son bloc)
+        if (parallelUpdate && count >= EnemyConfig.PARALLEL_MIN_ENTITIES && chunks > 1) {
+            updatePool.invoke(new DecideTask(model, deltaTime, 0, chunks, count));
+        } else {
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                decideChunk(model, deltaTime, chunk, count);
             }
+        }
 
-            entity.update(model, entities, projectiles, gameTime);
+        // Phase 2 : application dans l'ordre des lignes, identique en série et en parallèle
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            chunkIntents[chunk].apply(this, model, gameTime);
+        }
+        for (int row = 0; row < count; row++) {
+            Entity entity = store.views[row];
+            if (entity instanceof Enemy && ((Enemy) entity).pack != null) {
+                // Seule la décision déplace les ennemis : le centre de la meute suit l'écart du tick
+                ((Enemy) entity).pack.move(store.x[row] - store.previousX[row], store.y[row] - store.previousY[row]);
+            }
+            if (store.health[row] > 0) spatialIndex.update(entity);
         }
     }
 
-    private void updateProjectiles(double deltaTime) {
-        Iterator<Projectile> projectileIterator = projectiles.iterator();
-        while (projectileIterator.hasNext()) {
-            Projectile projectile = projectileIterator.next();
+    private void decideChunk(GameModel model, double deltaTime, int chunk, int count) {
+        CombatIntents intents = chunkIntents[chunk];
+        int end = Math.min(count, (chunk + 1) * EnemyConfig.UPDATE_CHUNK_SIZE);
+        for (int row = chunk * EnemyConfig.UPDATE_CHUNK_SIZE; row < end; row++) {
+            Entity entity = store.views[row];
 
-            if (!projectile.active) {
-                projectileIterator.remove();
-                continue;
+            // Les morts seront supprimés dans cleanupDeadEntities() (le GameModel gère celle du joueur)
+            if (entity.isPlayer || store.health[row] <= 0) continue;
+
+            entity.update(model, intents, gameTime, deltaTime);
+        }
+    }
+
+    /**
+     * Découpe récursive des blocs [from, to) sur le ForkJoinPool
+     */
+    private class DecideTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L; // jamais sérialisée
+
+        private final transient GameModel model;
+        private final double deltaTime;
+        private final int from;
+        private final int to;
+        private final int count;
+
+        DecideTask(GameModel model, double deltaTime, int from, int to, int count) {
+            this.model = model;
+            this.deltaTime = deltaTime;
+            this.from = from;
+            this.to = to;
+            this.count = count;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                decideChunk(model, deltaTime, from, count);
+                return;
             }
+            int middle = (from + to) >>> 1;
+            invokeAll(new DecideTask(model, deltaTime, from, middle, count),
+                    new DecideTask(model, deltaTime, middle, to, count));
+        }
+    }
 
-            projectile.update(deltaTime);
+    /**
+     * Donne la menace aux membres de la meute de from qui n'ont pas encore de cible
+     */
+    void alertPackMembers(Enemy from, Entity threat, double currentTime) {
+        if (from.pack == null) return;
 
-            // Vérifier les collisions avec les entités
-            if (checkProjectileCollisions(projectile)) {
-                projectileIterator.remove();
+        for (Enemy enemy : from.pack.getMembers()) {
+            if (enemy.target == null) {
+                enemy.target = threat;
+                enemy.stateChangeTime = currentTime;
             }
         }
     }
 
-    private void cleanupDeadEntities() {
-        Iterator<Entity> entityIterator = entities.iterator();
-        while (entityIterator.hasNext()) {
-            Entity entity = entityIterator.next();
+    private void updateProjectiles(double deltaTime) {
+        projectileKernel.integrate(projectiles, deltaTime);
 
-            if (!entity.isPlayer && !entity.stats.isAlive()) {
-                entityIterator.remove();
+        // De la fin vers le début : le dernier, qui prend la place d'un projectile retiré, est déjà traité
+        for (int i = projectiles.size() - 1; i >= 0; i--) {
+            if (projectiles.finished[i] || checkProjectileCollision(i)) {
+                projectiles.deactivate(i);
             }
         }
     }
 
-    private boolean checkProjectileCollisions(Projectile projectile) {
-        for (Entity entity : entities) {
-            if (entity == projectile.source) continue; // Pas de friendly fire pour l'instant
+    private void cleanupDeadEntities() {
+        // De la fin vers le début : la ligne déplacée dans le trou est déjà vue
+        for (int row = store.size() - 1; row >= 0; row--) {
+            Entity entity = store.views[row];
 
-            double distance = projectile.position.distance(entity.position);
-            if (distance < 0.5) {
-                // Collision!
-                int finalDamage = entity.takeDamage(projectile.damage, projectile.damageType);
-                projectile.active = false;
-                return true;
+            if (!entity.isPlayer && store.health[row] <= 0) {
+                if (entity instanceof Enemy) {
+                    packPaths.release((Enemy) entity);
+                    pathQueue.cancel((Enemy) entity);
+                    packs.leave((Enemy) entity);
+                }
+                spatialIndex.remove(entity);
+                store.detach(entity);
             }
         }
+    }
+
+    private boolean checkProjectileCollision(int i) {
+        // Pas de friendly fire pour l'instant : la source est exclue
+        collisionSource = projectiles.source[i];
+        Entity entity = spatialIndex.nearest(projectiles.x[i], projectiles.y[i],
+                PROJECTILE_HIT_RADIUS, notCollisionSource);
+        collisionSource = null;
+        if (entity != null) {
+            // Collision!
+            entity.takeDamage(projectiles.damage[i], projectiles.getDamageType(i));
+            return true;
+        }
         return false;
     }
 
@@ -685,32 +955,32 @@ public class CombatSystem {
     // MÉTHODES DE SPAWN D'ENNEMIS
     // ================================
 
-    public void spawnEnemyPack(GameModel model, Point2D centerPosition, EnemyClass baseClass, int count) {
-        String packId = "pack_" + System.currentTimeMillis();
+    public void spawnEnemyPack(GameModel model, Point centerPosition, EnemyClass baseClass, int count) {
+        PackRegistry.Pack pack = packs.create();
 
         for (int i = 0; i < count; i++) {
             double angle = (2 * Math.PI * i) / count;
             double radius = 2.0;
-            Point2D spawnPos = new Point2D(
+            Point spawnPos = new Point(
                     centerPosition.getX() + Math.cos(angle) * radius,
                     centerPosition.getY() + Math.sin(angle) * radius
             );
 
             Enemy enemy = new Enemy(spawnPos, baseClass, BehaviorType.PACK);
-            enemy.packId = packId;
+            enemy.pack = pack;
             addEntity(enemy);
         }
 
         System.out.println("🐺 Meute de " + count + " " + baseClass + " apparue!");
     }
 
-    public Entity spawnSolitaryEnemy(Point2D position, EnemyClass enemyClass) {
+    public Entity spawnSolitaryEnemy(Point position, EnemyClass enemyClass) {
         Enemy enemy = new Enemy(position, enemyClass, BehaviorType.SOLITARY);
         addEntity(enemy);
         return enemy;
     }
 
-    public Entity spawnGuardian(Point2D position, EnemyClass enemyClass) {
+    public Entity spawnGuardian(Point position, EnemyClass enemyClass) {
         Enemy enemy = new Enemy(position, enemyClass, BehaviorType.GUARDIAN);
         addEntity(enemy);
         return enemy;
@@ -721,66 +991,86 @@ public class CombatSystem {
     // ================================
 
     public int getAliveEnemyCount() {
-        return (int) entities.stream()
-                .filter(e -> !e.isPlayer && e.stats.isAlive())
-                .count();
+        int count = 0;
+        for (int row = 0; row < store.size(); row++) {
+            if (!store.views[row].isPlayer && store.health[row] > 0) count++;
+        }
+        return count;
     }
 
     public int getTotalEnemyCount() {
-        return (int) entities.stream()
-                .filter(e -> !e.isPlayer)
-                .count();
+        return store.size() - (player != null && player.store == store ? 1 : 0);
     }
 
     public boolean hasBoss() {
-        return entities.stream()
-                .anyMatch(e -> !e.isPlayer &&
-                        e.entityClass == EnemyClass.BOSS &&
-                        e.stats.isAlive());
+        return findAliveEnemy(EnemyClass.BOSS) != null;
     }
 
-    public Entity findNearestEnemyToPosition(Point2D position, double maxDistance) {
-        Entity nearest = null;
-        double minDistance = maxDistance;
-
-        for (Entity entity : entities) {
-            if (entity.isPlayer || !entity.stats.isAlive()) continue;
-
-            double distance = entity.position.distance(position);
-            if (distance < minDistance) {
-                minDistance = distance;
-                nearest = entity;
+    /** Premier ennemi vivant de la classe, null s'il n'y en a pas */
+    public Enemy findAliveEnemy(EnemyClass enemyClass) {
+        int ordinal = enemyClass.ordinal();
+        for (int row = 0; row < store.size(); row++) {
+            if (store.classOrdinal[row] == ordinal && store.health[row] > 0 && store.views[row] instanceof Enemy) {
+                return (Enemy) store.views[row];
             }
         }
+        return null;
+    }
+
+    // Requêtes de voisinage : passent par l'index spatial (positions du dernier tick)
+
+    private static boolean isLivingEnemy(Entity entity) {
+        return !entity.isPlayer && entity.stats.isAlive();
+    }
 
+    public Entity findNearestEnemyToPosition(Point position, double maxDistance) {
+        return spatialIndex.nearest(position.getX(), position.getY(), maxDistance, CombatSystem::isLivingEnemy);
+    }
+
+    /**
+     * Les k ennemis vivants les plus proches, du plus proche au plus lointain
+     */
+    public List<Entity> findNearestEnemies(Point position, int k, double maxDistance) {
+        List<Entity> nearest = new ArrayList<>(k);
+        spatialIndex.nearestK(position.getX(), position.getY(), k, maxDistance, CombatSystem::isLivingEnemy, nearest);
         return nearest;
     }
 
-    public List<Entity> getEnemiesInRadius(Point2D center, double radius) {
+    public List<Entity> getEnemiesInRadius(Point center, double radius) {
         List<Entity> enemiesInRadius = new ArrayList<>();
+        spatialIndex.queryRadius(center.getX(), center.getY(), radius, CombatSystem::isLivingEnemy, enemiesInRadius);
+        return enemiesInRadius;
+    }
 
-        for (Entity entity : entities) {
-            if (entity.isPlayer || !entity.stats.isAlive()) continue;
-
-            if (entity.position.distance(center) <= radius) {
-                enemiesInRadius.add(entity);
-            }
-        }
+    /**
+     * Ennemi vivant désigné par un point (clic, survol) : le plus proche à moins de tolerance
+     */
+    public Entity findEnemyAt(Point position, double tolerance) {
+        return findNearestEnemyToPosition(position, tolerance);
+    }
 
-        return enemiesInRadius;
+    /** Vrai si un ennemi vivant est à moins de tolerance du point */
+    public boolean hasEnemyAt(Point position, double tolerance) {
+        return findEnemyAt(position, tolerance) != null;
     }
 
     public void printStats() {
         System.out.println("=== Statistiques du Système de Combat ===");
-        System.out.println("Entités totales: " + entities.size());
+        System.out.println("Entités totales: " + store.size());
         System.out.println("Ennemis vivants: " + getAliveEnemyCount());
-        System.out.println("Projectiles actifs: " + projectiles.size());
+        System.out.println("Projectiles actifs: " + projectiles.size() + " (noyau " + projectileKernel.getName() + ")");
         System.out.println("Boss présent: " + (hasBoss() ? "OUI" : "NON"));
         System.out.println("Temps de jeu: " + String.format("%.1f", gameTime) + "s");
+        System.out.println("Champs de distances: " + flowFields.getPlayerFieldUpdates() + " joueur, "
+                + flowFields.getHomeFieldUpdates() + " gardiens (dernier: "
+                + String.format("%.2f", flowFields.getLastPlayerFieldMillis()) + " ms)");
+        System.out.println("Meutes: " + packs.getPackCount());
+        pathQueue.printStats();
+        packPaths.printStats();
 
         // Statistiques par classe
         Map<EnemyClass, Integer> classCounts = new HashMap<>();
-        for (Entity entity : entities) {
+        for (Entity entity : store.asList()) {
             if (!entity.isPlayer && entity.stats.isAlive()) {
                 classCounts.put(entity.entityClass,
                         classCounts.getOrDefault(entity.entityClass, 0) + 1);
@@ -0,0 +1,151 @@
+package net.arkaine.combat;
+
+import net.arkaine.combat.CombatSystem.DamageType;
+import net.arkaine.combat.CombatSystem.EnemyClass;
+
+/**
+ * Caractéristiques communes à tous les ennemis d'une classe (poids mouche).
+ *
+ * Une seule instance par EnemyClass, immuable : stats de base, résistances rangées par
+ * ordinal de DamageType, portées et table des types de dégâts. Un ennemi ne garde que
+ * son état propre (santé, recharges, stats ajustées par la difficulté) et partage le
+ * tableau des résistances de son archétype tant qu'il ne le modifie pas.
+ */
+public final class EnemyArchetype {
+
+    private static final EnemyArchetype[] BY_CLASS = new EnemyArchetype[EnemyClass.values().length];
+
+    static {
+        for (EnemyClass enemyClass : EnemyClass.values()) {
+            BY_CLASS[enemyClass.ordinal()] = create(enemyClass);
+        }
+    }
+
+    public static EnemyArchetype of(EnemyClass enemyClass) {
+        return BY_CLASS[enemyClass.ordinal()];
+    }
+
+    private final EnemyClass enemyClass;
+    private final int health;
+    private final int damage;
+    private final double moveSpeed;
+    private final double attackSpeed;
+    private final double range;
+    private final double aggroRange;
+    private final boolean ranged;
+    private final double[] resistances = new double[DamageType.values().length];
+    private final DamageType[] damageTypes;
+    private final double[] damageTypeThresholds; // tirage < seuil i : type i
+
+    private EnemyArchetype(EnemyClass enemyClass, int health, int damage, double moveSpeed,
+                           double attackSpeed, double range, double aggroRange, boolean ranged) {
+        this(enemyClass, health, damage, moveSpeed, attackSpeed, range, aggroRange, ranged,
+                new DamageType[]{DamageType.PHYSICAL}, 1.0);
+    }
+
+    private EnemyArchetype(EnemyClass enemyClass, int health, int damage, double moveSpeed,
+                           double attackSpeed, double range, double aggroRange, boolean ranged,
+                           DamageType[] damageTypes, double... damageTypeThresholds) {
+        this.enemyClass = enemyClass;
+        this.health = health;
+        this.damage = damage;
+        this.moveSpeed = moveSpeed;
+        this.attackSpeed = attackSpeed;
+        this.range = range;
+        this.aggroRange = aggroRange;
+        this.ranged = ranged;
+        this.damageTypes = damageTypes.clone();
+        this.damageTypeThresholds = damageTypeThresholds.clone();
+    }
+
+    private static EnemyArchetype create(EnemyClass enemyClass) {
+        switch (enemyClass) {
+            case WARRIOR:
+                return new EnemyArchetype(enemyClass, 60, 20, 0.8, 1.0, 1.2, 4.0, false)
+                        .resist(DamageType.PHYSICAL, 0.2);
+
+            case MAGE:
+                return new EnemyArchetype(enemyClass, 40, 35, 0.6, 0.7, 4.0, 6.0, true,
+                        new DamageType[]{DamageType.FIRE, DamageType.ICE}, 0.5, 1.0)
+                        .resist(DamageType.FIRE, 0.5)
+                        .resist(DamageType.ICE, 0.3);
+
+            case ARCHER:
+                return new EnemyArchetype(enemyClass, 50, 25, 1.0, 1.2, 5.0, 8.0, true)
+                        .resist(DamageType.PHYSICAL, 0.1);
+
+            case ELITE_WARRIOR:
+                return new EnemyArchetype(enemyClass, 120, 35, 1.0, 1.2, 1.5, 4.0, false)
+                        .resist(DamageType.PHYSICAL, 0.4)
+                        .resist(DamageType.FIRE, 0.2);
+
+            case ELITE_MAGE:
+                return new EnemyArchetype(enemyClass, 80, 50, 0.8, 1.0, 6.0, 6.0, true,
+                        new DamageType[]{DamageType.FIRE, DamageType.ICE}, 0.5, 1.0)
+                        .resist(DamageType.FIRE, 0.7)
+                        .resist(DamageType.ICE, 0.7)
+                        .resist(DamageType.LIGHTNING, 0.5);
+
+            case ELITE_ARCHER:
+                return new EnemyArchetype(enemyClass, 90, 40, 1.2, 1.5, 7.0, 8.0, true,
+                        new DamageType[]{DamageType.POISON, DamageType.PHYSICAL}, 0.3, 1.0)
+                        .resist(DamageType.PHYSICAL, 0.3)
+                        .resist(DamageType.POISON, 0.4);
+
+            case BOSS:
+                return new EnemyArchetype(enemyClass, 300, 60, 0.7, 0.8, 3.0, 10.0, false,
+                        new DamageType[]{DamageType.FIRE, DamageType.LIGHTNING, DamageType.POISON},
+                        1.0 / 3, 2.0 / 3, 1.0)
+                        .resist(DamageType.PHYSICAL, 0.3)
+                        .resist(DamageType.FIRE, 0.4)
+                        .resist(DamageType.ICE, 0.4)
+                        .resist(DamageType.POISON, 0.6);
+
+            default:
+                return new EnemyArchetype(enemyClass, 50, 20, 1.0, 1.0, 1.5, 4.0, false);
+        }
+    }
+
+    // Résistances, réglées seulement pendant la construction de la table (avant publication)
+    private EnemyArchetype resist(DamageType type, double resistance) {
+        resistances[type.ordinal()] = CombatSystem.Stats.clampResistance(resistance);
+        return this;
+    }
+
+    // ================================
+    // LECTURE
+    // ================================
+
+    public EnemyClass getEnemyClass() { return enemyClass; }
+    public int getHealth() { return health; }
+    public int getDamage() { return damage; }
+    public double getMoveSpeed() { return moveSpeed; }
+    public double getAttackSpeed() { return attackSpeed; }
+    public double getRange() { return range; }
+    public double getAggroRange() { return aggroRange; }
+    public boolean isRanged() { return ranged; }
+
+    public double getResistance(DamageType type) {
+        return resistances[type.ordinal()];
+    }
+
+    /** Tableau partagé par les Stats des ennemis de la classe (jamais modifié) */
+    double[] sharedResistances() {
+        return resistances;
+    }
+
+    /** Vrai si le type de dégât est tiré au hasard à chaque attaque */
+    public boolean hasRandomDamageType() {
+        return damageTypes.length > 1;
+    }
+
+    /**
+     * Type de dégât pour un tirage dans [0, 1) ; sans objet si le type est fixe
+     */
+    public DamageType damageTypeFor(double roll) {
+        for (int i = 0; i < damageTypes.length - 1; i++) {
+            if (roll < damageTypeThresholds[i]) return damageTypes[i];
+        }
+        return damageTypes[damageTypes.length - 1];
+    }
+}
@@ -0,0 +1,439 @@
+package net.arkaine.combat;
+
+import net.arkaine.config.EnemyConfig;
+import net.arkaine.model.Point;
+import net.arkaine.model.WalkabilityGrid;
+import net.arkaine.pathfinding.ConnectivityIndex;
+import net.arkaine.pathfinding.DistanceField;
+import net.arkaine.pathfinding.GridPath;
+import net.arkaine.pathfinding.GridPathfinder;
+import net.arkaine.pathfinding.HierarchicalPathfinder;
+import net.arkaine.pathfinding.HierarchicalRoute;
+import net.arkaine.pathfinding.PathCache;
+
+import java.util.*;
+
+/**
+ * File des demandes de chemin des ennemis, servie avec un budget par tick.
+ *
+ * - les demandes vers une même case sont regroupées : une seule recherche sert
+ *   tout le groupe (A* pour un ennemi, champ de distances depuis la destination sinon)
+ * - une nouvelle demande est ignorée si la destination a bougé de moins de
+ *   EnemyConfig.REPATH_DISTANCE_TILES cases
+ * - une destination hors de la zone connexe de l'ennemi est refusée sans recherche
+ * - chaque tick traite des groupes tant que le budget d'expansions et de temps
+ *   n'est pas épuisé (au moins un groupe pour garantir la progression) ; une recherche
+ *   A* s'arrête au budget restant et reprend au tick suivant
+ * - les membres de meute reçoivent un trajet coopératif réservé (PackPathPlanner),
+ *   guidé par le champ de groupe ; un membre hors du champ borné a une recherche
+ *   individuelle si le budget le permet, sinon il repasse en demande individuelle
+ * - un ennemi seul dont la destination est à plus de EnemyConfig.HPA_MIN_DISTANCE_TILES
+ *   cases suit une route HPA* : seul le tronçon suivant est détaillé, quand il approche
+ *   de la fin du précédent (dans le budget du tick)
+ */
+public class EnemyPathQueue {
+
+    private static class Request {
+        final int goalTile;
+        final boolean individual;   // recherche individuelle même pour un membre de meute
+        final boolean hierarchical; // route HPA* quelle que soit la distance (A* trop long)
+        final List<CombatSystem.Enemy> enemies = new ArrayList<>();
+        final long enqueuedNanos;
+
+        Request(int goalTile, boolean individual, boolean hierarchical, long enqueuedNanos) {
+            this.goalTile = goalTile;
+            this.individual = individual;
+            this.hierarchical = hierarchical;
+            this.enqueuedNanos = enqueuedNanos;
+        }
+    }
+
+    private final PackPathPlanner packPaths;
+    private final GridPathfinder pathfinder = new GridPathfinder();
+    private final DistanceField groupField = new DistanceField();
+    private final int[] groupSource = new int[1];
+    private static final int[] NO_TILES = new int[0];
+
+    // Routes HPA* en cours, dans l'ordre de leur création
+    private final Map<CombatSystem.Enemy, HierarchicalRoute> routes = new LinkedHashMap<>();
+
+    // Demandes en attente par case destination, dans l'ordre d'arrivée
+    private final LinkedHashMap<Integer, Request> pending = new LinkedHashMap<>();
+    private final Map<CombatSystem.Enemy, Request> pendingByEnemy = new IdentityHashMap<>();
+    // Membres de groupe hors du champ borné et recherches interrompues par le budget,
+    // servis avant les nouvelles destinations
+    private final ArrayDeque<Request> deferred = new ArrayDeque<>();
+    private boolean fullBudgetAvailable; // la première recherche du tick a tout le budget
+
+    // Métriques
+    private long requestCount = 0;
+    private long coalescedCount = 0;
+    private long skippedCount = 0;
+    private long servicedCount = 0;
+    private long totalLatencyNanos = 0;
+    private long maxLatencyNanos = 0;
+    private int lastTickExpansions = 0;
+    private int lastTickSearches = 0;
+
+    public EnemyPathQueue(PackPathPlanner packPaths) {
+        this.packPaths = packPaths;
+    }
+
+    // ================================
+    // DEMANDES
+    // ================================
+
+    /**
+     * Demande un chemin vers (goalX, goalY) ; faux si la demande est ignorée
+     */
+    public boolean request(CombatSystem.Enemy enemy, WalkabilityGrid grid, int goalX, int goalY) {
+        if (!grid.isWalkable(goalX, goalY)) return false;
+        int goalTile = goalX * grid.getHeight() + goalY;
+        int threshold = EnemyConfig.REPATH_DISTANCE_TILES;
+
+        // Demande déjà en attente vers une destination proche
+        Request current = pendingByEnemy.get(enemy);
+        if (current != null) {
+            if (tileDistance(current.goalTile, goalTile, grid.getHeight()) <= threshold) {
+                skippedCount++;
+                return false;
+            }
+            cancel(enemy);
+        } else if (enemy.pathGoalTile >= 0 && enemy.pathIndex < enemy.path.size()
+                && tileDistance(enemy.pathGoalTile, goalTile, grid.getHeight()) <= threshold) {
+            // Chemin en cours encore valable
+            skippedCount++;
+            return false;
+        }
+
+        requestCount++;
+        Request request = pending.get(goalTile);
+        if (request == null) {
+            request = new Request(goalTile, false, false, System.nanoTime());
+            pending.put(goalTile, request);
+        } else {
+            coalescedCount++;
+        }
+        request.enemies.add(enemy);
+        pendingByEnemy.put(enemy, request);
+        return true;
+    }
+
+    /**
+     * Retire la demande en attente de l'ennemi (il suit un autre guidage)
+     */
+    public void cancel(CombatSystem.Enemy enemy) {
+        routes.remove(enemy);
+        Request request = pendingByEnemy.remove(enemy);
+        if (request != null) {
+            request.enemies.remove(enemy);
+            if (request.enemies.isEmpty() && pending.get(request.goalTile) == request) {
+                pending.remove(request.goalTile);
+            }
+        }
+    }
+
+    // ================================
+    // TRAITEMENT
+    // ================================
+
+    /**
+     * Sert les demandes dans la limite du budget du tick (recherches individuelles via le cache)
+     */
+    public void process(WalkabilityGrid grid, PathCache cache, HierarchicalPathfinder hierarchy,
+                        ConnectivityIndex connectivity) {
+        lastTickExpansions = 0;
+        lastTickSearches = 0;
+        if (grid == null) return;
+        advanceRoutes(grid);
+        fullBudgetAvailable = true;
+
+        long begin = System.nanoTime();
+        long timeBudget = (long) (EnemyConfig.PATHFIND_TIME_BUDGET_MS * 1_000_000);
+        while (!deferred.isEmpty() || !pending.isEmpty()) {
+            if (lastTickSearches > 0 && (lastTickExpansions >= EnemyConfig.PATHFIND_EXPANSION_BUDGET
+                    || (timeBudget > 0 && System.nanoTime() - begin >= timeBudget))) {
+                break;
+            }
+
+            Request request = deferred.pollFirst();
+            if (request == null) {
+                Iterator<Request> it = pending.values().iterator();
+                request = it.next();
+                it.remove();
+            }
+            if (request.enemies.isEmpty()) continue; // annulée
+            for (CombatSystem.Enemy enemy : request.enemies) {
+                pendingByEnemy.remove(enemy);
+            }
+            int served = request.enemies.size() - service(grid, cache, hierarchy, connectivity, request);
+            lastTickSearches++;
+
+            long latency = System.nanoTime() - request.enqueuedNanos;
+            servicedCount += served;
+            totalLatencyNanos += latency * served;
+            maxLatencyNanos = Math.max(maxLatencyNanos, latency);
+        }
+    }
+
+    /**
+     * Sert une demande ; renvoie le nombre d'ennemis repassés en demande individuelle
+     */
+    private int service(WalkabilityGrid grid, PathCache cache, HierarchicalPathfinder hierarchy,
+                        ConnectivityIndex connectivity, Request request) {
+        int height = grid.getHeight();
+        int goalX = request.goalTile / height;
+        int goalY = request.goalTile % height;
+
+        if (request.individual || (request.enemies.size() == 1 && request.enemies.get(0).pack == null)) {
+            int deferredCount = 0;
+            for (CombatSystem.Enemy enemy : request.enemies) {
+                if (enemy.stats.isAlive() && !serviceSingle(grid, cache, hierarchy, connectivity, enemy,
+                        request.goalTile, request.hierarchical, request.enqueuedNanos)) {
+                    deferredCount++;
+                }
+            }
+            return deferredCount;
+        }
+
+        // Groupe : un champ de distances depuis la destination, borné au plus éloigné
+        int maxDistance = 0;
+        for (CombatSystem.Enemy enemy : request.enemies) {
+            maxDistance = Math.max(maxDistance, Math.max(
+                    Math.abs(tileX(enemy) - goalX), Math.abs(tileY(enemy) - goalY)));
+        }
+        int maxCost = (maxDistance * 2 + EnemyConfig.REPATH_DISTANCE_TILES + 4) * 1000;
+        groupSource[0] = request.goalTile;
+        groupField.compute(grid, groupSource, 1, maxCost);
+        lastTickExpansions += groupField.getReachedCount();
+        fullBudgetAvailable = false;
+
+        int deferredCount = 0;
+        int[] tiles = new int[16];
+        for (CombatSystem.Enemy enemy : request.enemies) {
+            if (!enemy.stats.isAlive()) continue;
+            int x = tileX(enemy);
+            int y = tileY(enemy);
+            if (enemy.pack != null && groupField.distanceAt(x, y) != DistanceField.UNREACHED) {
+                boolean planned = packPaths.plan(enemy, grid, groupField, request.goalTile);
+                lastTickExpansions += packPaths.getLastPlanExpansions();
+                if (planned) {
+                    enemy.pathGoalTile = request.goalTile;
+                    continue;
+                }
+            }
+            if (groupField.distanceAt(x, y) == DistanceField.UNREACHED) {
+                // Hors du champ borné : recherche individuelle dans le budget, sinon au prochain tick
+                if (!serviceSingle(grid, cache, hierarchy, connectivity, enemy,
+                        request.goalTile, false, request.enqueuedNanos)) {
+                    deferredCount++;
+                }
+                continue;
+            }
+
+            int length = 0;
+            tiles[length++] = x * height + y;
+            int next;
+            while ((next = groupField.nextStep(grid, x, y)) >= 0) {
+                if (length == tiles.length) tiles = Arrays.copyOf(tiles, length * 2);
+                tiles[length++] = next;
+                x = next / height;
+                y = next % height;
+            }
+            deliver(enemy, tiles, length, request.goalTile, height);
+        }
+        return deferredCount;
+    }
+
+    /**
+     * Recherche individuelle (via le cache), route HPA* pour une destination lointaine ;
+     * faux si la recherche a atteint le budget du tick et a été remise au tick suivant
+     */
+    private boolean serviceSingle(WalkabilityGrid grid, PathCache cache, HierarchicalPathfinder hierarchy,
+                                  ConnectivityIndex connectivity, CombatSystem.Enemy enemy, int goalTile,
+                                  boolean hierarchical, long enqueuedNanos) {
+        int height = grid.getHeight();
+        int goalX = goalTile / height;
+        int goalY = goalTile % height;
+        int startX = tileX(enemy);
+        int startY = tileY(enemy);
+        if (!connectivity.isReachable(grid, startX, startY, goalX, goalY)) {
+            // Destination dans une autre zone (bâtiment fermé...) : aucun chemin, sans recherche
+            deliver(enemy, NO_TILES, 0, goalTile, height);
+            return true;
+        }
+        if (hierarchical
+                || Math.max(Math.abs(startX - goalX), Math.abs(startY - goalY)) >= EnemyConfig.HPA_MIN_DISTANCE_TILES) {
+            startRoute(enemy, grid, hierarchy, startX, startY, goalTile);
+            return true;
+        }
+
+        GridPath path = cache.get(pathfinder.getName(), grid, startX, startY, goalX, goalY);
+        if (path == null) {
+            boolean fullBudget = fullBudgetAvailable;
+            int maxExpansions = fullBudget ? EnemyConfig.PATHFIND_EXPANSION_BUDGET
+                    : EnemyConfig.PATHFIND_EXPANSION_BUDGET - lastTickExpansions;
+            fullBudgetAvailable = false;
+            if (maxExpansions <= 0) {
+                defer(enemy, goalTile, false, enqueuedNanos);
+                return false;
+            }
+            path = pathfinder.findPath(grid, startX, startY, goalX, goalY, maxExpansions);
+            if (path == null) {
+                // Budget atteint : reprise au tick suivant, en route HPA* si même tout le budget n'a pas suffi
+                lastTickExpansions += maxExpansions;
+                defer(enemy, goalTile, fullBudget, enqueuedNanos);
+                return false;
+            }
+            lastTickExpansions += path.getExpansions();
+            cache.put(pathfinder.getName(), grid, startX, startY, goalX, goalY, path);
+        }
+        deliver(enemy, path.toArray(), path.length(), goalTile, height);
+        return true;
+    }
+
+    /**
+     * Remet la demande de l'ennemi en tête du tick suivant, en demande individuelle
+     */
+    private void defer(CombatSystem.Enemy enemy, int goalTile, boolean hierarchical, long enqueuedNanos) {
+        Request single = new Request(goalTile, true, hierarchical, enqueuedNanos);
+        single.enemies.add(enemy);
+        pendingByEnemy.put(enemy, single);
+        deferred.addLast(single);
+    }
+
+    // ================================
+    // ROUTES HPA*
+    // ================================
+
+    /**
+     * Remplace le chemin de l'ennemi par le début d'une route HPA* vers goalTile
+     */
+    private void startRoute(CombatSystem.Enemy enemy, WalkabilityGrid grid, HierarchicalPathfinder hierarchy,
+                            int startX, int startY, int goalTile) {
+        int height = grid.getHeight();
+        HierarchicalRoute route = hierarchy.route(grid, startX, startY, goalTile / height, goalTile % height);
+        lastTickExpansions += route.getPlanExpansions();
+        deliver(enemy, NO_TILES, 0, goalTile, height);
+        if (route.isEmpty()) return;
+
+        enemy.pathGoalTile = goalTile;
+        if (extendRoute(enemy, route, grid)) {
+            routes.put(enemy, route);
+        }
+    }
+
+    /**
+     * Détaille les tronçons suivants des routes dont l'ennemi approche de la fin du chemin
+     * déjà détaillé, tant que le budget du tick le permet
+     */
+    private void advanceRoutes(WalkabilityGrid grid) {
+        Iterator<Map.Entry<CombatSystem.Enemy, HierarchicalRoute>> it = routes.entrySet().iterator();
+        while (it.hasNext() && lastTickExpansions < EnemyConfig.PATHFIND_EXPANSION_BUDGET) {
+            Map.Entry<CombatSystem.Enemy, HierarchicalRoute> entry = it.next();
+            CombatSystem.Enemy enemy = entry.getKey();
+            HierarchicalRoute route = entry.getValue();
+            if (!enemy.stats.isAlive() || enemy.pathGoalTile != route.getGoalTile()) {
+                // Ennemi mort ou passé à un autre guidage
+                it.remove();
+                continue;
+            }
+            if (enemy.path.size() - enemy.pathIndex > EnemyConfig.HPA_LOOKAHEAD_TILES) continue;
+            if (!extendRoute(enemy, route, grid)) {
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Ajoute des tronçons au chemin de l'ennemi jusqu'à avoir HPA_LOOKAHEAD_TILES cases
+     * d'avance ; faux si la route est terminée ou coupée par un changement de la carte
+     */
+    private boolean extendRoute(CombatSystem.Enemy enemy, HierarchicalRoute route, WalkabilityGrid grid) {
+        while (route.hasNextLeg() && enemy.path.size() - enemy.pathIndex <= EnemyConfig.HPA_LOOKAHEAD_TILES) {
+            GridPath leg = route.nextLeg(grid);
+            lastTickExpansions += leg.getExpansions();
+            if (leg.isEmpty()) {
+                // Nouvelle demande quand le chemin détaillé sera parcouru
+                enemy.pathGoalTile = -1;
+                return false;
+            }
+            for (int i = 1; i < leg.length(); i++) {
+                enemy.path.add(new Point(leg.xAt(i), leg.yAt(i)));
+            }
+        }
+        return route.hasNextLeg();
+    }
+
+    public int getActiveRouteCount() {
+        return routes.size();
+    }
+
+    /**
+     * Remplace le chemin de l'ennemi (sans sa case de départ)
+     */
+    private void deliver(CombatSystem.Enemy enemy, int[] tiles, int length, int goalTile, int height) {
+        routes.remove(enemy);
+        packPaths.release(enemy);
+        enemy.path.clear();
+        enemy.pathIndex = 0;
+        enemy.pathSchedule = null;
+        if (length == 0) {
+            enemy.pathGoalTile = -1;
+            return;
+        }
+        for (int i = 1; i < length; i++) {
+            enemy.path.add(new Point(tiles[i] / height, tiles[i] % height));
+        }
+        enemy.pathGoalTile = goalTile;
+    }
+
+    private static int tileX(CombatSystem.Entity entity) {
+        return (int) Math.round(entity.getX());
+    }
+
+    private static int tileY(CombatSystem.Entity entity) {
+        return (int) Math.round(entity.getY());
+    }
+
+    private static int tileDistance(int a, int b, int height) {
+        return Math.max(Math.abs(a / height - b / height), Math.abs(a % height - b % height));
+    }
+
+    // ================================
+    // MÉTRIQUES
+    // ================================
+
+    /** Nombre de destinations en attente */
+    public int getQueueDepth() { return pending.size() + deferred.size(); }
+
+    /** Nombre d'ennemis en attente */
+    public int getPendingEnemyCount() { return pendingByEnemy.size(); }
+
+    public long getRequestCount() { return requestCount; }
+    public long getCoalescedCount() { return coalescedCount; }
+    public long getSkippedCount() { return skippedCount; }
+    public long getServicedCount() { return servicedCount; }
+    public int getLastTickExpansions() { return lastTickExpansions; }
+    public int getLastTickSearches() { return lastTickSearches; }
+
+    public double getAverageLatencyMillis() {
+        return servicedCount > 0 ? totalLatencyNanos / 1_000_000.0 / servicedCount : 0;
+    }
+
+    public double getMaxLatencyMillis() {
+        return maxLatencyNanos / 1_000_000.0;
+    }
+
+    public void printStats() {
+        System.out.println("File de pathfinding: " + getQueueDepth() + " destinations, "
+                + getPendingEnemyCount() + " ennemis en attente");
+        System.out.println("  Demandes: " + requestCount + " (regroupées: " + coalescedCount
+                + ", ignorées: " + skippedCount + "), servies: " + servicedCount);
+        System.out.println("  Latence: " + String.format("%.1f", getAverageLatencyMillis()) + " ms moy, "
+                + String.format("%.1f", getMaxLatencyMillis()) + " ms max");
+        System.out.println("  Routes HPA* en cours: " + routes.size());
+        System.out.println("  Dernier tick: " + lastTickSearches + " recherches, "
+                + lastTickExpansions + " expansions");
+    }
+}
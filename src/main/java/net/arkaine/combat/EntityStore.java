@@ -0,0 +1,195 @@
+package net.arkaine.combat;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Stockage des entités en colonnes (structure de tableaux).
+ *
+ * Les données lues à chaque tick (position, santé, dégâts, vitesse, horodatages de
+ * recharge, classe et comportement) sont rangées dans des tableaux primitifs, une ligne
+ * par entité ; les objets Entity ne sont plus que des vues sur leur ligne. Les lignes
+ * restent contiguës : une suppression déplace la dernière ligne dans le trou et met à
+ * jour la vue déplacée.
+ *
+ * Une entité hors du système garde ses valeurs dans ses propres champs : elles sont
+ * recopiées dans une ligne à son ajout et en ressortent à son retrait, pour que les
+ * références gardées ailleurs restent valables.
+ */
+public class EntityStore {
+
+    static final int NO_BEHAVIOR = -1;
+
+    double[] x;
+    double[] y;
+    double[] previousX; // position au début du tick (interpolation du rendu)
+    double[] previousY;
+    int[] health;
+    int[] maxHealth;
+    int[] damage;
+    double[] moveSpeed;
+    double[] lastAttackTime;
+    double[] lastMoveTime;
+    int[] classOrdinal;
+    int[] behaviorOrdinal;
+    CombatSystem.Entity[] views;
+    int size = 0;
+
+    private final List<CombatSystem.Entity> listView = new AbstractList<>() {
+        @Override
+        public CombatSystem.Entity get(int index) {
+            if (index >= size) throw new IndexOutOfBoundsException(index);
+            return views[index];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    };
+
+    public EntityStore(int capacity) {
+        allocate(Math.max(1, capacity));
+    }
+
+    private void allocate(int capacity) {
+        x = new double[capacity];
+        y = new double[capacity];
+        previousX = new double[capacity];
+        previousY = new double[capacity];
+        health = new int[capacity];
+        maxHealth = new int[capacity];
+        damage = new int[capacity];
+        moveSpeed = new double[capacity];
+        lastAttackTime = new double[capacity];
+        lastMoveTime = new double[capacity];
+        classOrdinal = new int[capacity];
+        behaviorOrdinal = new int[capacity];
+        views = new CombatSystem.Entity[capacity];
+    }
+
+    private void grow() {
+        int capacity = views.length * 2;
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        previousX = Arrays.copyOf(previousX, capacity);
+        previousY = Arrays.copyOf(previousY, capacity);
+        health = Arrays.copyOf(health, capacity);
+        maxHealth = Arrays.copyOf(maxHealth, capacity);
+        damage = Arrays.copyOf(damage, capacity);
+        moveSpeed = Arrays.copyOf(moveSpeed, capacity);
+        lastAttackTime = Arrays.copyOf(lastAttackTime, capacity);
+        lastMoveTime = Arrays.copyOf(lastMoveTime, capacity);
+        classOrdinal = Arrays.copyOf(classOrdinal, capacity);
+        behaviorOrdinal = Arrays.copyOf(behaviorOrdinal, capacity);
+        views = Arrays.copyOf(views, capacity);
+    }
+
+    // ================================
+    // LIGNES
+    // ================================
+
+    /**
+     * Ajoute une ligne vide pour la vue et renvoie son indice
+     */
+    int addRow(CombatSystem.Entity view) {
+        if (size == views.length) grow();
+        int row = size++;
+        views[row] = view;
+        view.store = this;
+        view.row = row;
+        return row;
+    }
+
+    /**
+     * Place l'entité dans cette réserve (copie de ses valeurs propres ou de sa ligne
+     * dans une autre réserve)
+     */
+    void attach(CombatSystem.Entity view) {
+        EntityStore from = view.store;
+        if (from == this) return;
+        if (from == null) {
+            addRow(view);
+            view.writeDetachedValues();
+            return;
+        }
+        int source = view.row;
+        int row = addRow(view);
+        x[row] = from.x[source];
+        y[row] = from.y[source];
+        previousX[row] = from.previousX[source];
+        previousY[row] = from.previousY[source];
+        health[row] = from.health[source];
+        maxHealth[row] = from.maxHealth[source];
+        damage[row] = from.damage[source];
+        moveSpeed[row] = from.moveSpeed[source];
+        lastAttackTime[row] = from.lastAttackTime[source];
+        lastMoveTime[row] = from.lastMoveTime[source];
+        classOrdinal[row] = from.classOrdinal[source];
+        behaviorOrdinal[row] = from.behaviorOrdinal[source];
+        from.removeRow(source);
+    }
+
+    /**
+     * Sort l'entité de cette réserve ; ses valeurs repassent dans ses propres champs
+     */
+    void detach(CombatSystem.Entity view) {
+        if (view.store != this) return;
+        int row = view.row;
+        view.readDetachedValues();
+        view.store = null;
+        removeRow(row);
+    }
+
+    /**
+     * Retire la ligne en y plaçant la dernière (les lignes restent contiguës)
+     */
+    private void removeRow(int row) {
+        int last = --size;
+        if (row != last) {
+            x[row] = x[last];
+            y[row] = y[last];
+            previousX[row] = previousX[last];
+            previousY[row] = previousY[last];
+            health[row] = health[last];
+            maxHealth[row] = maxHealth[last];
+            damage[row] = damage[last];
+            moveSpeed[row] = moveSpeed[last];
+            lastAttackTime[row] = lastAttackTime[last];
+            lastMoveTime[row] = lastMoveTime[last];
+            classOrdinal[row] = classOrdinal[last];
+            behaviorOrdinal[row] = behaviorOrdinal[last];
+            views[row] = views[last];
+            views[row].row = row;
+        }
+        views[last] = null;
+    }
+
+    /**
+     * Mémorise les positions courantes comme état précédent (début de tick)
+     */
+    void snapshotPositions() {
+        System.arraycopy(x, 0, previousX, 0, size);
+        System.arraycopy(y, 0, previousY, 0, size);
+    }
+
+    // ================================
+    // LECTURE
+    // ================================
+
+    public int size() {
+        return size;
+    }
+
+    public CombatSystem.Entity viewAt(int row) {
+        return views[row];
+    }
+
+    /**
+     * Vue liste (sans copie) des entités, dans l'ordre des lignes
+     */
+    public List<CombatSystem.Entity> asList() {
+        return listView;
+    }
+}
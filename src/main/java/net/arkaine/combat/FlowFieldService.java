@@ -0,0 +1,151 @@
+package net.arkaine.combat;
+
+import net.arkaine.config.EnemyConfig;
+import net.arkaine.model.GameModel;
+import net.arkaine.model.Point;
+import net.arkaine.model.WalkabilityGrid;
+import net.arkaine.pathfinding.DistanceField;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Champs de distances partagés par tous les ennemis.
+ *
+ * - champ du joueur : les ennemis en poursuite descendent son gradient
+ * - champ des postes de garde : les gardiens rentrent chez eux
+ *
+ * Chaque champ n'est recalculé que si sa source change (case du joueur, postes de
+ * garde) ou si la praticabilité de la carte change.
+ */
+public class FlowFieldService {
+
+    private final DistanceField playerField = new DistanceField();
+    private final DistanceField homeField = new DistanceField();
+
+    private WalkabilityGrid grid;
+    private long playerFieldVersion = -1;
+    private long homeFieldVersion = -1;
+    private int playerTile = -1;
+    private final int[] playerSource = new int[1];
+    private int[] homeTiles = new int[0];
+    private int homeCount = 0;
+    private int[] previousHomeTiles = new int[0];
+
+    private int playerFieldUpdates = 0;
+    private int homeFieldUpdates = 0;
+
+    /**
+     * Met à jour les champs si besoin ; appelé une fois par tick avant les entités
+     */
+    public void update(GameModel model, List<CombatSystem.Entity> entities) {
+        WalkabilityGrid current = model.getWalkability();
+        if (current == null) return;
+        boolean mapChanged = current != grid;
+        grid = current;
+        int maxCost = EnemyConfig.FLOW_FIELD_RADIUS * 1000;
+
+        Point player = model.getPlayerPosition();
+        int tile = tileIndex(player);
+        if (mapChanged || tile != playerTile || grid.getVersion() != playerFieldVersion) {
+            playerTile = tile;
+            playerFieldVersion = grid.getVersion();
+            playerSource[0] = tile;
+            playerField.compute(grid, playerSource, 1, maxCost);
+            playerFieldUpdates++;
+        }
+
+        collectHomeTiles(entities);
+        if (mapChanged || grid.getVersion() != homeFieldVersion || !sameHomes()) {
+            homeFieldVersion = grid.getVersion();
+            previousHomeTiles = Arrays.copyOf(homeTiles, homeCount);
+            homeField.compute(grid, homeTiles, homeCount, maxCost);
+            homeFieldUpdates++;
+        }
+    }
+
+    private void collectHomeTiles(List<CombatSystem.Entity> entities) {
+        homeCount = 0;
+        for (CombatSystem.Entity entity : entities) {
+            if (entity instanceof CombatSystem.Enemy) {
+                CombatSystem.Enemy enemy = (CombatSystem.Enemy) entity;
+                if (enemy.behavior == CombatSystem.BehaviorType.GUARDIAN && enemy.stats.isAlive()) {
+                    if (homeCount == homeTiles.length) {
+                        homeTiles = Arrays.copyOf(homeTiles, Math.max(8, homeCount * 2));
+                    }
+                    homeTiles[homeCount++] = tileIndex(enemy.homePosition);
+                }
+            }
+        }
+        Arrays.sort(homeTiles, 0, homeCount);
+    }
+
+    private boolean sameHomes() {
+        return Arrays.equals(homeTiles, 0, homeCount, previousHomeTiles, 0, previousHomeTiles.length);
+    }
+
+    // ================================
+    // DESCENTE DES GRADIENTS
+    // ================================
+
+    /**
+     * Ajoute au chemin jusqu'à maxSteps cases vers le joueur ; faux si la position est hors champ
+     */
+    public boolean appendStepsTowardsPlayer(Point from, List<Point> path, int maxSteps) {
+        return appendSteps(playerField, from, path, maxSteps, -1);
+    }
+
+    /**
+     * Idem vers le poste de garde home, tant que le champ mène à ce poste et non à un autre
+     */
+    public boolean appendStepsTowardsHome(Point from, Point home, List<Point> path, int maxSteps) {
+        return appendSteps(homeField, from, path, maxSteps, tileIndex(home));
+    }
+
+    private boolean appendSteps(DistanceField field, Point from, List<Point> path, int maxSteps, int requiredSource) {
+        if (grid == null || field.getHeight() != grid.getHeight()) return false;
+
+        int height = grid.getHeight();
+        int x = (int) Math.round(from.getX());
+        int y = (int) Math.round(from.getY());
+        if (field.distanceAt(x, y) == DistanceField.UNREACHED) return false;
+        if (requiredSource >= 0 && field.sourceAt(x, y) != requiredSource) return false;
+
+        for (int i = 0; i < maxSteps; i++) {
+            int next = field.nextStep(grid, x, y);
+            if (next < 0) break;
+            x = next / height;
+            y = next % height;
+            path.add(new Point(x, y));
+        }
+        return true;
+    }
+
+    /** Vrai si la position est atteinte par le champ du joueur */
+    public boolean isInPlayerField(Point position) {
+        if (grid == null || playerField.getHeight() != grid.getHeight()) return false;
+        return playerField.distanceAt((int) Math.round(position.getX()), (int) Math.round(position.getY()))
+                != DistanceField.UNREACHED;
+    }
+
+    /** Champ de distances du joueur (heuristique exacte des trajets coopératifs) */
+    public DistanceField getPlayerField() {
+        return playerField;
+    }
+
+    /** Case du joueur, source du champ */
+    public int getPlayerTile() {
+        return playerTile;
+    }
+
+    private int tileIndex(Point position) {
+        int x = (int) Math.round(position.getX());
+        int y = (int) Math.round(position.getY());
+        if (x < 0 || y < 0 || x >= grid.getWidth() || y >= grid.getHeight()) return -1;
+        return x * grid.getHeight() + y;
+    }
+
+    public int getPlayerFieldUpdates() { return playerFieldUpdates; }
+    public int getHomeFieldUpdates() { return homeFieldUpdates; }
+    public double getLastPlayerFieldMillis() { return playerField.getLastComputeMillis(); }
+}
@@ -0,0 +1,189 @@
+package net.arkaine.combat;
+
+import net.arkaine.config.EnemyConfig;
+import net.arkaine.model.Point;
+import net.arkaine.model.WalkabilityGrid;
+import net.arkaine.pathfinding.CooperativePathfinder;
+import net.arkaine.pathfinding.DistanceField;
+import net.arkaine.pathfinding.ReservationTable;
+
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+
+/**
+ * Déplacements coopératifs des membres de meute (WHCA*).
+ *
+ * Chaque membre réserve les (case, instant) de son trajet sur les
+ * EnemyConfig.COOP_WINDOW_STEPS prochains pas dans une table partagée ; les suivants
+ * planifient autour (attente ou détour) au lieu de s'empiler sur la même case. Le trajet
+ * est replanifié à mi-fenêtre ou quand la destination bouge.
+ *
+ * - poursuite du joueur : heuristique = champ du joueur, demandes servies dans un
+ *   budget de EnemyConfig.COOP_EXPANSION_BUDGET expansions par tick
+ * - autres destinations (cohésion) : planifiées par la file de pathfinding avec son
+ *   champ de groupe, dans le budget de la file
+ */
+public class PackPathPlanner {
+
+    private static class Agent {
+        final int id;
+        int goalTile = -1;
+        long replanStep = Long.MIN_VALUE;
+
+        Agent(int id) {
+            this.id = id;
+        }
+    }
+
+    private final ReservationTable reservations = new ReservationTable();
+    private final CooperativePathfinder pathfinder = new CooperativePathfinder();
+    private final Map<CombatSystem.Enemy, Agent> agents = new IdentityHashMap<>();
+    private final LinkedHashSet<CombatSystem.Enemy> pendingChases = new LinkedHashSet<>();
+    private int nextAgentId = 0;
+    private long currentStep = 0;
+
+    // Métriques
+    private long planCount = 0;
+    private long failedCount = 0;
+    private long totalExpansions = 0;
+    private int lastTickExpansions = 0;
+    private int lastTickPlans = 0;
+
+    /**
+     * Avance l'horloge des réservations ; appelé au début de chaque tick
+     */
+    public void beginTick(double gameTime) {
+        long step = (long) (gameTime / EnemyConfig.COOP_STEP_SECONDS);
+        if (step != currentStep) {
+            currentStep = step;
+            reservations.expire(step);
+        }
+    }
+
+    // ================================
+    // POURSUITE
+    // ================================
+
+    /**
+     * Demande un trajet coopératif vers le joueur ; ignorée tant que le trajet courant
+     * est valable (mi-fenêtre non atteinte, joueur à moins de REPATH_DISTANCE_TILES cases)
+     */
+    public void requestChase(CombatSystem.Enemy enemy, FlowFieldService flowFields, int height) {
+        Agent agent = agents.get(enemy);
+        if (agent != null && agent.replanStep > currentStep && agent.goalTile >= 0
+                && tileDistance(agent.goalTile, flowFields.getPlayerTile(), height) <= EnemyConfig.REPATH_DISTANCE_TILES) {
+            return;
+        }
+        if (pendingChases.add(enemy) && agent == null) {
+            // Nouveau venu : sa case est tenue jusqu'à sa planification pour que les autres l'évitent
+            agent = agents.computeIfAbsent(enemy, e -> new Agent(nextAgentId++));
+            int tile = (int) Math.round(enemy.getX()) * height + (int) Math.round(enemy.getY());
+            for (long step = currentStep; step <= currentStep + stepsPerTile(enemy) + 1; step++) {
+                reservations.reserve(tile, step, agent.id);
+            }
+        }
+    }
+
+    /**
+     * Sert les poursuites en attente dans le budget du tick ; un membre sans trajet garde
+     * le précédent (et ses réservations), ou attend sur place
+     */
+    public void process(WalkabilityGrid grid, FlowFieldService flowFields) {
+        lastTickExpansions = 0;
+        lastTickPlans = 0;
+        if (grid == null || pendingChases.isEmpty()) return;
+
+        Iterator<CombatSystem.Enemy> it = pendingChases.iterator();
+        while (it.hasNext()) {
+            if (lastTickPlans > 0 && lastTickExpansions >= EnemyConfig.COOP_EXPANSION_BUDGET) break;
+
+            CombatSystem.Enemy enemy = it.next();
+            it.remove();
+            if (!enemy.stats.isAlive() || enemy.target == null || !enemy.target.isPlayer
+                    || !flowFields.isInPlayerField(enemy.getPosition())) continue;
+
+            plan(enemy, grid, flowFields.getPlayerField(), flowFields.getPlayerTile());
+            enemy.pathGoalTile = -1;
+        }
+    }
+
+    // ================================
+    // PLANIFICATION
+    // ================================
+
+    /**
+     * Planifie et réserve le trajet de l'ennemi vers la source du champ field (goalTile) ;
+     * faux si aucun trajet ne respecte les réservations
+     */
+    public boolean plan(CombatSystem.Enemy enemy, WalkabilityGrid grid, DistanceField field, int goalTile) {
+        Agent agent = agents.computeIfAbsent(enemy, e -> new Agent(nextAgentId++));
+        boolean found = pathfinder.plan(grid, reservations, agent.id,
+                (int) Math.round(enemy.getX()), (int) Math.round(enemy.getY()),
+                currentStep, field, EnemyConfig.COOP_WINDOW_STEPS, stepsPerTile(enemy));
+        lastTickExpansions += pathfinder.getExpansions();
+        totalExpansions += pathfinder.getExpansions();
+        lastTickPlans++;
+        if (!found) {
+            failedCount++;
+            agent.goalTile = -1;
+            return false;
+        }
+        planCount++;
+        agent.goalTile = goalTile;
+        agent.replanStep = currentStep + EnemyConfig.COOP_WINDOW_STEPS / 2;
+
+        // Chemin sans la case de départ, avec l'instant de départ vers chaque point
+        int height = grid.getHeight();
+        int length = pathfinder.getLength();
+        enemy.path.clear();
+        enemy.pathIndex = 0;
+        enemy.pathSchedule = new double[Math.max(0, length - 1)];
+        for (int i = 1; i < length; i++) {
+            int tile = pathfinder.tileAt(i);
+            enemy.path.add(new Point(tile / height, tile % height));
+            enemy.pathSchedule[i - 1] = pathfinder.departureAt(i) * EnemyConfig.COOP_STEP_SECONDS;
+        }
+        return true;
+    }
+
+    /**
+     * Libère les réservations de l'ennemi (mort, ou guidé autrement)
+     */
+    public void release(CombatSystem.Enemy enemy) {
+        pendingChases.remove(enemy);
+        Agent agent = agents.remove(enemy);
+        if (agent != null) {
+            reservations.release(agent.id);
+        }
+    }
+
+    private static int stepsPerTile(CombatSystem.Enemy enemy) {
+        return Math.max(1, (int) Math.round(enemy.getSecondsPerTile() / EnemyConfig.COOP_STEP_SECONDS));
+    }
+
+    private static int tileDistance(int a, int b, int height) {
+        return Math.max(Math.abs(a / height - b / height), Math.abs(a % height - b % height));
+    }
+
+    // ================================
+    // MÉTRIQUES
+    // ================================
+
+    public int getAgentCount() { return agents.size(); }
+    public int getReservationCount() { return reservations.size(); }
+    public int getPendingCount() { return pendingChases.size(); }
+    public long getPlanCount() { return planCount; }
+    public long getFailedCount() { return failedCount; }
+    public int getLastTickExpansions() { return lastTickExpansions; }
+    public int getLastPlanExpansions() { return pathfinder.getExpansions(); }
+
+    public void printStats() {
+        System.out.println("Meutes coopératives: " + agents.size() + " agents, "
+                + reservations.size() + " créneaux réservés, " + pendingChases.size() + " en attente");
+        System.out.println("  Trajets: " + planCount + " (échecs: " + failedCount + "), "
+                + String.format("%.0f", planCount + failedCount > 0 ? totalExpansions / (double) (planCount + failedCount) : 0)
+                + " expansions moy, dernier tick: " + lastTickExpansions);
+    }
+}
@@ -0,0 +1,90 @@
+package net.arkaine.combat;
+
+import java.util.*;
+
+/**
+ * Meutes d'ennemis : identifiant unique, membres et centre de la meute.
+ *
+ * Le centre est tenu à jour par incréments : ajout et retrait d'un membre (mort,
+ * suppression), et déplacements appliqués une fois par tick par le CombatSystem
+ * (position de fin de tick moins position du début). La cohésion et les alertes
+ * coûtent ainsi la taille de la meute, et non le nombre total d'entités.
+ */
+public class PackRegistry {
+
+    public static class Pack {
+        private final int id;
+        private final List<CombatSystem.Enemy> members = new ArrayList<>();
+        private final List<CombatSystem.Enemy> readOnlyMembers = Collections.unmodifiableList(members);
+        private double sumX = 0;
+        private double sumY = 0;
+
+        Pack(int id) {
+            this.id = id;
+        }
+
+        public int getId() { return id; }
+        public int size() { return members.size(); }
+        public List<CombatSystem.Enemy> getMembers() { return readOnlyMembers; }
+
+        /** Centre des positions des membres (positions du début du tick pendant la décision) */
+        public double getCenterX() { return sumX / members.size(); }
+        public double getCenterY() { return sumY / members.size(); }
+
+        void move(double dx, double dy) {
+            sumX += dx;
+            sumY += dy;
+        }
+
+        @Override
+        public String toString() {
+            return "pack_" + id;
+        }
+    }
+
+    private final Map<Integer, Pack> packs = new LinkedHashMap<>();
+    private int nextId = 1;
+
+    /**
+     * Nouvelle meute vide ; ses membres la rejoignent à leur ajout au système
+     */
+    public Pack create() {
+        Pack pack = new Pack(nextId++);
+        packs.put(pack.id, pack);
+        return pack;
+    }
+
+    void join(CombatSystem.Enemy enemy) {
+        Pack pack = enemy.pack;
+        if (pack.members.contains(enemy)) return;
+        if (!packs.containsKey(pack.id)) packs.put(pack.id, pack); // meute vidée puis reprise
+        pack.members.add(enemy);
+        pack.move(enemy.getX(), enemy.getY());
+    }
+
+    /**
+     * Retire l'ennemi de sa meute ; une meute sans membre est oubliée
+     */
+    void leave(CombatSystem.Enemy enemy) {
+        Pack pack = enemy.pack;
+        if (pack == null || !pack.members.remove(enemy)) return;
+        pack.move(-enemy.getX(), -enemy.getY());
+        if (pack.members.isEmpty()) {
+            pack.sumX = 0;
+            pack.sumY = 0;
+            packs.remove(pack.id);
+        }
+    }
+
+    public Pack get(int id) {
+        return packs.get(id);
+    }
+
+    public Collection<Pack> getPacks() {
+        return Collections.unmodifiableCollection(packs.values());
+    }
+
+    public int getPackCount() {
+        return packs.size();
+    }
+}
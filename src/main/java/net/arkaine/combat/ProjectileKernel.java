@@ -0,0 +1,33 @@
+package net.arkaine.combat;
+
+/**
+ * Noyau d'intégration des projectiles : avance tous les projectiles actifs de la réserve
+ * d'un pas de temps et marque dans pool.finished ceux qui ont expiré ou atteint leur cible.
+ *
+ * Le noyau vectoriel (jdk.incubator.vector) est choisi au démarrage si le module est
+ * présent (--add-modules jdk.incubator.vector) ; sinon, ou avec -Dprojectiles.kernel=scalar,
+ * c'est la boucle scalaire.
+ */
+public interface ProjectileKernel {
+
+    void integrate(ProjectilePool pool, double deltaTime);
+
+    String getName();
+
+    /**
+     * Noyau le plus rapide disponible sur cette JVM
+     */
+    static ProjectileKernel select() {
+        if (!"scalar".equals(System.getProperty("projectiles.kernel"))
+                && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                // Chargé par son nom : la classe ne doit pas être liée sans le module
+                return (ProjectileKernel) Class.forName("net.arkaine.combat.VectorProjectileKernel")
+                        .getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                System.err.println("⚠️ Noyau vectoriel des projectiles indisponible: " + e);
+            }
+        }
+        return new ScalarProjectileKernel();
+    }
+}
@@ -0,0 +1,131 @@
+package net.arkaine.combat;
+
+import java.util.Arrays;
+
+/**
+ * Réserve de projectiles de capacité fixe, sans allocation pendant le jeu.
+ *
+ * Position, vitesse, cible, âge et dégâts sont rangés dans des tableaux primitifs alloués
+ * une fois. Les projectiles actifs occupent les indices 0..size-1 : un tir prend le
+ * premier emplacement libre (la fin des lignes actives sert de liste libre), et un
+ * projectile désactivé est remplacé par le dernier actif. Quand la réserve est pleine,
+ * le tir est perdu.
+ *
+ * L'intégration de tous les projectiles est faite d'un bloc par un ProjectileKernel
+ * (vectoriel ou scalaire). Le rendu lit les tableaux par indice (getX, getDamageType...) sans copie ; la couleur
+ * est choisie par la vue selon le type de dégât.
+ */
+public class ProjectilePool {
+
+    public static final double MAX_LIFETIME = 10.0;  // secondes
+    public static final double TARGET_RADIUS = 0.5;  // distance où le projectile atteint sa cible
+
+    private static final CombatSystem.DamageType[] DAMAGE_TYPES = CombatSystem.DamageType.values();
+
+    private final int capacity;
+    final double[] x;
+    final double[] y;
+    final double[] velocityX;
+    final double[] velocityY;
+    final double[] targetX;
+    final double[] targetY;
+    final double[] speed;
+    final double[] age;
+    final int[] damage;
+    final int[] damageType;
+    final CombatSystem.Entity[] source;
+    final boolean[] finished; // écrit par le noyau d'intégration à chaque tick
+    int size = 0;
+
+    private long spawnedCount = 0;
+    private long droppedCount = 0;
+
+    public ProjectilePool(int capacity) {
+        this.capacity = capacity;
+        x = new double[capacity];
+        y = new double[capacity];
+        velocityX = new double[capacity];
+        velocityY = new double[capacity];
+        targetX = new double[capacity];
+        targetY = new double[capacity];
+        speed = new double[capacity];
+        age = new double[capacity];
+        damage = new int[capacity];
+        damageType = new int[capacity];
+        source = new CombatSystem.Entity[capacity];
+        finished = new boolean[capacity];
+    }
+
+    /**
+     * Tire un projectile de (fromX, fromY) vers (toX, toY) ; faux si la réserve est pleine
+     */
+    public boolean spawn(double fromX, double fromY, double toX, double toY,
+                         CombatSystem.DamageType type, int damage, double speed, CombatSystem.Entity source) {
+        if (size == capacity) {
+            droppedCount++;
+            return false;
+        }
+        int i = size++;
+        double dx = toX - fromX;
+        double dy = toY - fromY;
+        double distance = Math.sqrt(dx * dx + dy * dy);
+
+        x[i] = fromX;
+        y[i] = fromY;
+        velocityX[i] = distance > 0 ? (dx / distance) * speed : 0;
+        velocityY[i] = distance > 0 ? (dy / distance) * speed : 0;
+        targetX[i] = toX;
+        targetY[i] = toY;
+        this.speed[i] = speed;
+        age[i] = 0;
+        this.damage[i] = damage;
+        damageType[i] = type.ordinal();
+        this.source[i] = source;
+        spawnedCount++;
+        return true;
+    }
+
+    /**
+     * Désactive le projectile i : le dernier actif prend sa place
+     */
+    public void deactivate(int i) {
+        int last = --size;
+        if (i != last) {
+            x[i] = x[last];
+            y[i] = y[last];
+            velocityX[i] = velocityX[last];
+            velocityY[i] = velocityY[last];
+            targetX[i] = targetX[last];
+            targetY[i] = targetY[last];
+            speed[i] = speed[last];
+            age[i] = age[last];
+            damage[i] = damage[last];
+            damageType[i] = damageType[last];
+            source[i] = source[last];
+        }
+        source[last] = null;
+    }
+
+    public void clear() {
+        Arrays.fill(source, 0, size, null);
+        size = 0;
+    }
+
+    // ================================
+    // LECTURE (rendu)
+    // ================================
+
+    public int size() { return size; }
+    public int getCapacity() { return capacity; }
+    public boolean isFinished(int i) { return finished[i]; }
+    public double getX(int i) { return x[i]; }
+    public double getY(int i) { return y[i]; }
+    public double getVelocityX(int i) { return velocityX[i]; }
+    public double getVelocityY(int i) { return velocityY[i]; }
+    public double getSpeed(int i) { return speed[i]; }
+    public int getDamage(int i) { return damage[i]; }
+    public CombatSystem.DamageType getDamageType(int i) { return DAMAGE_TYPES[damageType[i]]; }
+    public CombatSystem.Entity getSource(int i) { return source[i]; }
+    public long getSpawnedCount() { return spawnedCount; }
+    public long getDroppedCount() { return droppedCount; }
+}
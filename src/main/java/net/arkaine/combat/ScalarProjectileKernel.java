@@ -0,0 +1,34 @@
+package net.arkaine.combat;
+
+/**
+ * Intégration des projectiles un par un (repli, et fin des paquets du noyau vectoriel).
+ * Mêmes opérations (fma) que le noyau vectoriel : les deux donnent les mêmes résultats.
+ */
+public class ScalarProjectileKernel implements ProjectileKernel {
+
+    @Override
+    public void integrate(ProjectilePool pool, double deltaTime) {
+        double reachedSquared = ProjectilePool.TARGET_RADIUS * ProjectilePool.TARGET_RADIUS;
+        for (int i = 0; i < pool.size; i++) {
+            integrateOne(pool, i, deltaTime, reachedSquared);
+        }
+    }
+
+    void integrateOne(ProjectilePool pool, int i, double deltaTime, double reachedSquared) {
+        double age = pool.age[i] + deltaTime;
+        double x = Math.fma(pool.velocityX[i], deltaTime, pool.x[i]);
+        double y = Math.fma(pool.velocityY[i], deltaTime, pool.y[i]);
+        pool.age[i] = age;
+        pool.x[i] = x;
+        pool.y[i] = y;
+
+        double dx = pool.targetX[i] - x;
+        double dy = pool.targetY[i] - y;
+        pool.finished[i] = age > ProjectilePool.MAX_LIFETIME || Math.fma(dx, dx, dy * dy) < reachedSquared;
+    }
+
+    @Override
+    public String getName() {
+        return "scalaire";
+    }
+}
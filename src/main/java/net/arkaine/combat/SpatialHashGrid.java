@@ -0,0 +1,298 @@
+package net.arkaine.combat;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Index spatial uniforme des entités de combat (grille de cellules hachées).
+ *
+ * Chaque entité est rangée dans la cellule de taille cellSize qui contient sa position ;
+ * les cellules sont hachées dans une table de seaux de taille fixe, chaînés par des
+ * tableaux d'entiers (pas d'allocation par mise à jour). La position de chaque entité
+ * est recopiée dans des tableaux primitifs pour que les requêtes ne suivent pas de
+ * pointeurs. Deux cellules peuvent partager un seau : les requêtes filtrent par cellule.
+ *
+ * L'index doit être prévenu quand une entité bouge (update) ; CombatSystem le fait
+ * après la mise à jour de chaque entité.
+ */
+public class SpatialHashGrid {
+
+    private static final int NONE = -1;
+    private static final int MAX_RING_SEARCH = 64; // au-delà, parcours linéaire
+
+    private final double cellSize;
+    private final double inverseCellSize;
+    private final int bucketMask;
+    private final int[] bucketHeads;
+
+    // Par emplacement (une entité indexée = un emplacement)
+    private CombatSystem.Entity[] entities = new CombatSystem.Entity[64];
+    private double[] xs = new double[64];
+    private double[] ys = new double[64];
+    private long[] cells = new long[64];
+    private int[] next = new int[64];
+    private int[] previous = new int[64];
+    private int[] freeSlots = new int[64];
+    private int freeCount = 0;
+    private int slotCount = 0;
+    private int size = 0;
+
+    // Tampons des k plus proches voisins
+    private CombatSystem.Entity[] nearestEntities = new CombatSystem.Entity[8];
+    private double[] nearestDistances = new double[8];
+
+    public SpatialHashGrid(double cellSize, int bucketCount) {
+        this.cellSize = cellSize;
+        this.inverseCellSize = 1.0 / cellSize;
+        int buckets = Integer.highestOneBit(Math.max(16, bucketCount - 1)) << 1;
+        this.bucketMask = buckets - 1;
+        this.bucketHeads = new int[buckets];
+        Arrays.fill(bucketHeads, NONE);
+    }
+
+    // ================================
+    // MISE À JOUR
+    // ================================
+
+    public void insert(CombatSystem.Entity entity) {
+        if (entity.spatialSlot != NONE) {
+            update(entity);
+            return;
+        }
+        int slot = freeCount > 0 ? freeSlots[--freeCount] : newSlot();
+        entities[slot] = entity;
+        entity.spatialSlot = slot;
+        xs[slot] = entity.getX();
+        ys[slot] = entity.getY();
+        cells[slot] = cellOf(xs[slot], ys[slot]);
+        link(slot);
+        size++;
+    }
+
+    public void remove(CombatSystem.Entity entity) {
+        int slot = entity.spatialSlot;
+        if (slot == NONE || entities[slot] != entity) return;
+        unlink(slot);
+        entities[slot] = null;
+        entity.spatialSlot = NONE;
+        if (freeCount == freeSlots.length) freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        freeSlots[freeCount++] = slot;
+        size--;
+    }
+
+    /**
+     * Relit la position de l'entité ; ne change de seau que si elle a changé de cellule
+     */
+    public void update(CombatSystem.Entity entity) {
+        int slot = entity.spatialSlot;
+        if (slot == NONE || entities[slot] != entity) return;
+        double x = entity.getX();
+        double y = entity.getY();
+        xs[slot] = x;
+        ys[slot] = y;
+        long cell = cellOf(x, y);
+        if (cell != cells[slot]) {
+            unlink(slot);
+            cells[slot] = cell;
+            link(slot);
+        }
+    }
+
+    public void clear() {
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (entities[slot] != null) entities[slot].spatialSlot = NONE;
+        }
+        Arrays.fill(entities, 0, slotCount, null);
+        Arrays.fill(bucketHeads, NONE);
+        slotCount = 0;
+        freeCount = 0;
+        size = 0;
+    }
+
+    private int newSlot() {
+        if (slotCount == entities.length) {
+            int capacity = slotCount * 2;
+            entities = Arrays.copyOf(entities, capacity);
+            xs = Arrays.copyOf(xs, capacity);
+            ys = Arrays.copyOf(ys, capacity);
+            cells = Arrays.copyOf(cells, capacity);
+            next = Arrays.copyOf(next, capacity);
+            previous = Arrays.copyOf(previous, capacity);
+        }
+        return slotCount++;
+    }
+
+    private void link(int slot) {
+        int bucket = bucketOf(cells[slot]);
+        int head = bucketHeads[bucket];
+        next[slot] = head;
+        previous[slot] = NONE;
+        if (head != NONE) previous[head] = slot;
+        bucketHeads[bucket] = slot;
+    }
+
+    private void unlink(int slot) {
+        if (previous[slot] != NONE) {
+            next[previous[slot]] = next[slot];
+        } else {
+            bucketHeads[bucketOf(cells[slot])] = next[slot];
+        }
+        if (next[slot] != NONE) previous[next[slot]] = previous[slot];
+    }
+
+    private long cellOf(double x, double y) {
+        return cellKey((int) Math.floor(x * inverseCellSize), (int) Math.floor(y * inverseCellSize));
+    }
+
+    private static long cellKey(int cellX, int cellY) {
+        return ((long) cellX << 32) | (cellY & 0xffffffffL);
+    }
+
+    private int bucketOf(long cell) {
+        long h = cell * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 32) & bucketMask;
+    }
+
+    // ================================
+    // REQUÊTES
+    // ================================
+
+    /**
+     * Ajoute à out les entités acceptées par filter à distance <= radius de (x, y)
+     */
+    public void queryRadius(double x, double y, double radius, Predicate<CombatSystem.Entity> filter,
+                            List<CombatSystem.Entity> out) {
+        double radiusSquared = radius * radius;
+        int minX = (int) Math.floor((x - radius) * inverseCellSize);
+        int maxX = (int) Math.floor((x + radius) * inverseCellSize);
+        int minY = (int) Math.floor((y - radius) * inverseCellSize);
+        int maxY = (int) Math.floor((y + radius) * inverseCellSize);
+
+        if ((long) (maxX - minX + 1) * (maxY - minY + 1) > slotCount) {
+            // Rayon plus large que la population : parcours linéaire des emplacements
+            for (int slot = 0; slot < slotCount; slot++) {
+                if (entities[slot] == null) continue;
+                double dx = xs[slot] - x;
+                double dy = ys[slot] - y;
+                if (dx * dx + dy * dy <= radiusSquared && filter.test(entities[slot])) {
+                    out.add(entities[slot]);
+                }
+            }
+            return;
+        }
+
+        for (int cx = minX; cx <= maxX; cx++) {
+            for (int cy = minY; cy <= maxY; cy++) {
+                long cell = cellKey(cx, cy);
+                for (int slot = bucketHeads[bucketOf(cell)]; slot != NONE; slot = next[slot]) {
+                    if (cells[slot] != cell) continue;
+                    double dx = xs[slot] - x;
+                    double dy = ys[slot] - y;
+                    if (dx * dx + dy * dy <= radiusSquared && filter.test(entities[slot])) {
+                        out.add(entities[slot]);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Entité acceptée la plus proche de (x, y) à distance <= maxDistance, null sinon
+     */
+    public CombatSystem.Entity nearest(double x, double y, double maxDistance, Predicate<CombatSystem.Entity> filter) {
+        CombatSystem.Entity nearest = nearestK(x, y, 1, maxDistance, filter, null) > 0 ? nearestEntities[0] : null;
+        nearestEntities[0] = null;
+        return nearest;
+    }
+
+    /**
+     * Les k entités acceptées les plus proches de (x, y) à distance <= maxDistance, de la
+     * plus proche à la plus lointaine, ajoutées à out (si non null) ; renvoie leur nombre
+     */
+    public int nearestK(double x, double y, int k, double maxDistance, Predicate<CombatSystem.Entity> filter,
+                        List<CombatSystem.Entity> out) {
+        if (k <= 0 || size == 0) return 0;
+        if (nearestEntities.length < k) {
+            nearestEntities = new CombatSystem.Entity[k];
+            nearestDistances = new double[k];
+        }
+
+        int found = 0;
+        int centerX = (int) Math.floor(x * inverseCellSize);
+        int centerY = (int) Math.floor(y * inverseCellSize);
+        int maxRing = (int) Math.ceil(maxDistance * inverseCellSize);
+        int minX = (int) Math.floor((x - maxDistance) * inverseCellSize);
+        int maxX = (int) Math.floor((x + maxDistance) * inverseCellSize);
+        int minY = (int) Math.floor((y - maxDistance) * inverseCellSize);
+        int maxY = (int) Math.floor((y + maxDistance) * inverseCellSize);
+
+        if (maxX - minX <= 1 && maxY - minY <= 1) {
+            // Petit rayon (clic, collision) : les 4 cellules au plus qui touchent le disque
+            for (int cx = minX; cx <= maxX; cx++) {
+                for (int cy = minY; cy <= maxY; cy++) {
+                    long cell = cellKey(cx, cy);
+                    for (int slot = bucketHeads[bucketOf(cell)]; slot != NONE; slot = next[slot]) {
+                        if (cells[slot] == cell) {
+                            found = offer(slot, x, y, k, found, maxDistance, filter);
+                        }
+                    }
+                }
+            }
+        } else if (maxRing > MAX_RING_SEARCH) {
+            for (int slot = 0; slot < slotCount; slot++) {
+                if (entities[slot] != null) {
+                    found = offer(slot, x, y, k, found, maxDistance, filter);
+                }
+            }
+        } else {
+            for (int ring = 0; ring <= maxRing; ring++) {
+                // Tout ce qui est hors des anneaux déjà vus est à plus de (ring - 1) cellules
+                if (found == k && nearestDistances[k - 1] <= (ring - 1) * cellSize) break;
+                for (int cx = centerX - ring; cx <= centerX + ring; cx++) {
+                    boolean edgeColumn = cx == centerX - ring || cx == centerX + ring;
+                    int step = edgeColumn ? 1 : 2 * ring;
+                    for (int cy = centerY - ring; cy <= centerY + ring; cy += Math.max(1, step)) {
+                        long cell = cellKey(cx, cy);
+                        for (int slot = bucketHeads[bucketOf(cell)]; slot != NONE; slot = next[slot]) {
+                            if (cells[slot] == cell) {
+                                found = offer(slot, x, y, k, found, maxDistance, filter);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        if (out != null) {
+            for (int i = 0; i < found; i++) out.add(nearestEntities[i]);
+            Arrays.fill(nearestEntities, 0, found, null);
+        }
+        return found;
+    }
+
+    /**
+     * Insère l'emplacement dans les k meilleurs (tri par insertion, k est petit)
+     */
+    private int offer(int slot, double x, double y, int k, int found, double maxDistance,
+                      Predicate<CombatSystem.Entity> filter) {
+        double dx = xs[slot] - x;
+        double dy = ys[slot] - y;
+        double distance = Math.sqrt(dx * dx + dy * dy);
+        if (distance > maxDistance || (found == k && distance >= nearestDistances[k - 1])) return found;
+        if (!filter.test(entities[slot])) return found;
+
+        int i = found < k ? found++ : k - 1;
+        while (i > 0 && nearestDistances[i - 1] > distance) {
+            nearestDistances[i] = nearestDistances[i - 1];
+            nearestEntities[i] = nearestEntities[i - 1];
+            i--;
+        }
+        nearestDistances[i] = distance;
+        nearestEntities[i] = entities[slot];
+        return found;
+    }
+
+    public int size() { return size; }
+    public double getCellSize() { return cellSize; }
+}
@@ -0,0 +1,52 @@
+package net.arkaine.combat;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Intégration des projectiles par paquets de la largeur SIMD préférée de la machine
+ * (jdk.incubator.vector) ; le reste (moins d'un paquet) passe par la boucle scalaire.
+ * Ne charger que via ProjectileKernel.select().
+ */
+class VectorProjectileKernel implements ProjectileKernel {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    private final ScalarProjectileKernel tail = new ScalarProjectileKernel();
+
+    @Override
+    public void integrate(ProjectilePool pool, double deltaTime) {
+        double reachedSquared = ProjectilePool.TARGET_RADIUS * ProjectilePool.TARGET_RADIUS;
+        int upper = SPECIES.loopBound(pool.size);
+        DoubleVector dt = DoubleVector.broadcast(SPECIES, deltaTime);
+
+        int i = 0;
+        for (; i < upper; i += SPECIES.length()) {
+            DoubleVector age = DoubleVector.fromArray(SPECIES, pool.age, i).add(deltaTime);
+            DoubleVector x = DoubleVector.fromArray(SPECIES, pool.velocityX, i)
+                    .fma(dt, DoubleVector.fromArray(SPECIES, pool.x, i));
+            DoubleVector y = DoubleVector.fromArray(SPECIES, pool.velocityY, i)
+                    .fma(dt, DoubleVector.fromArray(SPECIES, pool.y, i));
+            age.intoArray(pool.age, i);
+            x.intoArray(pool.x, i);
+            y.intoArray(pool.y, i);
+
+            DoubleVector dx = DoubleVector.fromArray(SPECIES, pool.targetX, i).sub(x);
+            DoubleVector dy = DoubleVector.fromArray(SPECIES, pool.targetY, i).sub(y);
+            VectorMask<Double> finished = age.compare(VectorOperators.GT, ProjectilePool.MAX_LIFETIME)
+                    .or(dx.fma(dx, dy.mul(dy)).compare(VectorOperators.LT, reachedSquared));
+            finished.intoArray(pool.finished, i);
+        }
+
+        for (; i < pool.size; i++) {
+            tail.integrateOne(pool, i, deltaTime, reachedSquared);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "vectoriel (" + SPECIES.length() + " voies)";
+    }
+}
@@ -41,6 +41,36 @@ public class EnemyConfig {
     public static final double GUARDIAN_LEASH_RANGE = 8.0;
     public static final double PATHFIND_UPDATE_INTERVAL = 0.5;
 
+    // File de pathfinding des ennemis (budget par tick)
+    public static final int PATHFIND_EXPANSION_BUDGET = 20000;
+    // 0 : pas de limite de temps, budget d'expansions seul (résultats reproductibles d'une machine à l'autre)
+    public static final double PATHFIND_TIME_BUDGET_MS =
+            Double.parseDouble(System.getProperty("pathfind.budgetMs", "1.0"));
+    public static final int REPATH_DISTANCE_TILES = 2; // pas de nouveau chemin si la cible a bougé de moins
+    public static final int HPA_MIN_DISTANCE_TILES = 64; // au-delà, route HPA* détaillée tronçon par tronçon
+    public static final int HPA_LOOKAHEAD_TILES = 4;     // cases d'avance avant de détailler le tronçon suivant
+
+    // Champs de distances partagés (poursuite du joueur, retour des gardiens)
+    public static final int FLOW_FIELD_RADIUS = 48;  // en cases
+    public static final int FLOW_FIELD_STEPS = 3;    // cases ajoutées au chemin à chaque descente
+
+    // Déplacements coopératifs des meutes (WHCA*, réservations espace-temps)
+    public static final double COOP_STEP_SECONDS = 1.0;      // durée d'un pas de la table de réservations
+    public static final int COOP_WINDOW_STEPS = 16;          // horizon réservé, replanifié à mi-fenêtre
+    public static final int COOP_EXPANSION_BUDGET = 6000;    // par tick, pour les poursuites
+
+    // Index spatial des entités (requêtes de voisinage, collisions des projectiles)
+    public static final double SPATIAL_CELL_SIZE = 2.0;  // en cases
+    public static final int SPATIAL_BUCKETS = 4096;
+
+    // Projectiles (réserve de taille fixe, tirs perdus au-delà)
+    public static final int PROJECTILE_CAPACITY = 8192;
+
+    // Mise à jour des ennemis en deux phases (décision en parallèle, application dans l'ordre des lignes)
+    public static final boolean PARALLEL_UPDATE = Boolean.parseBoolean(System.getProperty("combat.parallel", "true"));
+    public static final int PARALLEL_MIN_ENTITIES = 2048; // en dessous, la décision reste sur le fil du jeu
+    public static final int UPDATE_CHUNK_SIZE = 512;      // lignes par bloc (découpage fixe, ordre d'application stable)
+
     // Distribution des classes d'ennemis
     public static final double[] BASIC_CLASS_WEIGHTS = {0.4, 0.3, 0.3}; // Warrior, Mage, Archer
     public static final double[] ELITE_CLASS_WEIGHTS = {0.4, 0.3, 0.3}; // Elite versions
@@ -62,10 +92,10 @@ public class EnemyConfig {
      * Ajuste les stats d'un ennemi selon la difficulté
      */
     public static void applyDifficultyScaling(CombatSystem.Stats stats, double difficultyMultiplier) {
-        stats.maxHealth = (int)(stats.maxHealth * difficultyMultiplier);
-        stats.health = stats.maxHealth;
-        stats.damage = (int)(stats.damage * difficultyMultiplier);
-        stats.moveSpeed *= Math.min(difficultyMultiplier, 1.5); // Limiter la vitesse
+        stats.setMaxHealth((int)(stats.getMaxHealth() * difficultyMultiplier));
+        stats.setHealth(stats.getMaxHealth());
+        stats.setDamage((int)(stats.getDamage() * difficultyMultiplier));
+        stats.setMoveSpeed(stats.getMoveSpeed() * Math.min(difficultyMultiplier, 1.5)); // Limiter la vitesse
         stats.attackSpeed *= Math.min(difficultyMultiplier, 1.3); // Limiter la vitesse d'attaque
     }
 
@@ -0,0 +1,17 @@
+package net.arkaine.config;
+
+/**
+ * Configuration de la boucle de simulation (pas de temps fixe)
+ */
+public class SimulationConfig {
+
+    // Fréquence de simulation, indépendante de celle du rendu (-Dsim.hz=30 sur machine lente)
+    public static final int TICK_RATE = Integer.getInteger("sim.hz", 60);
+
+    // Au-delà, le retard est abandonné (pas de spirale de rattrapage après une pause)
+    public static final int MAX_STEPS_PER_FRAME = 8;
+    public static final double MAX_FRAME_SECONDS = 0.25;
+
+    // Déplacement du joueur, en cases par seconde
+    public static final double PLAYER_MOVE_SPEED = 4.8;
+}
@@ -3,10 +3,20 @@ package net.arkaine.controller;
 import net.arkaine.combat.CombatSystem;
 import net.arkaine.inventory.InventorySystem;
 import net.arkaine.model.GameModel;
+import net.arkaine.model.Point;
+import net.arkaine.model.WalkabilityGrid;
+import net.arkaine.pathfinding.DStarLite;
+import net.arkaine.pathfinding.GridPath;
+import net.arkaine.pathfinding.GridPathfinder;
+import net.arkaine.pathfinding.JumpPointSearch;
+import net.arkaine.pathfinding.PathEngine;
+import net.arkaine.pathfinding.PathService;
+import net.arkaine.pathfinding.PathSmoother;
 import net.arkaine.view.GameView;
+import net.arkaine.view.InventoryDialogs;
+import javafx.animation.AnimationTimer;
 import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
-import javafx.geometry.Point2D;
 import javafx.scene.input.MouseButton;
 import javafx.scene.input.MouseEvent;
 import javafx.stage.Stage;
@@ -32,13 +42,33 @@ public class GameController implements GameModel.GameModelListener {
     private Timeline exclamationTimeline;
     private Timeline respawnTimeline;
 
-    // Variables pour le système de combat
-    private double lastUpdateTime = 0;
+    // Boucle de jeu : rendu à chaque image, simulation à pas fixe (SimulationConfig.TICK_RATE)
+    private AnimationTimer gameLoop;
+    private long lastFrameNanos = 0;
+
+    // Moteurs de pathfinding du joueur (G pour changer, F4 pour les comparer)
+    // HPA* (celui du modèle, partagé avec les ennemis) se reconstruit à la première requête,
+    // puis par cluster sur les changements de portes/murs
+    private final PathEngine[] pathEngines;
+    private int pathEngineIndex = 0;
+    private boolean pathComparisonMode = false;
+
+    // Recherche du chemin du joueur hors du thread JavaFX, appliquée au tick suivant
+    private final PathService pathService = new PathService(2);
+    private Point pendingPathTarget;
+
+    // Réparation incrémentale du trajet en cours sur les changements de portes et de murs
+    private final DStarLite playerRoute = new DStarLite();
+    private boolean playerRouteActive = false;
+
+    // Lissage any-angle du chemin du joueur (F5)
+    private boolean pathSmoothing = true;
 
     public GameController(GameModel model, GameView view, Stage parentStage) {
         this.model = model;
         this.view = view;
         this.parentStage = parentStage;
+        this.pathEngines = new PathEngine[]{new GridPathfinder(), new JumpPointSearch(), model.getHierarchy()};
 
         // S'enregistrer comme observateur du modèle
         model.addListener(this);
@@ -68,7 +98,7 @@ public class GameController implements GameModel.GameModelListener {
 
     private void initializeView() {
         // Charger la carte
-        model.loadMapFromJson();
+        model.loadMap();
 
         // Centrer la caméra sur le joueur
         view.centerCameraOnPlayer(model);
@@ -83,7 +113,7 @@ public class GameController implements GameModel.GameModelListener {
         model.setPlayerAngle(angle);
 
         // Calculer la position de la tuile sous le curseur
-        Point2D hoveredTile = view.screenToTile(e.getX(), e.getY());
+        Point hoveredTile = view.screenToTile(e.getX(), e.getY());
         if (hoveredTile != null && model.isValidTile((int)hoveredTile.getX(), (int)hoveredTile.getY())) {
             view.setMouseHoverPosition(hoveredTile);
         } else {
@@ -92,7 +122,7 @@ public class GameController implements GameModel.GameModelListener {
     }
 
     private void onMouseClicked(MouseEvent e) {
-        Point2D clickedTile = view.screenToTile(e.getX(), e.getY());
+        Point clickedTile = view.screenToTile(e.getX(), e.getY());
         if (clickedTile != null && model.isValidTile((int)clickedTile.getX(), (int)clickedTile.getY())) {
 
             if (e.getButton() == MouseButton.PRIMARY) {
@@ -105,7 +135,12 @@ public class GameController implements GameModel.GameModelListener {
                     model.stopMovement();
                     model.playerAttack(clickedTile);
                 }
-                // 3. Enfin, gérer le déplacement
+                // 3. Les murs destructibles se frappent au lieu de s'y rendre
+                else if (model.wallTypeAt((int)clickedTile.getX(), (int)clickedTile.getY()) == GameModel.WallType.DESTRUCTIBLE) {
+                    model.stopMovement();
+                    model.attackWall((int)clickedTile.getX(), (int)clickedTile.getY());
+                }
+                // 4. Enfin, gérer le déplacement
                 else {
                     handleMovementRequest(clickedTile);
                 }
@@ -130,19 +165,29 @@ public class GameController implements GameModel.GameModelListener {
     }
 
     private void onMousePressed(MouseEvent e) {
-        Point2D clickedTile = view.screenToTile(e.getX(), e.getY());
+        Point clickedTile = view.screenToTile(e.getX(), e.getY());
         if (clickedTile != null && model.isValidTile((int)clickedTile.getX(), (int)clickedTile.getY())) {
             handleDoorInteraction((int)clickedTile.getX(), (int)clickedTile.getY());
         }
     }
 
-    private void handleMovementRequest(Point2D target) {
+    private void handleMovementRequest(Point target) {
         // CORRECTION : Supprimer la vérification qui bloquait les nouveaux mouvements
         // if (model.isMoving()) return; // ← Cette ligne est supprimée
 
-        // Toujours permettre un nouveau mouvement, même si un mouvement est en cours
-        List<Point2D> path = findPath(model.getPlayerPosition(), target);
-        model.startMovement(path, target, target);
+        // Destination hors de la zone du joueur : refus immédiat, sans lancer A*
+        Point playerPos = model.getPlayerPosition();
+        if (!model.getConnectivity().isReachable(model.getWalkability(), (int)playerPos.getX(), (int)playerPos.getY(),
+                (int)target.getX(), (int)target.getY())) {
+            pathService.cancel();
+            pendingPathTarget = null;
+            model.startMovement(Collections.emptyList(), target, target);
+            return;
+        }
+
+        // Toujours permettre un nouveau mouvement, même si un mouvement est en cours :
+        // la recherche précédente est annulée, le résultat arrive dans update()
+        requestPath(playerPos, target);
     }
 
     private void handleDoorInteraction(int x, int y) {
@@ -150,23 +195,12 @@ public class GameController implements GameModel.GameModelListener {
     }
 
     // Nouvelle méthode pour vérifier la présence d'ennemis
-    private boolean isEnemyAtPosition(Point2D position) {
-        List<CombatSystem.Entity> entities = model.getCombatSystem().getEntities();
-
-        for (CombatSystem.Entity entity : entities) {
-            if (!entity.isPlayer && entity.stats.isAlive()) {
-                double distance = entity.position.distance(position);
-                if (distance <= 0.7) { // Tolérance pour le clic
-                    return true;
-                }
-            }
-        }
-
-        return false;
+    private boolean isEnemyAtPosition(Point position) {
+        return model.getCombatSystem().hasEnemyAt(position, 0.7); // Tolérance pour le clic
     }
 
     private void debugSpawnChestNearPlayer() {
-        Point2D playerPos = model.getPlayerPosition();
+        Point playerPos = model.getPlayerPosition();
 
         // Chercher une position libre près du joueur
         for (int dx = -2; dx <= 2; dx++) {
@@ -178,7 +212,7 @@ public class GameController implements GameModel.GameModelListener {
                         model.canWalkThrough(x, y) &&
                         chestSystem != null &&
                         !chestSystem.hasChestAt(x, y) &&
-                        model.getItemMap()[x][y].isEmpty()) {
+                        model.itemsAt(x, y).isEmpty()) {
 
                     chestSystem.debugSpawnChest(x, y);
                     model.setMessageAbovePlayer("Chest spawned!");
@@ -192,96 +226,150 @@ public class GameController implements GameModel.GameModelListener {
         System.out.println("❌ Pas de place pour un coffre près du joueur");
     }
 
-    // Algorithme A* pour le pathfinding avec diagonales
-    private List<Point2D> findPath(Point2D start, Point2D end) {
-        PriorityQueue<Node> openSet = new PriorityQueue<>();
-        Set<String> closedSet = new HashSet<>();
-        Map<String, Node> allNodes = new HashMap<>();
+    // Recherche de chemin asynchrone (moteur courant sur une copie figée de la praticabilité)
+    private void requestPath(Point start, Point end) {
+        PathEngine engine = pathEngines[pathEngineIndex];
+        int sx = (int)start.getX(), sy = (int)start.getY();
+        int gx = (int)end.getX(), gy = (int)end.getY();
 
-        Node startNode = new Node((int)start.getX(), (int)start.getY(), null, 0, heuristic(start, end));
-        openSet.add(startNode);
-        allNodes.put(startNode.getKey(), startNode);
+        boolean smoothing = pathSmoothing;
+        pendingPathTarget = end;
+        pathService.submit(model.getWalkability(),
+                grid -> smoothPath(grid, model.getPathCache().findPath(engine, grid, sx, sy, gx, gy), smoothing),
+                pathComparisonMode ? grid -> comparePathEngines(grid, start, end) : null);
+    }
 
-        while (!openSet.isEmpty()) {
-            Node current = openSet.poll();
-            String currentKey = current.getKey();
+    private static GridPath smoothPath(WalkabilityGrid grid, GridPath path, boolean smoothing) {
+        return smoothing ? PathSmoother.smooth(grid, path) : path;
+    }
 
-            if (closedSet.contains(currentKey)) continue;
-            closedSet.add(currentKey);
+    /**
+     * Applique le chemin arrivé depuis le dernier tick
+     */
+    private void applyCompletedPath() {
+        PathService.Result result = pathService.pollCompleted();
+        if (result == null || pendingPathTarget == null) return;
 
-            if (current.x == (int)end.getX() && current.y == (int)end.getY()) {
-                return reconstructPath(current);
-            }
+        Point target = pendingPathTarget;
+        pendingPathTarget = null;
+        playerRouteActive = false;
+        model.startMovement(toPointList(result.path), target, target);
+    }
 
-            // Directions incluant les diagonales
-            int[][] directions = {
-                    {-1, 0}, {1, 0}, {0, -1}, {0, 1},  // Orthogonales
-                    {-1, -1}, {-1, 1}, {1, -1}, {1, 1}  // Diagonales
-            };
+    /**
+     * Répare la fin du trajet du joueur après le changement de (x, y).
+     *
+     * La première réparation d'un trajet initialise D* Lite (si le changement touche
+     * le trajet) ; les suivantes ne recalculent que la partie affectée.
+     */
+    private void repairPlayerRoute(int x, int y, boolean opened) {
+        if (!model.isMoving() || pathService.isPending()) {
+            playerRouteActive = false; // un nouveau chemin arrive, ou plus de trajet
+            return;
+        }
+        List<Point> path = model.getCurrentPath();
+        int index = model.getCurrentPathIndex();
+        if (index >= path.size()) return;
+
+        // Repartir du point visé, ou du dernier point atteint si le segment en cours est bloqué
+        WalkabilityGrid grid = model.getWalkability();
+        int anchor = index;
+        if (index > 0 && !hasLineOfSight(grid, path.get(index - 1), path.get(index))) {
+            anchor = index - 1;
+        }
+        Point from = path.get(anchor);
+        Point goal = path.get(path.size() - 1);
+        int fx = (int)from.getX(), fy = (int)from.getY();
+        int gx = (int)goal.getX(), gy = (int)goal.getY();
+
+        GridPath repaired;
+        if (playerRouteActive && playerRoute.isPlanning(grid, gx, gy)) {
+            playerRoute.moveStart(fx, fy);
+            playerRoute.tileChanged(x, y);
+            repaired = playerRoute.replan();
+        } else {
+            if (!affectsRoute(path, anchor, x, y, opened)) return;
+            repaired = playerRoute.plan(grid, fx, fy, gx, gy);
+            playerRouteActive = true;
+        }
 
-            for (int[] dir : directions) {
-                int newX = current.x + dir[0];
-                int newY = current.y + dir[1];
-                String newKey = newX + "," + newY;
+        System.out.printf("🧭 Trajet réparé (D* Lite): %d cases, %d expansions, %.2f ms%n",
+                repaired.length(), repaired.getExpansions(), playerRoute.getLastReplanMillis());
+        if (repaired.isEmpty()) {
+            playerRouteActive = false;
+        }
+        model.replaceRemainingPath(anchor, toPointList(smoothPath(grid, repaired, pathSmoothing)));
+    }
 
-                if (!model.canWalkThrough(newX, newY) || closedSet.contains(newKey)) continue;
+    /**
+     * Case fermée qui coupe un segment restant, ou case ouverte dans le rectangle englobant du reste
+     */
+    private boolean affectsRoute(List<Point> path, int from, int x, int y, boolean opened) {
+        WalkabilityGrid grid = model.getWalkability();
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, maxX = -1, maxY = -1;
+        for (int i = from; i < path.size(); i++) {
+            int px = (int)path.get(i).getX();
+            int py = (int)path.get(i).getY();
+            if (!opened && i + 1 < path.size() && !hasLineOfSight(grid, path.get(i), path.get(i + 1))) return true;
+            minX = Math.min(minX, px);
+            minY = Math.min(minY, py);
+            maxX = Math.max(maxX, px);
+            maxY = Math.max(maxY, py);
+        }
+        return opened && x >= minX - 1 && x <= maxX + 1 && y >= minY - 1 && y <= maxY + 1;
+    }
 
-                // Vérifier les diagonales - éviter de passer "à travers" les murs
-                boolean isDiagonal = (dir[0] != 0 && dir[1] != 0);
-                if (isDiagonal) {
-                    // Pour une diagonale, vérifier que les cases adjacentes sont libres
-                    boolean canMoveDiagonally =
-                            model.canWalkThrough(current.x + dir[0], current.y) &&  // Côté horizontal
-                                    model.canWalkThrough(current.x, current.y + dir[1]);     // Côté vertical
+    private static boolean hasLineOfSight(WalkabilityGrid grid, Point from, Point to) {
+        return PathSmoother.hasLineOfSight(grid, (int)from.getX(), (int)from.getY(), (int)to.getX(), (int)to.getY());
+    }
 
-                    if (!canMoveDiagonally) continue;
-                }
+    /**
+     * Lance tous les moteurs sur la même requête et affiche longueurs, expansions et temps
+     */
+    private void comparePathEngines(WalkabilityGrid grid, Point start, Point end) {
+        System.out.println("🧭 Comparaison des moteurs (" + (int)start.getX() + "," + (int)start.getY()
+                + ") -> (" + (int)end.getX() + "," + (int)end.getY() + ")");
 
-                // Coût selon la direction (diagonale = sqrt(2) ≈ 1.414)
-                double moveCost = isDiagonal ? 1.414 : 1.0;
-                double newG = current.g + moveCost;
-                double newH = heuristic(new Point2D(newX, newY), end);
-                Node neighbor = new Node(newX, newY, current, newG, newH);
+        for (PathEngine engine : pathEngines) {
+            long begin = System.nanoTime();
+            GridPath gridPath = engine.findPath(grid,
+                    (int)start.getX(), (int)start.getY(), (int)end.getX(), (int)end.getY());
+            long elapsed = System.nanoTime() - begin;
 
-                Node existing = allNodes.get(newKey);
-                if (existing == null || newG < existing.g) {
-                    allNodes.put(newKey, neighbor);
-                    openSet.add(neighbor);
-                }
-            }
+            System.out.printf("  %-4s longueur %.2f (%d cases), %d expansions, %d µs%n",
+                    engine.getName(), gridPath.getDistance(), gridPath.length(),
+                    gridPath.getExpansions(), elapsed / 1000);
         }
-
-        return new ArrayList<>();
     }
 
-    private double heuristic(Point2D a, Point2D b) {
-        // Heuristique diagonale (distance de Chebyshev)
-        double dx = Math.abs(a.getX() - b.getX());
-        double dy = Math.abs(a.getY() - b.getY());
-        return Math.max(dx, dy);
+    private void cyclePathEngine() {
+        pathEngineIndex = (pathEngineIndex + 1) % pathEngines.length;
+        String name = pathEngines[pathEngineIndex].getName();
+        model.setMessageAbovePlayer("Path: " + name);
+        System.out.println("🧭 Moteur de pathfinding: " + name);
     }
 
-    private List<Point2D> reconstructPath(Node endNode) {
-        List<Point2D> path = new ArrayList<>();
-        Node current = endNode;
-
-        while (current != null) {
-            path.add(0, new Point2D(current.x, current.y));
-            current = current.parent;
+    private List<Point> toPointList(GridPath gridPath) {
+        List<Point> path = new ArrayList<>(gridPath.length());
+        for (int i = 0; i < gridPath.length(); i++) {
+            path.add(new Point(gridPath.xAt(i), gridPath.yAt(i)));
         }
-
         return path;
     }
 
     // Méthodes publiques pour le contrôle externe
     public void startGameLoop() {
-        // Initialiser le temps
-        lastUpdateTime = System.currentTimeMillis() / 1000.0;
-
-        // Boucle de jeu principale
-        Timeline gameLoop = new Timeline(new KeyFrame(Duration.millis(16), e -> update()));
-        gameLoop.setCycleCount(Timeline.INDEFINITE);
-        gameLoop.play();
+        // Boucle de jeu principale : une image par impulsion JavaFX, sans cadence imposée
+        lastFrameNanos = 0;
+        gameLoop = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                double frameSeconds = lastFrameNanos == 0 ? 0 : (now - lastFrameNanos) / 1_000_000_000.0;
+                lastFrameNanos = now;
+                update(frameSeconds);
+            }
+        };
+        gameLoop.start();
 
         // Timer pour respawn d'ennemis (toutes les 45 secondes selon la config)
         respawnTimeline = new Timeline(new KeyFrame(Duration.seconds(45), e -> {
@@ -291,19 +379,18 @@ public class GameController implements GameModel.GameModelListener {
         respawnTimeline.play();
     }
 
-    private void update() {
-        double currentTime = System.currentTimeMillis() / 1000.0;
-        double deltaTime = currentTime - lastUpdateTime;
-        lastUpdateTime = currentTime;
+    private void update(double frameSeconds) {
+        // Chemin calculé en arrière-plan depuis la dernière image
+        applyCompletedPath();
+
+        // Mouvement et combat par pas fixes ; le reste du temps sert à l'interpolation du rendu
+        boolean playerAlive = model.advance(frameSeconds);
 
-        // Mettre à jour le mouvement
         if (model.isMoving()) {
-            model.updateMovement();
-            view.updateCameraToFollowPlayer(model);
+            view.updateCameraToFollowPlayer(model, frameSeconds);
         }
 
-        // Mettre à jour le système de combat
-        if (!model.updateCombat(deltaTime)) {
+        if (!playerAlive) {
             // Le joueur est mort - gérer la fin de partie
             handleGameOver();
             return;
@@ -318,6 +405,8 @@ public class GameController implements GameModel.GameModelListener {
         System.out.println("💀 GAME OVER - Le joueur est mort!");
 
         // Arrêter toutes les animations
+        pathService.cancel();
+        pendingPathTarget = null;
         if (moveTimeline != null) {
             moveTimeline.stop();
         }
@@ -359,7 +448,7 @@ public class GameController implements GameModel.GameModelListener {
         }
 
         // Afficher l'interface de gestion
-        model.getInventory().showInventoryManagementDialog(itemsToCollect, parentStage);
+        InventoryDialogs.showInventoryManagementDialog(model.getInventory(), itemsToCollect, parentStage);
     }
     public void handleKeyPressed(String keyCode) {
         switch (keyCode) {
@@ -385,12 +474,9 @@ public class GameController implements GameModel.GameModelListener {
             // ================================
             case "H":
                 // Debug - afficher la santé du joueur
-                CombatSystem.Entity player = model.getCombatSystem().getEntities().stream()
-                        .filter(e -> e.isPlayer)
-                        .findFirst()
-                        .orElse(null);
+                CombatSystem.Entity player = model.getCombatSystem().getPlayer();
                 if (player != null) {
-                    System.out.println("💗 Santé du joueur: " + player.stats.health + "/" + player.stats.maxHealth);
+                    System.out.println("💗 Santé du joueur: " + player.stats.getHealth() + "/" + player.stats.getMaxHealth());
                 }
                 break;
             case "R":
@@ -473,7 +559,7 @@ public class GameController implements GameModel.GameModelListener {
 
             case "J":
                 // Debug - créer une salle au trésor
-                Point2D playerPos = model.getPlayerPosition();
+                Point playerPos = model.getPlayerPosition();
                 createTreasureRoom((int)playerPos.getX() + 5, (int)playerPos.getY() + 5, 3);
                 break;
 
@@ -489,13 +575,34 @@ public class GameController implements GameModel.GameModelListener {
                 // Statistiques complètes du monde
                 printWorldStatistics();
                 break;
+
+            // ================================
+            // PATHFINDING
+            // ================================
+            case "G":
+                // Changer de moteur de pathfinding
+                cyclePathEngine();
+                break;
+
+            case "F4":
+                // Comparer les moteurs à chaque déplacement
+                pathComparisonMode = !pathComparisonMode;
+                System.out.println("🧭 Comparaison des moteurs: " + (pathComparisonMode ? "ON" : "OFF"));
+                break;
+
+            case "F5":
+                // Lissage any-angle des chemins du joueur
+                pathSmoothing = !pathSmoothing;
+                model.setMessageAbovePlayer("Smoothing: " + (pathSmoothing ? "ON" : "OFF"));
+                System.out.println("🧭 Lissage des chemins: " + (pathSmoothing ? "ON" : "OFF"));
+                break;
         }
     }
 
 
 
     private void debugShowNearbyGroundItems() {
-        Point2D playerPos = model.getPlayerPosition();
+        Point playerPos = model.getPlayerPosition();
         int playerX = (int) playerPos.getX();
         int playerY = (int) playerPos.getY();
 
@@ -519,7 +626,7 @@ public class GameController implements GameModel.GameModelListener {
     }
 
     private void debugTestItemCollection() {
-        Point2D playerPos = model.getPlayerPosition();
+        Point playerPos = model.getPlayerPosition();
         int x = (int) playerPos.getX();
         int y = (int) playerPos.getY();
 
@@ -541,20 +648,14 @@ public class GameController implements GameModel.GameModelListener {
 
     private void showEquipmentDialog() {
         InventorySystem inventory = model.getInventory();
-        inventory.showEquipmentDialog(parentStage);
+        InventoryDialogs.showEquipmentDialog(inventory, parentStage);
     }
 
     // Méthode de debug pour tuer tous les ennemis
     private void debugKillAllEnemies() {
-        List<CombatSystem.Entity> entities = model.getCombatSystem().getEntities();
-        int killedCount = 0;
-
-        for (CombatSystem.Entity entity : entities) {
-            if (!entity.isPlayer && entity.stats.isAlive()) {
-                entity.stats.health = 0;
-                killedCount++;
-            }
-        }
+        CombatSystem combat = model.getCombatSystem();
+        int killedCount = combat.getAliveEnemyCount();
+        combat.forEachAliveEnemy(enemy -> enemy.stats.setHealth(0));
 
         System.out.println("💀 Debug: " + killedCount + " ennemis éliminés");
         model.setMessageAbovePlayer("Enemies defeated!");
@@ -562,20 +663,13 @@ public class GameController implements GameModel.GameModelListener {
 
     // Méthode pour afficher les statistiques de combat
     private void printCombatStats() {
-        List<CombatSystem.Entity> entities = model.getCombatSystem().getEntities();
-
-        long aliveEnemies = entities.stream()
-                .filter(e -> !e.isPlayer && e.stats.isAlive())
-                .count();
-
-        long totalEnemies = entities.stream()
-                .filter(e -> !e.isPlayer)
-                .count();
+        int aliveEnemies = model.getCombatSystem().getAliveEnemyCount();
+        int totalEnemies = model.getCombatSystem().getTotalEnemyCount();
 
         System.out.println("⚔️ Statistiques de combat:");
         System.out.println("  - Ennemis vivants: " + aliveEnemies);
         System.out.println("  - Total ennemis: " + totalEnemies);
-        System.out.println("  - Projectiles actifs: " + model.getCombatSystem().getProjectiles().size());
+        System.out.println("  - Projectiles actifs: " + model.getCombatSystem().getProjectileCount());
     }
 
     // Méthode pour afficher l'aide des commandes de debug
@@ -607,6 +701,11 @@ public class GameController implements GameModel.GameModelListener {
         System.out.println("N - Régénérer tous les items et coffres");
         System.out.println("J - Créer une salle au trésor");
         System.out.println();
+        System.out.println("PATHFINDING:");
+        System.out.println("G - Changer de moteur (A* / JPS / HPA*)");
+        System.out.println("F4 - Comparer les moteurs à chaque déplacement");
+        System.out.println("F5 - Lissage any-angle des chemins");
+        System.out.println();
         System.out.println("AIDE:");
         System.out.println("F1 - Aide de base");
         System.out.println("F2 - Cette aide étendue");
@@ -618,16 +717,17 @@ public class GameController implements GameModel.GameModelListener {
     @Override
     public void onMapLoaded() {
         System.out.println("Carte chargée - mise à jour de la vue");
+        model.getConnectivity().rebuild(model.getWalkability());
         view.centerCameraOnPlayer(model);
     }
 
     @Override
-    public void onPlayerMoved(Point2D newPosition) {
+    public void onPlayerMoved(Point newPosition) {
         // Pas d'action spéciale nécessaire - la vue se met à jour automatiquement
     }
 
     @Override
-    public void onMovementStarted(List<Point2D> path) {
+    public void onMovementStarted(List<Point> path) {
         System.out.println("Mouvement démarré vers " + path.get(path.size() - 1));
 
         // Démarrer l'animation de mouvement
@@ -653,6 +753,13 @@ public class GameController implements GameModel.GameModelListener {
     @Override
     public void onDoorStateChanged(int x, int y, boolean isOpen) {
         System.out.println("Porte à (" + x + ", " + y + ") " + (isOpen ? "ouverte" : "fermée"));
+        repairPlayerRoute(x, y, isOpen);
+    }
+
+    @Override
+    public void onWallDestroyed(int x, int y) {
+        System.out.println("Mur détruit à (" + x + ", " + y + ")");
+        repairPlayerRoute(x, y, true);
     }
 
     @Override
@@ -681,29 +788,6 @@ public class GameController implements GameModel.GameModelListener {
         }
     }
 
-    // Classe Node pour l'algorithme A*
-    private static class Node implements Comparable<Node> {
-        int x, y;
-        Node parent;
-        double g, h;
-
-        Node(int x, int y, Node parent, double g, double h) {
-            this.x = x;
-            this.y = y;
-            this.parent = parent;
-            this.g = g;
-            this.h = h;
-        }
-
-        double getF() { return g + h; }
-        String getKey() { return x + "," + y; }
-
-        @Override
-        public int compareTo(Node other) {
-            return Double.compare(this.getF(), other.getF());
-        }
-    }
-
     public static GameController createWithChestSystem(GameModel model, GameView view, Stage parentStage) {
         GameController controller = new GameController(model, view, parentStage);
 
@@ -729,11 +813,7 @@ public class GameController implements GameModel.GameModelListener {
         System.out.println("🔄 Régénération complète des items et coffres...");
 
         // Nettoyer les anciens items
-        for (int x = 0; x < GameModel.MAP_SIZE; x++) {
-            for (int y = 0; y < GameModel.MAP_SIZE; y++) {
-                model.getItemMap()[x][y].clear();
-            }
-        }
+        model.clearAllItems();
 
         // Régénérer avec le système réaliste
         if (chestSystem != null) {
@@ -769,9 +849,9 @@ public class GameController implements GameModel.GameModelListener {
         Map<String, Integer> groundItems = new HashMap<>();
         int totalGroundItems = 0;
 
-        for (int x = 0; x < GameModel.MAP_SIZE; x++) {
-            for (int y = 0; y < GameModel.MAP_SIZE; y++) {
-                for (GameModel.Item item : model.getItemMap()[x][y]) {
+        for (int x = 0; x < model.getMapWidth(); x++) {
+            for (int y = 0; y < model.getMapHeight(); y++) {
+                for (GameModel.Item item : model.itemsAt(x, y)) {
                     if (!item.type.startsWith("chest_")) { // Exclure les indicateurs de coffres
                         groundItems.put(item.type, groundItems.getOrDefault(item.type, 0) + item.count);
                         totalGroundItems += item.count;
@@ -797,6 +877,9 @@ public class GameController implements GameModel.GameModelListener {
         System.out.println("\n=== Combat ===");
         printCombatStats();
 
+        System.out.println("\n=== Pathfinding ===");
+        model.getPathCache().printStats();
+
         System.out.println("======================================");
     }
 
@@ -1,18 +1,11 @@
 package net.arkaine.inventory;
 
 import net.arkaine.model.GameModel;
-import javafx.geometry.Pos;
-import javafx.scene.Scene;
-import javafx.scene.control.*;
-import javafx.scene.input.MouseButton;
-import javafx.scene.layout.*;
-import javafx.stage.Modality;
-import javafx.stage.Stage;
 
 import java.util.*;
 
 /**
- * Système d'inventaire avec équipement et interface graphique
+ * Système d'inventaire avec équipement (les fenêtres sont dans view.InventoryDialogs)
  */
 public class InventorySystem {
 
@@ -112,7 +105,7 @@ public class InventorySystem {
     // Inventaire
     private List<InventoryItem> backpack = new ArrayList<>();
     private Map<EquipmentSlot, InventoryItem> equipment = new HashMap<>();
-    private static final int MAX_BACKPACK_SIZE = 5;
+    public static final int MAX_BACKPACK_SIZE = 5;
 
     // Listeners pour notifier les changements
     private List<InventoryListener> listeners = new ArrayList<>();
@@ -247,7 +240,7 @@ public class InventorySystem {
 
     // Collecte d'objets depuis la carte
     public List<InventoryItem> collectItems(GameModel model, int x, int y) {
-        List<GameModel.Item> groundItems = model.getItemMap()[x][y];
+        List<GameModel.Item> groundItems = model.itemsAt(x, y);
         List<InventoryItem> collected = new ArrayList<>();
 
         for (GameModel.Item gameItem : groundItems) {
@@ -260,179 +253,13 @@ public class InventorySystem {
 
         // Retirer les objets collectés de la carte
         if (!collected.isEmpty()) {
-            groundItems.clear();
+            model.clearItemsAt(x, y);
             System.out.println("Objets collectés: " + collected.size());
         }
 
         return collected;
     }
 
-    // Interface graphique de gestion d'inventaire
-
-    public void showInventoryManagementDialog(List<InventoryItem> itemsToCollect, Stage parentStage) {
-        Stage dialog = new Stage();
-        dialog.initModality(Modality.APPLICATION_MODAL);
-        dialog.initOwner(parentStage);
-        dialog.setTitle("Gestion d'Inventaire - Sac plein");
-
-        BorderPane root = new BorderPane();
-
-        // Créer les listes avec handlers améliorés
-        ListView<InventoryItem> inventoryList = createInventoryListView();
-        ListView<InventoryItem> itemsToCollectList = createItemsToCollectListView(itemsToCollect);
-
-        // CORRECTION : Synchronisation en temps réel des listes
-        inventoryList.setOnMouseClicked(e -> {
-            if (e.getClickCount() == 2 && e.getButton() == MouseButton.PRIMARY) {
-                InventoryItem selected = inventoryList.getSelectionModel().getSelectedItem();
-                if (selected != null) {
-                    // Jeter l'objet et l'ajouter à la liste de collecte
-                    if (removeItem(selected, 1)) {
-                        itemsToCollectList.getItems().add(selected);
-                        inventoryList.getItems().remove(selected);
-                        System.out.println("Objet jeté: " + selected.name);
-                    }
-                }
-            }
-        });
-
-        itemsToCollectList.setOnMouseClicked(e -> {
-            if (e.getClickCount() == 2 && e.getButton() == MouseButton.PRIMARY) {
-                InventoryItem selected = itemsToCollectList.getSelectionModel().getSelectedItem();
-                if (selected != null && !isBackpackFull()) {
-                    // Ramasser l'objet
-                    if (addItem(selected)) {
-                        inventoryList.getItems().add(selected);
-                        itemsToCollectList.getItems().remove(selected);
-                        System.out.println("Objet ramassé: " + selected.name);
-                    }
-                }
-            }
-        });
-
-        // Panneaux gauche et droite
-        VBox leftPanel = createPanelWithTitle("Inventaire actuel (" + backpack.size() + "/" + MAX_BACKPACK_SIZE + ")", inventoryList);
-        VBox rightPanel = createPanelWithTitle("Objets à ramasser", itemsToCollectList);
-
-        // Layout principal
-        HBox mainLayout = new HBox(10);
-        mainLayout.getChildren().addAll(leftPanel, rightPanel);
-
-        // Boutons
-        HBox buttonBox = new HBox(10);
-        buttonBox.setAlignment(Pos.CENTER);
-
-        Button closeButton = new Button("Fermer");
-        closeButton.setOnAction(e -> dialog.close());
-
-        Button dropAllButton = new Button("Tout jeter au sol");
-        dropAllButton.setOnAction(e -> {
-            // Implémenter la logique pour remettre tous les objets au sol
-            dialog.close();
-        });
-
-        buttonBox.getChildren().addAll(closeButton, dropAllButton);
-
-        root.setCenter(mainLayout);
-        root.setBottom(buttonBox);
-        root.setPrefSize(600, 400);
-
-        Scene scene = new Scene(root);
-        dialog.setScene(scene);
-        dialog.show();
-    }
-
-    private ListView<InventoryItem> createInventoryListView() {
-        ListView<InventoryItem> listView = new ListView<>();
-        listView.getItems().addAll(backpack);
-
-        // Double-clic pour jeter au sol
-        listView.setOnMouseClicked(e -> {
-            if (e.getClickCount() == 2 && e.getButton() == MouseButton.PRIMARY) {
-                InventoryItem selected = listView.getSelectionModel().getSelectedItem();
-                if (selected != null) {
-                    removeItem(selected, 1);
-                    listView.getItems().remove(selected);
-                    // Ici, on devrait remettre l'objet au sol dans le modèle
-                    System.out.println("Objet jeté: " + selected.name);
-                }
-            }
-        });
-
-        return listView;
-    }
-
-    private ListView<InventoryItem> createItemsToCollectListView(List<InventoryItem> items) {
-        ListView<InventoryItem> listView = new ListView<>();
-        listView.getItems().addAll(items);
-
-        // Double-clic pour ramasser
-        listView.setOnMouseClicked(e -> {
-            if (e.getClickCount() == 2 && e.getButton() == MouseButton.PRIMARY) {
-                InventoryItem selected = listView.getSelectionModel().getSelectedItem();
-                if (selected != null && !isBackpackFull()) {
-                    addItem(selected);
-                    listView.getItems().remove(selected);
-                    System.out.println("Objet ramassé: " + selected.name);
-                }
-            }
-        });
-
-        return listView;
-    }
-
-    private VBox createPanelWithTitle(String title, ListView<InventoryItem> listView) {
-        VBox panel = new VBox(5);
-        Label titleLabel = new Label(title);
-        titleLabel.setStyle("-fx-font-weight: bold;");
-
-        panel.getChildren().addAll(titleLabel, listView);
-        VBox.setVgrow(listView, Priority.ALWAYS);
-
-        return panel;
-    }
-
-    // Interface d'équipement
-    public void showEquipmentDialog(Stage parentStage) {
-        Stage dialog = new Stage();
-        dialog.initModality(Modality.APPLICATION_MODAL);
-        dialog.initOwner(parentStage);
-        dialog.setTitle("Équipement");
-
-        GridPane grid = new GridPane();
-        grid.setHgap(10);
-        grid.setVgap(10);
-
-        int row = 0;
-        for (EquipmentSlot slot : EquipmentSlot.values()) {
-            Label slotLabel = new Label(slot.name().replace("_", " ") + ":");
-            InventoryItem equipped = equipment.get(slot);
-            Label itemLabel = new Label(equipped != null ? equipped.toString() : "Vide");
-
-            Button unequipButton = new Button("Retirer");
-            unequipButton.setDisable(equipped == null);
-            unequipButton.setOnAction(e -> {
-                if (unequipItem(slot)) {
-                    itemLabel.setText("Vide");
-                    unequipButton.setDisable(true);
-                }
-            });
-
-            grid.add(slotLabel, 0, row);
-            grid.add(itemLabel, 1, row);
-            grid.add(unequipButton, 2, row);
-            row++;
-        }
-
-        Button closeButton = new Button("Fermer");
-        closeButton.setOnAction(e -> dialog.close());
-        grid.add(closeButton, 1, row);
-
-        Scene scene = new Scene(grid, 400, 300);
-        dialog.setScene(scene);
-        dialog.show();
-    }
-
     // Méthodes utilitaires
     public void printInventoryStats() {
         System.out.println("=== État de l'Inventaire ===");
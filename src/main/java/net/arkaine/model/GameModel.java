@@ -1,22 +1,29 @@
 package net.arkaine.model;
 
-import javafx.geometry.Point2D;
-import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
 import java.util.*;
 
 import net.arkaine.combat.CombatSystem;
 import net.arkaine.combat.CombatEventsManager;
 import net.arkaine.config.EnemyConfig;
+import net.arkaine.config.SimulationConfig;
 import net.arkaine.inventory.InventorySystem;
+import net.arkaine.pathfinding.ConnectivityIndex;
+import net.arkaine.pathfinding.HierarchicalPathfinder;
+import net.arkaine.pathfinding.PathCache;
 
 /**
  * Modèle du jeu - Contient toutes les données et la logique métier
  */
 public class GameModel {
 
-    public static final int MAP_SIZE = 50;
+    public static final int DEFAULT_MAP_SIZE = 50;
+    private static final String MAP_RESOURCE = "/village_map.json";
+    private static final String BINARY_MAP_RESOURCE = "/village_map.bin";
+    private static final int PATH_CACHE_ENTRIES = 512;
 
     public enum ItemType {
         CONSUMABLE,    // Potions, nourriture
@@ -31,16 +38,20 @@ public class GameModel {
         KEY,           // Clés
         MISC           // Divers
     }
-    // Données de la carte
-    private int[][] floorMap = new int[MAP_SIZE][MAP_SIZE];
-    private int[][] wallMap = new int[MAP_SIZE][MAP_SIZE];
-    private int[][] ceilingMap = new int[MAP_SIZE][MAP_SIZE];
-    private WallType[][] wallTypes = new WallType[MAP_SIZE][MAP_SIZE];
-    private WallProperties[][] wallProperties = new WallProperties[MAP_SIZE][MAP_SIZE];
-    private List<Item>[][] itemMap = new List[MAP_SIZE][MAP_SIZE];
+    // Données de la carte (dimensionnées par le fichier de carte)
+    private TileMap tileMap = new TileMap(DEFAULT_MAP_SIZE, DEFAULT_MAP_SIZE);
+    private WalkabilityGrid walkability = new WalkabilityGrid(tileMap);
+    private final List<WalkabilityGrid.Listener> walkabilityListeners = new ArrayList<>();
+
+    // Chemins partagés joueur/ennemis, invalidés par les changements de portes et de murs
+    private final PathCache pathCache = new PathCache(PATH_CACHE_ENTRIES);
+    // Moteur HPA* partagé : chemins du joueur (fils du PathService) et longs trajets des ennemis
+    private final HierarchicalPathfinder hierarchy = new HierarchicalPathfinder();
+    // Zones connexes : destinations inaccessibles refusées sans recherche (joueur et ennemis)
+    private final ConnectivityIndex connectivity = new ConnectivityIndex();
 
     // État du joueur
-    private Point2D playerPosition = new Point2D(MAP_SIZE / 2, MAP_SIZE / 2);
+    private Point playerPosition = new Point(DEFAULT_MAP_SIZE / 2, DEFAULT_MAP_SIZE / 2);
     CombatSystem.Entity playerEntity = new CombatSystem.Player(playerPosition);
     private double playerAngle = 0;
     private Set<String> playerKeys = new HashSet<>();
@@ -51,13 +62,17 @@ public class GameModel {
     private CombatEventsManager combatEventsManager;
 
     // État du mouvement
-    private List<Point2D> currentPath = new ArrayList<>();
-    private Point2D targetPosition = null;
-    private Point2D clickedPosition = null;
+    private List<Point> currentPath = new ArrayList<>();
+    private Point targetPosition = null;
+    private Point clickedPosition = null;
     private boolean isMoving = false;
     private int currentPathIndex = 0;
     private double moveProgress = 0.0;
 
+    // Simulation à pas fixe ; le rendu interpole entre le début et la fin du dernier pas
+    private final SimulationClock clock = new SimulationClock(SimulationConfig.TICK_RATE);
+    private Point previousPlayerPosition = playerPosition;
+
     // Messages et notifications
     private String messageAbovePlayer = null;
     private boolean showExclamation = false;
@@ -97,44 +112,54 @@ public class GameModel {
 
     public interface GameModelListener {
         void onMapLoaded();
-        void onPlayerMoved(Point2D newPosition);
-        void onMovementStarted(List<Point2D> path);
+        void onPlayerMoved(Point newPosition);
+        void onMovementStarted(List<Point> path);
         void onMovementFinished();
         void onDoorStateChanged(int x, int y, boolean isOpen);
+        void onWallDestroyed(int x, int y);
         void onMessageChanged(String message);
         void onExclamationStateChanged(boolean show);
     }
 
     public GameModel() {
-        initializeItemMap();
-
         // Initialiser le gestionnaire d'événements de combat
         combatEventsManager = new CombatEventsManager(this, combatSystem);
+        addWalkabilityListener(pathCache);
+        addWalkabilityListener(hierarchy);
+        addWalkabilityListener(connectivity);
     }
 
-    @SuppressWarnings("unchecked")
-    private void initializeItemMap() {
-        for (int x = 0; x < MAP_SIZE; x++) {
-            for (int y = 0; y < MAP_SIZE; y++) {
-                itemMap[x][y] = new ArrayList<>();
-                wallTypes[x][y] = WallType.NONE;
-                wallProperties[x][y] = new WallProperties();
-                wallMap[x][y] = -1;
-                ceilingMap[x][y] = -1;
-                floorMap[x][y] = 0;
-            }
-        }
+    /**
+     * Remplace la carte par une carte vide aux dimensions données
+     */
+    private void resizeMap(int width, int height) {
+        tileMap = new TileMap(width, height);
+        playerPosition = new Point(width / 2, height / 2);
+        previousPlayerPosition = playerPosition;
+        playerEntity.setPosition(playerPosition);
     }
 
-    // Getters pour accès aux données
-    public int[][] getFloorMap() { return floorMap; }
-    public int[][] getWallMap() { return wallMap; }
-    public int[][] getCeilingMap() { return ceilingMap; }
-    public WallType[][] getWallTypes() { return wallTypes; }
-    public WallProperties[][] getWallProperties() { return wallProperties; }
-    public List<Item>[][] getItemMap() { return itemMap; }
-
-    public Point2D getPlayerPosition() { return playerPosition; }
+    // Accès aux données de la carte
+    public TileMap getTileMap() { return tileMap; }
+    public WalkabilityGrid getWalkability() { return walkability; }
+    public PathCache getPathCache() { return pathCache; }
+    public HierarchicalPathfinder getHierarchy() { return hierarchy; }
+    public ConnectivityIndex getConnectivity() { return connectivity; }
+    public int getMapWidth() { return tileMap.getWidth(); }
+    public int getMapHeight() { return tileMap.getHeight(); }
+
+    public int floorAt(int x, int y) { return tileMap.floorAt(x, y); }
+    public int wallAt(int x, int y) { return tileMap.wallAt(x, y); }
+    public int ceilingAt(int x, int y) { return tileMap.ceilingAt(x, y); }
+    public WallType wallTypeAt(int x, int y) { return tileMap.wallTypeAt(x, y); }
+    public WallProperties wallPropertiesAt(int x, int y) { return tileMap.wallPropertiesAt(x, y); }
+    public List<Item> itemsAt(int x, int y) { return tileMap.itemsAt(x, y); }
+
+    public void addItemAt(int x, int y, Item item) { tileMap.addItem(x, y, item); }
+    public void clearItemsAt(int x, int y) { tileMap.clearItems(x, y); }
+    public void clearAllItems() { tileMap.clearAllItems(); }
+
+    public Point getPlayerPosition() { return playerPosition; }
     public double getPlayerAngle() { return playerAngle; }
     public Set<String> getPlayerKeys() { return playerKeys; }
     public InventorySystem getInventory() { return inventory; }
@@ -143,12 +168,13 @@ public class GameModel {
     public CombatSystem getCombatSystem() { return combatSystem; }
     public CombatEventsManager getCombatEventsManager() { return combatEventsManager; }
 
-    public List<Point2D> getCurrentPath() { return currentPath; }
-    public Point2D getTargetPosition() { return targetPosition; }
-    public Point2D getClickedPosition() { return clickedPosition; }
+    public List<Point> getCurrentPath() { return currentPath; }
+    public Point getTargetPosition() { return targetPosition; }
+    public Point getClickedPosition() { return clickedPosition; }
     public boolean isMoving() { return isMoving; }
     public int getCurrentPathIndex() { return currentPathIndex; }
     public double getMoveProgress() { return moveProgress; }
+    public SimulationClock getClock() { return clock; }
 
     public String getMessageAbovePlayer() { return messageAbovePlayer; }
     public boolean shouldShowExclamation() { return showExclamation; }
@@ -158,7 +184,7 @@ public class GameModel {
         this.playerAngle = angle;
     }
 
-    public void setPlayerPosition(Point2D position) {
+    public void setPlayerPosition(Point position) {
         this.playerPosition = position;
         notifyPlayerMoved(position);
     }
@@ -174,308 +200,123 @@ public class GameModel {
     }
 
     // Logique métier
-    public boolean loadMapFromJson() {
-        generateDefaultMap();return true;
-//
-//        try {
-//            InputStream stream = getClass().getResourceAsStream("/village_map.json");
-//            if (stream == null) {
-//                System.out.println("village_map.json non trouvé, génération d'une carte par défaut");
-//                generateDefaultMap();
-//                return false;
-//            }
-//
-//            StringBuilder json = new StringBuilder();
-//            BufferedReader reader = new BufferedReader(new InputStreamReader(stream));
-//            String line;
-//            while ((line = reader.readLine()) != null) {
-//                json.append(line).append("\n");
-//            }
-//            reader.close();
-//
-//            boolean success = parseJson(json.toString());
-//            if (success) {
-//                initializeWallProperties();
-//
-//                // Générer les ennemis après le chargement de la carte
-//                spawnInitialEnemies();
-//
-//                notifyMapLoaded();
-//            }
-//            return success;
-//
-//        } catch (Exception e) {
-//            System.err.println("Erreur chargement JSON: " + e.getMessage());
-//            generateDefaultMap();
-//            return false;
-//        }
-    }
-
-    private boolean parseJson(String json) {
-        try {
-            System.out.println("🔍 Début du parsing JSON...");
-
-            boolean floorSuccess = parseFloorMap(json);
-            boolean wallSuccess = parseWallMap(json);
-            boolean ceilingSuccess = parseCeilingMap(json);
-            boolean wallTypeSuccess = parseWallTypes(json);
-
-            System.out.println("📊 Résultats du parsing:");
-            System.out.println("  - FloorMap: " + (floorSuccess ? "✅" : "❌"));
-            System.out.println("  - WallMap: " + (wallSuccess ? "✅" : "❌"));
-            System.out.println("  - CeilingMap: " + (ceilingSuccess ? "✅" : "❌"));
-            System.out.println("  - WallTypes: " + (wallTypeSuccess ? "✅" : "❌"));
-
-            return floorSuccess && wallSuccess && wallTypeSuccess; // ceilingMap est optionnel
-
-        } catch (Exception e) {
-            System.err.println("❌ Erreur parsing JSON: " + e.getMessage());
-            e.printStackTrace();
-            return false;
-        }
-    }
-
-    private boolean parseFloorMap(String json) {
-        try {
-            String floorData = extractJsonArray(json, "floorMap");
-            if (floorData == null) {
-                System.out.println("❌ FloorMap non trouvé dans le JSON");
-                return false;
-            }
 
-            System.out.println("🔍 Parsing FloorMap, taille données: " + floorData.length());
-            parseIntArrayData(floorData, floorMap);
-
-            // Vérification
-            int nonZeroCount = 0;
-            int minValue = Integer.MAX_VALUE;
-            int maxValue = Integer.MIN_VALUE;
-
-            for (int x = 0; x < MAP_SIZE; x++) {
-                for (int y = 0; y < MAP_SIZE; y++) {
-                    if (floorMap[x][y] >= 0) {
-                        nonZeroCount++;
-                        minValue = Math.min(minValue, floorMap[x][y]);
-                        maxValue = Math.max(maxValue, floorMap[x][y]);
-                    }
-                }
+    /**
+     * Charge la carte du jeu : format binaire s'il est présent, sinon JSON
+     */
+    public boolean loadMap() {
+        try (InputStream stream = getClass().getResourceAsStream(BINARY_MAP_RESOURCE)) {
+            if (stream != null) {
+                return loadMapFromBinary(Channels.newChannel(stream));
             }
-
-            System.out.println("✅ FloorMap chargé:");
-            System.out.println("  - Cases valides: " + nonZeroCount);
-            System.out.println("  - Valeurs: " + minValue + " à " + maxValue);
-
-            return true;
-
         } catch (Exception e) {
-            System.err.println("❌ Erreur parsing FloorMap: " + e.getMessage());
-            e.printStackTrace();
-            return false;
+            System.err.println("Erreur chargement carte binaire: " + e.getMessage() + ", repli sur le JSON");
         }
+        return loadMapFromJson();
     }
 
-    private boolean parseWallMap(String json) {
-        try {
-            String wallData = extractJsonArray(json, "wallMap");
-            if (wallData == null) {
-                System.out.println("❌ WallMap non trouvé dans le JSON");
-                return false;
-            }
-
-            System.out.println("🔍 Parsing WallMap, taille données: " + wallData.length());
-            parseIntArrayData(wallData, wallMap);
-
-            // Vérification
-            int wallCount = 0;
-            for (int x = 0; x < MAP_SIZE; x++) {
-                for (int y = 0; y < MAP_SIZE; y++) {
-                    if (wallMap[x][y] != -1) wallCount++;
-                }
-            }
-            System.out.println("✅ WallMap chargé - " + wallCount + " murs trouvés");
-            return true;
-
-        } catch (Exception e) {
-            System.err.println("❌ Erreur parsing WallMap: " + e.getMessage());
-            e.printStackTrace();
-            return false;
-        }
-    }
-
-    private boolean parseCeilingMap(String json) {
-        try {
-            String ceilingData = extractJsonArray(json, "ceilingMap");
-            if (ceilingData == null) {
-                System.out.println("⚠️ CeilingMap non trouvé dans le JSON (optionnel)");
-                return true; // Non critique
-            }
-
-            System.out.println("🔍 Parsing CeilingMap, taille données: " + ceilingData.length());
-            parseIntArrayData(ceilingData, ceilingMap);
+    /**
+     * Charge une carte au format binaire (voir MapBinaryFormat)
+     */
+    public boolean loadMapFromBinary(ReadableByteChannel channel) throws IOException {
+        MapBinaryFormat.Result result = MapBinaryFormat.read(channel);
 
-            // Vérification
-            int ceilingCount = 0;
-            for (int x = 0; x < MAP_SIZE; x++) {
-                for (int y = 0; y < MAP_SIZE; y++) {
-                    if (ceilingMap[x][y] != -1) ceilingCount++;
-                }
-            }
-            System.out.println("✅ CeilingMap chargé - " + ceilingCount + " plafonds trouvés");
-            return true;
+        System.out.printf("✅ Carte binaire chargée: %dx%d, %d octets en %.1f ms (%.1f Mo/s)%n",
+                result.tileMap.getWidth(), result.tileMap.getHeight(), result.bytesRead,
+                result.getElapsedMillis(), result.getBytesPerSecond() / (1024 * 1024));
 
-        } catch (Exception e) {
-            System.err.println("❌ Erreur parsing CeilingMap: " + e.getMessage());
-            e.printStackTrace();
-            return false;
-        }
+        applyLoadedMap(result.tileMap, result.hasWallProperties);
+        return true;
     }
 
-    private boolean parseWallTypes(String json) {
-        try {
-            String wallTypeData = extractJsonArray(json, "wallTypes");
-            if (wallTypeData == null) {
-                System.out.println("❌ WallTypes non trouvé dans le JSON");
+    public boolean loadMapFromJson() {
+        try (InputStream stream = getClass().getResourceAsStream(MAP_RESOURCE)) {
+            if (stream == null) {
+                System.out.println(MAP_RESOURCE + " non trouvé, génération d'une carte par défaut");
+                generateDefaultMap();
                 return false;
             }
-
-            System.out.println("🔍 Parsing WallTypes...");
-            parseWallTypeArrayData(wallTypeData);
-            System.out.println("✅ WallTypes chargé");
-            return true;
+            return loadMapFromJson(stream);
 
         } catch (Exception e) {
-            System.err.println("❌ Erreur parsing WallTypes: " + e.getMessage());
-            e.printStackTrace();
+            System.err.println("Erreur chargement JSON: " + e.getMessage());
+            generateDefaultMap();
             return false;
         }
     }
 
-    private String extractJsonArray(String json, String arrayName) {
-        String[] markers = {
-                "\"" + arrayName + "\":[",
-                "\"" + arrayName + "\": [",
-                "\"" + arrayName + "\" :[",
-                "\"" + arrayName + "\" : ["
-        };
-
-        int startIndex = -1;
-        String usedMarker = null;
-
-        for (String marker : markers) {
-            startIndex = json.indexOf(marker);
-            if (startIndex != -1) {
-                usedMarker = marker;
-                break;
-            }
-        }
+    /**
+     * Charge une carte JSON depuis un flux quelconque (ressource, fichier, réseau)
+     */
+    public boolean loadMapFromJson(InputStream stream) throws IOException {
+        MapJsonReader.Result result = MapJsonReader.read(stream);
 
-        if (startIndex == -1) {
-            System.out.println("❌ Aucun marqueur trouvé pour: " + arrayName);
-            return null;
-        }
-
-        System.out.println("✅ Marqueur trouvé: " + usedMarker);
-        startIndex += usedMarker.length() - 1;
-
-        int brackets = 0;
-        int endIndex = startIndex;
-
-        for (int i = startIndex; i < json.length(); i++) {
-            char c = json.charAt(i);
-            if (c == '[') {
-                brackets++;
-            } else if (c == ']') {
-                brackets--;
-                if (brackets == 0) {
-                    endIndex = i + 1;
-                    break;
-                }
-            }
-        }
-
-        if (brackets != 0) {
-            System.out.println("❌ Crochets non équilibrés pour: " + arrayName);
-            return null;
+        if (!result.hasFloorMap || !result.hasWallMap || !result.hasWallTypes) {
+            System.err.println("❌ Carte JSON incomplète (floorMap, wallMap et wallTypes requis)");
+            generateDefaultMap();
+            return false;
         }
 
-        String result = json.substring(startIndex, endIndex);
-        System.out.println("✅ Array " + arrayName + " extrait, longueur: " + result.length());
+        System.out.printf("✅ Carte chargée: %dx%d, %d octets en %.1f ms (%.1f Mo/s)%n",
+                result.tileMap.getWidth(), result.tileMap.getHeight(), result.bytesRead,
+                result.getElapsedMillis(), result.getBytesPerSecond() / (1024 * 1024));
 
-        return result;
+        applyLoadedMap(result.tileMap, result.hasWallProperties);
+        return true;
     }
 
-    private void parseIntArrayData(String arrayData, int[][] target) {
-        arrayData = arrayData.trim();
-        if (arrayData.startsWith("[")) arrayData = arrayData.substring(1);
-        if (arrayData.endsWith("]")) arrayData = arrayData.substring(0, arrayData.length() - 1);
-
-        String[] lines = arrayData.split("\\],\\s*\\[");
-
-        for (int x = 0; x < Math.min(lines.length, MAP_SIZE); x++) {
-            String line = lines[x].replaceAll("[\\[\\]\\s]", "");
-            String[] values = line.split(",");
-
-            for (int y = 0; y < Math.min(values.length, MAP_SIZE); y++) {
-                try {
-                    target[x][y] = Integer.parseInt(values[y].trim());
-                } catch (NumberFormatException e) {
-                    target[x][y] = -1;
-                }
-            }
+    /**
+     * Installe une carte chargée puis place les ennemis
+     */
+    private void applyLoadedMap(TileMap loaded, boolean hasWallProperties) {
+        tileMap = loaded;
+        playerPosition = new Point(loaded.getWidth() / 2, loaded.getHeight() / 2);
+        previousPlayerPosition = playerPosition;
+        playerEntity.setPosition(playerPosition);
+
+        // Les cartes sans propriétés de murs reçoivent des portes et murs aléatoires
+        if (!hasWallProperties) {
+            initializeWallProperties();
         }
-    }
-
-    private void parseWallTypeArrayData(String arrayData) {
-        arrayData = arrayData.trim();
-        if (arrayData.startsWith("[")) arrayData = arrayData.substring(1);
-        if (arrayData.endsWith("]")) arrayData = arrayData.substring(0, arrayData.length() - 1);
+        rebuildWalkability();
 
-        String[] lines = arrayData.split("\\],\\s*\\[");
-
-        for (int x = 0; x < Math.min(lines.length, MAP_SIZE); x++) {
-            String line = lines[x].replaceAll("[\\[\\]\\s]", "");
-            String[] values = line.split(",");
+        // Générer les ennemis après le chargement de la carte
+        spawnInitialEnemies();
 
-            for (int y = 0; y < Math.min(values.length, MAP_SIZE); y++) {
-                try {
-                    String wallTypeName = values[y].trim().replace("\"", "");
-                    wallTypes[x][y] = WallType.valueOf(wallTypeName);
-                } catch (Exception e) {
-                    wallTypes[x][y] = WallType.NONE;
-                }
-            }
-        }
+        notifyMapLoaded();
     }
 
     private void generateDefaultMap() {
         System.out.println("🔧 Génération d'une carte par défaut...");
         Random rand = new Random();
+        resizeMap(DEFAULT_MAP_SIZE, DEFAULT_MAP_SIZE);
 
-        for (int x = 0; x < MAP_SIZE; x++) {
-            for (int y = 0; y < MAP_SIZE; y++) {
-                floorMap[x][y] = rand.nextInt(50);
+        for (int x = 0; x < tileMap.getWidth(); x++) {
+            for (int y = 0; y < tileMap.getHeight(); y++) {
+                tileMap.setFloor(x, y, rand.nextInt(50));
 
                 if (rand.nextDouble() < 0.1) {
-                    wallMap[x][y] = rand.nextInt(50);
-                    wallTypes[x][y] = WallType.values()[1 + rand.nextInt(WallType.values().length - 1)];
+                    tileMap.setWall(x, y, rand.nextInt(50));
+                    tileMap.setWallType(x, y, WallType.values()[1 + rand.nextInt(WallType.values().length - 1)]);
                 } else {
-                    wallMap[x][y] = -1;
-                    wallTypes[x][y] = WallType.NONE;
+                    tileMap.setWall(x, y, -1);
+                    tileMap.setWallType(x, y, WallType.NONE);
                 }
 
                 if (rand.nextDouble() < 0.05) {
-                    ceilingMap[x][y] = rand.nextInt(30);
+                    tileMap.setCeiling(x, y, rand.nextInt(30));
                 } else {
-                    ceilingMap[x][y] = -1;
+                    tileMap.setCeiling(x, y, -1);
                 }
 
                 if (rand.nextDouble() < 0.03) {
-                    itemMap[x][y].add(new Item("treasure", 1 + rand.nextInt(3)));
+                    tileMap.addItem(x, y, new Item("treasure", 1 + rand.nextInt(3)));
                 }
             }
         }
 
         initializeWallProperties();
+        rebuildWalkability();
 
         // Générer les ennemis sur la carte par défaut
         spawnInitialEnemies();
@@ -485,16 +326,18 @@ public class GameModel {
     }
 
     private void initializeWallProperties() {
-        for (int x = 0; x < MAP_SIZE; x++) {
-            for (int y = 0; y < MAP_SIZE; y++) {
-                if (wallTypes[x][y] == WallType.DOOR) {
-                    wallProperties[x][y].isOpen = false;
+        for (int x = 0; x < tileMap.getWidth(); x++) {
+            for (int y = 0; y < tileMap.getHeight(); y++) {
+                WallType wallType = tileMap.wallTypeAt(x, y);
+                if (wallType == WallType.DOOR) {
+                    WallProperties props = tileMap.getOrCreateWallProperties(x, y);
+                    props.isOpen = false;
                     if (Math.random() < 0.2) {
-                        wallProperties[x][y].isLocked = true;
-                        wallProperties[x][y].keyId = "key_" + (x * MAP_SIZE + y);
+                        props.isLocked = true;
+                        props.keyId = "key_" + tileMap.index(x, y);
                     }
-                } else if (wallTypes[x][y] == WallType.DESTRUCTIBLE) {
-                    wallProperties[x][y].health = 100 + (int)(Math.random() * 156);
+                } else if (wallType == WallType.DESTRUCTIBLE) {
+                    tileMap.getOrCreateWallProperties(x, y).health = 100 + (int)(Math.random() * 156);
                 }
             }
         }
@@ -519,7 +362,7 @@ public class GameModel {
         // 1. Spawner quelques meutes (utiliser la config)
         int numPacks = EnemyConfig.MIN_PACKS + rand.nextInt(EnemyConfig.MAX_PACKS - EnemyConfig.MIN_PACKS + 1);
         for (int i = 0; i < numPacks; i++) {
-            Point2D packPos = findSafeSpawnPosition(rand);
+            Point packPos = findSafeSpawnPosition(rand);
             if (packPos != null) {
                 CombatSystem.EnemyClass packClass = rand.nextDouble() < EnemyConfig.PACK_CLASS_WEIGHTS[0] ?
                         CombatSystem.EnemyClass.WARRIOR : CombatSystem.EnemyClass.ARCHER;
@@ -533,7 +376,7 @@ public class GameModel {
         // 2. Spawner des ennemis solitaires
         int numSolitary = EnemyConfig.MIN_SOLITARY + rand.nextInt(EnemyConfig.MAX_SOLITARY - EnemyConfig.MIN_SOLITARY + 1);
         for (int i = 0; i < numSolitary; i++) {
-            Point2D soloPos = findSafeSpawnPosition(rand);
+            Point soloPos = findSafeSpawnPosition(rand);
             if (soloPos != null) {
                 CombatSystem.EnemyClass soloClass = getRandomBasicEnemyClass(rand);
                 combatSystem.spawnSolitaryEnemy(soloPos, soloClass);
@@ -544,7 +387,7 @@ public class GameModel {
         // 3. Spawner quelques élites
         int numElites = EnemyConfig.MIN_ELITES + rand.nextInt(EnemyConfig.MAX_ELITES - EnemyConfig.MIN_ELITES + 1);
         for (int i = 0; i < numElites; i++) {
-            Point2D elitePos = findSafeSpawnPosition(rand);
+            Point elitePos = findSafeSpawnPosition(rand);
             if (elitePos != null) {
                 CombatSystem.EnemyClass eliteClass = getRandomEliteEnemyClass(rand);
                 combatSystem.spawnSolitaryEnemy(elitePos, eliteClass);
@@ -555,7 +398,7 @@ public class GameModel {
         // 4. Spawner quelques gardiens près des maisons
         int numGuardians = EnemyConfig.MIN_GUARDIANS + rand.nextInt(EnemyConfig.MAX_GUARDIANS - EnemyConfig.MIN_GUARDIANS + 1);
         for (int i = 0; i < numGuardians; i++) {
-            Point2D guardPos = findGuardianSpawnPosition(rand);
+            Point guardPos = findGuardianSpawnPosition(rand);
             if (guardPos != null) {
                 CombatSystem.EnemyClass guardClass = rand.nextBoolean() ?
                         CombatSystem.EnemyClass.ELITE_WARRIOR : CombatSystem.EnemyClass.ELITE_MAGE;
@@ -566,7 +409,7 @@ public class GameModel {
 
         // 5. Un boss rare
         if (rand.nextDouble() < EnemyConfig.BOSS_SPAWN_CHANCE) {
-            Point2D bossPos = findBossSpawnPosition(rand);
+            Point bossPos = findBossSpawnPosition(rand);
             if (bossPos != null) {
                 combatEventsManager.spawnBossAt(bossPos);
                 totalEnemies++;
@@ -576,38 +419,38 @@ public class GameModel {
         System.out.println("✅ " + totalEnemies + " ennemis générés sur la carte");
     }
 
-    private Point2D findSafeSpawnPosition(Random rand) {
+    private Point findSafeSpawnPosition(Random rand) {
         for (int attempts = 0; attempts < 50; attempts++) {
-            int x = 5 + rand.nextInt(MAP_SIZE - 10);
-            int y = 5 + rand.nextInt(MAP_SIZE - 10);
+            int x = 5 + rand.nextInt(tileMap.getWidth() - 10);
+            int y = 5 + rand.nextInt(tileMap.getHeight() - 10);
 
             if (isValidSpawnPosition(x, y)) {
-                return new Point2D(x, y);
+                return new Point(x, y);
             }
         }
         return null;
     }
 
-    private Point2D findGuardianSpawnPosition(Random rand) {
+    private Point findGuardianSpawnPosition(Random rand) {
         for (int attempts = 0; attempts < 30; attempts++) {
-            int x = rand.nextInt(MAP_SIZE);
-            int y = rand.nextInt(MAP_SIZE);
+            int x = rand.nextInt(tileMap.getWidth());
+            int y = rand.nextInt(tileMap.getHeight());
 
             if (isNearHouse(x, y) && isValidSpawnPosition(x, y)) {
-                return new Point2D(x, y);
+                return new Point(x, y);
             }
         }
 
         return findSafeSpawnPosition(rand);
     }
 
-    private Point2D findBossSpawnPosition(Random rand) {
+    private Point findBossSpawnPosition(Random rand) {
         for (int attempts = 0; attempts < 30; attempts++) {
-            int x = 10 + rand.nextInt(MAP_SIZE - 20);
-            int y = 10 + rand.nextInt(MAP_SIZE - 20);
+            int x = 10 + rand.nextInt(tileMap.getWidth() - 20);
+            int y = 10 + rand.nextInt(tileMap.getHeight() - 20);
 
             if (isValidSpawnPosition(x, y) && isIsolatedPosition(x, y)) {
-                return new Point2D(x, y);
+                return new Point(x, y);
             }
         }
 
@@ -622,7 +465,7 @@ public class GameModel {
 
         if (!canWalkThrough(x, y)) return false;
 
-        for (Item item : itemMap[x][y]) {
+        for (Item item : tileMap.itemsAt(x, y)) {
             if (item.type.contains("key") || item.type.contains("treasure")) {
                 return false;
             }
@@ -638,7 +481,7 @@ public class GameModel {
                 int checkY = y + dy;
 
                 if (isValidTile(checkX, checkY)) {
-                    int floor = floorMap[checkX][checkY];
+                    int floor = tileMap.floorAt(checkX, checkY);
                     if (floor >= 35 && floor <= 39) {
                         return true;
                     }
@@ -654,7 +497,7 @@ public class GameModel {
                 int checkX = x + dx;
                 int checkY = y + dy;
 
-                if (isValidTile(checkX, checkY) && wallMap[checkX][checkY] != -1) {
+                if (isValidTile(checkX, checkY) && tileMap.wallAt(checkX, checkY) != -1) {
                     return false;
                 }
             }
@@ -680,12 +523,49 @@ public class GameModel {
         return eliteClasses[rand.nextInt(eliteClasses.length)];
     }
 
+    // ================================
+    // BOUCLE DE SIMULATION (PAS FIXE)
+    // ================================
+
+    /**
+     * Avance la simulation du temps réel d'une image, en autant de pas fixes que nécessaire ;
+     * faux si le joueur est mort
+     */
+    public boolean advance(double frameSeconds) {
+        int steps = clock.advance(frameSeconds);
+        for (int i = 0; i < steps; i++) {
+            if (!tick(clock.getStepSeconds())) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Un pas de simulation : déplacement du joueur puis combat
+     */
+    public boolean tick(double deltaTime) {
+        previousPlayerPosition = getCurrentInterpolatedPosition();
+        if (isMoving) {
+            updateMovement(deltaTime);
+        }
+        return updateCombat(deltaTime);
+    }
+
+    /**
+     * Position du joueur à afficher, entre le début et la fin du dernier pas simulé
+     */
+    public Point getRenderPlayerPosition() {
+        Point current = getCurrentInterpolatedPosition();
+        double alpha = clock.getAlpha();
+        return new Point(previousPlayerPosition.getX() + (current.getX() - previousPlayerPosition.getX()) * alpha,
+                previousPlayerPosition.getY() + (current.getY() - previousPlayerPosition.getY()) * alpha);
+    }
+
     public boolean updateCombat(double deltaTime) {
         // Mettre à jour le système de combat
         combatSystem.update(this, deltaTime);
 
         // Mettre à jour les événements de combat
-        combatEventsManager.update(System.currentTimeMillis() / 1000.0);
+        combatEventsManager.update(combatSystem.getGameTime());
 
         // Gérer les morts d'ennemis pour les récompenses
         handleEnemyDeaths();
@@ -699,34 +579,24 @@ public class GameModel {
     }
 
     private void handleEnemyDeaths() {
-        List<CombatSystem.Entity> deadEnemies = new ArrayList<>();
-
+        // Les récompenses ne retirent pas d'entité : parcours direct de la vue
         for (CombatSystem.Entity entity : combatSystem.getEntities()) {
             if (!entity.isPlayer && !entity.stats.isAlive()) {
-                deadEnemies.add(entity);
+                combatEventsManager.handleEnemyDeath(entity, entity.getPosition());
             }
         }
-
-        for (CombatSystem.Entity deadEnemy : deadEnemies) {
-            combatEventsManager.handleEnemyDeath(deadEnemy, deadEnemy.position);
-        }
     }
 
     public void respawnEnemiesIfNeeded() {
-        List<CombatSystem.Entity> currentEnemies = combatSystem.getEntities();
-        long aliveEnemies = currentEnemies.stream()
-                .filter(e -> !e.isPlayer && e.stats.isAlive())
-                .count();
-
-        if (aliveEnemies < EnemyConfig.MIN_ENEMIES_BEFORE_RESPAWN) {
+        if (combatSystem.getAliveEnemyCount() < EnemyConfig.MIN_ENEMIES_BEFORE_RESPAWN) {
             Random rand = new Random();
             int enemiesToSpawn = EnemyConfig.RESPAWN_AMOUNT_MIN +
                     rand.nextInt(EnemyConfig.RESPAWN_AMOUNT_MAX - EnemyConfig.RESPAWN_AMOUNT_MIN + 1);
 
             for (int i = 0; i < enemiesToSpawn; i++) {
-                Point2D spawnPos = findSafeSpawnPosition(rand);
+                Point spawnPos = findSafeSpawnPosition(rand);
                 if (spawnPos != null) {
-                    int floorType = floorMap[(int)spawnPos.getX()][(int)spawnPos.getY()];
+                    int floorType = tileMap.floorAt((int)spawnPos.getX(), (int)spawnPos.getY());
                     CombatSystem.EnemyClass[] preferredClasses =
                             EnemyConfig.BiomeSpawning.getPreferredEnemiesForFloor(floorType);
 
@@ -740,31 +610,21 @@ public class GameModel {
         }
     }
 
-    public void playerAttack(Point2D targetPosition) {
-        if (!playerEntity.canAttack(System.currentTimeMillis() / 1000.0)) {
+    public void playerAttack(Point targetPosition) {
+        double now = combatSystem.getGameTime();
+        if (!playerEntity.canAttack(now)) {
             return;
         }
 
-        CombatSystem.Entity target = null;
-        double minDistance = Double.MAX_VALUE;
-
-        for (CombatSystem.Entity entity : combatSystem.getEntities()) {
-            if (entity.isPlayer || !entity.stats.isAlive()) continue;
-
-            double distance = entity.position.distance(targetPosition);
-            if (distance < minDistance && distance <= playerEntity.stats.range) {
-                minDistance = distance;
-                target = entity;
-            }
-        }
+        CombatSystem.Entity target = combatSystem.findNearestEnemyToPosition(targetPosition, playerEntity.stats.range);
 
         if (target != null) {
             CombatSystem.DamageType damageType = CombatSystem.DamageType.PHYSICAL;
-            int damage = playerEntity.stats.damage + (int)(Math.random() * 10 - 5);
+            int damage = playerEntity.stats.getDamage() + (int)(Math.random() * 10 - 5);
             int finalDamage = target.takeDamage(damage, damageType);
 
             setMessageAbovePlayer("Hit for " + finalDamage + "!");
-            playerEntity.lastAttackTime = System.currentTimeMillis() / 1000.0;
+            playerEntity.setLastAttackTime(now);
 
             System.out.println("Joueur attaque " + target.entityClass + " pour " + finalDamage + " dégâts!");
         } else {
@@ -785,8 +645,8 @@ public class GameModel {
     }
 
     public void debugSpawnBoss() {
-        Point2D playerPos = getPlayerPosition();
-        Point2D bossPos = new Point2D(playerPos.getX() + 5, playerPos.getY() + 5);
+        Point playerPos = getPlayerPosition();
+        Point bossPos = new Point(playerPos.getX() + 5, playerPos.getY() + 5);
         combatEventsManager.spawnBossAt(bossPos);
     }
 
@@ -799,24 +659,33 @@ public class GameModel {
     // ================================
 
     public boolean isValidTile(int x, int y) {
-        return x >= 0 && x < MAP_SIZE && y >= 0 && y < MAP_SIZE;
+        return tileMap.isInside(x, y);
     }
 
     public boolean canWalkThrough(int x, int y) {
-        if (!isValidTile(x, y)) return false;
-
-        WallType wall = wallTypes[x][y];
+        return walkability.isWalkable(x, y);
+    }
 
-        if (wall == WallType.DOOR) {
-            WallProperties props = wallProperties[x][y];
-            return props != null && props.isOpen;
+    /**
+     * Reconstruit la grille de praticabilité après un changement de carte
+     */
+    private void rebuildWalkability() {
+        walkability = new WalkabilityGrid(tileMap);
+        for (WalkabilityGrid.Listener listener : walkabilityListeners) {
+            walkability.addListener(listener);
         }
+    }
 
-        return wall == WallType.NONE || wall == WallType.TRAVERSABLE || wall == WallType.TRANSPARENT;
+    /**
+     * Abonnement aux changements de praticabilité, conservé d'une carte à l'autre
+     */
+    public void addWalkabilityListener(WalkabilityGrid.Listener listener) {
+        walkabilityListeners.add(listener);
+        walkability.addListener(listener);
     }
 
     public boolean handleDoorInteraction(int x, int y) {
-        if (wallTypes[x][y] != WallType.DOOR || wallMap[x][y] == -1) {
+        if (!isValidTile(x, y) || tileMap.wallTypeAt(x, y) != WallType.DOOR || tileMap.wallAt(x, y) == -1) {
             return false;
         }
 
@@ -825,11 +694,7 @@ public class GameModel {
             return false;
         }
 
-        WallProperties props = wallProperties[x][y];
-        if (props == null) {
-            props = new WallProperties();
-            wallProperties[x][y] = props;
-        }
+        WallProperties props = tileMap.getOrCreateWallProperties(x, y);
 
         if (props.isLocked && props.keyId != null) {
             if (!playerKeys.contains(props.keyId)) {
@@ -842,11 +707,63 @@ public class GameModel {
         }
 
         props.isOpen = !props.isOpen;
+        walkability.refresh(x, y);
         setMessageAbovePlayer(props.isOpen ? "Opened" : "Closed");
         notifyDoorStateChanged(x, y, props.isOpen);
         return true;
     }
 
+    /**
+     * Attaque au corps à corps d'un mur destructible
+     */
+    public boolean attackWall(int x, int y) {
+        if (!isValidTile(x, y) || tileMap.wallTypeAt(x, y) != WallType.DESTRUCTIBLE) {
+            return false;
+        }
+
+        double now = combatSystem.getGameTime();
+        if (!playerEntity.canAttack(now)) {
+            return false;
+        }
+
+        if (playerPosition.distance(x, y) > Math.max(1.5, playerEntity.stats.range)) {
+            setMessageAbovePlayer("Too far");
+            return false;
+        }
+
+        int damage = playerEntity.stats.getDamage() + (int)(Math.random() * 10 - 5);
+        playerEntity.setLastAttackTime(now);
+        if (!damageWall(x, y, damage)) {
+            setMessageAbovePlayer("Wall hit for " + damage + "!");
+        }
+        return true;
+    }
+
+    /**
+     * Inflige des dégâts à un mur destructible ; retourne vrai s'il est détruit
+     */
+    public boolean damageWall(int x, int y, int damage) {
+        if (!isValidTile(x, y) || tileMap.wallTypeAt(x, y) != WallType.DESTRUCTIBLE) {
+            return false;
+        }
+
+        WallProperties props = tileMap.getOrCreateWallProperties(x, y);
+        props.health = Math.max(0, props.health - Math.max(0, damage));
+        if (props.health > 0) {
+            return false;
+        }
+
+        // Le mur disparaît : la case devient praticable
+        tileMap.setWall(x, y, -1);
+        tileMap.setWallType(x, y, WallType.NONE);
+        tileMap.setWallProperties(x, y, null);
+        walkability.refresh(x, y);
+
+        setMessageAbovePlayer("Wall destroyed!");
+        notifyWallDestroyed(x, y);
+        return true;
+    }
+
 
 
     public boolean tryCollectItems(int x, int y) {
@@ -859,7 +776,7 @@ public class GameModel {
             return false;
         }
 
-        List<Item> groundItems = itemMap[x][y];
+        List<Item> groundItems = tileMap.itemsAt(x, y);
         if (groundItems.isEmpty()) {
             setMessageAbovePlayer("Nothing here");
             return false;
@@ -910,7 +827,7 @@ public class GameModel {
 
     public List<Item> getGroundItemsAt(int x, int y) {
         if (!isValidTile(x, y)) return new ArrayList<>();
-        return new ArrayList<>(itemMap[x][y]);
+        return new ArrayList<>(tileMap.itemsAt(x, y));
     }
 
 
@@ -922,13 +839,13 @@ public class GameModel {
         }
 
         // Vérifier si on peut jeter des objets ici
-        if (wallMap[x][y] != -1 && !canWalkThrough(x, y)) {
+        if (tileMap.wallAt(x, y) != -1 && !canWalkThrough(x, y)) {
             System.out.println("❌ Impossible de jeter sur un obstacle");
             return false;
         }
 
         // Limiter les objets par case
-        List<Item> currentItems = itemMap[x][y];
+        List<Item> currentItems = tileMap.itemsAt(x, y);
         if (currentItems.size() >= 15) {
             System.out.println("❌ Trop d'objets sur cette case (" + currentItems.size() + "/15)");
             return false;
@@ -948,7 +865,7 @@ public class GameModel {
 
         // Ajouter comme nouvel objet
         Item droppedItem = new Item(itemName, count);
-        currentItems.add(droppedItem);
+        tileMap.addItem(x, y, droppedItem);
 
         System.out.println("📦 Objet jeté: " + itemName + " x" + count + " à (" + x + ", " + y + ")");
         return true;
@@ -959,7 +876,7 @@ public class GameModel {
     // ================================
     // GESTION DU MOUVEMENT
     // ================================
-    public void startMovement(List<Point2D> path, Point2D target, Point2D clicked) {
+    public void startMovement(List<Point> path, Point target, Point clicked) {
         if (path.isEmpty()) {
             setShowExclamation(true);
             return;
@@ -969,7 +886,7 @@ public class GameModel {
         // Interrompre le mouvement actuel s'il y en a un
         if (isMoving) {
             // Mettre à jour la position actuelle du joueur à sa position interpolée
-            Point2D currentInterpolated = getCurrentInterpolatedPosition();
+            Point currentInterpolated = getCurrentInterpolatedPosition();
             setPlayerPosition(currentInterpolated);
         }
 
@@ -982,11 +899,39 @@ public class GameModel {
 
         notifyMovementStarted(path);
     }
+    /**
+     * Remplace la fin du trajet en cours à partir de l'étape anchorIndex (incluse), sans
+     * interrompre le pas engagé ; tail commence par cette étape. Si anchorIndex précède
+     * l'étape visée (case devenue bloquée), le joueur repart de sa case. Un tail vide
+     * arrête le joueur sur sa case.
+     */
+    public void replaceRemainingPath(int anchorIndex, List<Point> tail) {
+        if (!isMoving) return;
+
+        if (tail.isEmpty()) {
+            isMoving = false;
+            moveProgress = 0.0;
+            currentPath.clear();
+            targetPosition = null;
+            clickedPosition = null;
+            setShowExclamation(true);
+            notifyMovementFinished();
+            return;
+        }
+
+        List<Point> path = new ArrayList<>(currentPath.subList(0, anchorIndex));
+        path.addAll(tail);
+        if (anchorIndex < currentPathIndex) {
+            moveProgress = 0.0;
+        }
+        currentPath = path;
+    }
+
     // NOUVELLE MÉTHODE : Arrêter le mouvement en cours
     public void stopMovement() {
         if (isMoving) {
             // Fixer la position du joueur à sa position interpolée actuelle
-            Point2D currentInterpolated = getCurrentInterpolatedPosition();
+            Point currentInterpolated = getCurrentInterpolatedPosition();
             setPlayerPosition(currentInterpolated);
 
             // Arrêter le mouvement
@@ -999,11 +944,14 @@ public class GameModel {
         }
     }
 
-    public boolean updateMovement() {
+    public boolean updateMovement(double deltaTime) {
         if (!isMoving || currentPath.isEmpty()) return false;
 
-        // CORRECTION : Vitesse de mouvement ajustée pour un suivi plus fluide
-        moveProgress += 0.08; // Augmenté de 0.05 à 0.08 pour un mouvement plus rapide
+        // Vitesse constante en cases par seconde : les segments lissés peuvent couvrir plusieurs cases
+        Point next = currentPathIndex < currentPath.size() ? currentPath.get(currentPathIndex) : playerPosition;
+        double segmentLength = playerPosition.distance(next);
+        double step = SimulationConfig.PLAYER_MOVE_SPEED * deltaTime;
+        moveProgress += segmentLength > 0 ? step / segmentLength : 1.0;
 
         if (moveProgress >= 1.0) {
             moveProgress = 0.0;
@@ -1033,9 +981,9 @@ public class GameModel {
 
         System.out.println("🔍 Validation des objets au sol...");
 
-        for (int x = 0; x < MAP_SIZE; x++) {
-            for (int y = 0; y < MAP_SIZE; y++) {
-                List<Item> items = itemMap[x][y];
+        for (int x = 0; x < tileMap.getWidth(); x++) {
+            for (int y = 0; y < tileMap.getHeight(); y++) {
+                List<Item> items = tileMap.itemsAt(x, y);
                 if (!items.isEmpty()) {
                     totalStacks++;
 
@@ -1076,14 +1024,14 @@ public class GameModel {
     public void cleanupGroundItems() {
         int removed = 0;
 
-        for (int x = 0; x < MAP_SIZE; x++) {
-            for (int y = 0; y < MAP_SIZE; y++) {
-                List<Item> items = itemMap[x][y];
+        for (int x = 0; x < tileMap.getWidth(); x++) {
+            for (int y = 0; y < tileMap.getHeight(); y++) {
+                List<Item> items = tileMap.itemsAt(x, y);
 
                 // Supprimer les objets en position invalide
                 if (!isValidTile(x, y) && !items.isEmpty()) {
                     removed += items.size();
-                    items.clear();
+                    tileMap.clearItems(x, y);
                 }
 
                 // Limiter à 10 types d'objets par case
@@ -1100,18 +1048,18 @@ public class GameModel {
         System.out.println("🧹 Nettoyage terminé: " + removed + " objets supprimés");
     }
 
-    public Point2D getCurrentInterpolatedPosition() {
+    public Point getCurrentInterpolatedPosition() {
         if (!isMoving || currentPathIndex >= currentPath.size()) {
             return playerPosition;
         }
 
-        Point2D nextPos = currentPath.get(currentPathIndex);
+        Point nextPos = currentPath.get(currentPathIndex);
 
         // CORRECTION : Interpolation plus précise
         double interpX = playerPosition.getX() + (nextPos.getX() - playerPosition.getX()) * moveProgress;
         double interpY = playerPosition.getY() + (nextPos.getY() - playerPosition.getY()) * moveProgress;
 
-        return new Point2D(interpX, interpY);
+        return new Point(interpX, interpY);
     }
 
     // ================================
@@ -1132,13 +1080,13 @@ public class GameModel {
         }
     }
 
-    private void notifyPlayerMoved(Point2D position) {
+    private void notifyPlayerMoved(Point position) {
         for (GameModelListener listener : listeners) {
             listener.onPlayerMoved(position);
         }
     }
 
-    private void notifyMovementStarted(List<Point2D> path) {
+    private void notifyMovementStarted(List<Point> path) {
         for (GameModelListener listener : listeners) {
             listener.onMovementStarted(path);
         }
@@ -1156,6 +1104,12 @@ public class GameModel {
         }
     }
 
+    private void notifyWallDestroyed(int x, int y) {
+        for (GameModelListener listener : listeners) {
+            listener.onWallDestroyed(x, y);
+        }
+    }
+
     private void notifyMessageChanged(String message) {
         for (GameModelListener listener : listeners) {
             listener.onMessageChanged(message);
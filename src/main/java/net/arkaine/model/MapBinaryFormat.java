@@ -0,0 +1,400 @@
+package net.arkaine.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Format binaire compact des cartes (.bin).
+ *
+ * En-tête : magie "IMAP", version (1 octet), largeur et hauteur en varint.
+ * Suivent des blocs [tag (1 octet), longueur en varint, contenu], terminés par BLOCK_END ;
+ * un lecteur saute les blocs qu'il ne connaît pas.
+ *
+ *  - couches sol/mur/plafond et types de murs : RLE (longueur de plage, valeur + 1) en varint,
+ *    cases parcourues dans l'ordre du TileMap (x * hauteur + y)
+ *  - propriétés de murs : uniquement les cases non par défaut, indices en delta
+ *  - objets au sol : table des noms puis cases non vides, indices en delta
+ */
+public final class MapBinaryFormat {
+
+    public static final int VERSION = 1;
+
+    private static final byte[] MAGIC = {'I', 'M', 'A', 'P'};
+
+    private static final int BLOCK_END = 0;
+    private static final int BLOCK_FLOOR = 1;
+    private static final int BLOCK_WALL = 2;
+    private static final int BLOCK_CEILING = 3;
+    private static final int BLOCK_WALL_TYPES = 4;
+    private static final int BLOCK_WALL_PROPERTIES = 5;
+    private static final int BLOCK_ITEMS = 6;
+
+    private static final int FLAG_OPEN = 1;
+    private static final int FLAG_LOCKED = 2;
+    private static final int FLAG_KEY = 4;
+
+    private static final GameModel.WallType[] WALL_TYPES = GameModel.WallType.values();
+
+    /**
+     * Résultat du chargement binaire
+     */
+    public static final class Result {
+        public final TileMap tileMap;
+        public final boolean hasWallProperties;
+        public final long bytesRead;
+        public final long elapsedNanos;
+
+        private Result(TileMap tileMap, boolean hasWallProperties, long bytesRead, long elapsedNanos) {
+            this.tileMap = tileMap;
+            this.hasWallProperties = hasWallProperties;
+            this.bytesRead = bytesRead;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public double getElapsedMillis() {
+            return elapsedNanos / 1_000_000.0;
+        }
+
+        public double getBytesPerSecond() {
+            return elapsedNanos > 0 ? bytesRead * 1_000_000_000.0 / elapsedNanos : 0;
+        }
+    }
+
+    private MapBinaryFormat() {}
+
+    // ================================
+    // LECTURE
+    // ================================
+
+    public static Result read(Path file) throws IOException {
+        long start = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer data = ByteBuffer.allocate((int) channel.size());
+            while (data.hasRemaining() && channel.read(data) >= 0) {
+                // lecture complète
+            }
+            data.flip();
+            return decode(data, start);
+        }
+    }
+
+    public static Result read(ReadableByteChannel channel) throws IOException {
+        long start = System.nanoTime();
+        ByteBuffer data = ByteBuffer.allocate(64 * 1024);
+        while (channel.read(data) >= 0) {
+            if (!data.hasRemaining()) {
+                ByteBuffer larger = ByteBuffer.allocate(data.capacity() * 2);
+                data.flip();
+                larger.put(data);
+                data = larger;
+            }
+        }
+        data.flip();
+        return decode(data, start);
+    }
+
+    private static Result decode(ByteBuffer data, long start) throws IOException {
+        long size = data.remaining();
+        try {
+            for (byte b : MAGIC) {
+                if (data.get() != b) {
+                    throw new IOException("Fichier de carte binaire invalide (en-tête)");
+                }
+            }
+            int version = data.get() & 0xFF;
+            if (version > VERSION) {
+                throw new IOException("Version de carte binaire non supportée: " + version);
+            }
+
+            TileMap tileMap = new TileMap(readVarint(data), readVarint(data));
+            boolean hasWallProperties = false;
+
+            int tag;
+            while ((tag = data.get() & 0xFF) != BLOCK_END) {
+                int length = readVarint(data);
+                int blockEnd = data.position() + length;
+
+                switch (tag) {
+                    case BLOCK_FLOOR -> readLayer(data, tileMap, TileMap.Layer.FLOOR);
+                    case BLOCK_WALL -> readLayer(data, tileMap, TileMap.Layer.WALL);
+                    case BLOCK_CEILING -> readLayer(data, tileMap, TileMap.Layer.CEILING);
+                    case BLOCK_WALL_TYPES -> readWallTypes(data, tileMap);
+                    case BLOCK_WALL_PROPERTIES -> {
+                        readWallProperties(data, tileMap);
+                        hasWallProperties = true;
+                    }
+                    case BLOCK_ITEMS -> readItems(data, tileMap);
+                    default -> { } // bloc inconnu : ignoré
+                }
+                data.position(blockEnd);
+            }
+
+            return new Result(tileMap, hasWallProperties, size, System.nanoTime() - start);
+
+        } catch (RuntimeException e) {
+            // BufferUnderflowException, IllegalArgumentException, index hors carte...
+            throw new IOException("Fichier de carte binaire corrompu: " + e, e);
+        }
+    }
+
+    private static void readLayer(ByteBuffer data, TileMap tileMap, TileMap.Layer layer) {
+        int index = 0;
+        int size = tileMap.size();
+        while (index < size) {
+            int run = readVarint(data);
+            int value = readVarint(data) - 1;
+            for (int end = index + run; index < end; index++) {
+                tileMap.setLayerAtIndex(layer, index, value);
+            }
+        }
+    }
+
+    private static void readWallTypes(ByteBuffer data, TileMap tileMap) {
+        int index = 0;
+        int size = tileMap.size();
+        while (index < size) {
+            int run = readVarint(data);
+            GameModel.WallType type = WALL_TYPES[readVarint(data)];
+            for (int end = index + run; index < end; index++) {
+                tileMap.setWallTypeAtIndex(index, type);
+            }
+        }
+    }
+
+    private static void readWallProperties(ByteBuffer data, TileMap tileMap) {
+        int count = readVarint(data);
+        int index = 0;
+        for (int i = 0; i < count; i++) {
+            index += readVarint(data);
+            int flags = data.get() & 0xFF;
+            int health = data.get() & 0xFF;
+            String keyId = (flags & FLAG_KEY) != 0 ? readString(data) : null;
+            tileMap.setWallPropertiesAtIndex(index, new GameModel.WallProperties(
+                    (flags & FLAG_OPEN) != 0, (flags & FLAG_LOCKED) != 0, keyId, health));
+        }
+    }
+
+    private static void readItems(ByteBuffer data, TileMap tileMap) {
+        String[] names = new String[readVarint(data)];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = readString(data);
+        }
+
+        int tiles = readVarint(data);
+        int index = 0;
+        for (int i = 0; i < tiles; i++) {
+            index += readVarint(data);
+            int itemCount = readVarint(data);
+            for (int j = 0; j < itemCount; j++) {
+                String type = names[readVarint(data)];
+                tileMap.addItemAtIndex(index, new GameModel.Item(type, readVarint(data)));
+            }
+        }
+    }
+
+    private static int readVarint(ByteBuffer data) {
+        int value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = data.get() & 0xFF;
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    private static String readString(ByteBuffer data) {
+        int length = readVarint(data);
+        String value = new String(data.array(), data.arrayOffset() + data.position(), length, StandardCharsets.UTF_8);
+        data.position(data.position() + length);
+        return value;
+    }
+
+    // ================================
+    // ÉCRITURE
+    // ================================
+
+    public static long write(TileMap tileMap, boolean includeWallProperties, Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            return write(tileMap, includeWallProperties, channel);
+        }
+    }
+
+    /**
+     * Écrit la carte ; retourne le nombre d'octets produits
+     */
+    public static long write(TileMap tileMap, boolean includeWallProperties, WritableByteChannel channel) throws IOException {
+        Output out = new Output();
+        out.bytes(MAGIC);
+        out.put(VERSION);
+        out.varint(tileMap.getWidth());
+        out.varint(tileMap.getHeight());
+
+        writeBlock(out, BLOCK_FLOOR, block -> writeLayer(block, tileMap, TileMap.Layer.FLOOR));
+        writeBlock(out, BLOCK_WALL, block -> writeLayer(block, tileMap, TileMap.Layer.WALL));
+        writeBlock(out, BLOCK_CEILING, block -> writeLayer(block, tileMap, TileMap.Layer.CEILING));
+        writeBlock(out, BLOCK_WALL_TYPES, block -> writeWallTypes(block, tileMap));
+        if (includeWallProperties) {
+            writeBlock(out, BLOCK_WALL_PROPERTIES, block -> writeWallProperties(block, tileMap));
+        }
+        writeBlock(out, BLOCK_ITEMS, block -> writeItems(block, tileMap));
+        out.put(BLOCK_END);
+
+        ByteBuffer buffer = out.toBuffer();
+        long written = buffer.remaining();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        return written;
+    }
+
+    private interface BlockWriter {
+        void write(Output block);
+    }
+
+    private static void writeBlock(Output out, int tag, BlockWriter writer) {
+        Output block = new Output();
+        writer.write(block);
+        out.put(tag);
+        out.varint(block.size);
+        out.bytes(block.data, block.size);
+    }
+
+    private static void writeLayer(Output out, TileMap tileMap, TileMap.Layer layer) {
+        int size = tileMap.size();
+        int index = 0;
+        while (index < size) {
+            int value = tileMap.layerAtIndex(layer, index);
+            int run = 1;
+            while (index + run < size && tileMap.layerAtIndex(layer, index + run) == value) run++;
+            out.varint(run);
+            out.varint(value + 1);
+            index += run;
+        }
+    }
+
+    private static void writeWallTypes(Output out, TileMap tileMap) {
+        int size = tileMap.size();
+        int index = 0;
+        while (index < size) {
+            GameModel.WallType type = tileMap.wallTypeAtIndex(index);
+            int run = 1;
+            while (index + run < size && tileMap.wallTypeAtIndex(index + run) == type) run++;
+            out.varint(run);
+            out.varint(type.ordinal());
+            index += run;
+        }
+    }
+
+    private static void writeWallProperties(Output out, TileMap tileMap) {
+        List<Integer> indices = new ArrayList<>();
+        for (int i = 0; i < tileMap.size(); i++) {
+            GameModel.WallProperties props = tileMap.wallPropertiesAtIndex(i);
+            if (props != null && (props.isOpen || props.isLocked || props.keyId != null || props.health != 255)) {
+                indices.add(i);
+            }
+        }
+
+        out.varint(indices.size());
+        int previous = 0;
+        for (int index : indices) {
+            GameModel.WallProperties props = tileMap.wallPropertiesAtIndex(index);
+            int flags = (props.isOpen ? FLAG_OPEN : 0) | (props.isLocked ? FLAG_LOCKED : 0)
+                    | (props.keyId != null ? FLAG_KEY : 0);
+            out.varint(index - previous);
+            out.put(flags);
+            out.put(Math.max(0, Math.min(255, props.health)));
+            if (props.keyId != null) out.string(props.keyId);
+            previous = index;
+        }
+    }
+
+    private static void writeItems(Output out, TileMap tileMap) {
+        Map<String, Integer> nameIds = new HashMap<>();
+        List<String> names = new ArrayList<>();
+        List<Integer> tiles = new ArrayList<>();
+
+        for (int i = 0; i < tileMap.size(); i++) {
+            List<GameModel.Item> items = tileMap.itemsAtIndex(i);
+            if (items.isEmpty()) continue;
+            tiles.add(i);
+            for (GameModel.Item item : items) {
+                nameIds.computeIfAbsent(item.type, type -> {
+                    names.add(type);
+                    return names.size() - 1;
+                });
+            }
+        }
+
+        out.varint(names.size());
+        for (String name : names) out.string(name);
+
+        out.varint(tiles.size());
+        int previous = 0;
+        for (int index : tiles) {
+            List<GameModel.Item> items = tileMap.itemsAtIndex(index);
+            out.varint(index - previous);
+            out.varint(items.size());
+            for (GameModel.Item item : items) {
+                out.varint(nameIds.get(item.type));
+                out.varint(item.count);
+            }
+            previous = index;
+        }
+    }
+
+    /**
+     * Tampon d'écriture extensible
+     */
+    private static final class Output {
+        byte[] data = new byte[4096];
+        int size = 0;
+
+        void put(int b) {
+            if (size == data.length) {
+                byte[] larger = new byte[data.length * 2];
+                System.arraycopy(data, 0, larger, 0, size);
+                data = larger;
+            }
+            data[size++] = (byte) b;
+        }
+
+        void bytes(byte[] bytes) {
+            bytes(bytes, bytes.length);
+        }
+
+        void bytes(byte[] bytes, int length) {
+            for (int i = 0; i < length; i++) put(bytes[i]);
+        }
+
+        void varint(int value) {
+            while ((value & ~0x7F) != 0) {
+                put((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            put(value);
+        }
+
+        void string(String value) {
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            varint(utf8.length);
+            bytes(utf8);
+        }
+
+        ByteBuffer toBuffer() {
+            return ByteBuffer.wrap(data, 0, size);
+        }
+    }
+}
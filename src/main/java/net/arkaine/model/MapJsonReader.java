@@ -0,0 +1,501 @@
+package net.arkaine.model;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Lecteur JSON de carte en flux, en une seule passe.
+ *
+ * Les octets sont décodés directement dans un TileMap sans construire la chaîne
+ * complète ni découper les lignes : seuls les noms d'objets et les clés de portes
+ * créent des String. "mapSize" doit apparaître avant les couches (c'est le cas des
+ * fichiers produits par l'éditeur) ; les clés inconnues sont ignorées.
+ */
+public final class MapJsonReader {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final byte[][] WALL_TYPE_NAMES;
+    static {
+        GameModel.WallType[] types = GameModel.WallType.values();
+        WALL_TYPE_NAMES = new byte[types.length][];
+        for (int i = 0; i < types.length; i++) {
+            WALL_TYPE_NAMES[i] = types[i].name().getBytes(StandardCharsets.US_ASCII);
+        }
+    }
+
+    /**
+     * Résultat du chargement : la carte et ce que le fichier contenait
+     */
+    public static final class Result {
+        public final TileMap tileMap;
+        public final boolean hasFloorMap;
+        public final boolean hasWallMap;
+        public final boolean hasWallTypes;
+        public final boolean hasWallProperties;
+        public final boolean hasItemMap;
+        public final long bytesRead;
+        public final long elapsedNanos;
+
+        private Result(MapJsonReader reader, long elapsedNanos) {
+            this.tileMap = reader.tileMap;
+            this.hasFloorMap = reader.hasFloorMap;
+            this.hasWallMap = reader.hasWallMap;
+            this.hasWallTypes = reader.hasWallTypes;
+            this.hasWallProperties = reader.hasWallProperties;
+            this.hasItemMap = reader.hasItemMap;
+            this.bytesRead = reader.bytesRead;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public double getElapsedMillis() {
+            return elapsedNanos / 1_000_000.0;
+        }
+
+        public double getBytesPerSecond() {
+            return elapsedNanos > 0 ? bytesRead * 1_000_000_000.0 / elapsedNanos : 0;
+        }
+    }
+
+    /**
+     * Décodeur d'une case d'une grille [x][y]
+     */
+    @FunctionalInterface
+    private interface CellReader {
+        void read(int index) throws IOException;
+    }
+
+    private final InputStream in;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position = 0;
+    private int limit = 0;
+    private long bytesRead = 0;
+
+    // Tampon réutilisé pour les chaînes
+    private byte[] text = new byte[64];
+    private int textLength = 0;
+
+    private TileMap tileMap;
+    private boolean hasFloorMap;
+    private boolean hasWallMap;
+    private boolean hasWallTypes;
+    private boolean hasWallProperties;
+    private boolean hasItemMap;
+
+    public MapJsonReader(InputStream in) {
+        this.in = in;
+    }
+
+    public static Result read(InputStream in) throws IOException {
+        return new MapJsonReader(in).read();
+    }
+
+    public Result read() throws IOException {
+        long start = System.nanoTime();
+
+        expect('{');
+        if (!tryConsume('}')) {
+            do {
+                readString();
+                expect(':');
+                readField();
+            } while (tryConsume(','));
+            expect('}');
+        }
+
+        if (tileMap == null) {
+            throw new IOException("mapSize absent du fichier de carte");
+        }
+        return new Result(this, System.nanoTime() - start);
+    }
+
+    // ================================
+    // SECTIONS DE LA CARTE
+    // ================================
+
+    private void readField() throws IOException {
+        if (textEquals("mapSize")) {
+            int size = readInt();
+            tileMap = new TileMap(size, size);
+        } else if (textEquals("floorMap")) {
+            readLayer(TileMap.Layer.FLOOR);
+            hasFloorMap = true;
+        } else if (textEquals("wallMap")) {
+            readLayer(TileMap.Layer.WALL);
+            hasWallMap = true;
+        } else if (textEquals("ceilingMap")) {
+            readLayer(TileMap.Layer.CEILING);
+        } else if (textEquals("wallTypes")) {
+            readGrid(index -> tileMap.setWallTypeAtIndex(index, readWallType()));
+            hasWallTypes = true;
+        } else if (textEquals("wallProperties")) {
+            readGrid(this::readWallProperties);
+            hasWallProperties = true;
+        } else if (textEquals("itemMap")) {
+            readGrid(this::readItems);
+            hasItemMap = true;
+        } else {
+            skipValue();
+        }
+    }
+
+    private void readLayer(TileMap.Layer layer) throws IOException {
+        readGrid(index -> tileMap.setLayerAtIndex(layer, index, readInt()));
+    }
+
+    /**
+     * Parcourt un tableau de lignes [x][y] ; les cases hors de la carte sont sautées
+     */
+    private void readGrid(CellReader cellReader) throws IOException {
+        if (tileMap == null) {
+            throw new IOException("mapSize doit précéder les couches de la carte");
+        }
+        int width = tileMap.getWidth();
+        int height = tileMap.getHeight();
+
+        expect('[');
+        if (tryConsume(']')) return;
+        int x = 0;
+        do {
+            expect('[');
+            if (!tryConsume(']')) {
+                int y = 0;
+                do {
+                    if (x < width && y < height) {
+                        cellReader.read(x * height + y);
+                    } else {
+                        skipValue();
+                    }
+                    y++;
+                } while (tryConsume(','));
+                expect(']');
+            }
+            x++;
+        } while (tryConsume(','));
+        expect(']');
+    }
+
+    private GameModel.WallType readWallType() throws IOException {
+        if (skipWhitespace() != '"') {
+            skipValue();
+            return GameModel.WallType.NONE;
+        }
+        readString();
+        for (int i = 0; i < WALL_TYPE_NAMES.length; i++) {
+            if (textEquals(WALL_TYPE_NAMES[i])) {
+                return GameModel.WallType.values()[i];
+            }
+        }
+        return GameModel.WallType.NONE;
+    }
+
+    /**
+     * Ne conserve que les propriétés différentes des valeurs par défaut
+     */
+    private void readWallProperties(int index) throws IOException {
+        if (skipWhitespace() != '{') {
+            skipValue();
+            return;
+        }
+        expect('{');
+
+        boolean isOpen = false;
+        boolean isLocked = false;
+        String keyId = null;
+        int health = 255;
+
+        if (!tryConsume('}')) {
+            do {
+                readString();
+                expect(':');
+                if (textEquals("isOpen")) {
+                    isOpen = readBoolean();
+                } else if (textEquals("isLocked")) {
+                    isLocked = readBoolean();
+                } else if (textEquals("keyId")) {
+                    keyId = readNullableString();
+                } else if (textEquals("health")) {
+                    health = readInt();
+                } else {
+                    skipValue();
+                }
+            } while (tryConsume(','));
+            expect('}');
+        }
+
+        if (isOpen || isLocked || keyId != null || health != 255) {
+            tileMap.setWallPropertiesAtIndex(index, new GameModel.WallProperties(isOpen, isLocked, keyId, health));
+        }
+    }
+
+    private void readItems(int index) throws IOException {
+        if (skipWhitespace() != '[') {
+            skipValue();
+            return;
+        }
+        expect('[');
+        if (tryConsume(']')) return;
+
+        do {
+            expect('{');
+            String type = null;
+            int count = 1;
+            if (!tryConsume('}')) {
+                do {
+                    readString();
+                    expect(':');
+                    if (textEquals("type")) {
+                        type = readNullableString();
+                    } else if (textEquals("count")) {
+                        count = readInt();
+                    } else {
+                        skipValue();
+                    }
+                } while (tryConsume(','));
+                expect('}');
+            }
+            if (type != null && count > 0) {
+                tileMap.addItemAtIndex(index, new GameModel.Item(type, count));
+            }
+        } while (tryConsume(','));
+        expect(']');
+    }
+
+    // ================================
+    // LECTURE DES VALEURS
+    // ================================
+
+    /**
+     * Entier JSON ; null vaut -1 et une partie décimale éventuelle est tronquée
+     */
+    private int readInt() throws IOException {
+        int c = skipWhitespace();
+        if (c == 'n') {
+            expectLiteral("null");
+            return TileMap.NONE;
+        }
+
+        boolean negative = false;
+        if (c == '-') {
+            negative = true;
+            position++;
+        }
+
+        int value = 0;
+        int digits = 0;
+        while ((c = peek()) >= '0' && c <= '9') {
+            value = value * 10 + (c - '0');
+            position++;
+            digits++;
+        }
+        if (digits == 0) {
+            throw error("nombre attendu");
+        }
+        if (c == '.' || c == 'e' || c == 'E') {
+            skipNumberTail();
+        }
+        return negative ? -value : value;
+    }
+
+    private boolean readBoolean() throws IOException {
+        int c = skipWhitespace();
+        if (c == 't') {
+            expectLiteral("true");
+            return true;
+        }
+        if (c == 'f') {
+            expectLiteral("false");
+            return false;
+        }
+        skipValue();
+        return false;
+    }
+
+    private String readNullableString() throws IOException {
+        int c = skipWhitespace();
+        if (c == '"') {
+            readString();
+            return new String(text, 0, textLength, StandardCharsets.UTF_8);
+        }
+        skipValue();
+        return null;
+    }
+
+    /**
+     * Lit une chaîne dans le tampon réutilisé (octets UTF-8)
+     */
+    private void readString() throws IOException {
+        expect('"');
+        textLength = 0;
+        while (true) {
+            int c = next();
+            if (c == '"') return;
+            if (c < 0) throw error("chaîne non terminée");
+            if (c == '\\') {
+                int escaped = next();
+                switch (escaped) {
+                    case 'n' -> appendText('\n');
+                    case 't' -> appendText('\t');
+                    case 'r' -> appendText('\r');
+                    case 'b' -> appendText('\b');
+                    case 'f' -> appendText('\f');
+                    case 'u' -> appendCodePoint(readHex4());
+                    default -> appendText(escaped);
+                }
+            } else {
+                appendText(c);
+            }
+        }
+    }
+
+    private int readHex4() throws IOException {
+        int value = 0;
+        for (int i = 0; i < 4; i++) {
+            int digit = Character.digit(next(), 16);
+            if (digit < 0) throw error("séquence \\u invalide");
+            value = (value << 4) | digit;
+        }
+        return value;
+    }
+
+    private void appendCodePoint(int codePoint) {
+        if (codePoint < 0x80) {
+            appendText(codePoint);
+        } else if (codePoint < 0x800) {
+            appendText(0xC0 | (codePoint >> 6));
+            appendText(0x80 | (codePoint & 0x3F));
+        } else {
+            appendText(0xE0 | (codePoint >> 12));
+            appendText(0x80 | ((codePoint >> 6) & 0x3F));
+            appendText(0x80 | (codePoint & 0x3F));
+        }
+    }
+
+    private void appendText(int b) {
+        if (textLength == text.length) {
+            byte[] larger = new byte[text.length * 2];
+            System.arraycopy(text, 0, larger, 0, textLength);
+            text = larger;
+        }
+        text[textLength++] = (byte) b;
+    }
+
+    private boolean textEquals(String ascii) {
+        if (ascii.length() != textLength) return false;
+        for (int i = 0; i < textLength; i++) {
+            if (text[i] != ascii.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    private boolean textEquals(byte[] ascii) {
+        if (ascii.length != textLength) return false;
+        for (int i = 0; i < textLength; i++) {
+            if (text[i] != ascii[i]) return false;
+        }
+        return true;
+    }
+
+    private void skipValue() throws IOException {
+        int c = skipWhitespace();
+        switch (c) {
+            case '"' -> readString();
+            case '{' -> {
+                position++;
+                if (tryConsume('}')) return;
+                do {
+                    readString();
+                    expect(':');
+                    skipValue();
+                } while (tryConsume(','));
+                expect('}');
+            }
+            case '[' -> {
+                position++;
+                if (tryConsume(']')) return;
+                do {
+                    skipValue();
+                } while (tryConsume(','));
+                expect(']');
+            }
+            case 't' -> expectLiteral("true");
+            case 'f' -> expectLiteral("false");
+            case 'n' -> expectLiteral("null");
+            default -> {
+                if (c == '-' || (c >= '0' && c <= '9')) {
+                    position++;
+                    skipNumberTail();
+                } else {
+                    throw error("valeur inattendue");
+                }
+            }
+        }
+    }
+
+    private void skipNumberTail() throws IOException {
+        int c;
+        while ((c = peek()) >= 0 && ((c >= '0' && c <= '9') || c == '.' || c == 'e' || c == 'E' || c == '+' || c == '-')) {
+            position++;
+        }
+    }
+
+    // ================================
+    // TAMPON D'ENTRÉE
+    // ================================
+
+    private int peek() throws IOException {
+        if (position == limit && !fill()) return -1;
+        return buffer[position] & 0xFF;
+    }
+
+    private int next() throws IOException {
+        if (position == limit && !fill()) return -1;
+        return buffer[position++] & 0xFF;
+    }
+
+    private boolean fill() throws IOException {
+        int n = in.read(buffer, 0, buffer.length);
+        if (n <= 0) return false;
+        position = 0;
+        limit = n;
+        bytesRead += n;
+        return true;
+    }
+
+    private int skipWhitespace() throws IOException {
+        int c;
+        while ((c = peek()) == ' ' || c == '\n' || c == '\r' || c == '\t') {
+            position++;
+        }
+        return c;
+    }
+
+    private void expect(char expected) throws IOException {
+        if (skipWhitespace() != expected) {
+            throw error("'" + expected + "' attendu");
+        }
+        position++;
+    }
+
+    private boolean tryConsume(char expected) throws IOException {
+        if (skipWhitespace() == expected) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expectLiteral(String literal) throws IOException {
+        for (int i = 0; i < literal.length(); i++) {
+            if (next() != literal.charAt(i)) {
+                throw error(literal + " attendu");
+            }
+        }
+    }
+
+    private IOException error(String message) {
+        long offset = bytesRead - limit + position;
+        return new IOException("JSON de carte invalide à l'octet " + offset + " : " + message);
+    }
+}
@@ -0,0 +1,47 @@
+package net.arkaine.model;
+
+/**
+ * Point immuable en coordonnées de cases (positions, chemins) ; remplace
+ * javafx.geometry.Point2D dans la simulation pour qu'elle tourne sans JavaFX.
+ */
+public final class Point {
+
+    private final double x;
+    private final double y;
+
+    public Point(double x, double y) {
+        this.x = x;
+        this.y = y;
+    }
+
+    public double getX() { return x; }
+    public double getY() { return y; }
+
+    public double distance(double otherX, double otherY) {
+        double dx = x - otherX;
+        double dy = y - otherY;
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+
+    public double distance(Point other) {
+        return distance(other.x, other.y);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) return true;
+        if (!(other instanceof Point)) return false;
+        Point point = (Point) other;
+        return Double.compare(x, point.x) == 0 && Double.compare(y, point.y) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Double.hashCode(x) + Double.hashCode(y);
+    }
+
+    @Override
+    public String toString() {
+        return "Point [x = " + x + ", y = " + y + "]";
+    }
+}
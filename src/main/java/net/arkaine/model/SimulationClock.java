@@ -0,0 +1,46 @@
+package net.arkaine.model;
+
+import net.arkaine.config.SimulationConfig;
+
+/**
+ * Horloge à pas fixe : accumule le temps réel des images et le découpe en pas de
+ * simulation de durée constante. Le reste (moins d'un pas) donne le facteur
+ * d'interpolation du rendu entre les deux derniers états simulés.
+ */
+public class SimulationClock {
+
+    private final double stepSeconds;
+    private double accumulator = 0;
+    private long tickCount = 0;
+    private long droppedSteps = 0;
+
+    public SimulationClock(int ticksPerSecond) {
+        this.stepSeconds = 1.0 / ticksPerSecond;
+    }
+
+    /**
+     * Ajoute la durée de l'image et renvoie le nombre de pas de simulation à exécuter
+     */
+    public int advance(double frameSeconds) {
+        accumulator += Math.min(Math.max(0, frameSeconds), SimulationConfig.MAX_FRAME_SECONDS);
+        int steps = (int) (accumulator / stepSeconds);
+        accumulator -= steps * stepSeconds;
+        if (steps > SimulationConfig.MAX_STEPS_PER_FRAME) {
+            droppedSteps += steps - SimulationConfig.MAX_STEPS_PER_FRAME;
+            steps = SimulationConfig.MAX_STEPS_PER_FRAME;
+        }
+        tickCount += steps;
+        return steps;
+    }
+
+    /**
+     * Position du rendu entre l'avant-dernier (0) et le dernier (1) état simulé
+     */
+    public double getAlpha() {
+        return accumulator / stepSeconds;
+    }
+
+    public double getStepSeconds() { return stepSeconds; }
+    public long getTickCount() { return tickCount; }
+    public long getDroppedSteps() { return droppedSteps; }
+}
@@ -0,0 +1,228 @@
+package net.arkaine.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Stockage compact des couches de la carte.
+ *
+ * Chaque case tient dans un seul int : indices de sol, de mur et de plafond
+ * (un octet chacun, 0xFF = aucun) et ordinal du WallType dans l'octet de poids fort.
+ * Les cases sont rangées à plat en colonne par x (index = x * height + y), dans le
+ * même ordre que les tableaux du JSON. Les propriétés de murs et les objets au sol
+ * sont creux : null tant que la case n'en a pas besoin.
+ */
+public final class TileMap {
+
+    public static final int NONE = -1;
+    public static final int MAX_INDEX = 254;
+
+    private static final int EMPTY_BYTE = 0xFF;
+    private static final int TYPE_SHIFT = 24;
+    private static final GameModel.WallType[] WALL_TYPES = GameModel.WallType.values();
+
+    public enum Layer {
+        FLOOR(0), WALL(8), CEILING(16);
+
+        final int shift;
+
+        Layer(int shift) {
+            this.shift = shift;
+        }
+    }
+
+    private final int width;
+    private final int height;
+    private final int[] cells;
+    private final GameModel.WallProperties[] wallProperties;
+    private final List<GameModel.Item>[] items;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public TileMap(int width, int height) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Dimensions de carte invalides: " + width + "x" + height);
+        }
+        this.width = width;
+        this.height = height;
+        this.cells = new int[width * height];
+        this.wallProperties = new GameModel.WallProperties[cells.length];
+        this.items = new List[cells.length];
+
+        // Sol 0, pas de mur, pas de plafond, WallType.NONE
+        int defaultCell = pack(0, NONE, NONE, GameModel.WallType.NONE);
+        Arrays.fill(cells, defaultCell);
+    }
+
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
+    public int size() { return cells.length; }
+
+    public boolean isInside(int x, int y) {
+        return x >= 0 && x < width && y >= 0 && y < height;
+    }
+
+    public int index(int x, int y) {
+        return x * height + y;
+    }
+
+    public int xOf(int index) {
+        return index / height;
+    }
+
+    public int yOf(int index) {
+        return index % height;
+    }
+
+    // ================================
+    // LECTURE
+    // ================================
+
+    public int floorAt(int x, int y) {
+        return decode(cells[index(x, y)], Layer.FLOOR.shift);
+    }
+
+    public int wallAt(int x, int y) {
+        return decode(cells[index(x, y)], Layer.WALL.shift);
+    }
+
+    public int ceilingAt(int x, int y) {
+        return decode(cells[index(x, y)], Layer.CEILING.shift);
+    }
+
+    public int layerAt(Layer layer, int x, int y) {
+        return decode(cells[index(x, y)], layer.shift);
+    }
+
+    public int layerAtIndex(Layer layer, int index) {
+        return decode(cells[index], layer.shift);
+    }
+
+    public GameModel.WallType wallTypeAt(int x, int y) {
+        return WALL_TYPES[cells[index(x, y)] >>> TYPE_SHIFT];
+    }
+
+    public GameModel.WallType wallTypeAtIndex(int index) {
+        return WALL_TYPES[cells[index] >>> TYPE_SHIFT];
+    }
+
+    /**
+     * Propriétés du mur, ou null si la case n'en a jamais eu besoin
+     */
+    public GameModel.WallProperties wallPropertiesAt(int x, int y) {
+        return wallProperties[index(x, y)];
+    }
+
+    public GameModel.WallProperties wallPropertiesAtIndex(int index) {
+        return wallProperties[index];
+    }
+
+    /**
+     * Objets au sol (liste vide non modifiable si la case n'a rien)
+     */
+    public List<GameModel.Item> itemsAt(int x, int y) {
+        return itemsAtIndex(index(x, y));
+    }
+
+    public List<GameModel.Item> itemsAtIndex(int index) {
+        List<GameModel.Item> list = items[index];
+        return list != null ? list : Collections.emptyList();
+    }
+
+    // ================================
+    // ÉCRITURE
+    // ================================
+
+    public void setFloor(int x, int y, int floorIndex) {
+        setLayer(Layer.FLOOR, x, y, floorIndex);
+    }
+
+    public void setWall(int x, int y, int wallIndex) {
+        setLayer(Layer.WALL, x, y, wallIndex);
+    }
+
+    public void setCeiling(int x, int y, int ceilingIndex) {
+        setLayer(Layer.CEILING, x, y, ceilingIndex);
+    }
+
+    public void setLayer(Layer layer, int x, int y, int value) {
+        setLayerAtIndex(layer, index(x, y), value);
+    }
+
+    public void setLayerAtIndex(Layer layer, int index, int value) {
+        int cleared = cells[index] & ~(EMPTY_BYTE << layer.shift);
+        cells[index] = cleared | (encode(value) << layer.shift);
+    }
+
+    public void setWallType(int x, int y, GameModel.WallType type) {
+        setWallTypeAtIndex(index(x, y), type);
+    }
+
+    public void setWallTypeAtIndex(int index, GameModel.WallType type) {
+        cells[index] = (cells[index] & 0x00FFFFFF) | (type.ordinal() << TYPE_SHIFT);
+    }
+
+    public void setWallProperties(int x, int y, GameModel.WallProperties props) {
+        wallProperties[index(x, y)] = props;
+    }
+
+    public void setWallPropertiesAtIndex(int index, GameModel.WallProperties props) {
+        wallProperties[index] = props;
+    }
+
+    public GameModel.WallProperties getOrCreateWallProperties(int x, int y) {
+        int i = index(x, y);
+        GameModel.WallProperties props = wallProperties[i];
+        if (props == null) {
+            props = new GameModel.WallProperties();
+            wallProperties[i] = props;
+        }
+        return props;
+    }
+
+    public void addItem(int x, int y, GameModel.Item item) {
+        addItemAtIndex(index(x, y), item);
+    }
+
+    public void addItemAtIndex(int index, GameModel.Item item) {
+        List<GameModel.Item> list = items[index];
+        if (list == null) {
+            list = new ArrayList<>(2);
+            items[index] = list;
+        }
+        list.add(item);
+    }
+
+    public void clearItems(int x, int y) {
+        items[index(x, y)] = null;
+    }
+
+    public void clearAllItems() {
+        Arrays.fill(items, null);
+    }
+
+    // ================================
+    // ENCODAGE
+    // ================================
+
+    private static int pack(int floor, int wall, int ceiling, GameModel.WallType type) {
+        return (encode(floor) << Layer.FLOOR.shift)
+                | (encode(wall) << Layer.WALL.shift)
+                | (encode(ceiling) << Layer.CEILING.shift)
+                | (type.ordinal() << TYPE_SHIFT);
+    }
+
+    private static int encode(int value) {
+        if (value < 0) return EMPTY_BYTE;
+        if (value > MAX_INDEX) {
+            throw new IllegalArgumentException("Indice de tuile hors limites: " + value + " (max " + MAX_INDEX + ")");
+        }
+        return value;
+    }
+
+    private static int decode(int cell, int shift) {
+        int value = (cell >>> shift) & EMPTY_BYTE;
+        return value == EMPTY_BYTE ? NONE : value;
+    }
+}
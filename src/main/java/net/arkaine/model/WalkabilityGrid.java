@@ -0,0 +1,224 @@
+package net.arkaine.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Praticabilité précalculée de la carte.
+ *
+ * Un bit par case (praticable ou non) et, pour chaque case, un masque de 8 bits des
+ * voisins atteignables en un pas. Une diagonale n'est permise que si les deux cases
+ * orthogonales qu'elle longe sont libres, comme dans le pathfinding d'origine.
+ * Les bits des directions suivent l'ordre de DIRECTIONS.
+ *
+ * La grille est tenue à jour case par case (portes, murs détruits) : seul le
+ * voisinage 3x3 de la case modifiée est recalculé.
+ *
+ * snapshot() donne une copie figée, lisible depuis n'importe quel thread (pathfinding
+ * asynchrone) ; elle partage l'origine et la version de la grille au moment de la copie.
+ */
+public final class WalkabilityGrid {
+
+    /** Directions {dx, dy} : 4 orthogonales puis 4 diagonales */
+    public static final int[][] DIRECTIONS = {
+            {-1, 0}, {1, 0}, {0, -1}, {0, 1},
+            {-1, -1}, {-1, 1}, {1, -1}, {1, 1}
+    };
+    public static final int DIRECTION_COUNT = 8;
+
+    /**
+     * Observateur des changements de praticabilité
+     */
+    public interface Listener {
+        void onWalkabilityChanged(WalkabilityGrid grid, int x, int y, boolean walkable);
+    }
+
+    private final TileMap tileMap;   // null pour une copie figée
+    private final WalkabilityGrid origin;
+    private final int width;
+    private final int height;
+    private final long[] bits;
+    private final byte[] masks;
+    private final int[] directionOffsets = new int[DIRECTION_COUNT];
+    private long version = 0;
+    private final List<Listener> listeners = new ArrayList<>();
+    private volatile WalkabilityGrid lastSnapshot;
+
+    public WalkabilityGrid(TileMap tileMap) {
+        this.tileMap = tileMap;
+        this.origin = this;
+        this.width = tileMap.getWidth();
+        this.height = tileMap.getHeight();
+        this.bits = new long[(tileMap.size() + 63) >>> 6];
+        this.masks = new byte[tileMap.size()];
+        for (int d = 0; d < DIRECTION_COUNT; d++) {
+            directionOffsets[d] = DIRECTIONS[d][0] * height + DIRECTIONS[d][1];
+        }
+        rebuild();
+    }
+
+    private WalkabilityGrid(WalkabilityGrid source) {
+        this.tileMap = null;
+        this.origin = source.origin;
+        this.width = source.width;
+        this.height = source.height;
+        this.bits = source.bits.clone();
+        this.masks = source.masks.clone();
+        System.arraycopy(source.directionOffsets, 0, directionOffsets, 0, DIRECTION_COUNT);
+        this.version = source.version;
+    }
+
+    /**
+     * Copie figée de l'état courant (réutilisée tant que la version ne change pas)
+     */
+    public WalkabilityGrid snapshot() {
+        if (isSnapshot()) return this;
+        WalkabilityGrid snapshot = lastSnapshot;
+        if (snapshot == null || snapshot.version != version) {
+            snapshot = new WalkabilityGrid(this);
+            lastSnapshot = snapshot;
+        }
+        return snapshot;
+    }
+
+    public boolean isSnapshot() {
+        return tileMap == null;
+    }
+
+    /** Grille vivante dont cette grille est issue (elle-même si ce n'est pas une copie) */
+    public WalkabilityGrid getOrigin() {
+        return origin;
+    }
+
+    /**
+     * Règle de praticabilité d'une case (murs et état des portes)
+     */
+    public static boolean isPassable(TileMap tileMap, int index) {
+        switch (tileMap.wallTypeAtIndex(index)) {
+            case NONE:
+            case TRAVERSABLE:
+            case TRANSPARENT:
+                return true;
+            case DOOR:
+                GameModel.WallProperties props = tileMap.wallPropertiesAtIndex(index);
+                return props != null && props.isOpen;
+            default:
+                return false;
+        }
+    }
+
+    public void rebuild() {
+        checkWritable();
+        for (int i = 0; i < masks.length; i++) {
+            setBit(i, isPassable(tileMap, i));
+        }
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                masks[x * height + y] = computeMask(x, y);
+            }
+        }
+        version++;
+    }
+
+    /**
+     * Relit la case depuis la carte ; retourne vrai si sa praticabilité a changé
+     */
+    public boolean refresh(int x, int y) {
+        checkWritable();
+        if (!tileMap.isInside(x, y)) return false;
+
+        int index = x * height + y;
+        boolean walkable = isPassable(tileMap, index);
+        if (walkable == isWalkableIndex(index)) return false;
+
+        setBit(index, walkable);
+        for (int nx = Math.max(0, x - 1); nx <= Math.min(width - 1, x + 1); nx++) {
+            for (int ny = Math.max(0, y - 1); ny <= Math.min(height - 1, y + 1); ny++) {
+                masks[nx * height + ny] = computeMask(nx, ny);
+            }
+        }
+        version++;
+
+        for (Listener listener : listeners) {
+            listener.onWalkabilityChanged(this, x, y, walkable);
+        }
+        return true;
+    }
+
+    // ================================
+    // LECTURE
+    // ================================
+
+    public boolean isWalkable(int x, int y) {
+        return x >= 0 && x < width && y >= 0 && y < height && isWalkableIndex(x * height + y);
+    }
+
+    /** Sans contrôle de bornes */
+    public boolean isWalkableIndex(int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /** Masque des directions praticables depuis la case (bit d = DIRECTIONS[d]) */
+    public int neighbourMask(int x, int y) {
+        return masks[x * height + y] & 0xFF;
+    }
+
+    public int neighbourMaskIndex(int index) {
+        return masks[index] & 0xFF;
+    }
+
+    /** Décalage d'index d'un pas dans la direction d */
+    public int directionOffset(int direction) {
+        return directionOffsets[direction];
+    }
+
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
+    public int size() { return masks.length; }
+
+    /** Incrémenté à chaque changement de praticabilité */
+    public long getVersion() { return version; }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    // ================================
+    // CALCUL
+    // ================================
+
+    private byte computeMask(int x, int y) {
+        int mask = 0;
+        for (int d = 0; d < 4; d++) {
+            if (isWalkable(x + DIRECTIONS[d][0], y + DIRECTIONS[d][1])) {
+                mask |= 1 << d;
+            }
+        }
+        for (int d = 4; d < DIRECTION_COUNT; d++) {
+            int dx = DIRECTIONS[d][0];
+            int dy = DIRECTIONS[d][1];
+            if (isWalkable(x + dx, y + dy) && isWalkable(x + dx, y) && isWalkable(x, y + dy)) {
+                mask |= 1 << d;
+            }
+        }
+        return (byte) mask;
+    }
+
+    private void checkWritable() {
+        if (isSnapshot()) {
+            throw new IllegalStateException("Copie figée de la praticabilité : lecture seule");
+        }
+    }
+
+    private void setBit(int index, boolean value) {
+        if (value) {
+            bits[index >>> 6] |= 1L << index;
+        } else {
+            bits[index >>> 6] &= ~(1L << index);
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package net.arkaine.pathfinding;
+
+import net.arkaine.model.WalkabilityGrid;
+
+import java.util.Arrays;
+
+/**
+ * Étiquetage des zones connexes de cases praticables.
+ *
+ * Les diagonales ne coupant jamais de coin, deux cases sont reliées en 8 directions
+ * si et seulement si elles le sont en 4 directions : l'étiquetage se fait donc en
+ * 4-connexité. Une requête d'accessibilité est une simple comparaison d'étiquettes.
+ *
+ * Mise à jour incrémentale :
+ *  - case ouverte : fusion des zones voisines (la plus petite est réétiquetée)
+ *  - case fermée : si ses voisins praticables restent reliés par l'anneau des 8 cases
+ *    qui l'entourent, rien ne change ; sinon la zone est réétiquetée depuis chaque
+ *    voisin (coût de la taille de la zone, seulement pour une case qui peut la couper)
+ * Les étiquettes des zones vidées sont recyclées.
+ */
+public final class ConnectivityIndex implements WalkabilityGrid.Listener {
+
+    private static final int BLOCKED = 0;
+    private static final int[][] ORTHOGONAL = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+    // Anneau autour d'une case, dans l'ordre ; les voisins orthogonaux sont aux indices impairs
+    private static final int[][] RING = {{-1, -1}, {0, -1}, {1, -1}, {1, 0}, {1, 1}, {0, 1}, {-1, 1}, {-1, 0}};
+
+    private WalkabilityGrid grid;
+    private long gridVersion = -1;
+    private int[] labels = new int[0];
+    private int[] componentSizes = new int[16];
+    private int nextLabel = 1;
+    private int[] freeLabels = new int[16];
+    private int freeCount = 0;
+    private final int[] freshLabels = new int[4];
+    private int[] queue = new int[0];
+
+    /**
+     * Vrai si la destination est dans la même zone que le départ.
+     * Un départ hors zone (case bloquée) est considéré comme accessible : A* tranchera.
+     */
+    public boolean isReachable(WalkabilityGrid grid, int startX, int startY, int goalX, int goalY) {
+        sync(grid);
+        if (!grid.isWalkable(goalX, goalY)) return false;
+        if (!grid.isWalkable(startX, startY)) return true;
+
+        int height = grid.getHeight();
+        return labels[startX * height + startY] == labels[goalX * height + goalY];
+    }
+
+    /** Étiquette de zone de la case (0 si bloquée ou hors carte) */
+    public int componentAt(WalkabilityGrid grid, int x, int y) {
+        sync(grid);
+        return grid.isWalkable(x, y) ? labels[x * grid.getHeight() + y] : BLOCKED;
+    }
+
+    public int componentSize(int label) {
+        return label > 0 && label < nextLabel ? componentSizes[label] : 0;
+    }
+
+    /** Nombre de zones non vides */
+    public int getComponentCount() {
+        int count = 0;
+        for (int label = 1; label < nextLabel; label++) {
+            if (componentSizes[label] > 0) count++;
+        }
+        return count;
+    }
+
+    /**
+     * Reconstruit l'index si la grille a été remplacée ou a changé sans nous prévenir
+     */
+    public void sync(WalkabilityGrid current) {
+        if (current != grid || current.getVersion() != gridVersion) {
+            rebuild(current);
+        }
+    }
+
+    public void rebuild(WalkabilityGrid current) {
+        grid = current;
+        gridVersion = current.getVersion();
+        int size = current.size();
+        if (labels.length != size) {
+            labels = new int[size];
+            queue = new int[size];
+        } else {
+            Arrays.fill(labels, BLOCKED);
+        }
+        nextLabel = 1;
+        freeCount = 0;
+
+        for (int i = 0; i < size; i++) {
+            if (labels[i] == BLOCKED && current.isWalkableIndex(i)) {
+                flood(i, newLabel());
+            }
+        }
+    }
+
+    @Override
+    public void onWalkabilityChanged(WalkabilityGrid source, int x, int y, boolean walkable) {
+        if (source != grid || source.getVersion() != gridVersion + 1) {
+            // Index déjà périmé : il sera reconstruit à la prochaine requête
+            return;
+        }
+        gridVersion = source.getVersion();
+
+        if (walkable) {
+            onTileOpened(x, y);
+        } else {
+            onTileClosed(x, y);
+        }
+    }
+
+    // ================================
+    // MISE À JOUR INCRÉMENTALE
+    // ================================
+
+    private void onTileOpened(int x, int y) {
+        int height = grid.getHeight();
+        int index = x * height + y;
+
+        // Zone voisine la plus grande : elle garde son étiquette
+        int keep = BLOCKED;
+        for (int[] dir : ORTHOGONAL) {
+            int label = neighbourLabel(x + dir[0], y + dir[1]);
+            if (label != BLOCKED && (keep == BLOCKED || componentSizes[label] > componentSizes[keep])) {
+                keep = label;
+            }
+        }
+
+        if (keep == BLOCKED) {
+            labels[index] = newLabel();
+            componentSizes[labels[index]] = 1;
+            return;
+        }
+
+        labels[index] = keep;
+        componentSizes[keep]++;
+        for (int[] dir : ORTHOGONAL) {
+            int label = neighbourLabel(x + dir[0], y + dir[1]);
+            if (label != BLOCKED && label != keep) {
+                componentSizes[label] = 0;
+                flood((x + dir[0]) * height + y + dir[1], keep);
+                releaseLabel(label);
+            }
+        }
+    }
+
+    private void onTileClosed(int x, int y) {
+        int height = grid.getHeight();
+        int index = x * height + y;
+        int oldLabel = labels[index];
+        labels[index] = BLOCKED;
+        if (oldLabel == BLOCKED) return;
+        if (--componentSizes[oldLabel] == 0) {
+            releaseLabel(oldLabel);
+            return;
+        }
+        if (!mayDisconnect(x, y)) return;
+
+        // Chaque voisin pas encore réétiqueté démarre une nouvelle zone ;
+        // si la case ne coupait rien, le premier remplissage les couvre tous
+        componentSizes[oldLabel] = 0;
+        int freshCount = 0;
+        for (int[] dir : ORTHOGONAL) {
+            int nx = x + dir[0];
+            int ny = y + dir[1];
+            if (!grid.isWalkable(nx, ny)) continue;
+
+            int neighbour = nx * height + ny;
+            if (!isFresh(labels[neighbour], freshCount)) {
+                int label = newLabel();
+                freshLabels[freshCount++] = label;
+                flood(neighbour, label);
+            }
+        }
+        releaseLabel(oldLabel);
+    }
+
+    /**
+     * Faux si les voisins orthogonaux praticables de la case restent reliés entre eux par
+     * l'anneau des 8 cases qui l'entourent (la fermer ne coupe alors rien)
+     */
+    private boolean mayDisconnect(int x, int y) {
+        int firstBlocked = -1;
+        for (int i = 0; i < RING.length; i++) {
+            if (!grid.isWalkable(x + RING[i][0], y + RING[i][1])) {
+                firstBlocked = i;
+                break;
+            }
+        }
+        if (firstBlocked < 0) return false; // anneau entièrement praticable
+
+        // Suites de cases praticables de l'anneau contenant au moins un voisin orthogonal
+        int runs = 0;
+        boolean inRun = false;
+        boolean runHasNeighbour = false;
+        for (int k = 1; k <= RING.length; k++) {
+            int i = (firstBlocked + k) % RING.length;
+            if (grid.isWalkable(x + RING[i][0], y + RING[i][1])) {
+                if (!inRun) {
+                    inRun = true;
+                    runHasNeighbour = false;
+                }
+                if ((i & 1) == 1) runHasNeighbour = true;
+            } else if (inRun) {
+                inRun = false;
+                if (runHasNeighbour) runs++;
+            }
+        }
+        return runs > 1;
+    }
+
+    private boolean isFresh(int label, int freshCount) {
+        for (int i = 0; i < freshCount; i++) {
+            if (freshLabels[i] == label) return true;
+        }
+        return false;
+    }
+
+    private int neighbourLabel(int x, int y) {
+        return grid.isWalkable(x, y) ? labels[x * grid.getHeight() + y] : BLOCKED;
+    }
+
+    // ================================
+    // REMPLISSAGE
+    // ================================
+
+    private int newLabel() {
+        if (freeCount > 0) {
+            int label = freeLabels[--freeCount];
+            componentSizes[label] = 0;
+            return label;
+        }
+        if (nextLabel == componentSizes.length) {
+            componentSizes = Arrays.copyOf(componentSizes, componentSizes.length * 2);
+        }
+        componentSizes[nextLabel] = 0;
+        return nextLabel++;
+    }
+
+    /** Étiquette d'une zone vidée, réutilisée par la prochaine zone créée */
+    private void releaseLabel(int label) {
+        if (freeCount == freeLabels.length) {
+            freeLabels = Arrays.copyOf(freeLabels, freeCount * 2);
+        }
+        freeLabels[freeCount++] = label;
+    }
+
+    /**
+     * Étiquette toute la zone 4-connexe de start (cases d'étiquette différente de label)
+     */
+    private void flood(int start, int label) {
+        int height = grid.getHeight();
+        int width = grid.getWidth();
+        int head = 0;
+        int tail = 0;
+        labels[start] = label;
+        queue[tail++] = start;
+
+        while (head < tail) {
+            int node = queue[head++];
+            int x = node / height;
+            int y = node - x * height;
+
+            if (x > 0) tail = visit(node - height, label, tail);
+            if (x < width - 1) tail = visit(node + height, label, tail);
+            if (y > 0) tail = visit(node - 1, label, tail);
+            if (y < height - 1) tail = visit(node + 1, label, tail);
+        }
+        componentSizes[label] += tail;
+    }
+
+    private int visit(int node, int label, int tail) {
+        if (labels[node] != label && grid.isWalkableIndex(node)) {
+            labels[node] = label;
+            queue[tail++] = node;
+        }
+        return tail;
+    }
+}
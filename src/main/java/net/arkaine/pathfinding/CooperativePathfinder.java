@@ -0,0 +1,234 @@
+package net.arkaine.pathfinding;
+
+import net.arkaine.model.WalkabilityGrid;
+
+/**
+ * A* espace-temps à fenêtre (WHCA*, Silver 2005) pour un agent parmi d'autres.
+ *
+ * Les états sont (case, pas de temps) sur les window prochains pas ; un agent peut
+ * attendre sur place ou se déplacer, un déplacement durant stepsPerTile pas (×1.414 en
+ * diagonale). Un état n'est accessible que si les créneaux correspondants sont libres
+ * dans la table de réservations, et l'échange de cases avec un autre agent est interdit.
+ * L'heuristique est la vraie distance du champ de distances de la destination
+ * (équivalent du « Reverse Resumable A* » de l'article), convertie en pas.
+ *
+ * La recherche s'arrête au premier état qui dépasse la fenêtre, ou sur la destination
+ * si l'agent peut y stationner jusqu'au bout de la fenêtre. Le trajet trouvé est
+ * réservé pour l'agent à la place de l'ancien (ses propres créneaux comptent comme
+ * libres pendant la recherche). Sans trajet, l'agent garde ses réservations précédentes,
+ * ou à défaut sa case courante tant qu'elle est libre. Une instance n'est pas partagée
+ * entre threads.
+ */
+public final class CooperativePathfinder {
+
+    private int radius;
+    private int side;
+    private int depth;
+    private int[] parent = new int[0];
+    private int[] stamp = new int[0];
+    private int generation = 0;
+    private IntMinHeap open = new IntMinHeap(0);
+
+    // Dernier trajet : points d'appui (attentes fusionnées), instants d'arrivée et de départ
+    private int[] tiles = new int[16];
+    private long[] arrivals = new long[16];
+    private long[] departures = new long[16];
+    private int length = 0;
+
+    private int expansions;
+    private long lastPlanNanos;
+
+    /**
+     * Planifie et réserve le trajet de l'agent owner depuis (startX, startY) à l'instant
+     * startStep ; faux si aucun trajet ne respecte les réservations
+     */
+    public boolean plan(WalkabilityGrid grid, ReservationTable table, int owner,
+                        int startX, int startY, long startStep,
+                        DistanceField heuristic, int window, int stepsPerTile) {
+        long begin = System.nanoTime();
+        expansions = 0;
+        length = 0;
+
+        int height = grid.getHeight();
+        int diagonalSteps = Math.max(1, (int) Math.round(stepsPerTile * PathCosts.DIAGONAL / (double) PathCosts.STRAIGHT));
+        prepare(window / stepsPerTile + 1, window + diagonalSteps + 1);
+
+        int best = -1;
+        if (grid.isWalkable(startX, startY) && heuristic.distanceAt(startX, startY) != DistanceField.UNREACHED) {
+            push(state(0, radius, radius), 0, heuristicSteps(heuristic, startX, startY, stepsPerTile), -1);
+        }
+
+        int plane = side * side;
+        while (!open.isEmpty()) {
+            int current = open.pop();
+            expansions++;
+            int t = current / plane;
+            int x = startX + (current % plane) / side - radius;
+            int y = startY + current % side - radius;
+            int tile = x * height + y;
+
+            if (t >= window || (heuristic.distanceAt(x, y) == 0 && canPark(table, owner, tile, startStep, t))) {
+                best = current;
+                break;
+            }
+
+            // Attendre sur place
+            if (table.isFree(tile, startStep + t + 1, owner)) {
+                push(current + plane, t + 1, heuristicSteps(heuristic, x, y, stepsPerTile), current);
+            }
+
+            int mask = grid.neighbourMaskIndex(tile);
+            while (mask != 0) {
+                int d = Integer.numberOfTrailingZeros(mask);
+                mask &= mask - 1;
+
+                int nx = x + WalkabilityGrid.DIRECTIONS[d][0];
+                int ny = y + WalkabilityGrid.DIRECTIONS[d][1];
+                if (Math.abs(nx - startX) > radius || Math.abs(ny - startY) > radius) continue;
+                if (heuristic.distanceAt(nx, ny) == DistanceField.UNREACHED) continue;
+
+                int arrival = t + (d < 4 ? stepsPerTile : diagonalSteps);
+                int next = tile + grid.directionOffset(d);
+                if (!canMove(table, owner, tile, next, startStep + t, startStep + arrival)) continue;
+
+                push(state(arrival, nx - startX + radius, ny - startY + radius), arrival,
+                        heuristicSteps(heuristic, nx, ny, stepsPerTile), current);
+            }
+        }
+
+        if (best >= 0) {
+            extract(best, startX, startY, startStep, height);
+            table.release(owner);
+            // La dernière case reste à l'agent une fenêtre de plus, si la replanification échoue
+            reserve(table, owner, startStep + depth - 1 + window);
+        } else if (!table.hasReservations(owner) && grid.isWalkable(startX, startY)) {
+            // Bloqué sans trajet précédent : l'agent attend sur place, tant que sa case est libre
+            int tile = startX * height + startY;
+            for (long step = startStep; step < startStep + depth && table.reserve(tile, step, owner); step++) {
+            }
+        }
+        lastPlanNanos = System.nanoTime() - begin;
+        return best >= 0;
+    }
+
+    // ================================
+    // RECHERCHE
+    // ================================
+
+    private void prepare(int radius, int depth) {
+        this.radius = radius;
+        this.side = 2 * radius + 1;
+        this.depth = depth;
+        int states = side * side * depth;
+        if (parent.length < states) {
+            parent = new int[states];
+            stamp = new int[states];
+            open = new IntMinHeap(states);
+            generation = 0;
+        }
+        open.clear();
+        generation++;
+    }
+
+    private int state(int t, int localX, int localY) {
+        return (t * side + localX) * side + localY;
+    }
+
+    /**
+     * Clé : f = t + h, puis les états les plus avancés dans le temps d'abord
+     */
+    private void push(int state, int t, int h, int from) {
+        if (t >= depth || stamp[state] == generation) return;
+        stamp[state] = generation;
+        parent[state] = from;
+        open.pushOrDecrease(state, ((long) (t + h) << 32) | (depth - t));
+    }
+
+    private static int heuristicSteps(DistanceField heuristic, int x, int y, int stepsPerTile) {
+        return (int) ((long) heuristic.distanceAt(x, y) * stepsPerTile / PathCosts.STRAIGHT);
+    }
+
+    /**
+     * Déplacement de tile vers next entre from et to : la case visée est libre pendant
+     * tout le trajet, la case quittée jusqu'à l'arrivée, et pas d'échange face à face
+     */
+    private static boolean canMove(ReservationTable table, int owner, int tile, int next, long from, long to) {
+        for (long step = from + 1; step <= to; step++) {
+            if (!table.isFree(next, step, owner)) return false;
+            if (step < to && !table.isFree(tile, step, owner)) return false;
+        }
+        int other = table.ownerAt(next, from);
+        return other == ReservationTable.FREE || other == owner || table.ownerAt(tile, from + 1) != other;
+    }
+
+    /** Vrai si l'agent peut rester sur la case de t jusqu'au bout de la fenêtre */
+    private boolean canPark(ReservationTable table, int owner, int tile, long startStep, int t) {
+        for (int step = t; step < depth; step++) {
+            if (!table.isFree(tile, startStep + step, owner)) return false;
+        }
+        return true;
+    }
+
+    // ================================
+    // RÉSULTAT
+    // ================================
+
+    private void extract(int last, int startX, int startY, long startStep, int height) {
+        int plane = side * side;
+        int count = 0;
+        for (int s = last; s >= 0; s = parent[s]) count++;
+        if (tiles.length < count) {
+            tiles = new int[count];
+            arrivals = new long[count];
+            departures = new long[count];
+        }
+
+        // Remonter les parents, puis fusionner les attentes dans le point d'appui précédent
+        int[] states = new int[count];
+        int i = count;
+        for (int s = last; s >= 0; s = parent[s]) states[--i] = s;
+
+        int previousTile = -1;
+        long previousStep = 0;
+        for (int s : states) {
+            int t = s / plane;
+            int tile = (startX + (s % plane) / side - radius) * height + (startY + s % side - radius);
+            if (tile != previousTile) {
+                tiles[length] = tile;
+                arrivals[length] = startStep + t;
+                departures[length] = previousStep;
+                length++;
+                previousTile = tile;
+            }
+            previousStep = startStep + t;
+        }
+        departures[0] = startStep;
+    }
+
+    /**
+     * Réserve chaque case du départ vers elle jusqu'à l'arrivée suivante, la dernière jusqu'à lastStep
+     */
+    private void reserve(ReservationTable table, int owner, long lastStep) {
+        for (int i = 0; i < length; i++) {
+            long from = i == 0 ? arrivals[0] : departures[i] + 1;
+            long to = i + 1 < length ? arrivals[i + 1] - 1 : lastStep;
+            for (long step = from; step <= to; step++) {
+                table.reserve(tiles[i], step, owner);
+            }
+        }
+    }
+
+    /** Nombre de points d'appui du dernier trajet (départ compris) */
+    public int getLength() { return length; }
+
+    public int tileAt(int index) { return tiles[index]; }
+
+    /** Pas où l'agent arrive sur le point d'appui */
+    public long arrivalAt(int index) { return arrivals[index]; }
+
+    /** Pas où l'agent quitte le point d'appui précédent pour rejoindre celui-ci */
+    public long departureAt(int index) { return departures[index]; }
+
+    public int getExpansions() { return expansions; }
+    public double getLastPlanMillis() { return lastPlanNanos / 1_000_000.0; }
+}
@@ -0,0 +1,212 @@
+package net.arkaine.pathfinding;
+
+import net.arkaine.model.WalkabilityGrid;
+
+import java.util.Arrays;
+
+/**
+ * D* Lite (Koenig et Likhachev) pour un trajet en cours : destination fixe, départ mobile.
+ *
+ * La recherche part de la destination et garde son état (g, rhs, file) entre deux
+ * replanifications. Quand une case change (porte, mur détruit), seuls les sommets dont
+ * les arcs passent par elle sont remis en file ; replan() ne répare que la partie du
+ * champ touchée. Mêmes coûts et même règle de déplacement que A*, chemins optimaux.
+ *
+ * Une instance suit une destination sur une grille vivante ; elle n'est pas partagée
+ * entre threads.
+ */
+public final class DStarLite {
+
+    private static final int INFINITE = Integer.MAX_VALUE / 4;
+
+    private WalkabilityGrid grid;
+    private int width;
+    private int height;
+    private int[] g = new int[0];
+    private int[] rhs = new int[0];
+    private IntMinHeap open = new IntMinHeap(0);
+
+    private int start = -1;
+    private int goal = -1;
+    private int lastStart;
+    private int km;
+    private int expansions;
+    private long lastReplanNanos;
+
+    /**
+     * Initialise la recherche vers (goalX, goalY) depuis (startX, startY) et calcule le chemin
+     */
+    public GridPath plan(WalkabilityGrid grid, int startX, int startY, int goalX, int goalY) {
+        this.grid = grid;
+        width = grid.getWidth();
+        height = grid.getHeight();
+        int size = grid.size();
+        if (g.length != size) {
+            g = new int[size];
+            rhs = new int[size];
+            open = new IntMinHeap(size);
+        }
+        Arrays.fill(g, INFINITE);
+        Arrays.fill(rhs, INFINITE);
+        open.clear();
+
+        start = startX * height + startY;
+        goal = goalX * height + goalY;
+        lastStart = start;
+        km = 0;
+        if (grid.isWalkableIndex(goal)) {
+            rhs[goal] = 0;
+            open.update(goal, key(goal));
+        }
+        return replan();
+    }
+
+    /** Vrai si l'instance suit cette destination sur cette grille */
+    public boolean isPlanning(WalkabilityGrid grid, int goalX, int goalY) {
+        return this.grid == grid && goal == goalX * height + goalY;
+    }
+
+    /**
+     * Le départ a avancé jusqu'à (x, y)
+     */
+    public void moveStart(int x, int y) {
+        int tile = x * height + y;
+        if (tile == start) return;
+        start = tile;
+        km += heuristic(lastStart, start);
+        lastStart = start;
+    }
+
+    /**
+     * La praticabilité de (x, y) a changé : les arcs du voisinage 3x3 sont à revoir
+     * (une diagonale dépend aussi des deux cases orthogonales qu'elle longe)
+     */
+    public void tileChanged(int x, int y) {
+        for (int nx = Math.max(0, x - 1); nx <= Math.min(width - 1, x + 1); nx++) {
+            for (int ny = Math.max(0, y - 1); ny <= Math.min(height - 1, y + 1); ny++) {
+                updateVertex(nx * height + ny);
+            }
+        }
+    }
+
+    /**
+     * Répare le champ et renvoie le chemin courant depuis le départ (vide si inaccessible)
+     */
+    public GridPath replan() {
+        long begin = System.nanoTime();
+        expansions = 0;
+        computeShortestPath();
+        lastReplanNanos = System.nanoTime() - begin;
+        return extractPath();
+    }
+
+    // ================================
+    // ALGORITHME
+    // ================================
+
+    private long key(int node) {
+        long best = Math.min(g[node], rhs[node]);
+        long k1 = Math.min(INFINITE * 2L, best + heuristic(start, node) + km);
+        return (k1 << 32) | best;
+    }
+
+    private int heuristic(int a, int b) {
+        return PathCosts.octile(a / height, a % height, b / height, b % height);
+    }
+
+    private void updateVertex(int node) {
+        if (node != goal) {
+            int best = INFINITE;
+            int mask = grid.neighbourMaskIndex(node);
+            while (mask != 0) {
+                int d = Integer.numberOfTrailingZeros(mask);
+                mask &= mask - 1;
+                int next = node + grid.directionOffset(d);
+                if (g[next] < INFINITE) {
+                    best = Math.min(best, g[next] + PathCosts.stepCost(d));
+                }
+            }
+            rhs[node] = best;
+        }
+        if (g[node] != rhs[node]) {
+            open.update(node, key(node));
+        } else {
+            open.remove(node);
+        }
+    }
+
+    private void computeShortestPath() {
+        while (!open.isEmpty() && (open.peekKey() < key(start) || rhs[start] != g[start])) {
+            long oldKey = open.peekKey();
+            int node = open.pop();
+            long newKey = key(node);
+            expansions++;
+
+            if (oldKey < newKey) {
+                open.update(node, newKey);
+            } else if (g[node] > rhs[node]) {
+                g[node] = rhs[node];
+                updatePredecessors(node);
+            } else {
+                g[node] = INFINITE;
+                updatePredecessors(node);
+                updateVertex(node);
+            }
+        }
+    }
+
+    /**
+     * Met à jour les cases qui ont un arc vers node
+     */
+    private void updatePredecessors(int node) {
+        for (int d = 0; d < WalkabilityGrid.DIRECTION_COUNT; d++) {
+            int px = node / height - WalkabilityGrid.DIRECTIONS[d][0];
+            int py = node % height - WalkabilityGrid.DIRECTIONS[d][1];
+            if (px < 0 || px >= width || py < 0 || py >= height) continue;
+            int predecessor = px * height + py;
+            if ((grid.neighbourMaskIndex(predecessor) & (1 << d)) != 0) {
+                updateVertex(predecessor);
+            }
+        }
+    }
+
+    private GridPath extractPath() {
+        if (g[start] >= INFINITE && rhs[start] >= INFINITE) {
+            return GridPath.empty(height, expansions);
+        }
+
+        int[] tiles = new int[64];
+        int length = 0;
+        int cost = 0;
+        int node = start;
+        tiles[length++] = node;
+        while (node != goal) {
+            int best = -1;
+            int bestCost = INFINITE;
+            int bestStep = 0;
+            int mask = grid.neighbourMaskIndex(node);
+            while (mask != 0) {
+                int d = Integer.numberOfTrailingZeros(mask);
+                mask &= mask - 1;
+                int next = node + grid.directionOffset(d);
+                int candidate = g[next] + PathCosts.stepCost(d);
+                if (g[next] < INFINITE && candidate < bestCost) {
+                    bestCost = candidate;
+                    best = next;
+                    bestStep = PathCosts.stepCost(d);
+                }
+            }
+            if (best < 0 || length > grid.size()) {
+                return GridPath.empty(height, expansions);
+            }
+            if (length == tiles.length) tiles = Arrays.copyOf(tiles, length * 2);
+            tiles[length++] = best;
+            cost += bestStep;
+            node = best;
+        }
+        return new GridPath(Arrays.copyOf(tiles, length), height, cost, expansions);
+    }
+
+    public int getExpansions() { return expansions; }
+    public double getLastReplanMillis() { return lastReplanNanos / 1_000_000.0; }
+}
@@ -0,0 +1,133 @@
+package net.arkaine.pathfinding;
+
+import net.arkaine.model.WalkabilityGrid;
+
+import java.util.Arrays;
+
+/**
+ * Champ de distances multi-sources sur la grille de praticabilité.
+ *
+ * Un seul Dijkstra (mêmes coûts que A*) depuis toutes les sources donne, pour chaque
+ * case, la distance à la source la plus proche et l'identité de cette source. Un agent
+ * rejoint sa source en descendant le gradient : O(1) par pas, quel que soit le nombre
+ * d'agents qui partagent le champ.
+ */
+public final class DistanceField {
+
+    public static final int UNREACHED = Integer.MAX_VALUE;
+
+    private int width;
+    private int height;
+    private int[] distance = new int[0];
+    private int[] source = new int[0];
+    private int[] stamp = new int[0];  // distance valide si stamp == generation
+    private int generation = 0;
+    private IntMinHeap heap = new IntMinHeap(0);
+    private int reachedCount;
+    private long lastComputeNanos;
+
+    /**
+     * Recalcule le champ depuis les cases sources (indices), jusqu'à maxCost
+     */
+    public void compute(WalkabilityGrid grid, int[] sources, int sourceCount, int maxCost) {
+        long begin = System.nanoTime();
+        width = grid.getWidth();
+        height = grid.getHeight();
+        int size = grid.size();
+        if (distance.length != size) {
+            distance = new int[size];
+            source = new int[size];
+            stamp = new int[size];
+            heap = new IntMinHeap(size);
+            generation = 0;
+        }
+        if (++generation == Integer.MAX_VALUE) {
+            Arrays.fill(stamp, 0);
+            generation = 1;
+        }
+        heap.clear();
+        reachedCount = 0;
+
+        for (int i = 0; i < sourceCount; i++) {
+            int tile = sources[i];
+            if (tile < 0 || tile >= size || !grid.isWalkableIndex(tile)) continue;
+            distance[tile] = 0;
+            source[tile] = tile;
+            stamp[tile] = generation;
+            heap.pushOrDecrease(tile, 0);
+        }
+
+        while (!heap.isEmpty()) {
+            int current = heap.pop();
+            reachedCount++;
+            int currentDistance = distance[current];
+            int mask = grid.neighbourMaskIndex(current);
+            while (mask != 0) {
+                int d = Integer.numberOfTrailingZeros(mask);
+                mask &= mask - 1;
+
+                int next = current + grid.directionOffset(d);
+                int cost = currentDistance + PathCosts.stepCost(d);
+                if (cost <= maxCost && cost < distanceAtIndex(next)) {
+                    stamp[next] = generation;
+                    distance[next] = cost;
+                    source[next] = source[current];
+                    heap.pushOrDecrease(next, cost);
+                }
+            }
+        }
+        lastComputeNanos = System.nanoTime() - begin;
+    }
+
+    // ================================
+    // LECTURE
+    // ================================
+
+    public int distanceAt(int x, int y) {
+        return isInside(x, y) ? distanceAtIndex(x * height + y) : UNREACHED;
+    }
+
+    private int distanceAtIndex(int tile) {
+        return stamp[tile] == generation ? distance[tile] : UNREACHED;
+    }
+
+    /** Case source la plus proche, -1 si la case n'est pas atteinte */
+    public int sourceAt(int x, int y) {
+        return distanceAt(x, y) != UNREACHED ? source[x * height + y] : -1;
+    }
+
+    /**
+     * Voisin praticable le plus proche de la source (descente du gradient) ;
+     * -1 si la case est une source, hors champ ou sans voisin plus proche
+     */
+    public int nextStep(WalkabilityGrid grid, int x, int y) {
+        if (!isInside(x, y) || grid.getHeight() != height) return -1;
+
+        int tile = x * height + y;
+        int best = -1;
+        int bestDistance = distanceAtIndex(tile);
+        if (bestDistance == UNREACHED || bestDistance == 0) return -1;
+
+        int mask = grid.neighbourMaskIndex(tile);
+        while (mask != 0) {
+            int d = Integer.numberOfTrailingZeros(mask);
+            mask &= mask - 1;
+
+            int next = tile + grid.directionOffset(d);
+            int nextDistance = distanceAtIndex(next);
+            if (nextDistance < bestDistance) {
+                bestDistance = nextDistance;
+                best = next;
+            }
+        }
+        return best;
+    }
+
+    private boolean isInside(int x, int y) {
+        return x >= 0 && x < width && y >= 0 && y < height;
+    }
+
+    public int getHeight() { return height; }
+    public int getReachedCount() { return reachedCount; }
+    public double getLastComputeMillis() { return lastComputeNanos / 1_000_000.0; }
+}
@@ -0,0 +1,51 @@
+package net.arkaine.pathfinding;
+
+/**
+ * Chemin compact sur la grille : indices de cases (x * hauteur + y), départ inclus.
+ *
+ * Les coûts sont entiers, en millièmes de case (1000 orthogonal, 1414 diagonal).
+ */
+public final class GridPath {
+
+    private static final int[] NO_TILES = new int[0];
+
+    private final int[] tiles;
+    private final int height;
+    private final int cost;
+    private final int expansions;
+
+    public GridPath(int[] tiles, int height, int cost, int expansions) {
+        this.tiles = tiles;
+        this.height = height;
+        this.cost = cost;
+        this.expansions = expansions;
+    }
+
+    /** Chemin vide (destination inaccessible) */
+    public static GridPath empty(int height, int expansions) {
+        return new GridPath(NO_TILES, height, 0, expansions);
+    }
+
+    public boolean isEmpty() { return tiles.length == 0; }
+    public int length() { return tiles.length; }
+
+    public int tileAt(int i) { return tiles[i]; }
+    public int xAt(int i) { return tiles[i] / height; }
+    public int yAt(int i) { return tiles[i] % height; }
+
+    public int lastTile() { return tiles[tiles.length - 1]; }
+
+    /** Coût total en millièmes de case */
+    public int getCost() { return cost; }
+
+    /** Longueur du chemin en cases (diagonale = 1.414) */
+    public double getDistance() { return cost / (double) PathCosts.STRAIGHT; }
+
+    /** Nombre de nœuds développés par la recherche */
+    public int getExpansions() { return expansions; }
+
+    public int getHeight() { return height; }
+
+    /** Copie des indices de cases */
+    public int[] toArray() { return tiles.clone(); }
+}
@@ -0,0 +1,79 @@
+package net.arkaine.pathfinding;
+
+import net.arkaine.model.WalkabilityGrid;
+
+/**
+ * A* sur les indices de cases, sans allocation pendant la recherche.
+ *
+ * Les voisins viennent des masques de WalkabilityGrid (diagonales sans couper
+ * les coins) ; heuristique octile, coûts entiers de PathCosts.
+ */
+public final class GridPathfinder implements PathEngine {
+
+    @Override
+    public GridPath findPath(WalkabilityGrid grid, int startX, int startY, int goalX, int goalY) {
+        return findPath(grid, startX, startY, goalX, goalY, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Idem, en abandonnant après maxExpansions nœuds développés : renvoie alors null
+     * (recherche à reprendre), à distinguer d'un chemin vide (arrivée inaccessible)
+     */
+    public GridPath findPath(WalkabilityGrid grid, int startX, int startY, int goalX, int goalY, int maxExpansions) {
+        int height = grid.getHeight();
+        if (!grid.isWalkable(goalX, goalY)
+                || startX < 0 || startX >= grid.getWidth() || startY < 0 || startY >= height) {
+            return GridPath.empty(height, 0);
+        }
+
+        SearchWorkspace ws = SearchWorkspace.get(grid.size());
+        IntMinHeap open = ws.heap;
+        int start = startX * height + startY;
+        int goal = goalX * height + goalY;
+        int expansions = 0;
+
+        int startH = PathCosts.octile(startX, startY, goalX, goalY);
+        ws.open(start, 0, -1);
+        open.pushOrDecrease(start, SearchWorkspace.key(startH, startH));
+
+        while (!open.isEmpty()) {
+            int current = open.pop();
+            if (current == goal) {
+                return ws.buildPath(goal, height, expansions);
+            }
+            if (expansions == maxExpansions) {
+                return null;
+            }
+            ws.close(current);
+            expansions++;
+
+            int cx = current / height;
+            int cy = current - cx * height;
+            int currentG = ws.g[current];
+            int mask = grid.neighbourMaskIndex(current);
+
+            while (mask != 0) {
+                int d = Integer.numberOfTrailingZeros(mask);
+                mask &= mask - 1;
+
+                int next = current + grid.directionOffset(d);
+                if (ws.isClosed(next)) continue;
+
+                int nextG = currentG + PathCosts.stepCost(d);
+                if (!ws.isSeen(next) || nextG < ws.g[next]) {
+                    ws.open(next, nextG, current);
+                    int h = PathCosts.octile(cx + WalkabilityGrid.DIRECTIONS[d][0],
+                            cy + WalkabilityGrid.DIRECTIONS[d][1], goalX, goalY);
+                    open.pushOrDecrease(next, SearchWorkspace.key(nextG + h, h));
+                }
+            }
+        }
+
+        return GridPath.empty(height, expansions);
+    }
+
+    @Override
+    public String getName() {
+        return "A*";
+    }
+}
@@ -0,0 +1,626 @@
+package net.arkaine.pathfinding;
+
+import net.arkaine.model.WalkabilityGrid;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Pathfinding hiérarchique (HPA*) pour les grandes cartes.
+ *
+ * La carte est découpée en clusters carrés. Sur chaque frontière entre deux clusters,
+ * les plages de cases libres des deux côtés forment des entrées (une transition au
+ * milieu, ou une à chaque bout si la plage est longue). Les cases de transition sont
+ * les nœuds du graphe abstrait ; les distances entre nœuds d'un même cluster sont
+ * précalculées par une recherche limitée au cluster.
+ *
+ * Une requête relie départ et arrivée aux nœuds de leur cluster et cherche dans le
+ * graphe abstrait. route() renvoie cette route sous forme de curseur (HierarchicalRoute)
+ * qui ne détaille, par une recherche locale, que le tronçon suivant quand on l'avance :
+ * c'est ce qu'utilise la file de pathfinding des ennemis pour les longs trajets.
+ * findPath détaille toute la route d'un coup (contrat de PathEngine). Les chemins sont
+ * quasi optimaux (les tronçons restent dans leur cluster).
+ *
+ * Un changement de praticabilité ne reconstruit que le cluster touché et, si la case
+ * est sur un bord, la frontière et le cluster voisin.
+ */
+public final class HierarchicalPathfinder implements PathEngine, WalkabilityGrid.Listener {
+
+    public static final int DEFAULT_CLUSTER_SIZE = 16;
+
+    private static final int INFINITE = Integer.MAX_VALUE;
+    private static final int LONG_ENTRANCE = 6;
+    private static final int[] NO_TILES = new int[0];
+
+    private final int clusterSize;
+
+    private WalkabilityGrid grid;
+    private long gridVersion = -1;
+    private int width;
+    private int height;
+    private int clustersX;
+    private int clustersY;
+
+    // Transitions par frontière, en paires (case de ce cluster, case du voisin)
+    private int[][] eastTransitions;   // frontière avec le cluster x + 1
+    private int[][] southTransitions;  // frontière avec le cluster y + 1
+
+    // Graphe abstrait par cluster
+    private int[][] clusterNodes;       // cases des nœuds
+    private int[][][] clusterPartners;  // cases reliées de l'autre côté d'une frontière
+    private int[][] clusterDistances;   // distances n x n dans le cluster
+
+    // Invalidation : changements notifiés sans verrou, appliqués à la requête suivante
+    private final ConcurrentLinkedQueue<long[]> pendingChanges = new ConcurrentLinkedQueue<>();
+    private boolean[] dirtyClusters;
+    private boolean[] dirtyEast;
+    private boolean[] dirtySouth;
+    private boolean hasDirty;
+
+    // Recherche locale (limitée à un cluster)
+    private int[] localDist;
+    private int[] localParent;
+    private int[] localStamp;
+    private int localGeneration = 0;
+    private IntMinHeap localHeap;
+    private int localX0, localY0, localX1, localY1;
+    private int localExpansions;
+
+    // Liaison départ/arrivée pour la requête en cours
+    private int queryStart, queryGoal;
+    private int startCluster, goalCluster;
+    private int[] startDistances = NO_TILES;
+    private int[] goalDistances = NO_TILES;
+    private int directDistance;
+
+    public HierarchicalPathfinder() {
+        this(DEFAULT_CLUSTER_SIZE);
+    }
+
+    public HierarchicalPathfinder(int clusterSize) {
+        if (clusterSize < 2) {
+            throw new IllegalArgumentException("Taille de cluster invalide: " + clusterSize);
+        }
+        this.clusterSize = clusterSize;
+        int area = clusterSize * clusterSize;
+        localDist = new int[area];
+        localParent = new int[area];
+        localStamp = new int[area];
+        localHeap = new IntMinHeap(area);
+    }
+
+    @Override
+    public String getName() {
+        return "HPA*";
+    }
+
+    // ================================
+    // REQUÊTES
+    // ================================
+
+    @Override
+    public synchronized GridPath findPath(WalkabilityGrid grid, int startX, int startY, int goalX, int goalY) {
+        HierarchicalRoute route = route(grid, startX, startY, goalX, goalY);
+        if (route.isEmpty()) {
+            return GridPath.empty(grid.getHeight(), route.getPlanExpansions());
+        }
+
+        // Détail de tous les tronçons, bout à bout
+        int[][] segments = new int[route.getWaypointCount() - 1][];
+        int length = 1;
+        int cost = 0;
+        int expansions = route.getPlanExpansions();
+        for (int i = 0; route.hasNextLeg(); i++) {
+            GridPath segment = route.nextLeg(grid);
+            if (segment.isEmpty()) {
+                return GridPath.empty(height, expansions);
+            }
+            segments[i] = segment.toArray();
+            length += segment.length() - 1;
+            cost += segment.getCost();
+            expansions += segment.getExpansions();
+        }
+
+        int[] tiles = new int[length];
+        tiles[0] = route.getStartTile();
+        int offset = 1;
+        for (int[] segment : segments) {
+            System.arraycopy(segment, 1, tiles, offset, segment.length - 1);
+            offset += segment.length - 1;
+        }
+        return new GridPath(tiles, height, cost, expansions);
+    }
+
+    /**
+     * Route abstraite du départ à l'arrivée, dont les tronçons sont détaillés à la demande
+     * (route vide si l'arrivée est inaccessible)
+     */
+    public synchronized HierarchicalRoute route(WalkabilityGrid walkability, int startX, int startY, int goalX, int goalY) {
+        int[] waypoints = planRoute(walkability, startX, startY, goalX, goalY);
+        return new HierarchicalRoute(this, waypoints, localExpansions);
+    }
+
+    /**
+     * Cases de passage du départ à l'arrivée (vide si inaccessible)
+     */
+    private int[] planRoute(WalkabilityGrid walkability, int startX, int startY, int goalX, int goalY) {
+        sync(walkability);
+        localExpansions = 0;
+        if (!walkability.isWalkable(goalX, goalY)
+                || startX < 0 || startX >= width || startY < 0 || startY >= height) {
+            return NO_TILES;
+        }
+
+        queryStart = startX * height + startY;
+        queryGoal = goalX * height + goalY;
+        if (queryStart == queryGoal) {
+            return new int[]{queryStart};
+        }
+        connectEndpoints();
+
+        SearchWorkspace ws = SearchWorkspace.get(grid.size());
+        IntMinHeap open = ws.heap;
+        int startH = PathCosts.octile(startX, startY, goalX, goalY);
+        ws.open(queryStart, 0, -1);
+        open.pushOrDecrease(queryStart, SearchWorkspace.key(startH, startH));
+
+        while (!open.isEmpty()) {
+            int current = open.pop();
+            if (current == queryGoal) {
+                return buildRoute(ws);
+            }
+            ws.close(current);
+            localExpansions++;
+
+            int cluster = clusterOf(current);
+            int currentG = ws.g[current];
+
+            // Depuis le départ : nœuds de son cluster, et l'arrivée si elle est dans le même
+            if (current == queryStart) {
+                int[] nodes = clusterNodes[startCluster];
+                for (int i = 0; i < nodes.length; i++) {
+                    relax(ws, current, nodes[i], currentG, startDistances[i]);
+                }
+                relax(ws, current, queryGoal, currentG, directDistance);
+            }
+
+            int nodeIndex = nodeIndex(cluster, current);
+            if (nodeIndex < 0) continue;
+
+            // Arêtes internes au cluster
+            int[] nodes = clusterNodes[cluster];
+            int[] distances = clusterDistances[cluster];
+            for (int j = 0; j < nodes.length; j++) {
+                if (j != nodeIndex) {
+                    relax(ws, current, nodes[j], currentG, distances[nodeIndex * nodes.length + j]);
+                }
+            }
+            // Passages de frontière
+            for (int partner : clusterPartners[cluster][nodeIndex]) {
+                relax(ws, current, partner, currentG, PathCosts.STRAIGHT);
+            }
+            // Vers l'arrivée si elle est dans ce cluster
+            if (cluster == goalCluster) {
+                relax(ws, current, queryGoal, currentG, goalDistances[nodeIndex]);
+            }
+        }
+        return NO_TILES;
+    }
+
+    /**
+     * Chemin case par case entre deux points consécutifs d'une route abstraite
+     */
+    synchronized GridPath refineSegment(WalkabilityGrid walkability, int fromTile, int toTile) {
+        sync(walkability);
+        int fromCluster = clusterOf(fromTile);
+        if (fromCluster != clusterOf(toTile)) {
+            // Passage de frontière : un seul pas orthogonal
+            return new GridPath(new int[]{fromTile, toTile}, height, PathCosts.STRAIGHT, 0);
+        }
+
+        localExpansions = 0;
+        setLocalBounds(fromCluster);
+        localSearch(fromTile, toTile);
+        int local = toLocal(toTile);
+        if (!isLocalSeen(local)) {
+            return GridPath.empty(height, localExpansions);
+        }
+
+        int length = 1;
+        for (int node = local; localParent[node] != -1; node = localParent[node]) length++;
+        int[] tiles = new int[length];
+        for (int node = local, i = length - 1; node != -1; node = localParent[node], i--) {
+            tiles[i] = toTile(node);
+        }
+        return new GridPath(tiles, height, localDist[local], localExpansions);
+    }
+
+    private void relax(SearchWorkspace ws, int from, int to, int fromG, int edgeCost) {
+        if (edgeCost == INFINITE || ws.isClosed(to)) return;
+        int g = fromG + edgeCost;
+        if (!ws.isSeen(to) || g < ws.g[to]) {
+            ws.open(to, g, from);
+            int h = PathCosts.octile(to / height, to % height, queryGoal / height, queryGoal % height);
+            ws.heap.pushOrDecrease(to, SearchWorkspace.key(g + h, h));
+        }
+    }
+
+    private int[] buildRoute(SearchWorkspace ws) {
+        int length = 0;
+        for (int node = queryGoal; node != -1; node = ws.parent[node]) length++;
+        int[] route = new int[length];
+        for (int node = queryGoal, i = length - 1; node != -1; node = ws.parent[node], i--) {
+            route[i] = node;
+        }
+        return route;
+    }
+
+    /**
+     * Distances locales du départ et de l'arrivée vers les nœuds de leur cluster
+     */
+    private void connectEndpoints() {
+        startCluster = clusterOf(queryStart);
+        goalCluster = clusterOf(queryGoal);
+
+        setLocalBounds(goalCluster);
+        localSearch(queryGoal, -1);
+        goalDistances = localDistancesTo(clusterNodes[goalCluster]);
+
+        setLocalBounds(startCluster);
+        localSearch(queryStart, -1);
+        startDistances = localDistancesTo(clusterNodes[startCluster]);
+        directDistance = startCluster == goalCluster && isLocalSeen(toLocal(queryGoal))
+                ? localDist[toLocal(queryGoal)] : INFINITE;
+    }
+
+    // ================================
+    // CONSTRUCTION ET INVALIDATION
+    // ================================
+
+    /**
+     * Une copie figée de même origine et de même version vaut la grille vivante :
+     * la hiérarchie n'est pas reconstruite quand les requêtes passent par des snapshots
+     */
+    private void sync(WalkabilityGrid current) {
+        applyPendingChanges(current);
+        if (grid != null && current.getOrigin() == grid.getOrigin() && current.getVersion() < gridVersion) {
+            // Copie figée antérieure au graphe (moteur partagé entre le jeu et le PathService) :
+            // le graphe sert tel quel plutôt que d'être reconstruit pour une version dépassée
+            return;
+        }
+        if (grid == null || current.getOrigin() != grid.getOrigin() || current.getVersion() != gridVersion) {
+            rebuild(current);
+            return;
+        }
+        grid = current;
+        if (hasDirty) {
+            rebuildDirty();
+        }
+    }
+
+    public synchronized void rebuild(WalkabilityGrid current) {
+        long begin = System.nanoTime();
+        grid = current;
+        gridVersion = current.getVersion();
+        width = current.getWidth();
+        height = current.getHeight();
+        clustersX = (width + clusterSize - 1) / clusterSize;
+        clustersY = (height + clusterSize - 1) / clusterSize;
+        int clusters = clustersX * clustersY;
+
+        eastTransitions = new int[clusters][];
+        southTransitions = new int[clusters][];
+        clusterNodes = new int[clusters][];
+        clusterPartners = new int[clusters][][];
+        clusterDistances = new int[clusters][];
+        dirtyClusters = new boolean[clusters];
+        dirtyEast = new boolean[clusters];
+        dirtySouth = new boolean[clusters];
+        hasDirty = false;
+
+        for (int c = 0; c < clusters; c++) {
+            eastTransitions[c] = computeEastTransitions(c);
+            southTransitions[c] = computeSouthTransitions(c);
+        }
+        int nodeCount = 0;
+        for (int c = 0; c < clusters; c++) {
+            buildCluster(c);
+            nodeCount += clusterNodes[c].length;
+        }
+
+        System.out.printf("🗺️ HPA*: %d clusters de %d, %d nœuds abstraits, construit en %.1f ms%n",
+                clusters, clusterSize, nodeCount, (System.nanoTime() - begin) / 1_000_000.0);
+    }
+
+    /**
+     * Appelé sur le thread de jeu : ne bloque jamais derrière une recherche en cours
+     */
+    @Override
+    public void onWalkabilityChanged(WalkabilityGrid source, int x, int y, boolean walkable) {
+        pendingChanges.add(new long[]{source.getVersion(), x, y});
+    }
+
+    private void applyPendingChanges(WalkabilityGrid current) {
+        long[] change;
+        while ((change = pendingChanges.peek()) != null && change[0] <= current.getVersion()) {
+            pendingChanges.poll();
+            if (grid == null || current.getOrigin() != grid.getOrigin() || change[0] != gridVersion + 1) {
+                continue; // reconstruit entièrement par sync si la version ne suit pas
+            }
+            gridVersion = change[0];
+            markChanged((int) change[1], (int) change[2]);
+        }
+    }
+
+    private void markChanged(int x, int y) {
+        int cx = x / clusterSize;
+        int cy = y / clusterSize;
+        int cluster = cy * clustersX + cx;
+        markDirtyCluster(cluster);
+
+        // Case sur un bord : la frontière et le cluster voisin changent aussi
+        if (x % clusterSize == clusterSize - 1 && cx + 1 < clustersX) {
+            dirtyEast[cluster] = true;
+            markDirtyCluster(cluster + 1);
+        }
+        if (x % clusterSize == 0 && cx > 0) {
+            dirtyEast[cluster - 1] = true;
+            markDirtyCluster(cluster - 1);
+        }
+        if (y % clusterSize == clusterSize - 1 && cy + 1 < clustersY) {
+            dirtySouth[cluster] = true;
+            markDirtyCluster(cluster + clustersX);
+        }
+        if (y % clusterSize == 0 && cy > 0) {
+            dirtySouth[cluster - clustersX] = true;
+            markDirtyCluster(cluster - clustersX);
+        }
+    }
+
+    private void markDirtyCluster(int cluster) {
+        dirtyClusters[cluster] = true;
+        hasDirty = true;
+    }
+
+    private void rebuildDirty() {
+        int clusters = clustersX * clustersY;
+        for (int c = 0; c < clusters; c++) {
+            if (dirtyEast[c]) {
+                eastTransitions[c] = computeEastTransitions(c);
+                dirtyEast[c] = false;
+            }
+            if (dirtySouth[c]) {
+                southTransitions[c] = computeSouthTransitions(c);
+                dirtySouth[c] = false;
+            }
+        }
+        for (int c = 0; c < clusters; c++) {
+            if (dirtyClusters[c]) {
+                buildCluster(c);
+                dirtyClusters[c] = false;
+            }
+        }
+        hasDirty = false;
+    }
+
+    private int[] computeEastTransitions(int cluster) {
+        int cx = cluster % clustersX;
+        int cy = cluster / clustersX;
+        if (cx + 1 >= clustersX) return NO_TILES;
+
+        int x = (cx + 1) * clusterSize - 1;
+        int from = cy * clusterSize;
+        int to = Math.min(height, from + clusterSize);
+        return computeTransitions(x, from, x + 1, from, 0, 1, to - from);
+    }
+
+    private int[] computeSouthTransitions(int cluster) {
+        int cx = cluster % clustersX;
+        int cy = cluster / clustersX;
+        if (cy + 1 >= clustersY) return NO_TILES;
+
+        int y = (cy + 1) * clusterSize - 1;
+        int from = cx * clusterSize;
+        int to = Math.min(width, from + clusterSize);
+        return computeTransitions(from, y, from, y + 1, 1, 0, to - from);
+    }
+
+    /**
+     * Plages libres des deux côtés d'une frontière : une transition au milieu des plages
+     * courtes, une à chaque extrémité des plages longues
+     */
+    private int[] computeTransitions(int ax, int ay, int bx, int by, int stepX, int stepY, int length) {
+        int[] pairs = new int[length * 4];
+        int count = 0;
+        int runStart = -1;
+        for (int i = 0; i <= length; i++) {
+            boolean open = i < length
+                    && grid.isWalkable(ax + i * stepX, ay + i * stepY)
+                    && grid.isWalkable(bx + i * stepX, by + i * stepY);
+            if (open && runStart < 0) {
+                runStart = i;
+            } else if (!open && runStart >= 0) {
+                int runEnd = i - 1;
+                if (runEnd - runStart + 1 >= LONG_ENTRANCE) {
+                    count = addTransition(pairs, count, ax, ay, bx, by, stepX, stepY, runStart);
+                    count = addTransition(pairs, count, ax, ay, bx, by, stepX, stepY, runEnd);
+                } else {
+                    count = addTransition(pairs, count, ax, ay, bx, by, stepX, stepY, (runStart + runEnd) / 2);
+                }
+                runStart = -1;
+            }
+        }
+        return Arrays.copyOf(pairs, count);
+    }
+
+    private int addTransition(int[] pairs, int count, int ax, int ay, int bx, int by, int stepX, int stepY, int i) {
+        pairs[count++] = (ax + i * stepX) * height + ay + i * stepY;
+        pairs[count++] = (bx + i * stepX) * height + by + i * stepY;
+        return count;
+    }
+
+    /**
+     * Nœuds du cluster (côté cluster des transitions de ses 4 frontières) et distances internes
+     */
+    private void buildCluster(int cluster) {
+        int cx = cluster % clustersX;
+        int cy = cluster / clustersX;
+
+        int[] tiles = new int[64];
+        int[] partners = new int[64];
+        int count = 0;
+        int[][] own = {
+                eastTransitions[cluster],
+                southTransitions[cluster]
+        };
+        for (int[] pairs : own) {
+            for (int i = 0; i < pairs.length; i += 2) {
+                if (count == tiles.length) {
+                    tiles = Arrays.copyOf(tiles, count * 2);
+                    partners = Arrays.copyOf(partners, count * 2);
+                }
+                tiles[count] = pairs[i];
+                partners[count++] = pairs[i + 1];
+            }
+        }
+        int[][] neighbours = {
+                cx > 0 ? eastTransitions[cluster - 1] : NO_TILES,
+                cy > 0 ? southTransitions[cluster - clustersX] : NO_TILES
+        };
+        for (int[] pairs : neighbours) {
+            for (int i = 0; i < pairs.length; i += 2) {
+                if (count == tiles.length) {
+                    tiles = Arrays.copyOf(tiles, count * 2);
+                    partners = Arrays.copyOf(partners, count * 2);
+                }
+                tiles[count] = pairs[i + 1];
+                partners[count++] = pairs[i];
+            }
+        }
+
+        // Regrouper les transitions qui partagent une case (coins)
+        int[] nodes = new int[count];
+        int[][] nodePartners = new int[count][];
+        int nodeCount = 0;
+        for (int i = 0; i < count; i++) {
+            int existing = -1;
+            for (int j = 0; j < nodeCount; j++) {
+                if (nodes[j] == tiles[i]) existing = j;
+            }
+            if (existing < 0) {
+                nodes[nodeCount] = tiles[i];
+                nodePartners[nodeCount++] = new int[]{partners[i]};
+            } else {
+                int[] list = nodePartners[existing];
+                list = Arrays.copyOf(list, list.length + 1);
+                list[list.length - 1] = partners[i];
+                nodePartners[existing] = list;
+            }
+        }
+        nodes = Arrays.copyOf(nodes, nodeCount);
+        clusterNodes[cluster] = nodes;
+        clusterPartners[cluster] = Arrays.copyOf(nodePartners, nodeCount);
+
+        int[] distances = new int[nodeCount * nodeCount];
+        setLocalBounds(cluster);
+        for (int i = 0; i < nodeCount; i++) {
+            localSearch(nodes[i], -1);
+            for (int j = 0; j < nodeCount; j++) {
+                int local = toLocal(nodes[j]);
+                distances[i * nodeCount + j] = isLocalSeen(local) ? localDist[local] : INFINITE;
+            }
+        }
+        clusterDistances[cluster] = distances;
+    }
+
+    private int clusterOf(int tile) {
+        return (tile % height) / clusterSize * clustersX + (tile / height) / clusterSize;
+    }
+
+    private int nodeIndex(int cluster, int tile) {
+        int[] nodes = clusterNodes[cluster];
+        for (int i = 0; i < nodes.length; i++) {
+            if (nodes[i] == tile) return i;
+        }
+        return -1;
+    }
+
+    public int getClusterSize() { return clusterSize; }
+
+    // ================================
+    // RECHERCHE LOCALE
+    // ================================
+
+    private void setLocalBounds(int cluster) {
+        localX0 = (cluster % clustersX) * clusterSize;
+        localY0 = (cluster / clustersX) * clusterSize;
+        localX1 = Math.min(width, localX0 + clusterSize);
+        localY1 = Math.min(height, localY0 + clusterSize);
+    }
+
+    private int toLocal(int tile) {
+        return (tile / height - localX0) * clusterSize + (tile % height - localY0);
+    }
+
+    private int toTile(int local) {
+        return (localX0 + local / clusterSize) * height + localY0 + local % clusterSize;
+    }
+
+    private boolean isLocalSeen(int local) {
+        return localStamp[local] == localGeneration;
+    }
+
+    /**
+     * Dijkstra limité au cluster courant, depuis source ; s'arrête sur target si target >= 0
+     */
+    private void localSearch(int source, int target) {
+        if (++localGeneration == Integer.MAX_VALUE) {
+            Arrays.fill(localStamp, 0);
+            localGeneration = 1;
+        }
+        localHeap.clear();
+
+        int sourceLocal = toLocal(source);
+        localStamp[sourceLocal] = localGeneration;
+        localDist[sourceLocal] = 0;
+        localParent[sourceLocal] = -1;
+        localHeap.pushOrDecrease(sourceLocal, 0);
+
+        while (!localHeap.isEmpty()) {
+            int local = localHeap.pop();
+            int tile = toTile(local);
+            if (tile == target) return;
+            localExpansions++;
+
+            int x = tile / height;
+            int y = tile % height;
+            int mask = grid.neighbourMaskIndex(tile);
+            while (mask != 0) {
+                int d = Integer.numberOfTrailingZeros(mask);
+                mask &= mask - 1;
+
+                int nx = x + WalkabilityGrid.DIRECTIONS[d][0];
+                int ny = y + WalkabilityGrid.DIRECTIONS[d][1];
+                if (nx < localX0 || nx >= localX1 || ny < localY0 || ny >= localY1) continue;
+
+                int next = (nx - localX0) * clusterSize + (ny - localY0);
+                int cost = localDist[local] + PathCosts.stepCost(d);
+                if (!isLocalSeen(next) || cost < localDist[next]) {
+                    localStamp[next] = localGeneration;
+                    localDist[next] = cost;
+                    localParent[next] = local;
+                    localHeap.pushOrDecrease(next, cost);
+                }
+            }
+        }
+    }
+
+    private int[] localDistancesTo(int[] nodes) {
+        int[] distances = new int[nodes.length];
+        for (int i = 0; i < nodes.length; i++) {
+            int local = toLocal(nodes[i]);
+            distances[i] = isLocalSeen(local) ? localDist[local] : INFINITE;
+        }
+        return distances;
+    }
+}
@@ -0,0 +1,51 @@
+package net.arkaine.pathfinding;
+
+import net.arkaine.model.WalkabilityGrid;
+
+/**
+ * Route HPA* détaillée à la demande.
+ *
+ * Les cases de passage (route abstraite) sont connues dès la planification ; chaque
+ * tronçon entre deux passages n'est détaillé, par une recherche limitée à son cluster,
+ * qu'au moment où l'appelant avance le curseur. Un ennemi qui change d'avis en route
+ * n'a payé que les tronçons déjà parcourus.
+ */
+public final class HierarchicalRoute {
+
+    private final HierarchicalPathfinder pathfinder;
+    private final int[] waypoints;
+    private final int planExpansions;
+    private int leg = 0;
+
+    HierarchicalRoute(HierarchicalPathfinder pathfinder, int[] waypoints, int planExpansions) {
+        this.pathfinder = pathfinder;
+        this.waypoints = waypoints;
+        this.planExpansions = planExpansions;
+    }
+
+    /** Vrai si l'arrivée est inaccessible */
+    public boolean isEmpty() {
+        return waypoints.length == 0;
+    }
+
+    public boolean hasNextLeg() {
+        return leg + 1 < waypoints.length;
+    }
+
+    /**
+     * Détaille le tronçon suivant (cases des deux passages incluses) et avance le curseur ;
+     * chemin vide si la carte a changé et coupe le tronçon
+     */
+    public GridPath nextLeg(WalkabilityGrid grid) {
+        GridPath path = pathfinder.refineSegment(grid, waypoints[leg], waypoints[leg + 1]);
+        leg++;
+        return path;
+    }
+
+    public int getStartTile() { return waypoints[0]; }
+    public int getGoalTile() { return waypoints[waypoints.length - 1]; }
+    public int getWaypointCount() { return waypoints.length; }
+
+    /** Nœuds développés par la planification abstraite (hors détail des tronçons) */
+    public int getPlanExpansions() { return planExpansions; }
+}
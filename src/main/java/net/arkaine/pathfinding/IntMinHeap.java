@@ -0,0 +1,147 @@
+package net.arkaine.pathfinding;
+
+import java.util.Arrays;
+
+/**
+ * Tas binaire minimal de nœuds int avec clés long, mise à jour et retrait de clé.
+ *
+ * Chaque nœud (0..capacité-1) y figure au plus une fois ; aucune allocation
+ * après construction.
+ */
+final class IntMinHeap {
+
+    private int[] nodes;
+    private long[] keys;
+    private int[] positions;
+    private int size = 0;
+
+    IntMinHeap(int capacity) {
+        nodes = new int[capacity];
+        keys = new long[capacity];
+        positions = new int[capacity];
+        Arrays.fill(positions, -1);
+    }
+
+    int capacity() {
+        return positions.length;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean contains(int node) {
+        return positions[node] >= 0;
+    }
+
+    void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[nodes[i]] = -1;
+        }
+        size = 0;
+    }
+
+    /** Ajoute le nœud, ou diminue sa clé s'il est déjà présent */
+    void pushOrDecrease(int node, long key) {
+        int i = positions[node];
+        if (i < 0) {
+            i = size++;
+            nodes[i] = node;
+            keys[i] = key;
+            positions[node] = i;
+            siftUp(i);
+        } else if (key < keys[i]) {
+            keys[i] = key;
+            siftUp(i);
+        }
+    }
+
+    /** Ajoute le nœud ou remplace sa clé (hausse comme baisse) */
+    void update(int node, long key) {
+        int i = positions[node];
+        if (i < 0) {
+            pushOrDecrease(node, key);
+        } else if (key < keys[i]) {
+            keys[i] = key;
+            siftUp(i);
+        } else if (key > keys[i]) {
+            keys[i] = key;
+            siftDown(i);
+        }
+    }
+
+    /** Retire le nœud s'il est présent */
+    void remove(int node) {
+        int i = positions[node];
+        if (i < 0) return;
+        positions[node] = -1;
+        size--;
+        if (i < size) {
+            long removedKey = keys[i];
+            nodes[i] = nodes[size];
+            keys[i] = keys[size];
+            positions[nodes[i]] = i;
+            if (keys[i] < removedKey) {
+                siftUp(i);
+            } else {
+                siftDown(i);
+            }
+        }
+    }
+
+    long peekKey() {
+        return keys[0];
+    }
+
+    int pop() {
+        int top = nodes[0];
+        positions[top] = -1;
+        size--;
+        if (size > 0) {
+            nodes[0] = nodes[size];
+            keys[0] = keys[size];
+            positions[nodes[0]] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    private void siftUp(int i) {
+        int node = nodes[i];
+        long key = keys[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (keys[parent] <= key) break;
+            nodes[i] = nodes[parent];
+            keys[i] = keys[parent];
+            positions[nodes[i]] = i;
+            i = parent;
+        }
+        nodes[i] = node;
+        keys[i] = key;
+        positions[node] = i;
+    }
+
+    private void siftDown(int i) {
+        int node = nodes[i];
+        long key = keys[i];
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < size && keys[right] < keys[child]) child = right;
+            if (key <= keys[child]) break;
+            nodes[i] = nodes[child];
+            keys[i] = keys[child];
+            positions[nodes[i]] = i;
+            i = child;
+        }
+        nodes[i] = node;
+        keys[i] = key;
+        positions[node] = i;
+    }
+}
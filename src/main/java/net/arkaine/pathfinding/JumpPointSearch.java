@@ -0,0 +1,204 @@
+package net.arkaine.pathfinding;
+
+import net.arkaine.model.WalkabilityGrid;
+
+/**
+ * Jump Point Search pour grille à coût uniforme, 8 directions, sans couper les coins.
+ *
+ * Même règle de déplacement et mêmes coûts que GridPathfinder, donc mêmes longueurs
+ * de chemin ; seuls les points de saut entrent dans la file ouverte. Le chemin
+ * renvoyé est redéveloppé case par case entre les points de saut.
+ */
+public final class JumpPointSearch implements PathEngine {
+
+    /** Index de direction de WalkabilityGrid.DIRECTIONS pour (dx + 1) * 3 + (dy + 1) */
+    private static final int[] DIRECTION_INDEX = new int[9];
+    static {
+        for (int d = 0; d < WalkabilityGrid.DIRECTION_COUNT; d++) {
+            int[] dir = WalkabilityGrid.DIRECTIONS[d];
+            DIRECTION_INDEX[(dir[0] + 1) * 3 + dir[1] + 1] = d;
+        }
+    }
+
+    @Override
+    public GridPath findPath(WalkabilityGrid grid, int startX, int startY, int goalX, int goalY) {
+        int height = grid.getHeight();
+        if (!grid.isWalkable(goalX, goalY)
+                || startX < 0 || startX >= grid.getWidth() || startY < 0 || startY >= height) {
+            return GridPath.empty(height, 0);
+        }
+
+        SearchWorkspace ws = SearchWorkspace.get(grid.size());
+        IntMinHeap open = ws.heap;
+        int start = startX * height + startY;
+        int goal = goalX * height + goalY;
+        int expansions = 0;
+
+        int startH = PathCosts.octile(startX, startY, goalX, goalY);
+        ws.open(start, 0, -1);
+        open.pushOrDecrease(start, SearchWorkspace.key(startH, startH));
+
+        while (!open.isEmpty()) {
+            int current = open.pop();
+            if (current == goal) {
+                return buildPath(ws, goal, height, expansions);
+            }
+            ws.close(current);
+            expansions++;
+
+            int cx = current / height;
+            int cy = current - cx * height;
+            int currentG = ws.g[current];
+            int directions = prunedDirections(grid, ws.parent[current], cx, cy);
+
+            while (directions != 0) {
+                int d = Integer.numberOfTrailingZeros(directions);
+                directions &= directions - 1;
+
+                int dx = WalkabilityGrid.DIRECTIONS[d][0];
+                int dy = WalkabilityGrid.DIRECTIONS[d][1];
+                int jumpPoint = jump(grid, cx + dx, cy + dy, dx, dy, goalX, goalY);
+                if (jumpPoint < 0 || ws.isClosed(jumpPoint)) continue;
+
+                int jx = jumpPoint / height;
+                int jy = jumpPoint - jx * height;
+                int nextG = currentG + PathCosts.octile(cx, cy, jx, jy);
+                if (!ws.isSeen(jumpPoint) || nextG < ws.g[jumpPoint]) {
+                    ws.open(jumpPoint, nextG, current);
+                    int h = PathCosts.octile(jx, jy, goalX, goalY);
+                    open.pushOrDecrease(jumpPoint, SearchWorkspace.key(nextG + h, h));
+                }
+            }
+        }
+
+        return GridPath.empty(height, expansions);
+    }
+
+    @Override
+    public String getName() {
+        return "JPS";
+    }
+
+    // ================================
+    // ÉLAGAGE DES VOISINS
+    // ================================
+
+    /**
+     * Directions à explorer depuis (x, y) selon la direction d'arrivée
+     */
+    private static int prunedDirections(WalkabilityGrid grid, int parent, int x, int y) {
+        if (parent < 0) {
+            return grid.neighbourMask(x, y);
+        }
+
+        int height = grid.getHeight();
+        int px = parent / height;
+        int py = parent - px * height;
+        int dx = Integer.signum(x - px);
+        int dy = Integer.signum(y - py);
+        int mask = 0;
+
+        if (dx != 0 && dy != 0) {
+            boolean vertical = grid.isWalkable(x, y + dy);
+            boolean horizontal = grid.isWalkable(x + dx, y);
+            if (vertical) mask |= bit(0, dy);
+            if (horizontal) mask |= bit(dx, 0);
+            if (vertical && horizontal) mask |= bit(dx, dy);
+        } else if (dx != 0) {
+            boolean next = grid.isWalkable(x + dx, y);
+            boolean up = grid.isWalkable(x, y + 1);
+            boolean down = grid.isWalkable(x, y - 1);
+            if (next) {
+                mask |= bit(dx, 0);
+                if (up) mask |= bit(dx, 1);
+                if (down) mask |= bit(dx, -1);
+            }
+            if (up) mask |= bit(0, 1);
+            if (down) mask |= bit(0, -1);
+        } else {
+            boolean next = grid.isWalkable(x, y + dy);
+            boolean right = grid.isWalkable(x + 1, y);
+            boolean left = grid.isWalkable(x - 1, y);
+            if (next) {
+                mask |= bit(0, dy);
+                if (right) mask |= bit(1, dy);
+                if (left) mask |= bit(-1, dy);
+            }
+            if (right) mask |= bit(1, 0);
+            if (left) mask |= bit(-1, 0);
+        }
+        return mask;
+    }
+
+    private static int bit(int dx, int dy) {
+        return 1 << DIRECTION_INDEX[(dx + 1) * 3 + dy + 1];
+    }
+
+    // ================================
+    // SAUTS
+    // ================================
+
+    /**
+     * Avance depuis (x, y) dans la direction (dx, dy) jusqu'au prochain point de saut ;
+     * retourne son index ou -1 si la ligne est bloquée
+     */
+    private static int jump(WalkabilityGrid grid, int x, int y, int dx, int dy, int goalX, int goalY) {
+        while (true) {
+            if (!grid.isWalkable(x, y)) return -1;
+            if (x == goalX && y == goalY) return x * grid.getHeight() + y;
+
+            if (dx != 0 && dy != 0) {
+                // Une diagonale s'arrête dès qu'une de ses composantes droites trouve un point
+                if (jump(grid, x + dx, y, dx, 0, goalX, goalY) >= 0
+                        || jump(grid, x, y + dy, 0, dy, goalX, goalY) >= 0) {
+                    return x * grid.getHeight() + y;
+                }
+                if (!grid.isWalkable(x + dx, y) || !grid.isWalkable(x, y + dy)) {
+                    return -1;
+                }
+            } else if (dx != 0) {
+                if ((grid.isWalkable(x, y - 1) && !grid.isWalkable(x - dx, y - 1))
+                        || (grid.isWalkable(x, y + 1) && !grid.isWalkable(x - dx, y + 1))) {
+                    return x * grid.getHeight() + y;
+                }
+            } else {
+                if ((grid.isWalkable(x - 1, y) && !grid.isWalkable(x - 1, y - dy))
+                        || (grid.isWalkable(x + 1, y) && !grid.isWalkable(x + 1, y - dy))) {
+                    return x * grid.getHeight() + y;
+                }
+            }
+
+            x += dx;
+            y += dy;
+        }
+    }
+
+    // ================================
+    // RECONSTRUCTION
+    // ================================
+
+    /**
+     * Redéveloppe les segments entre points de saut (droits ou diagonaux) en cases
+     */
+    private static GridPath buildPath(SearchWorkspace ws, int goal, int height, int expansions) {
+        int length = 1;
+        for (int node = goal; ws.parent[node] != -1; node = ws.parent[node]) {
+            int from = ws.parent[node];
+            length += Math.max(Math.abs(node / height - from / height), Math.abs(node % height - from % height));
+        }
+
+        int[] tiles = new int[length];
+        int i = length - 1;
+        tiles[i] = goal;
+        for (int node = goal; ws.parent[node] != -1; node = ws.parent[node]) {
+            int from = ws.parent[node];
+            int step = Integer.signum(node / height - from / height) * height
+                    + Integer.signum(node % height - from % height);
+            for (int tile = node - step; tile != from; tile -= step) {
+                tiles[--i] = tile;
+            }
+            tiles[--i] = from;
+        }
+        return new GridPath(tiles, height, ws.g[goal], expansions);
+    }
+}
@@ -0,0 +1,181 @@
+package net.arkaine.pathfinding;
+
+import net.arkaine.model.WalkabilityGrid;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache LRU de chemins, indexé par (case de départ, case d'arrivée).
+ *
+ * Le cache suit la version de la grille de praticabilité (incrémentée à chaque porte
+ * ouverte ou fermée et à chaque mur détruit). Un changement n'invalide que les chemins
+ * concernés : une case fermée sur le chemin ou à une case de lui, une case ouverte T
+ * telle que octile(départ, T) + octile(T, arrivée) soit inférieur au coût du chemin
+ * (seul cas où un chemin passant par T peut être plus court). Si un changement a été
+ * manqué, ou si la carte change, tout le cache est vidé.
+ *
+ * Les chemins vides (inaccessibles) ne sont pas mis en cache. Accès synchronisés : le
+ * cache sert le thread de jeu et les recherches asynchrones.
+ */
+public final class PathCache implements WalkabilityGrid.Listener {
+
+    private static final class Entry {
+        final String engineName;
+        final GridPath path;
+        final int minX, minY, maxX, maxY;
+
+        Entry(String engineName, GridPath path) {
+            this.engineName = engineName;
+            this.path = path;
+            int x0 = Integer.MAX_VALUE, y0 = Integer.MAX_VALUE, x1 = -1, y1 = -1;
+            for (int i = 0; i < path.length(); i++) {
+                x0 = Math.min(x0, path.xAt(i));
+                y0 = Math.min(y0, path.yAt(i));
+                x1 = Math.max(x1, path.xAt(i));
+                y1 = Math.max(y1, path.yAt(i));
+            }
+            minX = x0; minY = y0; maxX = x1; maxY = y1;
+        }
+
+        boolean boxContains(int x, int y, int margin) {
+            return x >= minX - margin && x <= maxX + margin && y >= minY - margin && y <= maxY + margin;
+        }
+
+        /** Vrai si un chemin passant par (x, y) pourrait être plus court que celui en cache */
+        boolean mayShortcut(int x, int y) {
+            int last = path.length() - 1;
+            return PathCosts.octile(path.xAt(0), path.yAt(0), x, y)
+                    + PathCosts.octile(x, y, path.xAt(last), path.yAt(last)) < path.getCost();
+        }
+
+        boolean passesNear(int x, int y) {
+            if (!boxContains(x, y, 1)) return false;
+            for (int i = 0; i < path.length(); i++) {
+                if (Math.abs(path.xAt(i) - x) <= 1 && Math.abs(path.yAt(i) - y) <= 1) return true;
+            }
+            return false;
+        }
+    }
+
+    private final int maxEntries;
+    private final LinkedHashMap<Long, Entry> entries;
+
+    private WalkabilityGrid origin;
+    private long version = -1;
+
+    private long hits = 0;
+    private long misses = 0;
+    private long invalidations = 0;
+    private long evictions = 0;
+    private long clears = 0;
+
+    public PathCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                if (size() > PathCache.this.maxEntries) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Chemin en cache s'il existe pour ce moteur, sinon recherche puis mise en cache
+     */
+    public GridPath findPath(PathEngine engine, WalkabilityGrid grid, int startX, int startY, int goalX, int goalY) {
+        GridPath cached = get(engine.getName(), grid, startX, startY, goalX, goalY);
+        if (cached != null) {
+            return cached;
+        }
+        GridPath path = engine.findPath(grid, startX, startY, goalX, goalY);
+        put(engine.getName(), grid, startX, startY, goalX, goalY, path);
+        return path;
+    }
+
+    public synchronized GridPath get(String engineName, WalkabilityGrid grid, int startX, int startY, int goalX, int goalY) {
+        sync(grid);
+        Entry entry = entries.get(key(grid, startX, startY, goalX, goalY));
+        if (entry != null && entry.engineName.equals(engineName)) {
+            hits++;
+            return entry.path;
+        }
+        misses++;
+        return null;
+    }
+
+    public synchronized void put(String engineName, WalkabilityGrid grid, int startX, int startY, int goalX, int goalY,
+                                 GridPath path) {
+        sync(grid);
+        // Un snapshot plus ancien que le cache a pu manquer un changement déjà traité
+        if (path.isEmpty() || grid.getVersion() != version) return;
+        entries.put(key(grid, startX, startY, goalX, goalY), new Entry(engineName, path));
+    }
+
+    private long key(WalkabilityGrid grid, int startX, int startY, int goalX, int goalY) {
+        int height = grid.getHeight();
+        return ((long) (startX * height + startY) << 32) | (goalX * height + goalY);
+    }
+
+    /**
+     * Vide le cache si la grille n'est plus celle suivie ou si des changements ont été manqués
+     */
+    private void sync(WalkabilityGrid grid) {
+        if (grid.getOrigin() != origin || grid.getVersion() > version) {
+            clear();
+            origin = grid.getOrigin();
+            version = grid.getVersion();
+        }
+    }
+
+    @Override
+    public synchronized void onWalkabilityChanged(WalkabilityGrid grid, int x, int y, boolean walkable) {
+        if (grid.getOrigin() != origin || grid.getVersion() != version + 1) {
+            sync(grid);
+            return;
+        }
+        version = grid.getVersion();
+
+        Iterator<Entry> it = entries.values().iterator();
+        while (it.hasNext()) {
+            Entry entry = it.next();
+            if (walkable ? entry.mayShortcut(x, y) : entry.passesNear(x, y)) {
+                it.remove();
+                invalidations++;
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        if (!entries.isEmpty()) {
+            clears++;
+            entries.clear();
+        }
+    }
+
+    // ================================
+    // STATISTIQUES
+    // ================================
+
+    public synchronized int size() { return entries.size(); }
+    public int getMaxEntries() { return maxEntries; }
+    public synchronized long getHits() { return hits; }
+    public synchronized long getMisses() { return misses; }
+
+    public synchronized double getHitRate() {
+        long total = hits + misses;
+        return total > 0 ? hits / (double) total : 0;
+    }
+
+    public synchronized void printStats() {
+        System.out.println("Cache de chemins: " + entries.size() + "/" + maxEntries + " entrées, "
+                + String.format("%.1f", getHitRate() * 100) + "% de succès (" + hits + "/" + (hits + misses) + ")");
+        System.out.println("  Invalidations: " + invalidations + ", évictions: " + evictions
+                + ", vidages complets: " + clears);
+    }
+}
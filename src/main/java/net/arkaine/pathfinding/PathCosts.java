@@ -0,0 +1,24 @@
+package net.arkaine.pathfinding;
+
+/**
+ * Coûts entiers des déplacements sur la grille 8 directions
+ */
+public final class PathCosts {
+
+    public static final int STRAIGHT = 1000;
+    public static final int DIAGONAL = 1414;
+
+    private PathCosts() {}
+
+    /** Coût d'un pas dans la direction d de WalkabilityGrid.DIRECTIONS */
+    public static int stepCost(int direction) {
+        return direction < 4 ? STRAIGHT : DIAGONAL;
+    }
+
+    /** Distance octile, admissible et cohérente pour ces coûts */
+    public static int octile(int x1, int y1, int x2, int y2) {
+        int dx = Math.abs(x1 - x2);
+        int dy = Math.abs(y1 - y2);
+        return STRAIGHT * (dx + dy) + (DIAGONAL - 2 * STRAIGHT) * Math.min(dx, dy);
+    }
+}
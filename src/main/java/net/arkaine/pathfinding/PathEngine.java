@@ -0,0 +1,16 @@
+package net.arkaine.pathfinding;
+
+import net.arkaine.model.WalkabilityGrid;
+
+/**
+ * Moteur de recherche de chemin sur la grille de praticabilité
+ */
+public interface PathEngine {
+
+    /**
+     * Chemin de (startX, startY) à (goalX, goalY), départ inclus ; vide si inaccessible
+     */
+    GridPath findPath(WalkabilityGrid grid, int startX, int startY, int goalX, int goalY);
+
+    String getName();
+}
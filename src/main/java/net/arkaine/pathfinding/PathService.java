@@ -0,0 +1,128 @@
+package net.arkaine.pathfinding;
+
+import net.arkaine.model.WalkabilityGrid;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Recherche de chemin hors du thread JavaFX.
+ *
+ * Les requêtes s'exécutent sur un petit pool de threads démons, sur une copie figée
+ * de la praticabilité (WalkabilityGrid.snapshot). Une nouvelle requête annule la
+ * précédente : si elle n'a pas démarré elle est sautée, sinon son résultat est ignoré.
+ * Le thread de jeu récupère le dernier résultat avec pollCompleted() au tick suivant.
+ *
+ * Threads plateforme plutôt que virtuels : les espaces de recherche de chaque moteur
+ * sont par thread et doivent survivre d'une requête à l'autre.
+ */
+public final class PathService {
+
+    /**
+     * Résultat d'une requête terminée
+     */
+    public static final class Result {
+        public final long requestId;
+        public final GridPath path;
+        public final long elapsedNanos;
+
+        Result(long requestId, GridPath path, long elapsedNanos) {
+            this.requestId = requestId;
+            this.path = path;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public double getElapsedMillis() {
+            return elapsedNanos / 1_000_000.0;
+        }
+    }
+
+    private final ExecutorService executor;
+    private final AtomicInteger threadCount = new AtomicInteger();
+
+    private long nextRequestId = 1;
+    private CompletableFuture<Result> current;
+    private volatile long currentRequestId = 0;
+    private volatile Result completed;
+
+    public PathService(int threads) {
+        executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "pathfinding-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Lance une recherche et annule la précédente ; à appeler depuis le thread de jeu
+     */
+    public CompletableFuture<Result> submit(PathEngine engine, WalkabilityGrid grid,
+                                            int startX, int startY, int goalX, int goalY) {
+        return submit(grid, snapshot -> engine.findPath(snapshot, startX, startY, goalX, goalY), null);
+    }
+
+    /**
+     * Variante avec une tâche annexe exécutée sur le même snapshot avant la recherche
+     * (comparaison des moteurs en mode debug)
+     */
+    public CompletableFuture<Result> submit(WalkabilityGrid grid, Function<WalkabilityGrid, GridPath> search,
+                                            Consumer<WalkabilityGrid> before) {
+        cancel();
+
+        long requestId = nextRequestId++;
+        currentRequestId = requestId;
+        WalkabilityGrid snapshot = grid.snapshot();
+
+        CompletableFuture<Result> future = new CompletableFuture<>();
+        current = future;
+        executor.execute(() -> {
+            if (future.isDone() || requestId != currentRequestId) return; // annulée avant de démarrer
+
+            long begin = System.nanoTime();
+            try {
+                if (before != null) before.accept(snapshot);
+                Result result = new Result(requestId, search.apply(snapshot), System.nanoTime() - begin);
+                if (requestId == currentRequestId) {
+                    completed = result;
+                }
+                future.complete(result);
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Résultat de la dernière requête s'il est arrivé (une seule fois), sinon null
+     */
+    public Result pollCompleted() {
+        Result result = completed;
+        if (result == null) return null;
+        completed = null;
+        return result.requestId == currentRequestId ? result : null;
+    }
+
+    /** Vrai si une requête est en attente de résultat */
+    public boolean isPending() {
+        return current != null && !current.isDone();
+    }
+
+    public void cancel() {
+        if (current != null) {
+            current.cancel(false);
+            current = null;
+        }
+        currentRequestId = 0;
+        completed = null;
+    }
+
+    public void shutdown() {
+        cancel();
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,96 @@
+package net.arkaine.pathfinding;
+
+import net.arkaine.model.WalkabilityGrid;
+
+import java.util.Arrays;
+
+/**
+ * Lissage « any-angle » des chemins case par case (string pulling).
+ *
+ * Depuis chaque point d'appui, on saute au point le plus lointain du chemin encore en
+ * ligne de vue ; seuls les coins restent. La ligne de vue suit toutes les cases que
+ * traverse le segment entre centres de cases, et refuse de passer par un coin dont
+ * une des deux cases orthogonales est bloquée (même règle que les diagonales de A*).
+ */
+public final class PathSmoother {
+
+    private PathSmoother() {}
+
+    /**
+     * Points d'appui du chemin ; le coût devient la longueur euclidienne (en millièmes)
+     */
+    public static GridPath smooth(WalkabilityGrid grid, GridPath path) {
+        if (path.length() <= 2) return path;
+
+        int height = path.getHeight();
+        int[] waypoints = new int[path.length()];
+        int count = 0;
+        double length = 0;
+
+        int anchor = 0;
+        waypoints[count++] = path.tileAt(0);
+        int i = 1;
+        while (i < path.length() - 1) {
+            // Avancer tant que le point suivant reste visible depuis le point d'appui
+            if (hasLineOfSight(grid, path.xAt(anchor), path.yAt(anchor), path.xAt(i + 1), path.yAt(i + 1))) {
+                i++;
+                continue;
+            }
+            length += distance(path, anchor, i);
+            waypoints[count++] = path.tileAt(i);
+            anchor = i;
+            i++;
+        }
+        int last = path.length() - 1;
+        length += distance(path, anchor, last);
+        waypoints[count++] = path.tileAt(last);
+
+        return new GridPath(Arrays.copyOf(waypoints, count), height,
+                (int) Math.round(length * PathCosts.STRAIGHT), path.getExpansions());
+    }
+
+    private static double distance(GridPath path, int a, int b) {
+        double dx = path.xAt(b) - path.xAt(a);
+        double dy = path.yAt(b) - path.yAt(a);
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+
+    /**
+     * Vrai si le segment entre les centres des deux cases ne traverse que des cases
+     * praticables (départ exclu) sans couper de coin
+     */
+    public static boolean hasLineOfSight(WalkabilityGrid grid, int x0, int y0, int x1, int y1) {
+        int dx = Math.abs(x1 - x0);
+        int dy = Math.abs(y1 - y0);
+        int sx = Integer.signum(x1 - x0);
+        int sy = Integer.signum(y1 - y0);
+        int x = x0;
+        int y = y0;
+        int error = dx - dy;
+        dx *= 2;
+        dy *= 2;
+
+        for (int n = dx / 2 + dy / 2; n > 0; n--) {
+            if (error > 0) {
+                x += sx;
+                error -= dy;
+            } else if (error < 0) {
+                y += sy;
+                error += dx;
+            } else {
+                // Passage exact par un coin : les deux cases qui le bordent doivent être libres
+                if (!grid.isWalkable(x + sx, y) || !grid.isWalkable(x, y + sy)) {
+                    return false;
+                }
+                x += sx;
+                y += sy;
+                error += dx - dy;
+                n--;
+            }
+            if (!grid.isWalkable(x, y)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,87 @@
+package net.arkaine.pathfinding;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Table de réservations espace-temps partagée par les agents coopératifs (WHCA*).
+ *
+ * Un créneau est une case à un pas de temps donné (temps absolu, en pas du planificateur) ;
+ * il appartient à au plus un agent. Les créneaux passés sont purgés par expire().
+ */
+public final class ReservationTable {
+
+    public static final int FREE = -1;
+
+    private final Map<Long, Integer> slots = new HashMap<>();
+    private final Map<Integer, List<Long>> slotsByOwner = new HashMap<>();
+
+    private static long key(int tile, long step) {
+        return (step << 32) | tile;
+    }
+
+    /** Agent qui réserve (tile, step), FREE sinon */
+    public int ownerAt(int tile, long step) {
+        Integer owner = slots.get(key(tile, step));
+        return owner != null ? owner : FREE;
+    }
+
+    /** Vrai si le créneau est libre ou déjà réservé par cet agent */
+    public boolean isFree(int tile, long step, int owner) {
+        int current = ownerAt(tile, step);
+        return current == FREE || current == owner;
+    }
+
+    /**
+     * Réserve le créneau pour l'agent ; faux s'il appartient déjà à un autre
+     */
+    public boolean reserve(int tile, long step, int owner) {
+        long key = key(tile, step);
+        Integer current = slots.putIfAbsent(key, owner);
+        if (current != null) return current == owner;
+        slotsByOwner.computeIfAbsent(owner, o -> new ArrayList<>()).add(key);
+        return true;
+    }
+
+    /** Vrai si l'agent détient au moins un créneau */
+    public boolean hasReservations(int owner) {
+        return slotsByOwner.containsKey(owner);
+    }
+
+    /**
+     * Libère tous les créneaux de l'agent (avant une replanification ou à sa mort)
+     */
+    public void release(int owner) {
+        List<Long> keys = slotsByOwner.remove(owner);
+        if (keys == null) return;
+        for (Long key : keys) {
+            slots.remove(key);
+        }
+    }
+
+    /**
+     * Oublie les créneaux antérieurs à step
+     */
+    public void expire(long step) {
+        slotsByOwner.values().removeIf(keys -> {
+            keys.removeIf(key -> {
+                if ((key >>> 32) < step) {
+                    slots.remove(key);
+                    return true;
+                }
+                return false;
+            });
+            return keys.isEmpty();
+        });
+    }
+
+    public void clear() {
+        slots.clear();
+        slotsByOwner.clear();
+    }
+
+    public int size() { return slots.size(); }
+    public int getOwnerCount() { return slotsByOwner.size(); }
+}
@@ -0,0 +1,88 @@
+package net.arkaine.pathfinding;
+
+import java.util.Arrays;
+
+/**
+ * Tableaux de recherche réutilisés d'une requête à l'autre, un jeu par thread.
+ *
+ * Plutôt que de remettre g/parent à zéro, chaque recherche reçoit un numéro de
+ * génération : une case n'est "vue" ou "fermée" que si son tampon vaut la
+ * génération courante.
+ */
+final class SearchWorkspace {
+
+    private static final ThreadLocal<SearchWorkspace> CURRENT = new ThreadLocal<>();
+
+    final int[] g;
+    final int[] parent;
+    private final int[] seenStamp;
+    private final int[] closedStamp;
+    private int generation = 0;
+    final IntMinHeap heap;
+
+    private SearchWorkspace(int size) {
+        g = new int[size];
+        parent = new int[size];
+        seenStamp = new int[size];
+        closedStamp = new int[size];
+        heap = new IntMinHeap(size);
+    }
+
+    /** Espace de travail du thread courant, agrandi si la carte a grossi */
+    static SearchWorkspace get(int size) {
+        SearchWorkspace workspace = CURRENT.get();
+        if (workspace == null || workspace.g.length < size) {
+            workspace = new SearchWorkspace(size);
+            CURRENT.set(workspace);
+        }
+        workspace.begin();
+        return workspace;
+    }
+
+    private void begin() {
+        heap.clear();
+        if (++generation == Integer.MAX_VALUE) {
+            Arrays.fill(seenStamp, 0);
+            Arrays.fill(closedStamp, 0);
+            generation = 1;
+        }
+    }
+
+    boolean isSeen(int node) {
+        return seenStamp[node] == generation;
+    }
+
+    boolean isClosed(int node) {
+        return closedStamp[node] == generation;
+    }
+
+    void close(int node) {
+        closedStamp[node] = generation;
+    }
+
+    void open(int node, int cost, int from) {
+        seenStamp[node] = generation;
+        g[node] = cost;
+        parent[node] = from;
+    }
+
+    /** Clé du tas : f d'abord, puis h pour départager vers la destination */
+    static long key(int f, int h) {
+        return ((long) f << 32) | h;
+    }
+
+    /**
+     * Remonte les parents depuis goal ; le tableau est rempli de la fin vers le début
+     */
+    GridPath buildPath(int goal, int height, int expansions) {
+        int length = 0;
+        for (int node = goal; node != -1; node = parent[node]) {
+            length++;
+        }
+        int[] tiles = new int[length];
+        for (int node = goal, i = length - 1; node != -1; node = parent[node], i--) {
+            tiles[i] = node;
+        }
+        return new GridPath(tiles, height, g[goal], expansions);
+    }
+}
@@ -1,7 +1,9 @@
 package net.arkaine.view;
 
 import net.arkaine.combat.CombatSystem;
+import net.arkaine.combat.ProjectilePool;
 import net.arkaine.model.GameModel;
+import net.arkaine.model.Point;
 import javafx.geometry.Point2D;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
@@ -41,7 +43,7 @@ public class GameView {
     private Map<String, Image> ceilingImages = new HashMap<>();
 
     // Position de la souris
-    private Point2D mouseHoverPos = null;
+    private Point mouseHoverPos = null;
 
     public GameView() {
         canvas = new Canvas(CANVAS_WIDTH, CANVAS_HEIGHT);
@@ -55,7 +57,7 @@ public class GameView {
         return canvas;
     }
 
-    public void setMouseHoverPosition(Point2D position) {
+    public void setMouseHoverPosition(Point position) {
         this.mouseHoverPos = position;
     }
 
@@ -151,7 +153,7 @@ public class GameView {
         }
 
         // Rendu du sol
-        int floorIndex = model.getFloorMap()[x][y];
+        int floorIndex = model.floorAt(x, y);
         if (floorIndex >= 0) {
             Image floorImg = floorImages.get("floor_" + floorIndex);
             if (floorImg != null) {
@@ -160,7 +162,7 @@ public class GameView {
         }
 
         // Rendu des items
-        List<GameModel.Item> items = model.getItemMap()[x][y];
+        List<GameModel.Item> items = model.itemsAt(x, y);
         if (!items.isEmpty()) {
             gc.setFill(Color.YELLOW.deriveColor(0, 1, 1, 0.8));
             gc.fillOval(screenX - 6, screenY - 6, 12, 12);
@@ -181,13 +183,13 @@ public class GameView {
         double alpha = calculateAlpha(model, x, y);
 
         // Rendu des murs
-        int wallIndex = model.getWallMap()[x][y];
+        int wallIndex = model.wallAt(x, y);
         if (wallIndex >= 0) {
             String wallImageKey = "wall_" + wallIndex;
 
             // Cas spécial pour les portes ouvertes
-            if (model.getWallTypes()[x][y] == GameModel.WallType.DOOR) {
-                GameModel.WallProperties props = model.getWallProperties()[x][y];
+            if (model.wallTypeAt(x, y) == GameModel.WallType.DOOR) {
+                GameModel.WallProperties props = model.wallPropertiesAt(x, y);
                 if (props != null && props.isOpen) {
                     wallImageKey = "wall_" + wallIndex + "_o";
                 }
@@ -204,8 +206,8 @@ public class GameView {
                 gc.setGlobalAlpha(1.0);
 
                 // Barre de santé pour murs destructibles
-                if (model.getWallTypes()[x][y] == GameModel.WallType.DESTRUCTIBLE) {
-                    GameModel.WallProperties props = model.getWallProperties()[x][y];
+                if (model.wallTypeAt(x, y) == GameModel.WallType.DESTRUCTIBLE) {
+                    GameModel.WallProperties props = model.wallPropertiesAt(x, y);
                     if (props != null && props.health < 255) {
                         renderHealthBar(screenX, screenY - WALL_HEIGHT + TILE_HEIGHT/2, props.health, 255);
                     }
@@ -214,7 +216,7 @@ public class GameView {
         }
 
         // Rendu des plafonds
-        int ceilingIndex = model.getCeilingMap()[x][y];
+        int ceilingIndex = model.ceilingAt(x, y);
         if (ceilingIndex >= 0) {
             Image ceilingImg = ceilingImages.get("ceiling_" + ceilingIndex);
             if (ceilingImg != null) {
@@ -226,7 +228,7 @@ public class GameView {
     }
 
     private double calculateAlpha(GameModel model, int x, int y) {
-        Point2D playerPos = model.getPlayerPosition();
+        Point playerPos = model.getPlayerPosition();
         double distanceToPlayer = Math.abs(x - playerPos.getX()) + Math.abs(y - playerPos.getY());
 
         if (isInFrontOfPlayer(model, x, y)) {
@@ -240,7 +242,7 @@ public class GameView {
     }
 
     private boolean isInFrontOfPlayer(GameModel model, int x, int y) {
-        Point2D playerPos = model.getPlayerPosition();
+        Point playerPos = model.getPlayerPosition();
         double dx = x - playerPos.getX();
         double dy = y - playerPos.getY();
         double angle = Math.atan2(dy, dx);
@@ -261,19 +263,17 @@ public class GameView {
     // ================================
 
     private void renderEnemies(GameModel model) {
-        List<CombatSystem.Entity> entities = model.getCombatSystem().getEntities();
+        double alpha = model.getClock().getAlpha();
 
-        for (CombatSystem.Entity entity : entities) {
-            if (entity.isPlayer || !entity.stats.isAlive()) continue;
-
-            if (isEnemyVisible(entity)) {
-                renderEnemy(entity);
+        model.getCombatSystem().forEachAliveEnemy(enemy -> {
+            if (isEnemyVisible(enemy)) {
+                renderEnemy(enemy, alpha);
             }
-        }
+        });
     }
 
-    private void renderEnemy(CombatSystem.Entity enemy) {
-        Point2D screenPos = tileToScreen(enemy.position.getX(), enemy.position.getY());
+    private void renderEnemy(CombatSystem.Entity enemy, double alpha) {
+        Point2D screenPos = tileToScreen(enemy.getRenderX(alpha), enemy.getRenderY(alpha));
         double screenX = screenPos.getX();
         double screenY = screenPos.getY();
 
@@ -294,7 +294,7 @@ public class GameView {
         renderEnemyClassIndicator(screenX, screenY, enemy.entityClass);
 
         // Barre de santé
-        if (enemy.stats.health < enemy.stats.maxHealth) {
+        if (enemy.stats.getHealth() < enemy.stats.getMaxHealth()) {
             renderEnemyHealthBar(screenX, screenY - size/2 - 12, enemy.stats);
         }
 
@@ -417,20 +417,47 @@ public class GameView {
     // RENDU DES PROJECTILES
     // ================================
 
-    private void renderProjectiles(GameModel model) {
-        List<CombatSystem.Projectile> projectiles = model.getCombatSystem().getProjectiles();
+    // Couleurs par type de dégât (indice = ordinal), calculées une fois pour ne rien allouer par image
+    private static final Color[] PROJECTILE_COLORS = new Color[CombatSystem.DamageType.values().length];
+    private static final Color[] PROJECTILE_OUTLINES = new Color[PROJECTILE_COLORS.length];
+    private static final Color[] PROJECTILE_TRAILS = new Color[PROJECTILE_COLORS.length];
+    private static final Color FIRE_PARTICLE = Color.ORANGE.deriveColor(0, 1, 1, 0.7);
+    private static final Color ICE_CRYSTAL = Color.LIGHTBLUE.deriveColor(0, 1, 1, 0.8);
+    private static final Color LIGHTNING_BOLT = Color.YELLOW.brighter();
+    private static final Color POISON_BUBBLE = Color.GREEN.deriveColor(0, 1, 1, 0.6);
+
+    static {
+        for (CombatSystem.DamageType type : CombatSystem.DamageType.values()) {
+            Color color;
+            switch (type) {
+                case FIRE: color = Color.ORANGE; break;
+                case ICE: color = Color.LIGHTBLUE; break;
+                case POISON: color = Color.GREEN; break;
+                case LIGHTNING: color = Color.YELLOW; break;
+                default: color = Color.DARKRED; break;
+            }
+            PROJECTILE_COLORS[type.ordinal()] = color;
+            PROJECTILE_OUTLINES[type.ordinal()] = color.darker();
+            PROJECTILE_TRAILS[type.ordinal()] = color.deriveColor(0, 1, 1, 0.5);
+        }
+    }
 
-        for (CombatSystem.Projectile projectile : projectiles) {
-            if (!projectile.active) continue;
+    private void renderProjectiles(GameModel model) {
+        ProjectilePool projectiles = model.getCombatSystem().getProjectilePool();
+        // Recul depuis la position de fin du dernier pas (interpolation, vitesse constante)
+        double rewind = (1 - model.getClock().getAlpha()) * model.getClock().getStepSeconds();
 
-            renderProjectile(projectile);
+        // Lecture directe de la réserve (pas de copie)
+        for (int i = 0; i < projectiles.size(); i++) {
+            renderProjectile(projectiles, i, rewind);
         }
     }
 
-    private void renderProjectile(CombatSystem.Projectile projectile) {
-        Point2D screenPos = tileToScreen(projectile.position.getX(), projectile.position.getY());
-        double screenX = screenPos.getX();
-        double screenY = screenPos.getY();
+    private void renderProjectile(ProjectilePool projectiles, int i, double rewind) {
+        double tileX = projectiles.getX(i) - projectiles.getVelocityX(i) * rewind;
+        double tileY = projectiles.getY(i) - projectiles.getVelocityY(i) * rewind;
+        double screenX = (tileX - tileY) * (TILE_WIDTH / 2) - cameraX + CANVAS_WIDTH / 2;
+        double screenY = (tileX + tileY) * (TILE_HEIGHT / 2) - cameraY + CANVAS_HEIGHT / 2;
 
         // Culling
         if (screenX < -20 || screenX > CANVAS_WIDTH + 20 ||
@@ -438,44 +465,47 @@ public class GameView {
             return;
         }
 
+        CombatSystem.DamageType damageType = projectiles.getDamageType(i);
+
         // Projectile principal
-        gc.setFill(projectile.color);
+        gc.setFill(PROJECTILE_COLORS[damageType.ordinal()]);
         gc.fillOval(screenX - 3, screenY - 3, 6, 6);
 
         // Effet de traînée selon le type
-        renderProjectileTrail(screenX, screenY, projectile);
+        renderProjectileTrail(screenX, screenY, projectiles, i, damageType);
 
         // Contour
-        gc.setStroke(projectile.color.darker());
+        gc.setStroke(PROJECTILE_OUTLINES[damageType.ordinal()]);
         gc.setLineWidth(1);
         gc.strokeOval(screenX - 3, screenY - 3, 6, 6);
     }
 
-    private void renderProjectileTrail(double x, double y, CombatSystem.Projectile projectile) {
+    private void renderProjectileTrail(double x, double y, ProjectilePool projectiles, int index,
+                                       CombatSystem.DamageType damageType) {
         double trailLength = 10;
-        double trailX = x - projectile.velocity.getX() * trailLength / projectile.speed;
-        double trailY = y - projectile.velocity.getY() * trailLength / projectile.speed;
+        double trailX = x - projectiles.getVelocityX(index) * trailLength / projectiles.getSpeed(index);
+        double trailY = y - projectiles.getVelocityY(index) * trailLength / projectiles.getSpeed(index);
 
         // Ligne de traînée avec transparence
-        gc.setStroke(projectile.color.deriveColor(0, 1, 1, 0.5));
+        gc.setStroke(PROJECTILE_TRAILS[damageType.ordinal()]);
         gc.setLineWidth(2);
         gc.strokeLine(x, y, trailX, trailY);
 
         // Effet spécial selon le type de dégât
-        switch (projectile.damageType) {
+        switch (damageType) {
             case FIRE:
                 // Particules de feu
                 for (int i = 0; i < 3; i++) {
                     double px = x + (Math.random() - 0.5) * 8;
                     double py = y + (Math.random() - 0.5) * 8;
-                    gc.setFill(Color.ORANGE.deriveColor(0, 1, 1, 0.7));
+                    gc.setFill(FIRE_PARTICLE);
                     gc.fillOval(px - 1, py - 1, 2, 2);
                 }
                 break;
 
             case ICE:
                 // Cristaux de glace
-                gc.setStroke(Color.LIGHTBLUE.deriveColor(0, 1, 1, 0.8));
+                gc.setStroke(ICE_CRYSTAL);
                 gc.setLineWidth(1);
                 gc.strokeLine(x - 2, y - 2, x + 2, y + 2);
                 gc.strokeLine(x - 2, y + 2, x + 2, y - 2);
@@ -483,7 +513,7 @@ public class GameView {
 
             case LIGHTNING:
                 // Éclairs
-                gc.setStroke(Color.YELLOW.brighter());
+                gc.setStroke(LIGHTNING_BOLT);
                 gc.setLineWidth(1);
                 for (int i = 0; i < 2; i++) {
                     double zigX = x + (Math.random() - 0.5) * 6;
@@ -494,7 +524,7 @@ public class GameView {
 
             case POISON:
                 // Bulles de poison
-                gc.setFill(Color.GREEN.deriveColor(0, 1, 1, 0.6));
+                gc.setFill(POISON_BUBBLE);
                 gc.fillOval(x - 1, y - 1, 2, 2);
                 gc.fillOval(x + 2, y - 2, 3, 3);
                 break;
@@ -506,7 +536,7 @@ public class GameView {
     // ================================
 
     private void renderPlayer(GameModel model) {
-        Point2D playerPos = model.getCurrentInterpolatedPosition();
+        Point playerPos = model.getRenderPlayerPosition();
         Point2D screenPos = tileToScreen(playerPos.getX(), playerPos.getY());
         double screenX = screenPos.getX();
         double screenY = screenPos.getY();
@@ -553,10 +583,7 @@ public class GameView {
 
     private void renderCombatUI(GameModel model) {
         // Statistiques du joueur en haut à gauche
-        CombatSystem.Entity player = model.getCombatSystem().getEntities().stream()
-                .filter(e -> e.isPlayer)
-                .findFirst()
-                .orElse(null);
+        CombatSystem.Entity player = model.getCombatSystem().getPlayer();
 
         if (player != null) {
             renderPlayerStats(player.stats);
@@ -587,8 +614,8 @@ public class GameView {
         // Texte des stats
         gc.setFill(Color.WHITE);
         gc.setFont(javafx.scene.text.Font.font(12));
-        gc.fillText("Santé: " + stats.health + "/" + stats.maxHealth, x + 10, y + 20);
-        gc.fillText("Dégâts: " + stats.damage, x + 10, y + 35);
+        gc.fillText("Santé: " + stats.getHealth() + "/" + stats.getMaxHealth(), x + 10, y + 20);
+        gc.fillText("Dégâts: " + stats.getDamage(), x + 10, y + 35);
         gc.fillText("Portée: " + String.format("%.1f", stats.range), x + 10, y + 50);
 
         // Barre de santé
@@ -615,15 +642,8 @@ public class GameView {
     }
 
     private void renderEnemyCounter(GameModel model) {
-        List<CombatSystem.Entity> entities = model.getCombatSystem().getEntities();
-
-        long aliveEnemies = entities.stream()
-                .filter(e -> !e.isPlayer && e.stats.isAlive())
-                .count();
-
-        long totalEnemies = entities.stream()
-                .filter(e -> !e.isPlayer)
-                .count();
+        int aliveEnemies = model.getCombatSystem().getAliveEnemyCount();
+        int totalEnemies = model.getCombatSystem().getTotalEnemyCount();
 
         // Position en haut à droite
         double x = CANVAS_WIDTH - 160;
@@ -644,7 +664,7 @@ public class GameView {
         gc.setFill(Color.WHITE);
         gc.setFont(javafx.scene.text.Font.font(12));
         gc.fillText("Ennemis: " + aliveEnemies + "/" + totalEnemies, x + 10, y + 20);
-        gc.fillText("Projectiles: " + model.getCombatSystem().getProjectiles().size(), x + 10, y + 35);
+        gc.fillText("Projectiles: " + model.getCombatSystem().getProjectileCount(), x + 10, y + 35);
     }
 
     private void renderMiniMap(GameModel model) {
@@ -662,10 +682,10 @@ public class GameView {
         gc.strokeRect(x, y, mapSize, mapSize);
 
         // Échelle de la carte
-        double scale = mapSize / GameModel.MAP_SIZE;
+        double scale = mapSize / Math.max(model.getMapWidth(), model.getMapHeight());
 
         // Position du joueur
-        Point2D playerPos = model.getPlayerPosition();
+        Point playerPos = model.getPlayerPosition();
         double playerX = x + playerPos.getX() * scale;
         double playerY = y + playerPos.getY() * scale;
 
@@ -673,22 +693,19 @@ public class GameView {
         gc.fillOval(playerX - 2, playerY - 2, 4, 4);
 
         // Ennemis sur la mini-carte
-        List<CombatSystem.Entity> entities = model.getCombatSystem().getEntities();
-        for (CombatSystem.Entity entity : entities) {
-            if (entity.isPlayer || !entity.stats.isAlive()) continue;
-
-            double enemyX = x + entity.position.getX() * scale;
-            double enemyY = y + entity.position.getY() * scale;
+        model.getCombatSystem().forEachAliveEnemy(enemy -> {
+            double enemyX = x + enemy.getX() * scale;
+            double enemyY = y + enemy.getY() * scale;
 
             // Couleur selon la classe
-            Color enemyColor = getEnemyColor(entity.entityClass);
+            Color enemyColor = getEnemyColor(enemy.entityClass);
             gc.setFill(enemyColor);
 
             // Taille selon la classe
-            double dotSize = entity.entityClass == CombatSystem.EnemyClass.BOSS ? 3 :
-                    (entity.entityClass.name().startsWith("ELITE") ? 2 : 1);
+            double dotSize = enemy.entityClass == CombatSystem.EnemyClass.BOSS ? 3 :
+                    (enemy.entityClass.name().startsWith("ELITE") ? 2 : 1);
             gc.fillOval(enemyX - dotSize, enemyY - dotSize, dotSize * 2, dotSize * 2);
-        }
+        });
 
         // Titre de la mini-carte
         gc.setFill(Color.WHITE);
@@ -702,7 +719,7 @@ public class GameView {
 
     private void renderMouseIndicators(GameModel model) {
         // Losange bleu sur la position cliquée
-        Point2D clickedPos = model.getClickedPosition();
+        Point clickedPos = model.getClickedPosition();
         if (clickedPos != null && model.isValidTile((int)clickedPos.getX(), (int)clickedPos.getY())) {
             renderTileIndicator(clickedPos, Color.BLUE, 0.6);
         }
@@ -727,21 +744,11 @@ public class GameView {
         }
     }
 
-    private boolean hasEnemyAtPosition(Point2D position, GameModel model) {
-        List<CombatSystem.Entity> entities = model.getCombatSystem().getEntities();
-
-        for (CombatSystem.Entity entity : entities) {
-            if (!entity.isPlayer && entity.stats.isAlive()) {
-                double distance = entity.position.distance(position);
-                if (distance <= 0.7) {
-                    return true;
-                }
-            }
-        }
-        return false;
+    private boolean hasEnemyAtPosition(Point position, GameModel model) {
+        return model.getCombatSystem().hasEnemyAt(position, 0.7);
     }
 
-    private void renderTileIndicator(Point2D tilePos, Color color, double opacity) {
+    private void renderTileIndicator(Point tilePos, Color color, double opacity) {
         Point2D screenPos = tileToScreen(tilePos.getX(), tilePos.getY());
         double screenX = screenPos.getX();
         double screenY = screenPos.getY();
@@ -803,7 +810,7 @@ public class GameView {
     }
 
     private boolean isEnemyVisible(CombatSystem.Entity enemy) {
-        Point2D screenPos = tileToScreen(enemy.position.getX(), enemy.position.getY());
+        Point2D screenPos = tileToScreen(enemy.getX(), enemy.getY());
 
         return screenPos.getX() >= -50 && screenPos.getX() <= CANVAS_WIDTH + 50 &&
                 screenPos.getY() >= -50 && screenPos.getY() <= CANVAS_HEIGHT + 50;
@@ -813,7 +820,7 @@ public class GameView {
     // TRANSFORMATIONS SPATIALES
     // ================================
 
-    public Point2D screenToTile(double screenX, double screenY) {
+    public Point screenToTile(double screenX, double screenY) {
         // CORRECTION : Conversion écran vers monde avec caméra précise
         double worldX = screenX - CANVAS_WIDTH / 2 + cameraX;
         double worldY = screenY - CANVAS_HEIGHT / 2 + cameraY;
@@ -822,7 +829,7 @@ public class GameView {
         double tileX = (worldX / (TILE_WIDTH / 2) + worldY / (TILE_HEIGHT / 2)) / 2;
         double tileY = (worldY / (TILE_HEIGHT / 2) - worldX / (TILE_WIDTH / 2)) / 2;
 
-        return new Point2D(Math.floor(tileX), Math.floor(tileY));
+        return new Point(Math.floor(tileX), Math.floor(tileY));
     }
 
     public Point2D tileToScreen(double tileX, double tileY) {
@@ -842,7 +849,7 @@ public class GameView {
     // ================================
 
     public void centerCameraOnPlayer(GameModel model) {
-        Point2D playerPos = model.getPlayerPosition();
+        Point playerPos = model.getPlayerPosition();
 
         // Calcul direct des coordonnées monde
         double worldX = (playerPos.getX() - playerPos.getY()) * (TILE_WIDTH / 2);
@@ -855,8 +862,8 @@ public class GameView {
                 (int)playerPos.getX() + ", " + (int)playerPos.getY() + ")");
     }
 
-    public void updateCameraToFollowPlayer(GameModel model) {
-        Point2D currentPos = model.getCurrentInterpolatedPosition();
+    public void updateCameraToFollowPlayer(GameModel model, double frameSeconds) {
+        Point currentPos = model.getRenderPlayerPosition();
 
         // Calculer la position monde exacte du joueur
         double targetWorldX = (currentPos.getX() - currentPos.getY()) * (TILE_WIDTH / 2);
@@ -864,6 +871,8 @@ public class GameView {
 
         // CORRECTION : Suivi plus réactif et précis
         double lerpFactor = model.isMoving() ? 0.15 : 0.08; // Plus rapide en mouvement
+        // Facteurs réglés pour 60 images/s, ramenés à la durée réelle de l'image
+        lerpFactor = 1 - Math.pow(1 - lerpFactor, frameSeconds * 60);
 
         cameraX += (targetWorldX - cameraX) * lerpFactor;
         cameraY += (targetWorldY - cameraY) * lerpFactor;
@@ -871,7 +880,7 @@ public class GameView {
 
     // MÉTHODE ALTERNATIVE : Caméra instantanée (pour debug)
     public void snapCameraToPlayer(GameModel model) {
-        Point2D currentPos = model.getCurrentInterpolatedPosition();
+        Point currentPos = model.getCurrentInterpolatedPosition();
 
         cameraX = (currentPos.getX() - currentPos.getY()) * (TILE_WIDTH / 2);
         cameraY = (currentPos.getX() + currentPos.getY()) * (TILE_HEIGHT / 2);
@@ -881,23 +890,8 @@ public class GameView {
     // ================================
 
     public CombatSystem.Entity getEnemyAtScreenPosition(double screenX, double screenY, GameModel model) {
-        Point2D worldPos = screenToTile(screenX, screenY);
-
-        CombatSystem.Entity closestEnemy = null;
-        double minDistance = Double.MAX_VALUE;
-
-        List<CombatSystem.Entity> entities = model.getCombatSystem().getEntities();
-        for (CombatSystem.Entity entity : entities) {
-            if (entity.isPlayer || !entity.stats.isAlive()) continue;
-
-            double distance = entity.position.distance(worldPos);
-            if (distance < minDistance && distance <= 1.0) { // Tolérance de clic
-                minDistance = distance;
-                closestEnemy = entity;
-            }
-        }
-
-        return closestEnemy;
+        Point worldPos = screenToTile(screenX, screenY);
+        return model.getCombatSystem().findEnemyAt(worldPos, 1.0); // Tolérance de clic
     }
 
     // ================================
@@ -918,8 +912,8 @@ public class GameView {
             gc.setFont(javafx.scene.text.Font.font(10));
 
             // Afficher FPS, nombre d'entités, etc.
-            int entityCount = model.getCombatSystem().getEntities().size();
-            int projectileCount = model.getCombatSystem().getProjectiles().size();
+            int entityCount = model.getCombatSystem().getEntityCount();
+            int projectileCount = model.getCombatSystem().getProjectileCount();
 
             gc.fillText("Entités: " + entityCount, 10, CANVAS_HEIGHT - 30);
             gc.fillText("Projectiles: " + projectileCount, 10, CANVAS_HEIGHT - 15);
@@ -933,7 +927,7 @@ public class GameView {
      * Rendu amélioré des items avec gestion des coffres et raretés
      */
     private void renderEnhancedItems(GameModel model, int x, int y, double screenX, double screenY) {
-        List<GameModel.Item> items = model.getItemMap()[x][y];
+        List<GameModel.Item> items = model.itemsAt(x, y);
         if (items.isEmpty()) return;
 
         for (int i = 0; i < items.size(); i++) {
@@ -1466,7 +1460,7 @@ public class GameView {
         }
 
         // Rendu du sol (inchangé)
-        int floorIndex = model.getFloorMap()[x][y];
+        int floorIndex = model.floorAt(x, y);
         if (floorIndex >= 0) {
             Image floorImg = floorImages.get("floor_" + floorIndex);
             if (floorImg != null) {
@@ -1481,12 +1475,12 @@ public class GameView {
         double alpha = calculateAlpha(model, x, y);
 
         // Rendu des murs (inchangé)
-        int wallIndex = model.getWallMap()[x][y];
+        int wallIndex = model.wallAt(x, y);
         if (wallIndex >= 0) {
             String wallImageKey = "wall_" + wallIndex;
 
-            if (model.getWallTypes()[x][y] == GameModel.WallType.DOOR) {
-                GameModel.WallProperties props = model.getWallProperties()[x][y];
+            if (model.wallTypeAt(x, y) == GameModel.WallType.DOOR) {
+                GameModel.WallProperties props = model.wallPropertiesAt(x, y);
                 if (props != null && props.isOpen) {
                     wallImageKey = "wall_" + wallIndex + "_o";
                 }
@@ -1502,8 +1496,8 @@ public class GameView {
                 gc.drawImage(wallImg, screenX - TILE_WIDTH/2, screenY - WALL_HEIGHT + TILE_HEIGHT/2);
                 gc.setGlobalAlpha(1.0);
 
-                if (model.getWallTypes()[x][y] == GameModel.WallType.DESTRUCTIBLE) {
-                    GameModel.WallProperties props = model.getWallProperties()[x][y];
+                if (model.wallTypeAt(x, y) == GameModel.WallType.DESTRUCTIBLE) {
+                    GameModel.WallProperties props = model.wallPropertiesAt(x, y);
                     if (props != null && props.health < 255) {
                         renderHealthBar(screenX, screenY - WALL_HEIGHT + TILE_HEIGHT/2, props.health, 255);
                     }
@@ -1512,7 +1506,7 @@ public class GameView {
         }
 
         // Rendu des plafonds (inchangé)
-        int ceilingIndex = model.getCeilingMap()[x][y];
+        int ceilingIndex = model.ceilingAt(x, y);
         if (ceilingIndex >= 0) {
             Image ceilingImg = ceilingImages.get("ceiling_" + ceilingIndex);
             if (ceilingImg != null) {
@@ -1526,7 +1520,7 @@ public class GameView {
     /**
      * Tooltip pour les items au survol de la souris
      */
-    private void renderItemTooltip(GameModel model, Point2D mousePos) {
+    private void renderItemTooltip(GameModel model, Point mousePos) {
         if (mousePos == null) return;
 
         int x = (int)mousePos.getX();
@@ -1534,7 +1528,7 @@ public class GameView {
 
         if (!model.isValidTile(x, y)) return;
 
-        List<GameModel.Item> items = model.getItemMap()[x][y];
+        List<GameModel.Item> items = model.itemsAt(x, y);
         if (items.isEmpty()) return;
 
         // Position du tooltip
@@ -1586,7 +1580,7 @@ public class GameView {
     /**
      * Indicateur visuel pour les coffres interactifs
      */
-    private void renderChestInteractionIndicator(GameModel model, Point2D hoverPos) {
+    private void renderChestInteractionIndicator(GameModel model, Point hoverPos) {
         if (hoverPos == null) return;
 
         int x = (int)hoverPos.getX();
@@ -1595,7 +1589,7 @@ public class GameView {
         if (!model.isValidTile(x, y)) return;
 
         // Vérifier s'il y a un coffre
-        List<GameModel.Item> items = model.getItemMap()[x][y];
+        List<GameModel.Item> items = model.itemsAt(x, y);
         boolean hasChest = items.stream().anyMatch(item -> item.type.startsWith("chest_"));
 
         if (hasChest) {
@@ -1625,10 +1619,12 @@ public class GameView {
         gc.fillRect(0, 0, CANVAS_WIDTH, CANVAS_HEIGHT);
 
         // Rendu en ordre isométrique avec le nouveau système d'items
-        for (int sum = 0; sum < GameModel.MAP_SIZE * 2; sum++) {
-            for (int x = 0; x < GameModel.MAP_SIZE; x++) {
+        int mapWidth = model.getMapWidth();
+        int mapHeight = model.getMapHeight();
+        for (int sum = 0; sum < mapWidth + mapHeight - 1; sum++) {
+            for (int x = 0; x < mapWidth; x++) {
                 int y = sum - x;
-                if (y < 0 || y >= GameModel.MAP_SIZE) continue;
+                if (y < 0 || y >= mapHeight) continue;
 
                 renderTileWithEnhancedItems(model, x, y);
             }
@@ -1655,7 +1651,7 @@ public class GameView {
 
     private void renderMouseIndicatorsWithChests(GameModel model) {
         // Indicateurs existants...
-        Point2D clickedPos = model.getClickedPosition();
+        Point clickedPos = model.getClickedPosition();
         if (clickedPos != null && model.isValidTile((int)clickedPos.getX(), (int)clickedPos.getY())) {
             renderTileIndicator(clickedPos, Color.BLUE, 0.6);
         }
@@ -1665,7 +1661,7 @@ public class GameView {
             boolean hasEnemy = hasEnemyAtPosition(mouseHoverPos, model);
 
             // Vérifier s'il y a un coffre
-            List<GameModel.Item> items = model.getItemMap()[(int)mouseHoverPos.getX()][(int)mouseHoverPos.getY()];
+            List<GameModel.Item> items = model.itemsAt((int)mouseHoverPos.getX(), (int)mouseHoverPos.getY());
             boolean hasChest = items.stream().anyMatch(item -> item.type.startsWith("chest_"));
 
             Color indicatorColor;
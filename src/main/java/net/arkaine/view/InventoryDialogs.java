@@ -0,0 +1,189 @@
+package net.arkaine.view;
+
+import net.arkaine.inventory.InventorySystem;
+import net.arkaine.inventory.InventorySystem.EquipmentSlot;
+import net.arkaine.inventory.InventorySystem.InventoryItem;
+import javafx.geometry.Pos;
+import javafx.scene.Scene;
+import javafx.scene.control.*;
+import javafx.scene.input.MouseButton;
+import javafx.scene.layout.*;
+import javafx.stage.Modality;
+import javafx.stage.Stage;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fenêtres de l'inventaire (gestion du sac plein, équipement), séparées de
+ * InventorySystem pour que le modèle n'ait pas besoin de JavaFX
+ */
+public class InventoryDialogs {
+
+    // Gestion d'inventaire (sac plein)
+    public static void showInventoryManagementDialog(InventorySystem inventory, List<InventoryItem> itemsToCollect,
+                                                     Stage parentStage) {
+        Stage dialog = new Stage();
+        dialog.initModality(Modality.APPLICATION_MODAL);
+        dialog.initOwner(parentStage);
+        dialog.setTitle("Gestion d'Inventaire - Sac plein");
+
+        BorderPane root = new BorderPane();
+
+        // Créer les listes avec handlers améliorés
+        ListView<InventoryItem> inventoryList = createInventoryListView(inventory);
+        ListView<InventoryItem> itemsToCollectList = createItemsToCollectListView(inventory, itemsToCollect);
+
+        // CORRECTION : Synchronisation en temps réel des listes
+        inventoryList.setOnMouseClicked(e -> {
+            if (e.getClickCount() == 2 && e.getButton() == MouseButton.PRIMARY) {
+                InventoryItem selected = inventoryList.getSelectionModel().getSelectedItem();
+                if (selected != null) {
+                    // Jeter l'objet et l'ajouter à la liste de collecte
+                    if (inventory.removeItem(selected, 1)) {
+                        itemsToCollectList.getItems().add(selected);
+                        inventoryList.getItems().remove(selected);
+                        System.out.println("Objet jeté: " + selected.name);
+                    }
+                }
+            }
+        });
+
+        itemsToCollectList.setOnMouseClicked(e -> {
+            if (e.getClickCount() == 2 && e.getButton() == MouseButton.PRIMARY) {
+                InventoryItem selected = itemsToCollectList.getSelectionModel().getSelectedItem();
+                if (selected != null && !inventory.isBackpackFull()) {
+                    // Ramasser l'objet
+                    if (inventory.addItem(selected)) {
+                        inventoryList.getItems().add(selected);
+                        itemsToCollectList.getItems().remove(selected);
+                        System.out.println("Objet ramassé: " + selected.name);
+                    }
+                }
+            }
+        });
+
+        // Panneaux gauche et droite
+        VBox leftPanel = createPanelWithTitle("Inventaire actuel (" + inventory.getBackpackSize() + "/" + InventorySystem.MAX_BACKPACK_SIZE + ")", inventoryList);
+        VBox rightPanel = createPanelWithTitle("Objets à ramasser", itemsToCollectList);
+
+        // Layout principal
+        HBox mainLayout = new HBox(10);
+        mainLayout.getChildren().addAll(leftPanel, rightPanel);
+
+        // Boutons
+        HBox buttonBox = new HBox(10);
+        buttonBox.setAlignment(Pos.CENTER);
+
+        Button closeButton = new Button("Fermer");
+        closeButton.setOnAction(e -> dialog.close());
+
+        Button dropAllButton = new Button("Tout jeter au sol");
+        dropAllButton.setOnAction(e -> {
+            // Implémenter la logique pour remettre tous les objets au sol
+            dialog.close();
+        });
+
+        buttonBox.getChildren().addAll(closeButton, dropAllButton);
+
+        root.setCenter(mainLayout);
+        root.setBottom(buttonBox);
+        root.setPrefSize(600, 400);
+
+        Scene scene = new Scene(root);
+        dialog.setScene(scene);
+        dialog.show();
+    }
+
+    private static ListView<InventoryItem> createInventoryListView(InventorySystem inventory) {
+        ListView<InventoryItem> listView = new ListView<>();
+        listView.getItems().addAll(inventory.getBackpack());
+
+        // Double-clic pour jeter au sol
+        listView.setOnMouseClicked(e -> {
+            if (e.getClickCount() == 2 && e.getButton() == MouseButton.PRIMARY) {
+                InventoryItem selected = listView.getSelectionModel().getSelectedItem();
+                if (selected != null) {
+                    inventory.removeItem(selected, 1);
+                    listView.getItems().remove(selected);
+                    // Ici, on devrait remettre l'objet au sol dans le modèle
+                    System.out.println("Objet jeté: " + selected.name);
+                }
+            }
+        });
+
+        return listView;
+    }
+
+    private static ListView<InventoryItem> createItemsToCollectListView(InventorySystem inventory, List<InventoryItem> items) {
+        ListView<InventoryItem> listView = new ListView<>();
+        listView.getItems().addAll(items);
+
+        // Double-clic pour ramasser
+        listView.setOnMouseClicked(e -> {
+            if (e.getClickCount() == 2 && e.getButton() == MouseButton.PRIMARY) {
+                InventoryItem selected = listView.getSelectionModel().getSelectedItem();
+                if (selected != null && !inventory.isBackpackFull()) {
+                    inventory.addItem(selected);
+                    listView.getItems().remove(selected);
+                    System.out.println("Objet ramassé: " + selected.name);
+                }
+            }
+        });
+
+        return listView;
+    }
+
+    private static VBox createPanelWithTitle(String title, ListView<InventoryItem> listView) {
+        VBox panel = new VBox(5);
+        Label titleLabel = new Label(title);
+        titleLabel.setStyle("-fx-font-weight: bold;");
+
+        panel.getChildren().addAll(titleLabel, listView);
+        VBox.setVgrow(listView, Priority.ALWAYS);
+
+        return panel;
+    }
+
+    // Interface d'équipement
+    public static void showEquipmentDialog(InventorySystem inventory, Stage parentStage) {
+        Stage dialog = new Stage();
+        dialog.initModality(Modality.APPLICATION_MODAL);
+        dialog.initOwner(parentStage);
+        dialog.setTitle("Équipement");
+
+        GridPane grid = new GridPane();
+        grid.setHgap(10);
+        grid.setVgap(10);
+
+        Map<EquipmentSlot, InventoryItem> equipment = inventory.getEquipment();
+        int row = 0;
+        for (EquipmentSlot slot : EquipmentSlot.values()) {
+            Label slotLabel = new Label(slot.name().replace("_", " ") + ":");
+            InventoryItem equipped = equipment.get(slot);
+            Label itemLabel = new Label(equipped != null ? equipped.toString() : "Vide");
+
+            Button unequipButton = new Button("Retirer");
+            unequipButton.setDisable(equipped == null);
+            unequipButton.setOnAction(e -> {
+                if (inventory.unequipItem(slot)) {
+                    itemLabel.setText("Vide");
+                    unequipButton.setDisable(true);
+                }
+            });
+
+            grid.add(slotLabel, 0, row);
+            grid.add(itemLabel, 1, row);
+            grid.add(unequipButton, 2, row);
+            row++;
+        }
+
+        Button closeButton = new Button("Fermer");
+        closeButton.setOnAction(e -> dialog.close());
+        grid.add(closeButton, 1, row);
+
+        Scene scene = new Scene(grid, 400, 300);
+        dialog.setScene(scene);
+        dialog.show();
+    }
+}
@@ -1,9 +1,9 @@
 package net.arkaine.world;
 
 import net.arkaine.model.GameModel;
+import net.arkaine.model.Point;
 import net.arkaine.world.RealisticItemGenerator.Chest;
 import net.arkaine.world.RealisticItemGenerator.ChestType;
-import javafx.geometry.Point2D;
 import javafx.scene.control.*;
 import javafx.scene.layout.*;
 import javafx.stage.Modality;
@@ -18,7 +18,7 @@ import java.util.*;
 public class ChestSystemIntegration {
 
     // Extension des données du GameModel
-    private Map<Point2D, Chest> chestMap = new HashMap<>();
+    private Map<Point, Chest> chestMap = new HashMap<>();
     private GameModel gameModel;
 
     public ChestSystemIntegration(GameModel gameModel) {
@@ -44,9 +44,9 @@ public class ChestSystemIntegration {
      * Initialise les coffres à partir des items "chest_*" placés sur la carte
      */
     private void initializeChestsFromItems() {
-        for (int x = 0; x < GameModel.MAP_SIZE; x++) {
-            for (int y = 0; y < GameModel.MAP_SIZE; y++) {
-                List<GameModel.Item> items = gameModel.getItemMap()[x][y];
+        for (int x = 0; x < gameModel.getMapWidth(); x++) {
+            for (int y = 0; y < gameModel.getMapHeight(); y++) {
+                List<GameModel.Item> items = gameModel.itemsAt(x, y);
 
                 for (int i = items.size() - 1; i >= 0; i--) {
                     GameModel.Item item = items.get(i);
@@ -63,7 +63,7 @@ public class ChestSystemIntegration {
                             generateChestContents(chest, biome);
 
                             // Stocker le coffre
-                            chestMap.put(new Point2D(x, y), chest);
+                            chestMap.put(new Point(x, y), chest);
 
                             // Remplacer l'item par un indicateur visuel
                             items.set(i, new GameModel.Item("chest_closed", 1));
@@ -78,7 +78,7 @@ public class ChestSystemIntegration {
      * Gère l'interaction avec un coffre
      */
     public boolean handleChestInteraction(int x, int y, Stage parentStage) {
-        Point2D position = new Point2D(x, y);
+        Point position = new Point(x, y);
         Chest chest = chestMap.get(position);
 
         if (chest == null) {
@@ -86,7 +86,7 @@ public class ChestSystemIntegration {
         }
 
         // Vérifier la distance
-        Point2D playerPos = gameModel.getPlayerPosition();
+        Point playerPos = gameModel.getPlayerPosition();
         double distance = Math.abs(x - playerPos.getX()) + Math.abs(y - playerPos.getY());
         if (distance > 1.5) {
             gameModel.setMessageAbovePlayer("Too far");
@@ -121,7 +121,7 @@ public class ChestSystemIntegration {
      * Met à jour l'apparence visuelle du coffre
      */
     private void updateChestVisual(int x, int y, boolean isOpen) {
-        List<GameModel.Item> items = gameModel.getItemMap()[x][y];
+        List<GameModel.Item> items = gameModel.itemsAt(x, y);
 
         for (int i = 0; i < items.size(); i++) {
             GameModel.Item item = items.get(i);
@@ -295,11 +295,11 @@ public class ChestSystemIntegration {
      * Supprime un coffre vide de la carte
      */
     private void removeEmptyChest(int x, int y) {
-        Point2D position = new Point2D(x, y);
+        Point position = new Point(x, y);
         chestMap.remove(position);
 
         // Retirer l'indicateur visuel
-        List<GameModel.Item> items = gameModel.getItemMap()[x][y];
+        List<GameModel.Item> items = gameModel.itemsAt(x, y);
         items.removeIf(item -> item.type.equals("chest_open") || item.type.equals("chest_closed"));
 
         System.out.println("📦 Coffre vide supprimé en (" + x + ", " + y + ")");
@@ -309,14 +309,14 @@ public class ChestSystemIntegration {
      * Vérifie s'il y a un coffre à la position donnée
      */
     public boolean hasChestAt(int x, int y) {
-        return chestMap.containsKey(new Point2D(x, y));
+        return chestMap.containsKey(new Point(x, y));
     }
 
     /**
      * Obtient le coffre à la position donnée
      */
     public Chest getChestAt(int x, int y) {
-        return chestMap.get(new Point2D(x, y));
+        return chestMap.get(new Point(x, y));
     }
 
     /**
@@ -331,10 +331,10 @@ public class ChestSystemIntegration {
         String biome = determineBiome(x, y);
         generateChestContents(chest, biome);
 
-        chestMap.put(new Point2D(x, y), chest);
+        chestMap.put(new Point(x, y), chest);
 
         // Ajouter l'indicateur visuel
-        gameModel.getItemMap()[x][y].add(new GameModel.Item("chest_closed", 1));
+        gameModel.addItemAt(x, y, new GameModel.Item("chest_closed", 1));
 
         System.out.println("📦 Nouveau coffre spawné: " + chestType.displayName + " en (" + x + ", " + y + ")");
     }
@@ -353,7 +353,7 @@ public class ChestSystemIntegration {
     }
 
     private String determineBiome(int x, int y) {
-        int floorType = gameModel.getFloorMap()[x][y];
+        int floorType = gameModel.floorAt(x, y);
 
         if (floorType >= 0 && floorType <= 14) return "forest";
         if (floorType >= 15 && floorType <= 19) return "village";
@@ -445,8 +445,8 @@ public class ChestSystemIntegration {
     public void debugFillRandomChest() {
         if (chestMap.isEmpty()) return;
 
-        List<Point2D> positions = new ArrayList<>(chestMap.keySet());
-        Point2D randomPos = positions.get(new Random().nextInt(positions.size()));
+        List<Point> positions = new ArrayList<>(chestMap.keySet());
+        Point randomPos = positions.get(new Random().nextInt(positions.size()));
         Chest chest = chestMap.get(randomPos);
 
         // Ajouter des items aléatoires
@@ -456,7 +456,7 @@ public class ChestSystemIntegration {
     }
 
     // Getters
-    public Map<Point2D, Chest> getChestMap() {
+    public Map<Point, Chest> getChestMap() {
         return new HashMap<>(chestMap);
     }
 
@@ -1,7 +1,7 @@
 package net.arkaine.world;
 
 import net.arkaine.model.GameModel;
-import javafx.geometry.Point2D;
+import net.arkaine.model.Point;
 
 import java.util.*;
 
@@ -251,7 +251,7 @@ public class RealisticItemGenerator {
      */
     private static int placeChests(GameModel model) {
         int chestsPlaced = 0;
-        Map<Point2D, Chest> chestMap = new HashMap<>();
+        Map<Point, Chest> chestMap = new HashMap<>();
 
         // Coffres dans les maisons (rares mais précieux)
         chestsPlaced += placeHouseChests(model, chestMap);
@@ -271,12 +271,12 @@ public class RealisticItemGenerator {
         return chestsPlaced;
     }
 
-    private static int placeHouseChests(GameModel model, Map<Point2D, Chest> chestMap) {
+    private static int placeHouseChests(GameModel model, Map<Point, Chest> chestMap) {
         int chestsPlaced = 0;
 
-        for (int x = 0; x < GameModel.MAP_SIZE; x++) {
-            for (int y = 0; y < GameModel.MAP_SIZE; y++) {
-                int floorType = model.getFloorMap()[x][y];
+        for (int x = 0; x < model.getMapWidth(); x++) {
+            for (int y = 0; y < model.getMapHeight(); y++) {
+                int floorType = model.floorAt(x, y);
 
                 // Sol en bois = intérieur de maison
                 if (floorType >= 35 && floorType <= 39) {
@@ -287,7 +287,7 @@ public class RealisticItemGenerator {
                         Chest chest = new Chest(chestType);
                         generateChestContents(chest, "village");
 
-                        chestMap.put(new Point2D(x, y), chest);
+                        chestMap.put(new Point(x, y), chest);
                         placeChestItem(model, x, y, chest);
                         chestsPlaced++;
                     }
@@ -298,14 +298,14 @@ public class RealisticItemGenerator {
         return chestsPlaced;
     }
 
-    private static int placeForestChests(GameModel model, Map<Point2D, Chest> chestMap) {
+    private static int placeForestChests(GameModel model, Map<Point, Chest> chestMap) {
         int chestsPlaced = 0;
 
-        for (int x = 0; x < GameModel.MAP_SIZE; x++) {
-            for (int y = 0; y < GameModel.MAP_SIZE; y++) {
+        for (int x = 0; x < model.getMapWidth(); x++) {
+            for (int y = 0; y < model.getMapHeight(); y++) {
                 // Près des arbres
-                if (model.getWallTypes()[x][y] == GameModel.WallType.INDESTRUCTIBLE &&
-                        model.getWallMap()[x][y] >= 35) { // Troncs d'arbres
+                if (model.wallTypeAt(x, y) == GameModel.WallType.INDESTRUCTIBLE &&
+                        model.wallAt(x, y) >= 35) { // Troncs d'arbres
 
                     // Chercher une case libre adjacente
                     for (int dx = -1; dx <= 1; dx++) {
@@ -315,7 +315,7 @@ public class RealisticItemGenerator {
 
                             if (model.isValidTile(checkX, checkY) &&
                                     model.canWalkThrough(checkX, checkY) &&
-                                    model.getItemMap()[checkX][checkY].isEmpty() &&
+                                    model.itemsAt(checkX, checkY).isEmpty() &&
                                     random.nextDouble() < 0.05) { // 5% de chance
 
                                 ChestType chestType = ChestType.WOODEN_CHEST;
@@ -324,7 +324,7 @@ public class RealisticItemGenerator {
                                 Chest chest = new Chest(chestType);
                                 generateChestContents(chest, "forest");
 
-                                chestMap.put(new Point2D(checkX, checkY), chest);
+                                chestMap.put(new Point(checkX, checkY), chest);
                                 placeChestItem(model, checkX, checkY, chest);
                                 chestsPlaced++;
                                 break;
@@ -338,12 +338,12 @@ public class RealisticItemGenerator {
         return chestsPlaced;
     }
 
-    private static int placeWaterChests(GameModel model, Map<Point2D, Chest> chestMap) {
+    private static int placeWaterChests(GameModel model, Map<Point, Chest> chestMap) {
         int chestsPlaced = 0;
 
-        for (int x = 0; x < GameModel.MAP_SIZE; x++) {
-            for (int y = 0; y < GameModel.MAP_SIZE; y++) {
-                int floorType = model.getFloorMap()[x][y];
+        for (int x = 0; x < model.getMapWidth(); x++) {
+            for (int y = 0; y < model.getMapHeight(); y++) {
+                int floorType = model.floorAt(x, y);
 
                 // Près de l'eau (sable ou herbe adjacente à l'eau)
                 if ((floorType >= 30 && floorType <= 34) || // Sable
@@ -356,7 +356,7 @@ public class RealisticItemGenerator {
                         Chest chest = new Chest(chestType);
                         generateChestContents(chest, "shore");
 
-                        chestMap.put(new Point2D(x, y), chest);
+                        chestMap.put(new Point(x, y), chest);
                         placeChestItem(model, x, y, chest);
                         chestsPlaced++;
                     }
@@ -367,13 +367,13 @@ public class RealisticItemGenerator {
         return chestsPlaced;
     }
 
-    private static int placeGuardedChests(GameModel model, Map<Point2D, Chest> chestMap) {
+    private static int placeGuardedChests(GameModel model, Map<Point, Chest> chestMap) {
         int chestsPlaced = 0;
 
         // Placer des coffres légendaires gardés par des boss/élites
-        List<Point2D> elitePositions = findEliteEnemyPositions(model);
+        List<Point> elitePositions = findEliteEnemyPositions(model);
 
-        for (Point2D elitePos : elitePositions) {
+        for (Point elitePos : elitePositions) {
             if (random.nextDouble() < 0.4) { // 40% de chance pour chaque élite
                 // Trouver une position libre près de l'élite
                 for (int dx = -2; dx <= 2; dx++) {
@@ -383,7 +383,7 @@ public class RealisticItemGenerator {
 
                         if (model.isValidTile(x, y) &&
                                 model.canWalkThrough(x, y) &&
-                                model.getItemMap()[x][y].isEmpty()) {
+                                model.itemsAt(x, y).isEmpty()) {
 
                             ChestType chestType = random.nextDouble() < 0.8 ?
                                     ChestType.TREASURE_CHEST : ChestType.LEGENDARY_CHEST;
@@ -391,7 +391,7 @@ public class RealisticItemGenerator {
                             Chest chest = new Chest(chestType);
                             generateChestContents(chest, "dungeon");
 
-                            chestMap.put(new Point2D(x, y), chest);
+                            chestMap.put(new Point(x, y), chest);
                             placeChestItem(model, x, y, chest);
                             chestsPlaced++;
                             break;
@@ -410,9 +410,9 @@ public class RealisticItemGenerator {
     private static int distributeItemsByBiome(GameModel model, Map<String, Integer> itemStats) {
         int itemsPlaced = 0;
 
-        for (int x = 0; x < GameModel.MAP_SIZE; x++) {
-            for (int y = 0; y < GameModel.MAP_SIZE; y++) {
-                if (!model.canWalkThrough(x, y) || !model.getItemMap()[x][y].isEmpty()) {
+        for (int x = 0; x < model.getMapWidth(); x++) {
+            for (int y = 0; y < model.getMapHeight(); y++) {
+                if (!model.canWalkThrough(x, y) || !model.itemsAt(x, y).isEmpty()) {
                     continue;
                 }
 
@@ -423,7 +423,7 @@ public class RealisticItemGenerator {
                     List<GameModel.Item> items = generateBiomeItems(biome, 1 + random.nextInt(2));
 
                     for (GameModel.Item item : items) {
-                        model.getItemMap()[x][y].add(item);
+                        model.addItemAt(x, y, item);
                         itemStats.put(item.type, itemStats.getOrDefault(item.type, 0) + item.count);
                         itemsPlaced++;
                     }
@@ -456,8 +456,8 @@ public class RealisticItemGenerator {
         int itemsPlaced = 0;
 
         // Chercher les zones dangereuses (beaucoup d'ennemis)
-        for (int x = 5; x < GameModel.MAP_SIZE - 5; x++) {
-            for (int y = 5; y < GameModel.MAP_SIZE - 5; y++) {
+        for (int x = 5; x < model.getMapWidth() - 5; x++) {
+            for (int y = 5; y < model.getMapHeight() - 5; y++) {
                 int enemyCount = countEnemiesInRadius(model, x, y, 3);
 
                 if (enemyCount >= 2 && random.nextDouble() < 0.3) {
@@ -469,8 +469,8 @@ public class RealisticItemGenerator {
                     String itemId = rareItems.get(random.nextInt(rareItems.size()));
                     GameModel.Item rareItem = new GameModel.Item(itemId, 1);
 
-                    if (model.getItemMap()[x][y].isEmpty()) {
-                        model.getItemMap()[x][y].add(rareItem);
+                    if (model.itemsAt(x, y).isEmpty()) {
+                        model.addItemAt(x, y, rareItem);
                         itemStats.put(rareItem.type, itemStats.getOrDefault(rareItem.type, 0) + 1);
                         itemsPlaced++;
                     }
@@ -484,18 +484,18 @@ public class RealisticItemGenerator {
     private static int placeResourceItems(GameModel model, Map<String, Integer> itemStats) {
         int itemsPlaced = 0;
 
-        for (int x = 0; x < GameModel.MAP_SIZE; x++) {
-            for (int y = 0; y < GameModel.MAP_SIZE; y++) {
-                if (!model.canWalkThrough(x, y) || !model.getItemMap()[x][y].isEmpty()) {
+        for (int x = 0; x < model.getMapWidth(); x++) {
+            for (int y = 0; y < model.getMapHeight(); y++) {
+                if (!model.canWalkThrough(x, y) || !model.itemsAt(x, y).isEmpty()) {
                     continue;
                 }
 
                 // Bois près des arbres
-                if (model.getWallTypes()[x][y] == GameModel.WallType.INDESTRUCTIBLE &&
-                        model.getWallMap()[x][y] >= 35 && random.nextDouble() < 0.2) {
+                if (model.wallTypeAt(x, y) == GameModel.WallType.INDESTRUCTIBLE &&
+                        model.wallAt(x, y) >= 35 && random.nextDouble() < 0.2) {
 
                     GameModel.Item wood = new GameModel.Item("wood", 1 + random.nextInt(3));
-                    model.getItemMap()[x][y].add(wood);
+                    model.addItemAt(x, y, wood);
                     itemStats.put(wood.type, itemStats.getOrDefault(wood.type, 0) + wood.count);
                     itemsPlaced++;
                 }
@@ -504,7 +504,7 @@ public class RealisticItemGenerator {
                 String biome = determineBiome(model, x, y);
                 if ("forest".equals(biome) && random.nextDouble() < 0.15) {
                     GameModel.Item herb = new GameModel.Item("herb", 1 + random.nextInt(2));
-                    model.getItemMap()[x][y].add(herb);
+                    model.addItemAt(x, y, herb);
                     itemStats.put(herb.type, itemStats.getOrDefault(herb.type, 0) + herb.count);
                     itemsPlaced++;
                 }
@@ -519,15 +519,15 @@ public class RealisticItemGenerator {
 
         // Placer quelques items légendaires cachés
         for (int i = 0; i < 3; i++) {
-            int x = 10 + random.nextInt(GameModel.MAP_SIZE - 20);
-            int y = 10 + random.nextInt(GameModel.MAP_SIZE - 20);
+            int x = 10 + random.nextInt(model.getMapWidth() - 20);
+            int y = 10 + random.nextInt(model.getMapHeight() - 20);
 
-            if (model.canWalkThrough(x, y) && model.getItemMap()[x][y].isEmpty()) {
+            if (model.canWalkThrough(x, y) && model.itemsAt(x, y).isEmpty()) {
                 String[] legendaryItems = {"master_key", "resurrection_stone", "diamond"};
                 String itemId = legendaryItems[random.nextInt(legendaryItems.length)];
 
                 GameModel.Item legendary = new GameModel.Item(itemId, 1);
-                model.getItemMap()[x][y].add(legendary);
+                model.addItemAt(x, y, legendary);
                 itemStats.put(legendary.type, itemStats.getOrDefault(legendary.type, 0) + 1);
                 itemsPlaced++;
             }
@@ -544,12 +544,12 @@ public class RealisticItemGenerator {
         // Pour l'instant, on génère quelques clés de coffre génériques
 
         for (int i = 0; i < 5; i++) {
-            int x = random.nextInt(GameModel.MAP_SIZE);
-            int y = random.nextInt(GameModel.MAP_SIZE);
+            int x = random.nextInt(model.getMapWidth());
+            int y = random.nextInt(model.getMapHeight());
 
-            if (model.canWalkThrough(x, y) && model.getItemMap()[x][y].isEmpty()) {
+            if (model.canWalkThrough(x, y) && model.itemsAt(x, y).isEmpty()) {
                 GameModel.Item chestKey = new GameModel.Item("chest_key", 1);
-                model.getItemMap()[x][y].add(chestKey);
+                model.addItemAt(x, y, chestKey);
                 itemStats.put(chestKey.type, itemStats.getOrDefault(chestKey.type, 0) + 1);
             }
         }
@@ -573,11 +573,11 @@ public class RealisticItemGenerator {
     private static void placeChestItem(GameModel model, int x, int y, Chest chest) {
         // Créer un item représentant le coffre
         GameModel.Item chestItem = new GameModel.Item("chest_" + chest.type.id, 1);
-        model.getItemMap()[x][y].add(chestItem);
+        model.addItemAt(x, y, chestItem);
     }
 
     private static String determineBiome(GameModel model, int x, int y) {
-        int floorType = model.getFloorMap()[x][y];
+        int floorType = model.floorAt(x, y);
 
         if (floorType >= 0 && floorType <= 14) return "forest";      // Herbe
         if (floorType >= 15 && floorType <= 19) return "village";    // Chemin
@@ -654,7 +654,7 @@ public class RealisticItemGenerator {
                 int checkY = y + dy;
 
                 if (model.isValidTile(checkX, checkY)) {
-                    int floorType = model.getFloorMap()[checkX][checkY];
+                    int floorType = model.floorAt(checkX, checkY);
                     if (floorType >= 25 && floorType <= 29) { // Eau
                         return true;
                     }
@@ -664,17 +664,17 @@ public class RealisticItemGenerator {
         return false;
     }
 
-    private static List<Point2D> findEliteEnemyPositions(GameModel model) {
-        List<Point2D> elitePositions = new ArrayList<>();
+    private static List<Point> findEliteEnemyPositions(GameModel model) {
+        List<Point> elitePositions = new ArrayList<>();
 
         // Simuler la recherche d'ennemis élites
         // Dans une vraie implémentation, on itérerait sur les entités du CombatSystem
-        for (int x = 0; x < GameModel.MAP_SIZE; x++) {
-            for (int y = 0; y < GameModel.MAP_SIZE; y++) {
+        for (int x = 0; x < model.getMapWidth(); x++) {
+            for (int y = 0; y < model.getMapHeight(); y++) {
                 // Simuler des positions d'élites dans des zones stratégiques
-                if (model.getWallTypes()[x][y] == GameModel.WallType.INDESTRUCTIBLE &&
+                if (model.wallTypeAt(x, y) == GameModel.WallType.INDESTRUCTIBLE &&
                         random.nextDouble() < 0.1) {
-                    elitePositions.add(new Point2D(x, y));
+                    elitePositions.add(new Point(x, y));
                 }
             }
         }
@@ -701,7 +701,7 @@ public class RealisticItemGenerator {
         return enemyCount;
     }
 
-    private static void saveChestsToModel(GameModel model, Map<Point2D, Chest> chestMap) {
+    private static void saveChestsToModel(GameModel model, Map<Point, Chest> chestMap) {
         // Extension future : sauvegarder les coffres dans le modèle
         // Pour l'instant, on stocke juste une référence
         System.out.println("💰 " + chestMap.size() + " coffres générés et sauvegardés");
@@ -732,11 +732,7 @@ public class RealisticItemGenerator {
     }
 
     private static void clearExistingItems(GameModel model) {
-        for (int x = 0; x < GameModel.MAP_SIZE; x++) {
-            for (int y = 0; y < GameModel.MAP_SIZE; y++) {
-                model.getItemMap()[x][y].clear();
-            }
-        }
+        model.clearAllItems();
     }
 
     /**
@@ -775,7 +771,7 @@ public class RealisticItemGenerator {
                 Math.min(quantity, itemDef.maxStack) : 1;
 
         GameModel.Item item = new GameModel.Item(itemId, finalQuantity);
-        model.getItemMap()[x][y].add(item);
+        model.addItemAt(x, y, item);
 
         System.out.println("🎁 Item spawné : " + itemDef.displayName + " x" + finalQuantity +
                 " en (" + x + ", " + y + ")");